@@ -0,0 +1,329 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * A read only view of a {@link FoxHoundJournal} for bulk analysis.
+ *
+ * The index and all segments are memory mapped when the archive is
+ * opened. Games are decoded directly from the mapped files into a
+ * reused {@link FoxHoundBitboard} and their moves are replayed on it, so
+ * scanning positions neither copies file content onto the heap nor
+ * creates any strings or players arrays.
+ *
+ * Scans can be split by game number and run in parallel on all
+ * available cores, see {@link #parallelForEachPosition(Supplier, BinaryOperator)}.
+ * Games appended to the journal after the archive has been opened are
+ * not visible.
+ */
+public class FoxHoundArchive {
+
+    /** Number of games scanned by a task without splitting it further. */
+    private static final int GAMES_PER_TASK = 4096;
+
+    /** Number of index entries per mapped chunk of the index. */
+    private static final int ENTRIES_PER_CHUNK = 1 << 26;
+
+    /**
+     * Receives positions of a scan.
+     */
+    @FunctionalInterface
+    public interface PositionVisitor {
+
+        /**
+         * Visit one position of a game.
+         *
+         * The board is reused for all following positions and
+         * must not be modified or kept.
+         *
+         * @param game the number of the game in the archive
+         * @param ply the number of moves played before this position
+         * @param board the position
+         * @param turn the figure type that has the next move
+         * @param winner the figure type that won the game
+         */
+        void visit(long game, int ply, FoxHoundBitboard board, char turn, char winner);
+    }
+
+    private final ByteBuffer[] index;
+    private final ByteBuffer[] segments;
+    private final long gameCount;
+
+    private FoxHoundArchive(ByteBuffer[] index, ByteBuffer[] segments, long gameCount) {
+        this.index = index;
+        this.segments = segments;
+        this.gameCount = gameCount;
+    }
+
+    /**
+     * Open the journal in the given directory for reading.
+     *
+     * @param dir the journal directory
+     * @return an archive reading from the memory mapped journal files
+     * @throws IOException if the journal files cannot be read
+     * @throws IllegalArgumentException if the directory does not contain a valid journal
+     * @throws NullPointerException if the given directory is null
+     */
+    public static FoxHoundArchive open(Path dir) throws IOException {
+        Objects.requireNonNull(dir, "Given directory must not be null.");
+
+        List<ByteBuffer> segments = new ArrayList<>();
+        for (int segment = 0; ; segment++) {
+            Path file = dir.resolve(FoxHoundJournal.segmentFileName(segment));
+            if (!Files.exists(file)) {
+                break;
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                FoxHoundJournal.checkHeader(channel, FoxHoundJournal.SEGMENT_MAGIC, file);
+                segments.add(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+
+        Path file = dir.resolve(FoxHoundJournal.INDEX_FILE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            FoxHoundJournal.checkHeader(channel, FoxHoundJournal.INDEX_MAGIC, file);
+            long gameCount = (channel.size() - FoxHoundJournal.HEADER_SIZE) / FoxHoundJournal.ENTRY_SIZE;
+
+            int chunks = (int) ((gameCount + ENTRIES_PER_CHUNK - 1) / ENTRIES_PER_CHUNK);
+            ByteBuffer[] index = new ByteBuffer[chunks];
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                long first = (long) chunk * ENTRIES_PER_CHUNK;
+                long entries = Math.min(ENTRIES_PER_CHUNK, gameCount - first);
+                index[chunk] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    FoxHoundJournal.HEADER_SIZE + first * FoxHoundJournal.ENTRY_SIZE,
+                    entries * FoxHoundJournal.ENTRY_SIZE);
+            }
+
+            return new FoxHoundArchive(index, segments.toArray(new ByteBuffer[0]), gameCount);
+        }
+    }
+
+    /**
+     * Return the number of games in the archive.
+     *
+     * @return the number of games
+     */
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    // -------------- SCANNING ------------------------------------------
+
+    /**
+     * Visit every position of the given range of games in order.
+     *
+     * @param from number of the first game to be scanned
+     * @param to number after the last game to be scanned
+     * @param visitor receives all positions
+     * @throws IndexOutOfBoundsException if the range is not within the archive
+     * @throws IllegalArgumentException if a stored position or move is corrupt
+     * @throws NullPointerException if the given visitor is null
+     */
+    public void forEachPosition(long from, long to, PositionVisitor visitor) {
+        Objects.checkFromToIndex(from, to, gameCount);
+        Objects.requireNonNull(visitor, "Given visitor must not be null.");
+        new Reader().scan(from, to, visitor);
+    }
+
+    /**
+     * Visit every position of the archive in parallel.
+     *
+     * The games are split into ranges which are scanned by separate
+     * fork join tasks. Every task creates its own visitor and the visitors
+     * of all tasks are combined in the end, in the same way as the results
+     * of a {@link FoxHoundTournament}. Positions are therefore visited in
+     * no particular order across tasks, but in order within a game.
+     *
+     * @param <V> the type of the visitors
+     * @param visitors creates a new visitor per task
+     * @param merge combines the visitors of two tasks
+     * @return the combined visitor of all tasks
+     * @throws IllegalArgumentException if a stored position or move is corrupt
+     * @throws NullPointerException if a given function is null
+     */
+    public <V extends PositionVisitor> V parallelForEachPosition(Supplier<V> visitors,
+            BinaryOperator<V> merge) {
+
+        Objects.requireNonNull(visitors, "Given visitor supplier must not be null.");
+        Objects.requireNonNull(merge, "Given merge function must not be null.");
+        return ForkJoinPool.commonPool().invoke(new ScanTask<>(0, gameCount, visitors, merge));
+    }
+
+    /**
+     * Decodes games of the archive for a single thread.
+     *
+     * Every reader has its own views of the mapped segments, which share
+     * the mapped memory but not the buffer position, as well as its own
+     * boards and checksum.
+     */
+    private final class Reader {
+
+        private final FoxHoundBinaryIO binaryIO = new FoxHoundBinaryIO();
+        private final FoxHoundBitboard[] boards = new FoxHoundBitboard[FoxHoundUtils.MAX_DIM + 1];
+        private final ByteBuffer[] views = new ByteBuffer[segments.length];
+
+        private void scan(long from, long to, PositionVisitor visitor) {
+            for (long game = from; game < to; game++) {
+                ByteBuffer chunk = index[(int) (game / ENTRIES_PER_CHUNK)];
+                int entry = (int) (game % ENTRIES_PER_CHUNK) * FoxHoundJournal.ENTRY_SIZE;
+                int segment = chunk.getInt(entry);
+                int offset = chunk.getInt(entry + 4);
+                int moves = chunk.getInt(entry + 8);
+                int dim = chunk.get(entry + 12);
+                char winner = (char) chunk.get(entry + 13);
+
+                ByteBuffer data = view(segment);
+                data.position(offset);
+                FoxHoundBitboard board = board(dim);
+                char turn = binaryIO.readRecord(data, board);
+                visitor.visit(game, 0, board, turn, winner);
+
+                int width = FoxHoundBinaryIO.squareBytes(dim);
+                if (data.remaining() < 2L * width * moves) {
+                    throw new IllegalArgumentException("Truncated moves in game " + game);
+                }
+                int squares = board.getSquareCount();
+                for (int ply = 1; ply <= moves; ply++) {
+                    // moves are not covered by a checksum, a corrupt one must not reach the board
+                    int origin = FoxHoundBinaryIO.getSquare(data, width);
+                    int dest = FoxHoundBinaryIO.getSquare(data, width);
+                    if (origin >= squares || dest >= squares || !board.isValidMove(turn, origin, dest)) {
+                        throw new IllegalArgumentException("Corrupt move in game " + game);
+                    }
+                    board.movePiece(origin, dest);
+                    turn = turn == FoxHoundUtils.FOX_FIELD
+                        ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+                    visitor.visit(game, ply, board, turn, winner);
+                }
+            }
+        }
+
+        private ByteBuffer view(int segment) {
+            if (segment < 0 || segment >= views.length) {
+                throw new IllegalArgumentException("Index refers to missing segment " + segment);
+            }
+            if (views[segment] == null) {
+                views[segment] = segments[segment].duplicate();
+            }
+            return views[segment];
+        }
+
+        private FoxHoundBitboard board(int dim) {
+            FoxHoundUtils.dimensionCheck(dim);
+            if (boards[dim] == null) {
+                boards[dim] = new FoxHoundBitboard(dim);
+            }
+            return boards[dim];
+        }
+    }
+
+    /**
+     * Scans a range of games, splitting it until it is small enough.
+     */
+    private final class ScanTask<V extends PositionVisitor> extends RecursiveTask<V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final Supplier<V> visitors;
+        private final BinaryOperator<V> merge;
+
+        private ScanTask(long from, long to, Supplier<V> visitors, BinaryOperator<V> merge) {
+            this.from = from;
+            this.to = to;
+            this.visitors = visitors;
+            this.merge = merge;
+        }
+
+        @Override
+        protected V compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                V visitor = visitors.get();
+                new Reader().scan(from, to, visitor);
+                return visitor;
+            }
+
+            long middle = from + (to - from) / 2;
+            ScanTask<V> left = new ScanTask<>(from, middle, visitors, merge);
+            left.fork();
+            V right = new ScanTask<>(middle, to, visitors, merge).compute();
+            return merge.apply(left.join(), right);
+        }
+    }
+
+    // -------------- COMMAND LINE ------------------------------------------
+
+    /**
+     * Counts positions of a scan.
+     */
+    private static final class Statistics implements PositionVisitor {
+
+        private long games;
+        private long positions;
+        private long foxWinPositions;
+        private long trappedPositions;
+
+        @Override
+        public void visit(long game, int ply, FoxHoundBitboard board, char turn, char winner) {
+            if (ply == 0) {
+                games++;
+            }
+            positions++;
+            if (winner == FoxHoundUtils.FOX_FIELD) {
+                foxWinPositions++;
+            }
+            if (board.getFoxFreeCorners() == 0) {
+                trappedPositions++;
+            }
+        }
+
+        private Statistics merge(Statistics other) {
+            games += other.games;
+            positions += other.positions;
+            foxWinPositions += other.foxWinPositions;
+            trappedPositions += other.trappedPositions;
+            return this;
+        }
+    }
+
+    /**
+     * Scan all positions of a journal and print some statistics.
+     *
+     * @param args the journal directory
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("ERROR: Expected the journal directory as only argument.");
+            return;
+        }
+
+        try {
+            FoxHoundArchive archive = open(Paths.get(args[0]));
+            long start = System.nanoTime();
+            Statistics stats = archive.parallelForEachPosition(Statistics::new, Statistics::merge);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("Games: %d%n", stats.games);
+            System.out.printf("Positions: %d in %.3f s (%.0f positions/s)%n",
+                stats.positions, seconds, stats.positions / seconds);
+            System.out.printf("Positions of games won by the fox: %d%n", stats.foxWinPositions);
+            System.out.printf("Positions with a trapped fox: %d%n", stats.trappedPositions);
+        } catch (IOException e) {
+            System.err.println("ERROR: Reading journal failed: " + e);
+        } catch (IllegalArgumentException e) {
+            System.err.println("ERROR: Invalid journal: " + e.getMessage());
+        }
+    }
+}
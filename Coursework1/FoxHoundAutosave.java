@@ -0,0 +1,196 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background autosave of a running game.
+ *
+ * After every move the game hands the current state to
+ * {@link #submit(FoxHoundState)}, which only takes a small snapshot of the
+ * positions and wakes up the writer thread, so disk latency never adds to
+ * the time of a move. If several states are submitted while the writer is
+ * busy, only the newest one is written.
+ *
+ * The writer saves a state in the binary format of {@link FoxHoundBinaryIO}
+ * to a temporary file, forces it to the storage device and then renames it
+ * to the autosave file in one atomic step. The autosave file therefore
+ * always contains a complete state, and a process that is killed loses at
+ * most the move whose state was still being written.
+ */
+public class FoxHoundAutosave implements AutoCloseable {
+
+    /** Default autosave file in the working directory. */
+    public static final Path DEFAULT_FILE =
+        Paths.get("foxhound-autosave" + FoxHoundBinaryIO.FILE_EXTENSION);
+
+    /** Time to wait for the last write when closing, in milliseconds. */
+    private static final long CLOSE_TIMEOUT_MS = 2000;
+
+    /** Suffix of the temporary file a state is written to before renaming it. */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * An immutable copy of the positions of a game state.
+     */
+    private static final class Snapshot {
+
+        private final FoxHoundCoord[] players;
+        private final int dim;
+        private final char turn;
+
+        private Snapshot(FoxHoundState state) {
+            this.players = state.getPlayers();
+            this.dim = state.getDimension();
+            this.turn = state.getTurn();
+        }
+    }
+
+    private final Path file;
+    private final Path tempFile;
+    private final AtomicReference<Snapshot> pending;
+    private final Thread writer;
+    private final FoxHoundBinaryIO binaryIO;
+
+    /** Set when a deletion of the autosave file is pending. */
+    private volatile boolean deletePending;
+    private volatile boolean closed;
+
+    /**
+     * Start autosaving to the given file.
+     *
+     * @param file the autosave file, it should have the binary file extension
+     * {@value FoxHoundBinaryIO#FILE_EXTENSION} so it can also be loaded from the menu
+     * @throws NullPointerException if the given file is null
+     */
+    public FoxHoundAutosave(Path file) {
+        this.file = Objects.requireNonNull(file, "Given file must not be null.");
+        this.tempFile = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        this.pending = new AtomicReference<>();
+        this.binaryIO = new FoxHoundBinaryIO();
+        this.writer = new Thread(this::writeLoop, "FoxHoundAutosave");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Load the state of the given autosave file, if there is one.
+     *
+     * @param file the autosave file
+     * @return the saved game state or null if there is no valid autosave
+     * @throws NullPointerException if the given file is null
+     */
+    public static FoxHoundState recover(Path file) {
+        Objects.requireNonNull(file, "Given file must not be null.");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        return new FoxHoundBinaryIO().load(file);
+    }
+
+    /**
+     * Hand the given state to the writer thread.
+     *
+     * Only the positions are copied, the state can be changed right after
+     * this call returns.
+     *
+     * @param state the current game state
+     * @throws NullPointerException if the given state is null
+     */
+    public void submit(FoxHoundState state) {
+        Snapshot snapshot = new Snapshot(state);
+        deletePending = false;
+        pending.set(snapshot);
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * Delete the autosave file in the background, e.g. after the game has ended.
+     *
+     * States submitted before are discarded.
+     */
+    public void clear() {
+        pending.set(null);
+        deletePending = true;
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * Write the pending state, if any, and stop the writer thread.
+     *
+     * Waits at most {@value FoxHoundAutosave#CLOSE_TIMEOUT_MS} milliseconds
+     * for the last write.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -------------- WRITER THREAD ------------------------------------------
+
+    private void writeLoop() {
+        while (true) {
+            // read before draining, so that a state submitted before close is never dropped
+            boolean stopping = closed;
+            Snapshot snapshot = pending.getAndSet(null);
+            if (snapshot != null) {
+                write(snapshot);
+            } else if (deletePending) {
+                deletePending = false;
+                delete();
+            } else if (stopping) {
+                return;
+            } else {
+                LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(1));
+            }
+        }
+    }
+
+    private void write(Snapshot snapshot) {
+        ByteBuffer content = binaryIO.encode(
+            FoxHoundState.create(snapshot.players, snapshot.dim, snapshot.turn));
+
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+                channel.force(true);
+            }
+
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("ERROR: Autosave failed: " + e);
+        }
+    }
+
+    private void delete() {
+        try {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            System.err.println("ERROR: Deleting autosave failed: " + e);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * A batch of positions of the same board dimension in struct of arrays
+ * form, together with the features computed for them by a
+ * {@link FoxHoundBatchEvaluator}.
+ *
+ * Every property is stored in its own array indexed by position, e.g.
+ * the rows of the foxes of all positions are consecutive in memory, and
+ * the rows of hound {@code h} of all positions are in {@code houndRows[h]}.
+ * This lets an evaluator process several positions at once in SIMD
+ * lanes instead of one position after the other.
+ *
+ * The features of a position are
+ * <ul>
+ * <li>the fox distance, the number of rows between the fox and row
+ * {@value FoxHoundUtils#FOX_WIN_ROW},</li>
+ * <li>the fox mobility, the number of legal fox moves,</li>
+ * <li>the hound mobility, the number of legal hound moves,</li>
+ * <li>the hound gap, the number of rows between the foremost and the
+ * hindmost hound, i.e. how far the formation is torn apart.</li>
+ * </ul>
+ */
+public class FoxHoundBatch {
+
+    private final int dim;
+    private final int capacity;
+    private int size;
+
+    // positions, package private so that evaluators can read them directly
+    final int[] foxRows;
+    final int[] foxCols;
+    final int[][] houndRows;
+    final int[][] houndCols;
+
+    // features
+    final int[] foxDistances;
+    final int[] foxMobilities;
+    final int[] houndMobilities;
+    final int[] houndGaps;
+
+    /**
+     * Create an empty batch.
+     *
+     * @param dim dimension of the game board of all positions
+     * @param hounds number of hounds in every position
+     * @param capacity maximum number of positions
+     * @throws IllegalArgumentException if the dimension is invalid, the
+     * number of hounds does not fit on the board or the capacity is not positive
+     */
+    public FoxHoundBatch(int dim, int hounds, int capacity) {
+        FoxHoundUtils.dimensionCheck(dim);
+        if (hounds < 1 || hounds > dim * dim / 2 - 1) {
+            throw new IllegalArgumentException("Invalid number of hounds for dimension "
+                + dim + ": " + hounds);
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive but is: " + capacity);
+        }
+
+        this.dim = dim;
+        this.capacity = capacity;
+        foxRows = new int[capacity];
+        foxCols = new int[capacity];
+        houndRows = new int[hounds][capacity];
+        houndCols = new int[hounds][capacity];
+        foxDistances = new int[capacity];
+        foxMobilities = new int[capacity];
+        houndMobilities = new int[capacity];
+        houndGaps = new int[capacity];
+    }
+
+    /**
+     * Return the board dimension of all positions.
+     *
+     * @return dimension of the game board
+     */
+    public int getDimension() {
+        return dim;
+    }
+
+    /**
+     * Return the number of hounds in every position.
+     *
+     * @return the number of hounds
+     */
+    public int getHoundCount() {
+        return houndRows.length;
+    }
+
+    /**
+     * Return the number of positions in the batch.
+     *
+     * @return the number of added positions
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Return the maximum number of positions.
+     *
+     * @return the capacity of the batch
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Append a position to the batch.
+     *
+     * @param board the position, it is not modified
+     * @throws IllegalArgumentException if the batch is full or the position
+     * has another dimension or number of hounds than the batch
+     * @throws NullPointerException if the given board is null
+     */
+    public void add(FoxHoundBitboard board) {
+        if (board.getDimension() != dim || board.getHoundCount() != houndRows.length) {
+            throw new IllegalArgumentException("Position does not match the batch: dimension "
+                + board.getDimension() + " with " + board.getHoundCount() + " hounds");
+        }
+        if (size == capacity) {
+            throw new IllegalArgumentException("Batch is full: " + capacity);
+        }
+
+        int fox = board.getFoxSquare();
+        foxRows[size] = board.getRow(fox);
+        foxCols[size] = board.getCol(fox);
+        int h = 0;
+        for (int sq = board.nextHound(0); sq != FoxHoundBitboard.NO_SQUARE;
+                sq = board.nextHound(sq + 1)) {
+            houndRows[h][size] = board.getRow(sq);
+            houndCols[h][size] = board.getCol(sq);
+            h++;
+        }
+        size++;
+    }
+
+    /**
+     * Remove all positions from the batch.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Return the number of rows between the fox and its goal row.
+     *
+     * @param idx index of the position
+     * @return the fox distance computed by the last evaluation
+     */
+    public int getFoxDistance(int idx) {
+        return foxDistances[idx];
+    }
+
+    /**
+     * Return the number of legal fox moves.
+     *
+     * @param idx index of the position
+     * @return the fox mobility computed by the last evaluation
+     */
+    public int getFoxMobility(int idx) {
+        return foxMobilities[idx];
+    }
+
+    /**
+     * Return the number of legal hound moves.
+     *
+     * @param idx index of the position
+     * @return the hound mobility computed by the last evaluation
+     */
+    public int getHoundMobility(int idx) {
+        return houndMobilities[idx];
+    }
+
+    /**
+     * Return the number of rows between the foremost and the hindmost hound.
+     *
+     * @param idx index of the position
+     * @return the hound gap computed by the last evaluation
+     */
+    public int getHoundGap(int idx) {
+        return houndGaps[idx];
+    }
+}
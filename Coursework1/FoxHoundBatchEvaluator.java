@@ -0,0 +1,157 @@
+/**
+ * Computes the features of all positions of a {@link FoxHoundBatch}.
+ *
+ * The fastest available kernel is picked on creation. The SIMD kernel
+ * {@value #VECTOR_KERNEL} processes as many positions at once as the
+ * vector registers of the processor hold, using the incubating Vector
+ * API. It is kept out of the regular sources in the {@code vector}
+ * directory, because it can only be compiled and run with
+ * {@code --add-modules jdk.incubator.vector}. Without it, the scalar
+ * kernel of this class evaluates one position after the other with the
+ * same arithmetic.
+ */
+public final class FoxHoundBatchEvaluator {
+
+    /** Class name of the SIMD kernel. */
+    public static final String VECTOR_KERNEL = "FoxHoundVectorKernel";
+
+    /** Row and column offsets of the four directions, in the order of {@link FoxHoundBitboard}. */
+    static final int[] DIR_ROWS = {-1, 1, 1, -1};
+    static final int[] DIR_COLS = {-1, -1, 1, 1};
+
+    /**
+     * Computes the features of a whole batch.
+     */
+    interface Kernel {
+
+        /**
+         * Compute the features of all positions of the given batch.
+         *
+         * @param batch the positions, receives the features
+         */
+        void evaluate(FoxHoundBatch batch);
+    }
+
+    private final Kernel kernel;
+    private final boolean vectorised;
+
+    private FoxHoundBatchEvaluator(Kernel kernel, boolean vectorised) {
+        this.kernel = kernel;
+        this.vectorised = vectorised;
+    }
+
+    /**
+     * Create an evaluator using the SIMD kernel if it is on the class path
+     * and the Vector API is available, and the scalar kernel otherwise.
+     *
+     * @return the fastest available evaluator
+     */
+    public static FoxHoundBatchEvaluator create() {
+        try {
+            Kernel vector = (Kernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor()
+                .newInstance();
+            return new FoxHoundBatchEvaluator(vector, true);
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            // not compiled or jdk.incubator.vector not added to the module graph
+            return scalar();
+        }
+    }
+
+    /**
+     * Create an evaluator using the scalar kernel.
+     *
+     * @return an evaluator processing one position after the other
+     */
+    public static FoxHoundBatchEvaluator scalar() {
+        return new FoxHoundBatchEvaluator(batch -> evaluateScalar(batch, 0, batch.getSize()), false);
+    }
+
+    /**
+     * Check if this evaluator uses SIMD lanes.
+     *
+     * @return true for the SIMD kernel, false for the scalar one
+     */
+    public boolean isVectorised() {
+        return vectorised;
+    }
+
+    /**
+     * Compute the features of all positions of the given batch.
+     *
+     * @param batch the positions, receives the features
+     * @throws NullPointerException if the given batch is null
+     */
+    public void evaluate(FoxHoundBatch batch) {
+        if (batch == null) {
+            throw new NullPointerException("Given batch must not be null.");
+        }
+        kernel.evaluate(batch);
+    }
+
+    /**
+     * Compute the features of a range of positions one after the other.
+     *
+     * Also used by the SIMD kernel for the positions which do not fill a
+     * whole vector.
+     *
+     * @param batch the positions, receives the features
+     * @param from index of the first position
+     * @param to index after the last position
+     */
+    static void evaluateScalar(FoxHoundBatch batch, int from, int to) {
+        int hounds = batch.getHoundCount();
+        int[][] houndRows = batch.houndRows;
+        int[][] houndCols = batch.houndCols;
+
+        for (int i = from; i < to; i++) {
+            int foxRow = batch.foxRows[i];
+            int foxCol = batch.foxCols[i];
+            batch.foxDistances[i] = foxRow - FoxHoundUtils.FOX_WIN_ROW;
+
+            int foxMobility = 0;
+            for (int dir = 0; dir < FoxHoundBitboard.NUM_DIRECTIONS; dir++) {
+                int row = foxRow + DIR_ROWS[dir];
+                int col = foxCol + DIR_COLS[dir];
+                if (isFree(batch, i, row, col)) {
+                    foxMobility++;
+                }
+            }
+            batch.foxMobilities[i] = foxMobility;
+
+            int houndMobility = 0;
+            int minRow = Integer.MAX_VALUE;
+            int maxRow = Integer.MIN_VALUE;
+            for (int h = 0; h < hounds; h++) {
+                int row = houndRows[h][i];
+                int col = houndCols[h][i];
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+                // hounds may only move towards the bottom
+                if (isFree(batch, i, row + 1, col - 1)) {
+                    houndMobility++;
+                }
+                if (isFree(batch, i, row + 1, col + 1)) {
+                    houndMobility++;
+                }
+            }
+            batch.houndMobilities[i] = houndMobility;
+            batch.houndGaps[i] = maxRow - minRow;
+        }
+    }
+
+    private static boolean isFree(FoxHoundBatch batch, int i, int row, int col) {
+        int dim = batch.getDimension();
+        if (row < 0 || col < 0 || row >= dim || col >= dim) {
+            return false;
+        }
+        if (batch.foxRows[i] == row && batch.foxCols[i] == col) {
+            return false;
+        }
+        for (int h = 0; h < batch.getHoundCount(); h++) {
+            if (batch.houndRows[h][i] == row && batch.houndCols[h][i] == col) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
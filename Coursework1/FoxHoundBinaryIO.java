@@ -0,0 +1,317 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Reading and writing of game states in a compact binary format.
+ *
+ * In contrast to the text format of {@link FoxHoundIO}, the binary
+ * format supports all board dimensions and does not need to be split
+ * into strings and parsed. A file starts with the four byte magic
+ * number {@value FoxHoundBinaryIO#MAGIC}, whose last byte is the
+ * format version, followed by one position record:
+ *
+ * <pre>
+ * byte     dimension in the lower 7 bits, highest bit set if the hounds are to move
+ * n * w    square index of every hound in ascending order followed by the fox
+ * int      CRC32 checksum of all preceding bytes of the record
+ * </pre>
+ *
+ * Here {@code n} is the number of figures for the dimension and {@code w}
+ * is one byte per square if the board has at most 256 squares and two
+ * bytes otherwise. All numbers are stored big endian. Records can also
+ * be written back to back without the magic number, see
+ * {@link #writeRecord(FoxHoundBitboard, char, ByteBuffer)}.
+ *
+ * An object of this class reuses one buffer and one checksum for all
+ * files, so it is not thread safe.
+ */
+public class FoxHoundBinaryIO {
+
+    /** File extension of binary game files. */
+    public static final String FILE_EXTENSION = ".fhb";
+
+    /** Format version written to new files. */
+    public static final int VERSION = 1;
+    /** Magic number at the start of every file, "FHB" followed by the version. */
+    public static final int MAGIC = 0x46484200 | VERSION;
+
+    /** Flag in the dimension byte which is set if the hounds are to move. */
+    private static final int HOUNDS_TO_MOVE_FLAG = 0x80;
+    /** Number of squares which can be stored in a single byte. */
+    private static final int SINGLE_BYTE_SQUARES = 256;
+
+    private final ByteBuffer buffer;
+    private final CRC32 crc;
+
+    /**
+     * Create a reader and writer for binary game files.
+     */
+    public FoxHoundBinaryIO() {
+        this.buffer = ByteBuffer.allocateDirect(Integer.BYTES + recordSize(FoxHoundUtils.MAX_DIM));
+        this.crc = new CRC32();
+    }
+
+    // -------------- RECORDS ------------------------------------------
+
+    /**
+     * Return the size of one position record for the given dimension.
+     *
+     * @param dim dimension of the game board
+     * @return the record size in bytes
+     * @throws IllegalArgumentException if given dimensions are out of bounds
+     */
+    public static int recordSize(int dim) {
+        FoxHoundUtils.dimensionCheck(dim);
+        return 1 + (dim / 2 + 1) * squareBytes(dim) + Integer.BYTES;
+    }
+
+    /**
+     * Return the number of bytes per square index for the given dimension.
+     *
+     * @param dim dimension of the game board
+     * @return 1 if all square indices fit into a byte, 2 otherwise
+     */
+    public static int squareBytes(int dim) {
+        return (dim * dim) / 2 <= SINGLE_BYTE_SQUARES ? 1 : 2;
+    }
+
+    /**
+     * Write a position record at the current position of the given buffer.
+     *
+     * @param board the position to be written
+     * @param turn the figure type that has the next move
+     * @param dst the buffer to write to, its position is advanced by the record size
+     * @throws IllegalArgumentException if the given figure type is invalid or the
+     * number of hounds does not match the board dimension
+     * @throws java.nio.BufferOverflowException if the buffer has not enough space left
+     */
+    public void writeRecord(FoxHoundBitboard board, char turn, ByteBuffer dst) {
+        if (!FoxHoundUtils.isValidTurn(turn)) {
+            throw new IllegalArgumentException("Invalid figure type: " + turn);
+        }
+        int dim = board.getDimension();
+        if (board.getHoundCount() != dim / 2 || board.getFoxSquare() == FoxHoundBitboard.NO_SQUARE) {
+            throw new IllegalArgumentException("Board does not match dimension " + dim
+                + ": " + board.getHoundCount() + " hounds");
+        }
+
+        int start = dst.position();
+        int width = squareBytes(dim);
+        dst.put((byte) (dim | (turn == FoxHoundUtils.HOUND_FIELD ? HOUNDS_TO_MOVE_FLAG : 0)));
+        for (int sq = board.nextHound(0); sq != FoxHoundBitboard.NO_SQUARE;
+                sq = board.nextHound(sq + 1)) {
+            putSquare(dst, sq, width);
+        }
+        putSquare(dst, board.getFoxSquare(), width);
+        dst.putInt(checksum(dst, start, dst.position()));
+    }
+
+    /**
+     * Read a position record at the current position of the given buffer.
+     *
+     * @param src the buffer to read from, its position is advanced by the record size
+     * @param target the board the position is written to, it must have the
+     * dimension of the record
+     * @return the figure type that has the next move
+     * @throws IllegalArgumentException if the record is corrupt, does not match the
+     * dimension of the target board or places two figures on the same square
+     * @throws java.nio.BufferUnderflowException if the buffer ends within the record
+     */
+    public char readRecord(ByteBuffer src, FoxHoundBitboard target) {
+        int start = src.position();
+        int header = src.get() & 0xFF;
+        int dim = header & ~HOUNDS_TO_MOVE_FLAG;
+        if (dim != target.getDimension()) {
+            throw new IllegalArgumentException("Record must have dimension "
+                + target.getDimension() + " but has: " + dim);
+        }
+
+        int width = squareBytes(dim);
+        int end = start + recordSize(dim) - Integer.BYTES;
+        int expected = checksum(src, start, end);
+        if (src.getInt() != expected) {
+            throw new IllegalArgumentException("Checksum of record does not match.");
+        }
+
+        src.position(start + 1);
+        target.clear();
+        for (int i = 0; i < dim / 2; i++) {
+            target.addHound(getSquare(src, width));
+        }
+        target.setFox(getSquare(src, width));
+        src.position(end + Integer.BYTES);
+
+        return (header & HOUNDS_TO_MOVE_FLAG) != 0 ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+    }
+
+    /**
+     * Read the dimension of the record at the current position of the
+     * given buffer without advancing it.
+     *
+     * @param src the buffer to read from
+     * @return the board dimension stored in the record
+     */
+    public static int peekDimension(ByteBuffer src) {
+        return src.get(src.position()) & ~HOUNDS_TO_MOVE_FLAG & 0xFF;
+    }
+
+    /**
+     * Write a square index with the given number of bytes.
+     *
+     * @param dst the buffer to write to
+     * @param sq the square index
+     * @param width the number of bytes, see {@link #squareBytes(int)}
+     */
+    public static void putSquare(ByteBuffer dst, int sq, int width) {
+        if (width == 1) {
+            dst.put((byte) sq);
+        } else {
+            dst.putShort((short) sq);
+        }
+    }
+
+    /**
+     * Read a square index with the given number of bytes.
+     *
+     * @param src the buffer to read from
+     * @param width the number of bytes, see {@link #squareBytes(int)}
+     * @return the square index
+     */
+    public static int getSquare(ByteBuffer src, int width) {
+        return width == 1 ? src.get() & 0xFF : src.getShort() & 0xFFFF;
+    }
+
+    /**
+     * Calculate the checksum of the given range of the buffer.
+     *
+     * The position of the buffer is left at the end of the range.
+     */
+    private int checksum(ByteBuffer buf, int start, int end) {
+        int limit = buf.limit();
+        if (end > limit) {
+            throw new java.nio.BufferUnderflowException();
+        }
+        buf.position(start).limit(end);
+        crc.reset();
+        crc.update(buf);
+        buf.limit(limit);
+        return (int) crc.getValue();
+    }
+
+    // -------------- FILES ------------------------------------------
+
+    /**
+     * Check if the given file name has the binary file extension.
+     *
+     * @param fileName the file name to be checked
+     * @return true if the file is a binary game file, false otherwise
+     * @throws NullPointerException if the given file name is null
+     */
+    public static boolean isBinaryFile(Path fileName) {
+        Path name = fileName.getFileName();
+        return name != null && name.toString().endsWith(FILE_EXTENSION);
+    }
+
+    /**
+     * Encode the given game state as the content of a binary game file.
+     *
+     * @param state the game state to be encoded
+     * @return a buffer with the file content between its position and limit, it
+     * is reused by the next call of any method of this object
+     * @throws NullPointerException if the given state is null
+     */
+    public ByteBuffer encode(FoxHoundState state) {
+        Objects.requireNonNull(state, "Given state must not be null.");
+
+        buffer.clear();
+        buffer.putInt(MAGIC);
+        writeRecord(state.getBoard(), state.getTurn(), buffer);
+        return buffer.flip();
+    }
+
+    /**
+     * Save the given game state at the given file location.
+     *
+     * As for the text format, the given file must not yet exist.
+     *
+     * @param state the game state to be saved
+     * @param fileName the file name and path to save the file at
+     * @return true if saving was successful, false otherwise
+     * @throws NullPointerException if the given state or file name is null
+     */
+    public boolean save(FoxHoundState state, Path fileName) {
+        Objects.requireNonNull(state, "Given state must not be null.");
+        Objects.requireNonNull(fileName, "Given fileName must not be null.");
+
+        ByteBuffer content = encode(state);
+        try (FileChannel channel = FileChannel.open(fileName,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        } catch (FileAlreadyExistsException e) {
+            System.err.println("ERROR: File already exists: " + fileName);
+            return false;
+        } catch (IOException e) {
+            System.err.println("ERROR: Writing to file failed: " + e);
+            return false;
+        }
+
+        System.out.println("Board saved to " + fileName);
+        return true;
+    }
+
+    /**
+     * Load a game state from the given file.
+     *
+     * @param fileName the file name where the saved state can be found
+     * @return the loaded game state or null in case of loading error
+     * @throws NullPointerException if the given file name is null
+     */
+    public FoxHoundState load(Path fileName) {
+        Objects.requireNonNull(fileName, "Given fileName must not be null.");
+
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(fileName, StandardOpenOption.READ)) {
+            if (channel.size() > buffer.capacity()) {
+                System.err.println("ERROR: File is too large: " + fileName);
+                return null;
+            }
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the file is consumed
+            }
+        } catch (IOException e) {
+            System.err.println("ERROR: Reading file content failed: " + e);
+            return null;
+        }
+        buffer.flip();
+
+        try {
+            if (buffer.remaining() < Integer.BYTES + 1 || buffer.getInt() != MAGIC) {
+                System.err.println("ERROR: Not a binary game file of version " + VERSION
+                    + ": " + fileName);
+                return null;
+            }
+
+            int dim = peekDimension(buffer);
+            FoxHoundUtils.dimensionCheck(dim);
+            if (buffer.remaining() != recordSize(dim)) {
+                System.err.println("ERROR: Invalid file size: " + fileName);
+                return null;
+            }
+
+            FoxHoundBitboard board = new FoxHoundBitboard(dim);
+            char turn = readRecord(buffer, board);
+            return FoxHoundState.create(board.toCoords(), dim, turn);
+        } catch (IllegalArgumentException e) {
+            System.err.println("ERROR: Invalid game file: " + e.getMessage());
+            return null;
+        }
+    }
+}
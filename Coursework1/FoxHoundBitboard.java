@@ -0,0 +1,838 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A bitboard representation of the fox hound game board.
+ *
+ * Figures may only ever occupy the dark fields of the board, i.e. fields
+ * where the sum of row and column is uneven. These playable fields are
+ * numbered from top left to bottom right and are referred to as squares.
+ * Hound occupancy is stored as one bit per square packed into
+ * {@value FoxHoundBitboard#WORDS} long words which is enough for a board
+ * of dimension {@value FoxHoundUtils#MAX_DIM}. The fox is stored as a
+ * single square index.
+ *
+ * In contrast to the players array used by {@link FoxHoundUtils} no
+ * coordinate strings are created or compared by any of the rule queries
+ * of this class.
+ *
+ * The board keeps the Zobrist hash of the figure positions up to date
+ * with every change, see {@link FoxHoundZobrist}. It also keeps count of
+ * the free corner fields of the fox, so the mobility of the fox and the
+ * hound win condition can be read in constant time.
+ *
+ * On boards of uneven dimension, mirroring a position at the middle
+ * column gives a position with the same outcome and mirrored moves. The
+ * board therefore also keeps the hash of its mirror image up to date, so
+ * the smaller of both hashes, see {@link #getCanonicalHash()}, identifies
+ * a position and its mirror image with the same key. On boards of even
+ * dimension the mirror image of a dark field is a light field, so there
+ * is no such symmetry and both hashes are equal.
+ */
+public class FoxHoundBitboard {
+
+    /** Number of long words needed for the largest possible board. */
+    public static final int WORDS =
+        ((FoxHoundUtils.MAX_DIM * FoxHoundUtils.MAX_DIM + 1) / 2 + Long.SIZE - 1) / Long.SIZE;
+
+    /** Number of diagonal neighbours of a square. */
+    public static final int NUM_DIRECTIONS = 4;
+    /** Direction index of the top left neighbour. */
+    public static final int TOP_LEFT = 0;
+    /** Direction index of the bottom left neighbour. */
+    public static final int BOTTOM_LEFT = 1;
+    /** Direction index of the bottom right neighbour. */
+    public static final int BOTTOM_RIGHT = 2;
+    /** Direction index of the top right neighbour. */
+    public static final int TOP_RIGHT = 3;
+
+    /** Indicates a missing square, e.g. a neighbour outside of the board. */
+    public static final int NO_SQUARE = -1;
+
+    /**
+     * Precomputed square geometry for every valid dimension.
+     *
+     * Entries below {@value FoxHoundUtils#MIN_DIM} remain null.
+     */
+    private static final Geometry[] GEOMETRIES = new Geometry[FoxHoundUtils.MAX_DIM + 1];
+
+    static {
+        for (int dim = FoxHoundUtils.MIN_DIM; dim <= FoxHoundUtils.MAX_DIM; dim++) {
+            GEOMETRIES[dim] = new Geometry(dim);
+        }
+    }
+
+    private final int dim;
+    private final Geometry geometry;
+    private final long[] hounds;
+    private int houndCount;
+    private int fox;
+    private int foxFreeCorners;
+    private long hash;
+    private long mirrorHash;
+
+    /**
+     * Create an empty board for the given dimension.
+     *
+     * The board does not contain any hounds and the fox is not
+     * yet placed.
+     *
+     * @param dim dimension of the game board
+     * @throws IllegalArgumentException if given dimensions are out of bounds
+     */
+    public FoxHoundBitboard(int dim) {
+        FoxHoundUtils.dimensionCheck(dim);
+
+        this.dim = dim;
+        this.geometry = GEOMETRIES[dim];
+        this.hounds = new long[WORDS];
+        this.houndCount = 0;
+        this.fox = NO_SQUARE;
+        this.foxFreeCorners = 0;
+        this.hash = FoxHoundZobrist.dimensionKey(dim);
+        this.mirrorHash = hash;
+    }
+
+    /**
+     * Create a copy of the given board.
+     *
+     * @param other the board to be copied
+     * @throws NullPointerException if the given board is null
+     */
+    public FoxHoundBitboard(FoxHoundBitboard other) {
+        Objects.requireNonNull(other, "Given board must not be null.");
+
+        this.dim = other.dim;
+        this.geometry = other.geometry;
+        this.hounds = other.hounds.clone();
+        this.houndCount = other.houndCount;
+        this.fox = other.fox;
+        this.foxFreeCorners = other.foxFreeCorners;
+        this.hash = other.hash;
+        this.mirrorHash = other.mirrorHash;
+    }
+
+    /**
+     * Overwrite this board with the figure positions of the given board.
+     *
+     * @param other the board to be copied
+     * @throws IllegalArgumentException if the dimensions of both boards differ
+     * @throws NullPointerException if the given board is null
+     */
+    public void copyFrom(FoxHoundBitboard other) {
+        Objects.requireNonNull(other, "Given board must not be null.");
+        if (other.dim != dim) {
+            throw new IllegalArgumentException("Given board must have dimension " + dim
+                + " but has: " + other.dim);
+        }
+
+        System.arraycopy(other.hounds, 0, hounds, 0, WORDS);
+        houndCount = other.houndCount;
+        fox = other.fox;
+        foxFreeCorners = other.foxFreeCorners;
+        hash = other.hash;
+        mirrorHash = other.mirrorHash;
+    }
+
+    // -------------- CONVERSION ------------------------------------------
+
+    /**
+     * Create a bitboard from the given players array.
+     *
+     * @param players position of all figures on the board in board coordinates
+     * @param dim dimension of the game board
+     * @return a bitboard with the same figure positions
+     * @throws IllegalArgumentException if the given players array has invalid entries,
+     * does not match with the given board dimensions, places a figure on a field which
+     * is not playable or places two figures on the same field
+     * @throws NullPointerException if the given players array or an entry within
+     * the players array is null
+     */
+    public static FoxHoundBitboard fromPlayers(String[] players, int dim) {
+        FoxHoundUtils.boardSetupCheck(players, dim);
+        return fromCoords(FoxHoundCoord.fromStrings(players), dim);
+    }
+
+    /**
+     * Create a bitboard from the given coordinate array.
+     *
+     * @param players position of all figures on the board
+     * @param dim dimension of the game board
+     * @return a bitboard with the same figure positions
+     * @throws IllegalArgumentException if the given players array has entries outside
+     * of the board, does not match with the given board dimensions, places a figure on
+     * a field which is not playable or places two figures on the same field
+     * @throws NullPointerException if the given players array or an entry within
+     * the players array is null
+     */
+    public static FoxHoundBitboard fromCoords(FoxHoundCoord[] players, int dim) {
+        FoxHoundUtils.coordSetupCheck(players, dim);
+
+        FoxHoundBitboard board = new FoxHoundBitboard(dim);
+        for (int i = 0; i < players.length; i++) {
+            int sq = board.getSquare(players[i].getRow(), players[i].getCol());
+
+            if (sq == NO_SQUARE) {
+                throw new IllegalArgumentException("Figure is not on a playable field: "
+                    + players[i]);
+            }
+            if (board.isOccupied(sq)) {
+                throw new IllegalArgumentException("Field is occupied twice: " + players[i]);
+            }
+
+            if (i < players.length - 1) {
+                board.addHound(sq);
+            } else {
+                board.setFox(sq);
+            }
+        }
+
+        return board;
+    }
+
+    /**
+     * Translate the board into a players array.
+     *
+     * The bitboard does not keep track of the order of the hounds, which
+     * is why hounds are listed by ascending square, i.e. row by row from
+     * top left to bottom right, followed by the fox.
+     *
+     * @return position of all figures on the board in board coordinates
+     * @throws IllegalStateException if the fox has not been placed
+     */
+    public String[] toPlayers() {
+        if (fox == NO_SQUARE) {
+            throw new IllegalStateException("Fox has not been placed on the board.");
+        }
+
+        String[] players = new String[houndCount + 1];
+        int idx = 0;
+        for (int sq = nextHound(0); sq != NO_SQUARE; sq = nextHound(sq + 1)) {
+            players[idx] = toBoardCoords(sq);
+            idx++;
+        }
+        players[idx] = toBoardCoords(fox);
+
+        return players;
+    }
+
+    /**
+     * Translate the board into a coordinate array.
+     *
+     * Hounds are listed by ascending square followed by the fox,
+     * as for {@link #toPlayers()}.
+     *
+     * @return position of all figures on the board
+     * @throws IllegalStateException if the fox has not been placed
+     */
+    public FoxHoundCoord[] toCoords() {
+        if (fox == NO_SQUARE) {
+            throw new IllegalStateException("Fox has not been placed on the board.");
+        }
+
+        FoxHoundCoord[] players = new FoxHoundCoord[houndCount + 1];
+        int idx = 0;
+        for (int sq = nextHound(0); sq != NO_SQUARE; sq = nextHound(sq + 1)) {
+            players[idx] = toCoord(sq);
+            idx++;
+        }
+        players[idx] = toCoord(fox);
+
+        return players;
+    }
+
+    /**
+     * Translate the given square into board coordinates.
+     *
+     * @param sq the square to be translated
+     * @return the board coordinates of the given square
+     * @throws IllegalArgumentException if the given square is not on the board
+     */
+    public String toBoardCoords(int sq) {
+        return toCoord(sq).toString();
+    }
+
+    /**
+     * Translate the given square into a coordinate.
+     *
+     * @param sq the square to be translated
+     * @return the shared coordinate of the given square
+     * @throws IllegalArgumentException if the given square is not on the board
+     */
+    public FoxHoundCoord toCoord(int sq) {
+        squareCheck(sq);
+        return FoxHoundCoord.of(geometry.rows[sq], geometry.cols[sq]);
+    }
+
+    /**
+     * Translate the given coordinate into a square.
+     *
+     * @param pos the coordinate to be translated
+     * @return the square index of the given coordinate
+     * @throws IllegalArgumentException if the given coordinate is outside of the
+     * board or not a playable field
+     * @throws NullPointerException if the given coordinate is null
+     */
+    public int fromCoord(FoxHoundCoord pos) {
+        Objects.requireNonNull(pos, "Given position must not be null.");
+
+        int sq = getSquare(pos.getRow(), pos.getCol());
+        if (sq == NO_SQUARE) {
+            throw new IllegalArgumentException("Given position is not a playable field"
+                + " for dimension " + dim + ": " + pos);
+        }
+        return sq;
+    }
+
+    /**
+     * Translate the given board coordinates into a square.
+     *
+     * @param pos position in board coordinates
+     * @return the square index of the given position
+     * @throws IllegalArgumentException if the given position is not a valid board
+     * coordinate or not a playable field
+     * @throws NullPointerException if the given position is null
+     */
+    public int fromBoardCoords(String pos) {
+        FoxHoundCoord coord = FoxHoundCoord.parse(pos, dim);
+        if (coord == null) {
+            throw new IllegalArgumentException("Given position must be a valid board coordinate"
+                + " for dimension " + dim + " but is: " + pos);
+        }
+        return fromCoord(coord);
+    }
+
+    // -------------- GEOMETRY ------------------------------------------
+
+    /**
+     * Return the square index for the given row and column.
+     *
+     * @param row the row of the field (starting with zero from top to bottom)
+     * @param col the column of the field (starting with zero from left to right)
+     * @return the square index or {@value FoxHoundBitboard#NO_SQUARE} if the field
+     * is outside of the board or not playable
+     */
+    public int getSquare(int row, int col) {
+        if (row < 0 || col < 0 || row >= dim || col >= dim || !isPlayable(row, col)) {
+            return NO_SQUARE;
+        }
+        return (row * dim + col) >>> 1;
+    }
+
+    /**
+     * Check if figures may be placed on the given field.
+     *
+     * @param row the row of the field (starting with zero from top to bottom)
+     * @param col the column of the field (starting with zero from left to right)
+     * @return true if the field is a dark field, false otherwise
+     */
+    public static boolean isPlayable(int row, int col) {
+        return ((row + col) & 1) == 1;
+    }
+
+    /**
+     * Return the row of the given square.
+     *
+     * @param sq the square index
+     * @return the row (starting with zero from top to bottom)
+     */
+    public int getRow(int sq) {
+        return geometry.rows[sq];
+    }
+
+    /**
+     * Return the column of the given square.
+     *
+     * @param sq the square index
+     * @return the column (starting with zero from left to right)
+     */
+    public int getCol(int sq) {
+        return geometry.cols[sq];
+    }
+
+    /**
+     * Return the neighbouring square in the given diagonal direction.
+     *
+     * @param sq the square index
+     * @param direction one of the four direction indices
+     * @return the neighbouring square or {@value FoxHoundBitboard#NO_SQUARE}
+     * if it would be outside of the board
+     */
+    public int getNeighbour(int sq, int direction) {
+        return geometry.neighbours[sq * NUM_DIRECTIONS + direction];
+    }
+
+    /**
+     * Return the number of playable squares on this board.
+     *
+     * @return number of squares
+     */
+    public int getSquareCount() {
+        return geometry.squares;
+    }
+
+    /**
+     * Return the dimension of this board.
+     *
+     * @return the board dimension
+     */
+    public int getDimension() {
+        return dim;
+    }
+
+    // -------------- OCCUPANCY ------------------------------------------
+
+    /**
+     * Check if the given square is occupied by a hound.
+     *
+     * @param sq the square index
+     * @return true if a hound is placed on the square, false otherwise
+     */
+    public boolean isHound(int sq) {
+        return (hounds[sq >>> 6] & (1L << sq)) != 0;
+    }
+
+    /**
+     * Check if the given square is occupied by any figure.
+     *
+     * @param sq the square index
+     * @return true if a hound or the fox is placed on the square, false otherwise
+     */
+    public boolean isOccupied(int sq) {
+        return sq == fox || isHound(sq);
+    }
+
+    /**
+     * Return the square of the fox.
+     *
+     * @return the fox square or {@value FoxHoundBitboard#NO_SQUARE} if not placed
+     */
+    public int getFoxSquare() {
+        return fox;
+    }
+
+    /**
+     * Return the number of corner fields the fox can move to.
+     *
+     * The count is updated with every change of the board, so
+     * this takes constant time.
+     *
+     * @return number of free corner fields of the fox or 0 if it is not placed
+     */
+    public int getFoxFreeCorners() {
+        return foxFreeCorners;
+    }
+
+    /**
+     * Return the number of hounds on the board.
+     *
+     * @return number of hounds
+     */
+    public int getHoundCount() {
+        return houndCount;
+    }
+
+    /**
+     * Find the first hound at or after the given square.
+     *
+     * This can be used to iterate over all hounds:
+     * {@code for (int sq = nextHound(0); sq != NO_SQUARE; sq = nextHound(sq + 1))}
+     *
+     * @param from the first square to be considered
+     * @return the square of the next hound or {@value FoxHoundBitboard#NO_SQUARE}
+     * if there is none
+     */
+    public int nextHound(int from) {
+        int word = from >>> 6;
+        if (word >= WORDS) {
+            return NO_SQUARE;
+        }
+
+        long bits = hounds[word] & (-1L << from);
+        while (bits == 0) {
+            word++;
+            if (word == WORDS) {
+                return NO_SQUARE;
+            }
+            bits = hounds[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Return the Zobrist hash of the figure positions.
+     *
+     * The side to move is not part of this hash, use
+     * {@link FoxHoundZobrist#hash(FoxHoundBitboard, char)} to include it.
+     *
+     * @return the position hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Return the Zobrist hash of the mirror image of the figure positions.
+     *
+     * @return the hash the position would have after mirroring it at the
+     * middle column, equal to {@link #getHash()} on boards of even dimension
+     */
+    public long getMirrorHash() {
+        return mirrorHash;
+    }
+
+    /**
+     * Return the hash identifying this position and its mirror image.
+     *
+     * The side to move is not part of this hash. Moves stored under this
+     * key have to be translated with {@link #toCanonicalMove(int)}.
+     *
+     * @return the smaller of the position hash and the mirror hash
+     */
+    public long getCanonicalHash() {
+        return Math.min(hash, mirrorHash);
+    }
+
+    /**
+     * Check if the canonical hash is the hash of the mirror image.
+     *
+     * @return true if moves have to be mirrored to be stored under the
+     * canonical hash, false otherwise
+     */
+    public boolean isMirrored() {
+        return mirrorHash < hash;
+    }
+
+    /**
+     * Translate a move of this position into a move of the position
+     * identified by the canonical hash, or the other way around.
+     *
+     * Mirroring twice gives the original move, so the same translation is
+     * used for storing and for reading moves.
+     *
+     * @param move the packed move or {@value FoxHoundMoveGen#NO_MOVE}
+     * @return the mirrored move if the position is mirrored, the given move otherwise
+     */
+    public int toCanonicalMove(int move) {
+        if (move == FoxHoundMoveGen.NO_MOVE || !isMirrored()) {
+            return move;
+        }
+        return FoxHoundMoveGen.packMove(geometry.mirror[FoxHoundMoveGen.getOrigin(move)],
+            geometry.mirror[FoxHoundMoveGen.getDest(move)]);
+    }
+
+    /**
+     * Return the square mirrored at the middle column.
+     *
+     * @param sq the square index
+     * @return the mirrored square on boards of uneven dimension, the given
+     * square on boards of even dimension
+     */
+    public int getMirrorSquare(int sq) {
+        return geometry.mirror[sq];
+    }
+
+    /**
+     * Check if boards of the given dimension are symmetric to their middle column.
+     *
+     * @param dim dimension of the game board
+     * @return true if mirrored positions are valid positions, false otherwise
+     */
+    public static boolean hasMirrorSymmetry(int dim) {
+        return (dim & 1) == 1;
+    }
+
+    /**
+     * Return one word of the hound occupancy without copying.
+     *
+     * Square {@code sq} is stored in bit {@code sq % 64} of word {@code sq / 64}.
+     *
+     * @param word index of the word between 0 and {@value FoxHoundBitboard#WORDS} - 1
+     * @return hound occupancy bits of the given word
+     */
+    public long getHoundWord(int word) {
+        return hounds[word];
+    }
+
+    /**
+     * Return a copy of the hound occupancy words.
+     *
+     * @return hound occupancy with one bit per square
+     */
+    public long[] getHoundBits() {
+        return hounds.clone();
+    }
+
+    /**
+     * Place a hound on the given square.
+     *
+     * @param sq the square index
+     * @throws IllegalArgumentException if the square is not on the board or occupied
+     */
+    public void addHound(int sq) {
+        squareCheck(sq);
+        if (isOccupied(sq)) {
+            throw new IllegalArgumentException("Given square is already occupied: " + sq);
+        }
+        hounds[sq >>> 6] |= 1L << sq;
+        houndCount++;
+        hash ^= FoxHoundZobrist.houndKey(sq);
+        mirrorHash ^= FoxHoundZobrist.houndKey(geometry.mirror[sq]);
+        if (isFoxCorner(sq)) {
+            foxFreeCorners--;
+        }
+    }
+
+    /**
+     * Place the fox on the given square.
+     *
+     * @param sq the square index
+     * @throws IllegalArgumentException if the square is not on the board or
+     * occupied by a hound
+     */
+    public void setFox(int sq) {
+        squareCheck(sq);
+        if (isHound(sq)) {
+            throw new IllegalArgumentException("Given square is already occupied: " + sq);
+        }
+        if (fox != NO_SQUARE) {
+            hash ^= FoxHoundZobrist.foxKey(fox);
+            mirrorHash ^= FoxHoundZobrist.foxKey(geometry.mirror[fox]);
+        }
+        fox = sq;
+        hash ^= FoxHoundZobrist.foxKey(sq);
+        mirrorHash ^= FoxHoundZobrist.foxKey(geometry.mirror[sq]);
+        foxFreeCorners = countFreeCorners(sq);
+    }
+
+    /**
+     * Remove all figures from the board.
+     */
+    public void clear() {
+        Arrays.fill(hounds, 0L);
+        houndCount = 0;
+        fox = NO_SQUARE;
+        foxFreeCorners = 0;
+        hash = FoxHoundZobrist.dimensionKey(dim);
+        mirrorHash = hash;
+    }
+
+    /**
+     * Check if the given square is a corner field of the fox.
+     *
+     * @param sq the square index
+     * @return true if the square is diagonally adjacent to the fox, false otherwise
+     */
+    private boolean isFoxCorner(int sq) {
+        return fox != NO_SQUARE
+            && Math.abs(geometry.rows[sq] - geometry.rows[fox]) == 1
+            && Math.abs(geometry.cols[sq] - geometry.cols[fox]) == 1;
+    }
+
+    /**
+     * Count the corner fields of the given square which are
+     * on the board and not taken by a hound.
+     *
+     * @param sq the square index
+     * @return number of free corner fields
+     */
+    private int countFreeCorners(int sq) {
+        int base = sq * NUM_DIRECTIONS;
+        int count = 0;
+        for (int dir = 0; dir < NUM_DIRECTIONS; dir++) {
+            int corner = geometry.neighbours[base + dir];
+            if (corner != NO_SQUARE && !isHound(corner)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // -------------- RULES ------------------------------------------
+
+    /**
+     * Check if the given destination can be reached from the given origin
+     * for the specified figure.
+     *
+     * The same rules as in
+     * {@link FoxHoundUtils#isValidMove(int, String[], char, String, String)}
+     * apply.
+     *
+     * @param figure the type of figure to be moved
+     * @param origin the starting square of the move
+     * @param dest the end square of the move
+     * @return true if the move is valid, false otherwise
+     * @throws IllegalArgumentException if the given figure type or squares are invalid
+     */
+    public boolean isValidMove(char figure, int origin, int dest) {
+        squareCheck(origin);
+        squareCheck(dest);
+
+        int firstDir;
+        if (figure == FoxHoundUtils.FOX_FIELD) {
+            if (origin != fox) {
+                return false;
+            }
+            firstDir = TOP_LEFT;
+        } else if (figure == FoxHoundUtils.HOUND_FIELD) {
+            if (!isHound(origin)) {
+                return false;
+            }
+            // hounds may only move towards the bottom
+            firstDir = BOTTOM_LEFT;
+        } else {
+            throw new IllegalArgumentException("Invalid figure type: " + figure);
+        }
+
+        int lastDir = figure == FoxHoundUtils.FOX_FIELD ? TOP_RIGHT : BOTTOM_RIGHT;
+        for (int dir = firstDir; dir <= lastDir; dir++) {
+            if (getNeighbour(origin, dir) == dest) {
+                return !isOccupied(dest);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Move the figure on the given origin to the given destination.
+     *
+     * The move itself is not validated, use
+     * {@link #isValidMove(char, int, int)} for that. Apart from the hash
+     * only the free corner count of the fox is updated, which takes at
+     * most four lookups for a fox move and two comparisons for a hound move.
+     *
+     * @param origin the square of the figure to be moved
+     * @param dest the new square of the figure
+     * @throws IllegalArgumentException if there is no figure on the origin
+     */
+    public void movePiece(int origin, int dest) {
+        if (origin == fox) {
+            fox = dest;
+            hash ^= FoxHoundZobrist.foxKey(origin) ^ FoxHoundZobrist.foxKey(dest);
+            mirrorHash ^= FoxHoundZobrist.foxKey(geometry.mirror[origin])
+                ^ FoxHoundZobrist.foxKey(geometry.mirror[dest]);
+            foxFreeCorners = countFreeCorners(dest);
+        } else if (isHound(origin)) {
+            hounds[origin >>> 6] &= ~(1L << origin);
+            hounds[dest >>> 6] |= 1L << dest;
+            hash ^= FoxHoundZobrist.houndKey(origin) ^ FoxHoundZobrist.houndKey(dest);
+            mirrorHash ^= FoxHoundZobrist.houndKey(geometry.mirror[origin])
+                ^ FoxHoundZobrist.houndKey(geometry.mirror[dest]);
+            if (isFoxCorner(origin)) {
+                foxFreeCorners++;
+            }
+            if (isFoxCorner(dest)) {
+                foxFreeCorners--;
+            }
+        } else {
+            throw new IllegalArgumentException("No figure on given square: " + origin);
+        }
+    }
+
+    /**
+     * Check if the fox has reached row {@value FoxHoundUtils#FOX_WIN_ROW}.
+     *
+     * @return true if the fox has won, false otherwise
+     */
+    public boolean isFoxWin() {
+        return fox != NO_SQUARE && geometry.rows[fox] == FoxHoundUtils.FOX_WIN_ROW;
+    }
+
+    /**
+     * Return true if the fox can no longer move, i.e. all of its
+     * corner fields are either outside of the board or taken by a hound.
+     *
+     * This only reads the incrementally maintained free corner count.
+     *
+     * @return true if the hounds have won, false otherwise
+     */
+    public boolean isHoundWin() {
+        return fox != NO_SQUARE && foxFreeCorners == 0;
+    }
+
+    // -------------- OBJECT ------------------------------------------
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof FoxHoundBitboard)) {
+            return false;
+        }
+
+        FoxHoundBitboard other = (FoxHoundBitboard) obj;
+        return dim == other.dim && fox == other.fox && Arrays.equals(hounds, other.hounds);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * dim + fox) + Arrays.hashCode(hounds);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toPlayers());
+    }
+
+    /**
+     * Check if the given square is on this board.
+     *
+     * @param sq the square index
+     * @throws IllegalArgumentException if the square is outside of the board
+     */
+    private void squareCheck(int sq) {
+        if (sq < 0 || sq >= geometry.squares) {
+            throw new IllegalArgumentException("Given square must be between 0 and "
+                + (geometry.squares - 1) + " but is: " + sq);
+        }
+    }
+
+    /**
+     * Lookup tables for rows, columns and diagonal neighbours
+     * of every square for one board dimension.
+     */
+    private static final class Geometry {
+
+        private final int squares;
+        private final int[] rows;
+        private final int[] cols;
+        private final int[] neighbours;
+        /** Square mirrored at the middle column, the square itself for even dimensions. */
+        private final int[] mirror;
+
+        private Geometry(int dim) {
+            // the last field is playable for uneven dimensions only
+            squares = (dim * dim) / 2;
+            rows = new int[squares];
+            cols = new int[squares];
+            neighbours = new int[squares * NUM_DIRECTIONS];
+            mirror = new int[squares];
+
+            for (int row = 0; row < dim; row++) {
+                for (int col = 0; col < dim; col++) {
+                    if (!isPlayable(row, col)) {
+                        continue;
+                    }
+                    int sq = (row * dim + col) >>> 1;
+                    rows[sq] = row;
+                    cols[sq] = col;
+
+                    int base = sq * NUM_DIRECTIONS;
+                    neighbours[base + TOP_LEFT] = square(dim, row - 1, col - 1);
+                    neighbours[base + BOTTOM_LEFT] = square(dim, row + 1, col - 1);
+                    neighbours[base + BOTTOM_RIGHT] = square(dim, row + 1, col + 1);
+                    neighbours[base + TOP_RIGHT] = square(dim, row - 1, col + 1);
+                    mirror[sq] = hasMirrorSymmetry(dim) ? square(dim, row, dim - 1 - col) : sq;
+                }
+            }
+        }
+
+        private static int square(int dim, int row, int col) {
+            if (row < 0 || col < 0 || row >= dim || col >= dim) {
+                return NO_SQUARE;
+            }
+            return (row * dim + col) >>> 1;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * A computer controlled player for the fox hound game.
+ *
+ * The computer player takes over one side of the game and picks its
+ * moves either with a {@link FoxHoundSearch} bound by a time budget per
+ * move or with a {@link FoxHoundMctsStrategy}.
+ *
+ * A player using a {@link FoxHoundSearch} can ponder: while the opponent
+ * thinks about its move, the player predicts the reply from its
+ * transposition table and searches the resulting position on a background
+ * thread. If the opponent plays the predicted move, the running search
+ * only gets the rest of its time budget, which usually has already
+ * passed, so the answer is immediate. Otherwise the background search
+ * is aborted and a new search starts, which still profits from the
+ * entries the background search has added to the shared table.
+ */
+public class FoxHoundComputerPlayer implements AutoCloseable {
+
+    /** Default time budget per move in milliseconds. */
+    public static final long DEFAULT_MOVE_TIME = 1000;
+
+    private final char side;
+    private final FoxHoundStrategy strategy;
+    private final FoxHoundMctsStrategy mcts;
+    private final Supplier<String> report;
+    private final FoxHoundSearch search;
+    private final long moveTimeMillis;
+
+    private ExecutorService ponderThread;
+    private FoxHoundBitboard ponderBoard;
+    private int ponderMove = FoxHoundMoveGen.NO_MOVE;
+    private Future<Integer> ponderResult;
+    private boolean ponderHit;
+
+    /**
+     * Create a computer player for the given side.
+     *
+     * @param side the figure type controlled by the computer
+     * @param search the search used to pick moves
+     * @param moveTimeMillis the time budget per move in milliseconds
+     * @throws IllegalArgumentException if the given figure type or time budget is invalid
+     * @throws NullPointerException if the given search is null
+     */
+    public FoxHoundComputerPlayer(char side, FoxHoundSearch search, long moveTimeMillis) {
+        if (!FoxHoundUtils.isValidTurn(side)) {
+            throw new IllegalArgumentException("Invalid figure type: " + side);
+        }
+        if (moveTimeMillis < 1) {
+            throw new IllegalArgumentException("Move time must be positive but is: "
+                + moveTimeMillis);
+        }
+
+        this.side = side;
+        this.search = Objects.requireNonNull(search, "Given search must not be null.");
+        this.mcts = null;
+        this.moveTimeMillis = moveTimeMillis;
+        this.strategy = (board, turn) -> search.search(board, turn, moveTimeMillis,
+            FoxHoundSearch.MAX_DEPTH);
+        this.report = () -> String.format(
+            "%sdepth %d, %d nodes in %d ms (%d nodes/s), TT hit rate %.1f%%",
+            ponderHit ? "ponder hit, " : "",
+            search.getCompletedDepth(), search.getNodes(), search.getElapsedMillis(),
+            search.getNodesPerSecond(), search.getTable().getHitRate() * 100);
+    }
+
+    /**
+     * Create a computer player for the given side which picks its moves
+     * with a Monte Carlo tree search.
+     *
+     * Such a player does not ponder. Closing the player closes the strategy.
+     *
+     * @param side the figure type controlled by the computer
+     * @param mcts the Monte Carlo strategy used to pick moves
+     * @throws IllegalArgumentException if the given figure type is invalid
+     * @throws NullPointerException if the given strategy is null
+     */
+    public FoxHoundComputerPlayer(char side, FoxHoundMctsStrategy mcts) {
+        if (!FoxHoundUtils.isValidTurn(side)) {
+            throw new IllegalArgumentException("Invalid figure type: " + side);
+        }
+        Objects.requireNonNull(mcts, "Given strategy must not be null.");
+
+        this.side = side;
+        this.search = null;
+        this.mcts = mcts;
+        this.moveTimeMillis = 0;
+        this.strategy = mcts;
+        this.report = mcts::getReport;
+    }
+
+    /**
+     * Return the figure type controlled by the computer.
+     *
+     * @return the figure type
+     */
+    public char getSide() {
+        return side;
+    }
+
+    /**
+     * Pick the next move for the given position.
+     *
+     * If the position is the one pondered on, the result of the
+     * background search is used.
+     *
+     * @param board the current position, it is not modified
+     * @return the coordinates of the move with the origin as first entry and
+     * the destination as second or null if the computer cannot move
+     * @throws NullPointerException if the given board is null
+     */
+    public FoxHoundCoord[] chooseMove(FoxHoundBitboard board) {
+        Objects.requireNonNull(board, "Given board must not be null.");
+
+        ponderHit = ponderResult != null && board.equals(ponderBoard);
+        int move;
+        if (ponderHit) {
+            search.setTimeBudget(moveTimeMillis);
+            move = awaitPonder();
+        } else {
+            stopPondering();
+            move = strategy.chooseMove(board, side);
+        }
+
+        if (move == FoxHoundMoveGen.NO_MOVE) {
+            return null;
+        }
+
+        return new FoxHoundCoord[]{
+            board.toCoord(FoxHoundMoveGen.getOrigin(move)),
+            board.toCoord(FoxHoundMoveGen.getDest(move))
+        };
+    }
+
+    /**
+     * Summarise the statistics of the last search.
+     *
+     * @return a formatted string with the effort and speed of the search
+     */
+    public String getSearchReport() {
+        return report.get();
+    }
+
+    /**
+     * Stop pondering and release the threads of the player.
+     *
+     * The player cannot be used any more afterwards.
+     */
+    @Override
+    public void close() {
+        stopPondering();
+        if (ponderThread != null) {
+            ponderThread.shutdown();
+        }
+        if (mcts != null) {
+            mcts.close();
+        }
+    }
+
+    // -------------- PONDERING ------------------------------------------
+
+    /**
+     * Start searching in the background while the opponent is to move.
+     *
+     * The reply of the opponent is predicted with the best move stored
+     * in the transposition table for the given position. Nothing happens
+     * if there is no prediction or the player does not use a
+     * {@link FoxHoundSearch}.
+     *
+     * @param board the current position with the opponent to move, it is not modified
+     * @return true if the player ponders, false otherwise
+     * @throws NullPointerException if the given board is null
+     */
+    public boolean startPondering(FoxHoundBitboard board) {
+        Objects.requireNonNull(board, "Given board must not be null.");
+        stopPondering();
+        if (search == null) {
+            return false;
+        }
+
+        int reply = predictReply(board);
+        if (reply == FoxHoundMoveGen.NO_MOVE) {
+            return false;
+        }
+
+        FoxHoundBitboard next = new FoxHoundBitboard(board);
+        next.movePiece(FoxHoundMoveGen.getOrigin(reply), FoxHoundMoveGen.getDest(reply));
+        if (next.isFoxWin() || next.isHoundWin()) {
+            return false;
+        }
+
+        if (ponderThread == null) {
+            ponderThread = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "FoxHoundPonder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        // prepared on this thread, so a stop right after submitting cannot be missed
+        search.start(next, side, FoxHoundSearch.NO_TIME_LIMIT, FoxHoundSearch.MAX_DEPTH);
+        ponderResult = ponderThread.submit(search::run);
+        ponderBoard = next;
+        ponderMove = reply;
+        return true;
+    }
+
+    /**
+     * Return the reply of the opponent the player is pondering on.
+     *
+     * @return the packed move or {@value FoxHoundMoveGen#NO_MOVE} if the player does not ponder
+     */
+    public int getPonderMove() {
+        return ponderMove;
+    }
+
+    /**
+     * Abort the background search, if there is one, and wait for it to end.
+     *
+     * This should be called whenever the position changes in another way
+     * than by a move of the opponent, e.g. when a move is taken back.
+     */
+    public void stopPondering() {
+        if (ponderResult == null) {
+            return;
+        }
+        search.stop();
+        awaitPonder();
+    }
+
+    /**
+     * Return the reply of the opponent stored in the transposition table.
+     *
+     * @param board the current position with the opponent to move
+     * @return the predicted legal move or {@value FoxHoundMoveGen#NO_MOVE}
+     */
+    private int predictReply(FoxHoundBitboard board) {
+        char opponent = side == FoxHoundUtils.FOX_FIELD
+            ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+        long entry = search.getTable().probe(board.getCanonicalHash()
+            ^ FoxHoundZobrist.sideKey(opponent));
+        if (entry == 0) {
+            return FoxHoundMoveGen.NO_MOVE;
+        }
+
+        // the entry may belong to a different position with the same index
+        int move = FoxHoundTranspositionTable.getMove(entry);
+        int origin = FoxHoundMoveGen.getOrigin(move);
+        int dest = FoxHoundMoveGen.getDest(move);
+        if (move == FoxHoundMoveGen.NO_MOVE || origin >= board.getSquareCount()
+                || dest >= board.getSquareCount()) {
+            return FoxHoundMoveGen.NO_MOVE;
+        }
+
+        move = board.toCanonicalMove(move);
+        if (!board.isValidMove(opponent, FoxHoundMoveGen.getOrigin(move),
+                FoxHoundMoveGen.getDest(move))) {
+            return FoxHoundMoveGen.NO_MOVE;
+        }
+        return move;
+    }
+
+    /**
+     * Wait for the background search and clear the pondering state.
+     *
+     * @return the best move of the background search
+     */
+    private int awaitPonder() {
+        Future<Integer> result = ponderResult;
+        ponderResult = null;
+        ponderBoard = null;
+        ponderMove = FoxHoundMoveGen.NO_MOVE;
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return FoxHoundMoveGen.NO_MOVE;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Pondering failed.", e.getCause());
+        }
+    }
+}
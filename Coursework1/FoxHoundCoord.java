@@ -0,0 +1,268 @@
+import java.util.Objects;
+
+/**
+ * An immutable field coordinate of the fox hound game board.
+ *
+ * One coordinate object exists for every field of a board of dimension
+ * {@value FoxHoundUtils#MAX_DIM}. They are created once when the class is
+ * loaded and shared from then on, so coordinates can be compared by
+ * identity and looking one up neither allocates memory nor builds a
+ * string. The board coordinate string of each field, e.g. {@code "B1"},
+ * is created once as well and returned by {@link #toString()}.
+ *
+ * Rows and columns start with zero in the top left corner, while board
+ * coordinates start with {@code A1}.
+ */
+public final class FoxHoundCoord {
+
+    /** Largest number of digits of a row number in board coordinates. */
+    private static final int MAX_ROW_DIGITS = String.valueOf(FoxHoundUtils.MAX_DIM).length();
+
+    /** All coordinates indexed by {@code row * MAX_DIM + col}. */
+    private static final FoxHoundCoord[] TABLE =
+        new FoxHoundCoord[FoxHoundUtils.MAX_DIM * FoxHoundUtils.MAX_DIM];
+
+    static {
+        for (int row = 0; row < FoxHoundUtils.MAX_DIM; row++) {
+            for (int col = 0; col < FoxHoundUtils.MAX_DIM; col++) {
+                TABLE[row * FoxHoundUtils.MAX_DIM + col] = new FoxHoundCoord(row, col);
+            }
+        }
+    }
+
+    private final int row;
+    private final int col;
+    private final String boardCoords;
+
+    private FoxHoundCoord(int row, int col) {
+        this.row = row;
+        this.col = col;
+        this.boardCoords = "" + (char)(FoxHoundUtils.COLUMN_START_COORD + col) + (row + 1);
+    }
+
+    // -------------- LOOKUP ------------------------------------------
+
+    /**
+     * Return the coordinate of the given row and column.
+     *
+     * @param row the row, starting with zero from top to bottom
+     * @param col the column, starting with zero from left to right
+     * @return the shared coordinate object
+     * @throws IllegalArgumentException if row or column are outside of a board of
+     * dimension {@value FoxHoundUtils#MAX_DIM}
+     */
+    public static FoxHoundCoord of(int row, int col) {
+        if (!isOnBoard(row, col, FoxHoundUtils.MAX_DIM)) {
+            throw new IllegalArgumentException("Given coordinates must be between 0 and "
+                + (FoxHoundUtils.MAX_DIM - 1) + " but are: " + row + ", " + col);
+        }
+        return TABLE[row * FoxHoundUtils.MAX_DIM + col];
+    }
+
+    /**
+     * Parse the given board coordinates.
+     *
+     * @param pos position in board coordinates
+     * @return the coordinate or null if the given position is not a valid
+     * board coordinate for dimension {@value FoxHoundUtils#MAX_DIM}
+     * @throws NullPointerException if the given position is null
+     */
+    public static FoxHoundCoord parse(CharSequence pos) {
+        return parse(pos, FoxHoundUtils.MAX_DIM);
+    }
+
+    /**
+     * Parse the given board coordinates considering a specific board dimension.
+     *
+     * @param pos position in board coordinates
+     * @param dim the dimension of the game board
+     * @return the coordinate or null if the given position is not a valid
+     * board coordinate for the given dimension
+     * @throws NullPointerException if the given position is null
+     */
+    public static FoxHoundCoord parse(CharSequence pos, int dim) {
+        Objects.requireNonNull(pos, "Given position must not be null.");
+        return parse(pos, 0, pos.length(), dim);
+    }
+
+    /**
+     * Parse board coordinates from a part of the given character sequence.
+     *
+     * The row number may have leading zeros. Apart from that, only a single
+     * column letter followed by decimal digits is accepted.
+     *
+     * @param text the text containing the position in board coordinates
+     * @param start index of the first character of the position
+     * @param end index after the last character of the position
+     * @param dim the dimension of the game board
+     * @return the coordinate or null if the given part is not a valid
+     * board coordinate for the given dimension
+     * @throws NullPointerException if the given text is null
+     * @throws IndexOutOfBoundsException if start or end are outside of the given text
+     */
+    public static FoxHoundCoord parse(CharSequence text, int start, int end, int dim) {
+        Objects.checkFromToIndex(start, end, text.length());
+        if (end - start < 2) {
+            return null;
+        }
+
+        int col = text.charAt(start) - FoxHoundUtils.COLUMN_START_COORD;
+        int rowNum = 0;
+        int digits = 0;
+        for (int i = start + 1; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+            rowNum = rowNum * 10 + (c - '0');
+            // leading zeros do not count towards the length of the row number
+            if (rowNum > 0 && ++digits > MAX_ROW_DIGITS) {
+                return null;
+            }
+        }
+
+        int row = rowNum - 1;
+        if (!isOnBoard(row, col, Math.min(dim, FoxHoundUtils.MAX_DIM))) {
+            return null;
+        }
+        return TABLE[row * FoxHoundUtils.MAX_DIM + col];
+    }
+
+    /**
+     * Check if the given row and column are on a board of the given dimension.
+     */
+    private static boolean isOnBoard(int row, int col, int dim) {
+        return row >= 0 && row < dim && col >= 0 && col < dim;
+    }
+
+    // -------------- QUERIES ------------------------------------------
+
+    /**
+     * Return the row of this coordinate.
+     *
+     * @return the row, starting with zero from top to bottom
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Return the column of this coordinate.
+     *
+     * @return the column, starting with zero from left to right
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * Check if this coordinate is on a board of the given dimension.
+     *
+     * @param dim the dimension of the game board
+     * @return true if row and column are within the board, false otherwise
+     */
+    public boolean isWithin(int dim) {
+        return row < dim && col < dim;
+    }
+
+    /**
+     * Check if this coordinate is a field figures may be placed on,
+     * i.e. the sum of row and column is uneven.
+     *
+     * @return true if the field is playable, false otherwise
+     */
+    public boolean isPlayable() {
+        return ((row + col) & 1) == 1;
+    }
+
+    /**
+     * Return the diagonal neighbour of this coordinate in the given direction.
+     *
+     * @param direction one of the direction constants of {@link FoxHoundBitboard}
+     * @param dim the dimension of the game board
+     * @return the neighbour or null if it is outside of the board
+     * @throws IllegalArgumentException if the given direction is invalid
+     */
+    public FoxHoundCoord getNeighbour(int direction, int dim) {
+        int nextRow;
+        int nextCol;
+        switch (direction) {
+            case FoxHoundBitboard.TOP_LEFT:
+                nextRow = row - 1;
+                nextCol = col - 1;
+                break;
+            case FoxHoundBitboard.BOTTOM_LEFT:
+                nextRow = row + 1;
+                nextCol = col - 1;
+                break;
+            case FoxHoundBitboard.BOTTOM_RIGHT:
+                nextRow = row + 1;
+                nextCol = col + 1;
+                break;
+            case FoxHoundBitboard.TOP_RIGHT:
+                nextRow = row - 1;
+                nextCol = col + 1;
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid direction: " + direction);
+        }
+
+        if (!isOnBoard(nextRow, nextCol, Math.min(dim, FoxHoundUtils.MAX_DIM))) {
+            return null;
+        }
+        return TABLE[nextRow * FoxHoundUtils.MAX_DIM + nextCol];
+    }
+
+    // -------------- CONVERSION ------------------------------------------
+
+    /**
+     * Parse all entries of the given players array.
+     *
+     * @param players position of all figures on the board in board coordinates
+     * @return the coordinates in the same order
+     * @throws IllegalArgumentException if an entry is not a valid board coordinate
+     * @throws NullPointerException if the given array or one of its entries is null
+     */
+    public static FoxHoundCoord[] fromStrings(String[] players) {
+        Objects.requireNonNull(players, "Given player positions must not be null.");
+
+        FoxHoundCoord[] result = new FoxHoundCoord[players.length];
+        for (int i = 0; i < players.length; i++) {
+            result[i] = parse(players[i]);
+            if (result[i] == null) {
+                throw new IllegalArgumentException("Given position must be a valid board"
+                    + " coordinate but is: " + players[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Translate all entries of the given coordinate array into board coordinates.
+     *
+     * @param players position of all figures on the board
+     * @return the board coordinate strings in the same order
+     * @throws NullPointerException if the given array or one of its entries is null
+     */
+    public static String[] toStrings(FoxHoundCoord[] players) {
+        Objects.requireNonNull(players, "Given player positions must not be null.");
+
+        String[] result = new String[players.length];
+        for (int i = 0; i < players.length; i++) {
+            result[i] = players[i].boardCoords;
+        }
+        return result;
+    }
+
+    /**
+     * Return the board coordinates of this field, e.g. {@code "B1"}.
+     *
+     * The string is created once and shared.
+     *
+     * @return the board coordinates
+     */
+    @Override
+    public String toString() {
+        return boardCoords;
+    }
+}
@@ -0,0 +1,415 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A headless engine speaking a line based text protocol, so that the
+ * fox hound game can be driven by graphical front-ends and tournament
+ * managers instead of a human at the console.
+ *
+ * Every command is one line of space separated tokens and is answered
+ * with one or more lines. Moves are written as origin and destination
+ * in board coordinates without a separator, e.g. {@code E8D7}.
+ *
+ * <pre>
+ * position startpos [dim] [moves m1 m2 ...]    set up the initial position
+ * position dim F|H c1 ... cn [moves m1 ...]    set up a position, hounds first, fox last
+ * move m                                       play a move         -&gt; ok
+ * undo                                         take back a move    -&gt; ok
+ * moves                                        list legal moves    -&gt; moves m1 m2 ...
+ * result                                       state of the game   -&gt; result none|F|H
+ * go [movetime ms] [depth n]                   search              -&gt; info ..., bestmove m|none
+ * isready                                      synchronise         -&gt; readyok
+ * quit                                         end the engine
+ * </pre>
+ *
+ * Invalid commands are answered with a line starting with {@code error}
+ * and do not change the position. Output is collected in a buffer and
+ * only flushed once all pending input has been processed, so scripted
+ * front-ends can send thousands of commands per second while interactive
+ * ones still get every answer right away.
+ *
+ * The game is kept as persistent {@link FoxHoundState} values, so the
+ * {@code move}, {@code undo} and {@code position} commands only replace
+ * the current state. A front-end may keep the states of
+ * {@link #getState()} to return to a variation later, and a failed
+ * command does not have to take anything back.
+ *
+ * An engine object holds the state of one game and is not thread safe.
+ */
+public class FoxHoundEngine {
+
+    /** Default time budget of a search without a movetime in milliseconds. */
+    public static final long DEFAULT_MOVE_TIME = 1000;
+
+    /** Size of the input and output buffers in characters. */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Supplier<FoxHoundSearch> searches;
+    private final int[] moveBuffer = new int[FoxHoundMoveGen.MAX_MOVES];
+    private FoxHoundState state;
+
+    /** Token boundaries of the current command line. */
+    private CharSequence line;
+    private int tokenStart;
+    private int tokenEnd;
+
+    /**
+     * Create an engine with the initial position on a board of the default dimension.
+     *
+     * @param search the search used for the go command
+     * @throws NullPointerException if the given search is null
+     */
+    public FoxHoundEngine(FoxHoundSearch search) {
+        Objects.requireNonNull(search, "Given search must not be null.");
+        this.searches = () -> search;
+        this.state = FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM);
+    }
+
+    /**
+     * Create an engine which asks the given supplier for a search on every
+     * go command, e.g. to share the searches of a thread pool between the
+     * engines of many sessions.
+     *
+     * @param searches supplies the search used for a go command
+     * @throws NullPointerException if the given supplier is null
+     */
+    public FoxHoundEngine(Supplier<FoxHoundSearch> searches) {
+        this.searches = Objects.requireNonNull(searches, "Given search supplier must not be null.");
+        this.state = FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM);
+    }
+
+    /**
+     * Return the current game state.
+     *
+     * @return the state after the last command, later commands do not change it
+     */
+    public FoxHoundState getState() {
+        return state;
+    }
+
+    // -------------- COMMANDS ------------------------------------------
+
+    /**
+     * Execute one command line and append the answer to the given output.
+     *
+     * @param command the command line without line terminator
+     * @param out receives the answer, every line terminated by a line feed
+     * @return false if the command was {@code quit}, true otherwise
+     * @throws NullPointerException if an argument is null
+     */
+    public boolean execute(CharSequence command, StringBuilder out) {
+        line = Objects.requireNonNull(command, "Given command must not be null.");
+        Objects.requireNonNull(out, "Given output must not be null.");
+        tokenEnd = 0;
+        if (!nextToken()) {
+            return true; // empty lines are ignored
+        }
+
+        try {
+            if (tokenIs("position")) {
+                position(out);
+            } else if (tokenIs("move")) {
+                move(out);
+            } else if (tokenIs("undo")) {
+                FoxHoundState previous = state.undo();
+                if (previous != null) {
+                    state = previous;
+                    out.append("ok\n");
+                } else {
+                    out.append("error no move to undo\n");
+                }
+            } else if (tokenIs("moves")) {
+                moves(out);
+            } else if (tokenIs("result")) {
+                char winner = result();
+                out.append("result ");
+                if (winner == 'n') {
+                    out.append("none");
+                } else {
+                    out.append(winner);
+                }
+                out.append('\n');
+            } else if (tokenIs("go")) {
+                go(out);
+            } else if (tokenIs("isready")) {
+                out.append("readyok\n");
+            } else if (tokenIs("quit")) {
+                return false;
+            } else {
+                out.append("error unknown command: ").append(token()).append('\n');
+            }
+        } catch (IllegalArgumentException e) {
+            out.append("error ").append(e.getMessage()).append('\n');
+        }
+        return true;
+    }
+
+    private void position(StringBuilder out) {
+        if (!nextToken()) {
+            throw new IllegalArgumentException("missing position");
+        }
+
+        FoxHoundState next;
+        if (tokenIs("startpos")) {
+            int dim = FoxHoundUtils.DEFAULT_DIM;
+            if (nextToken() && !tokenIs("moves")) {
+                dim = parseNumber("dimension");
+                nextToken();
+            }
+            FoxHoundUtils.dimensionCheck(dim);
+            next = FoxHoundState.initial(dim);
+        } else {
+            int dim = parseNumber("dimension");
+            FoxHoundUtils.dimensionCheck(dim);
+            if (!nextToken() || tokenEnd - tokenStart != 1
+                    || !FoxHoundUtils.isValidTurn(line.charAt(tokenStart))) {
+                throw new IllegalArgumentException("missing or invalid side to move");
+            }
+            char turn = line.charAt(tokenStart);
+
+            int figures = dim / 2 + 1;
+            FoxHoundCoord[] players = new FoxHoundCoord[figures];
+            for (int i = 0; i < figures; i++) {
+                if (!nextToken()) {
+                    throw new IllegalArgumentException("expected " + figures + " figures");
+                }
+                players[i] = parseCoord(tokenStart, tokenEnd, dim);
+            }
+            next = FoxHoundState.create(players, dim, turn);
+            nextToken();
+        }
+
+        if (tokenStart < tokenEnd) {
+            if (!tokenIs("moves")) {
+                throw new IllegalArgumentException("unexpected token: " + token());
+            }
+            while (nextToken()) {
+                next = play(next);
+            }
+        }
+
+        state = next;
+        out.append("ok\n");
+    }
+
+    private void move(StringBuilder out) {
+        if (!nextToken()) {
+            throw new IllegalArgumentException("missing move");
+        }
+        state = play(state);
+        out.append("ok\n");
+    }
+
+    private void moves(StringBuilder out) {
+        out.append("moves");
+        if (result() == 'n') {
+            FoxHoundBitboard board = state.getBoard();
+            int count = FoxHoundMoveGen.generateMoves(board, state.getTurn(), moveBuffer);
+            for (int i = 0; i < count; i++) {
+                out.append(' ');
+                appendMove(board, moveBuffer[i], out);
+            }
+        }
+        out.append('\n');
+    }
+
+    private void go(StringBuilder out) {
+        long moveTime = DEFAULT_MOVE_TIME;
+        int depth = FoxHoundSearch.MAX_DEPTH;
+        while (nextToken()) {
+            if (tokenIs("movetime") && nextToken()) {
+                moveTime = parseNumber("movetime");
+            } else if (tokenIs("depth") && nextToken()) {
+                depth = parseNumber("depth");
+                moveTime = FoxHoundSearch.NO_TIME_LIMIT;
+            } else {
+                throw new IllegalArgumentException("invalid go argument: " + token());
+            }
+        }
+        if (moveTime < 1 || depth < 1) {
+            throw new IllegalArgumentException("movetime and depth must be positive");
+        }
+
+        if (result() != 'n') {
+            out.append("bestmove none\n");
+            return;
+        }
+
+        FoxHoundSearch search = searches.get();
+        FoxHoundBitboard board = state.getBoard();
+        int move = search.search(board, state.getTurn(), moveTime, depth);
+        out.append("info depth ").append(search.getCompletedDepth())
+            .append(" score ").append(search.getBestScore())
+            .append(" nodes ").append(search.getNodes())
+            .append(" time ").append(search.getElapsedMillis()).append('\n');
+        out.append("bestmove ");
+        appendMove(board, move, out);
+        out.append('\n');
+    }
+
+    /**
+     * Return the winner of the current position.
+     *
+     * @return the figure type that has won or 'n' if the game goes on
+     */
+    private char result() {
+        if (state.isFoxWin()) {
+            return FoxHoundUtils.FOX_FIELD;
+        }
+        if (state.isHoundWin()) {
+            return FoxHoundUtils.HOUND_FIELD;
+        }
+        if (FoxHoundMoveGen.countMoves(state.getBoard(), state.getTurn()) == 0) {
+            // a side without any legal move loses
+            return state.getTurn() == FoxHoundUtils.FOX_FIELD
+                ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+        }
+        return 'n';
+    }
+
+    // -------------- PARSING ------------------------------------------
+
+    /**
+     * Play the move of the current token on the given state.
+     *
+     * @param target the state to play the move on, it is not changed
+     * @return the state after the move
+     */
+    private FoxHoundState play(FoxHoundState target) {
+        int split = tokenStart + 1;
+        while (split < tokenEnd && Character.isDigit(line.charAt(split))) {
+            split++;
+        }
+
+        if (target.isFoxWin() || target.isHoundWin()) {
+            throw new IllegalArgumentException("game is over");
+        }
+
+        int dim = target.getDimension();
+        FoxHoundCoord origin = parseCoord(tokenStart, split, dim);
+        FoxHoundCoord dest = parseCoord(split, tokenEnd, dim);
+        if (!target.isValidMove(origin, dest)) {
+            throw new IllegalArgumentException("illegal move: " + token());
+        }
+        return target.move(origin, dest);
+    }
+
+    private FoxHoundCoord parseCoord(int start, int end, int dim) {
+        FoxHoundCoord coord = FoxHoundCoord.parse(line, start, end, dim);
+        if (coord == null) {
+            throw new IllegalArgumentException("invalid coordinate: " + line.subSequence(start, end));
+        }
+        return coord;
+    }
+
+    private int parseNumber(String name) {
+        int value = 0;
+        for (int i = tokenStart; i < tokenEnd; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9' || value > (Integer.MAX_VALUE - 9) / 10) {
+                throw new IllegalArgumentException("invalid " + name + ": " + token());
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static void appendMove(FoxHoundBitboard board, int move, StringBuilder out) {
+        out.append(board.toCoord(FoxHoundMoveGen.getOrigin(move)))
+            .append(board.toCoord(FoxHoundMoveGen.getDest(move)));
+    }
+
+    /**
+     * Advance to the next space separated token of the current line.
+     *
+     * @return true if there is another token, false at the end of the line
+     */
+    private boolean nextToken() {
+        int length = line.length();
+        int i = tokenEnd;
+        while (i < length && line.charAt(i) == ' ') {
+            i++;
+        }
+        tokenStart = i;
+        while (i < length && line.charAt(i) != ' ') {
+            i++;
+        }
+        tokenEnd = i;
+        return tokenStart < tokenEnd;
+    }
+
+    private boolean tokenIs(String word) {
+        int length = word.length();
+        if (tokenEnd - tokenStart != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (line.charAt(tokenStart + i) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String token() {
+        return line.subSequence(tokenStart, tokenEnd).toString();
+    }
+
+    // -------------- PROTOCOL LOOP ------------------------------------------
+
+    /**
+     * Execute commands from the given input until it ends or a
+     * {@code quit} command is read.
+     *
+     * Answers are collected and written in one piece whenever no further
+     * input is waiting.
+     *
+     * @param in the command input
+     * @param out receives the answers
+     * @throws IOException if reading or writing fails
+     * @throws NullPointerException if an argument is null
+     */
+    public void run(Reader in, Writer out) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader
+            ? (BufferedReader) in : new BufferedReader(in, BUFFER_SIZE);
+        Objects.requireNonNull(out, "Given output must not be null.");
+        StringBuilder answers = new StringBuilder(BUFFER_SIZE);
+
+        boolean running = true;
+        String command;
+        while (running && (command = reader.readLine()) != null) {
+            running = execute(command, answers);
+            if (!running || answers.length() >= BUFFER_SIZE || !reader.ready()) {
+                out.append(answers);
+                out.flush();
+                answers.setLength(0);
+            }
+        }
+        out.append(answers);
+        out.flush();
+    }
+
+    /**
+     * Run the engine on the standard input and output streams.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
+            BUFFER_SIZE);
+        try {
+            new FoxHoundEngine(new FoxHoundSearch()).run(
+                new InputStreamReader(System.in, StandardCharsets.UTF_8), out);
+        } catch (IOException e) {
+            System.err.println("ERROR: Engine input or output failed: " + e);
+        }
+    }
+}
@@ -1,4 +1,6 @@
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
 /** 
@@ -24,6 +26,13 @@ public class FoxHoundGame {
      */
     private static final Scanner STDIN_SCAN = new Scanner(System.in);
 
+    /** Prefix of all command line flags. */
+    private static final String FLAG_PREFIX = "--";
+
+    /** Flags running another program than the console game, see {@link #main(String[])}. */
+    private static final List<String> MODE_FLAGS =
+        Arrays.asList("--engine", "--server", "--replay", "--large");
+
     /**
      * Parse command line arguments for the Fox-Hound Game
      * 
@@ -62,134 +71,270 @@ public class FoxHoundGame {
         return dimension;
     }
 
+    /**
+     * Parse the optional command line arguments configuring a
+     * computer player.
+     * 
+     * The second argument selects the side played by the computer
+     * ({@value FoxHoundUtils#FOX_FIELD} or {@value FoxHoundUtils#HOUND_FIELD}),
+     * the third the time budget per move in milliseconds, the fourth the
+     * memory budget of the transposition table in megabytes and the fifth
+     * the replacement policy of the table.
+     * 
+     * With a Monte Carlo tree search, the fourth argument is the memory
+     * budget of its statistics table and the fifth is not used. The search
+     * runs on all available cores.
+     * 
+     * @param args contain the command line arguments
+     * @param mcts true to pick moves with a {@link FoxHoundMctsStrategy}
+     * @return the computer player or null if both sides are played by humans
+     */
+    private static FoxHoundComputerPlayer parseComputerPlayer(String[] args, boolean mcts) {
+        if (args.length < 2) { // no computer player requested
+            return null;
+        }
+
+        char side = args[1].length() == 1 ? args[1].charAt(0) : ' ';
+        if (!FoxHoundUtils.isValidTurn(side)) {
+            System.err.println("ERROR: Invalid computer side: " + args[1]
+                + ". Both sides will be played by humans.");
+            return null;
+        }
+
+        long moveTime = FoxHoundComputerPlayer.DEFAULT_MOVE_TIME;
+        int tableSize = mcts ? FoxHoundMctsStrategy.DEFAULT_TABLE_MB : FoxHoundSearch.DEFAULT_TABLE_MB;
+        FoxHoundTranspositionTable.ReplacementPolicy policy = 
+            FoxHoundTranspositionTable.ReplacementPolicy.DEPTH_PREFERRED;
+        try {
+            if (args.length > 2) {
+                moveTime = Long.parseLong(args[2]);
+            }
+            if (args.length > 3) {
+                tableSize = Integer.parseInt(args[3]);
+            }
+            if (mcts) {
+                return new FoxHoundComputerPlayer(side, new FoxHoundMctsStrategy(
+                    Runtime.getRuntime().availableProcessors(), FoxHoundMctsStrategy.NO_PLAYOUT_LIMIT,
+                    moveTime, FoxHoundMctsStrategy.randomPolicy(System.nanoTime()), tableSize,
+                    FoxHoundMctsStrategy.DEFAULT_EXPLORATION));
+            }
+            if (args.length > 4) {
+                policy = FoxHoundTranspositionTable.ReplacementPolicy.valueOf(args[4]);
+            }
+            FoxHoundTranspositionTable table = new FoxHoundTranspositionTable(tableSize, policy);
+            return new FoxHoundComputerPlayer(side, new FoxHoundSearch(table), moveTime);
+        } catch (IllegalArgumentException e) {
+            System.err.println("ERROR: Invalid computer player argument: " + e.getMessage()
+                + ". Default settings will be used.");
+        }
+
+        if (mcts) {
+            return new FoxHoundComputerPlayer(side, new FoxHoundMctsStrategy(
+                Runtime.getRuntime().availableProcessors(), FoxHoundMctsStrategy.NO_PLAYOUT_LIMIT,
+                FoxHoundComputerPlayer.DEFAULT_MOVE_TIME, System.nanoTime()));
+        }
+        return new FoxHoundComputerPlayer(side, new FoxHoundSearch(), 
+            FoxHoundComputerPlayer.DEFAULT_MOVE_TIME);
+    }
+
     /**
      * Query the player for the name of a file and save the current
      * game state to this file.
      * 
-     * @param players current position of all figures on the board in board coordinates
-     * @param turn the figure type that has the next move
+     * @param state the current game state
      */
-    private static void handleSaving(String[] players, char turn) {
+    private static void handleSaving(FoxHoundState state) {
         Path filename = FoxHoundUI.fileQuery(STDIN_SCAN);
-        boolean success = FoxHoundIO.saveGame(players, turn, filename);
+        boolean success = FoxHoundIO.saveState(state, filename);
         if (!success) {
             System.err.println("ERROR: Saving file failed.");
         }
     }
 
     /**
-     * Query the player for the name of a file to be loaded,
-     * load the corresponding file content and update figure
-     * positions accordingly.
+     * Query the player for the name of a file to be loaded
+     * and load the game state saved in this file.
      * 
-     * @param players current position of all figures on the board in board coordinates
-     * @return The figure type that has the next move or an error
-     * code if loading failed.
+     * @return the loaded game state or null if loading failed
      */
-    private static char handleLoading(String[] players) {
+    private static FoxHoundState handleLoading() {
         Path filename = FoxHoundUI.fileQuery(STDIN_SCAN);
-        return FoxHoundIO.loadGame(players, filename);
+        return FoxHoundIO.loadState(filename);
     }
 
     /**
      * Query the user for coordinates regarding the next move and
-     * update the figure positions accordingly.
+     * return the game state after it.
      * 
-     * @param dim the dimension of the game board
-     * @param players current position of all figures on the board in board coordinates
-     * @param figure the figure type that has the next move
+     * The coordinates entered by the user are the only input
+     * which needs to be validated here.
+     * 
+     * @param state the current game state
+     * @return the game state after the move
      */
-    private static void handleMove(int dim, String[] players, char figure) {
+    private static FoxHoundState handleMove(FoxHoundState state) {
 
-        boolean moveDone = false;
-        while(!moveDone) {
-            String[] pos = FoxHoundUI.positionQuery(dim, STDIN_SCAN);
+        while(true) {
+            FoxHoundCoord[] pos = FoxHoundUI.coordQuery(state.getDimension(), STDIN_SCAN);
 
-            if (FoxHoundUtils.isValidMove(dim, players, figure, pos[0], pos[1])) {
-                FoxHoundUtils.updatePlayerPos(players, pos[0], pos[1]);
-                moveDone = true;
-            } else {
-                System.err.println("ERROR: Invalid move. Try again!");
+            if (state.isValidMove(pos[0], pos[1])) {
+                return state.move(pos[0], pos[1]);
             }
+            System.err.println("ERROR: Invalid move. Try again!");
         }
     }
 
+    /**
+     * Let the computer pick the next move and return the game
+     * state after it.
+     * 
+     * @param state the current game state
+     * @param computer the computer player
+     * @return the game state after the move or null if the computer cannot move
+     */
+    private static FoxHoundState handleComputerMove(FoxHoundState state,
+            FoxHoundComputerPlayer computer) {
+
+        FoxHoundCoord[] pos = computer.chooseMove(state.getBoard());
+        if (pos == null) {
+            return null;
+        }
+
+        System.out.println("Computer moves " + pos[0] + " " + pos[1]);
+        System.out.println("Search: " + computer.getSearchReport());
+        return state.move(pos[0], pos[1]);
+    }
+
+    /**
+     * Take back the last move, or the last two moves if the computer
+     * replied to a move of the player, so that the player is to move again.
+     * 
+     * @param state the current game state
+     * @param computer the computer player or null if both sides are played by humans
+     * @return the game state before the taken back moves or null if no move has been played
+     */
+    private static FoxHoundState handleUndo(FoxHoundState state, FoxHoundComputerPlayer computer) {
+        FoxHoundState previous = state.undo();
+        if (previous != null && computer != null && computer.getSide() == previous.getTurn()
+                && previous.canUndo()) {
+            previous = previous.undo();
+        }
+        return previous;
+    }
+
+    /**
+     * Play the moves taken back by the last undo again.
+     * 
+     * @param state the current game state
+     * @param computer the computer player or null if both sides are played by humans
+     * @return the game state after the replayed moves or null if there is nothing to redo
+     */
+    private static FoxHoundState handleRedo(FoxHoundState state, FoxHoundComputerPlayer computer) {
+        FoxHoundState next = state.redo();
+        if (next != null && computer != null && computer.getSide() == next.getTurn()
+                && next.canRedo()) {
+            next = next.redo();
+        }
+        return next;
+    }
+
     /**
      * Check if the current positions of all figures on the 
      * game board constitute a winning condition for one 
      * of the parties.
      * 
-     * @param dim the dimension of the game board
-     * @param players current position of all figures on the board in board coordinates
+     * The state keeps count of the free corner fields of the fox,
+     * so neither check needs to look at the whole board.
+     * 
+     * @param state the current game state
      * @param figure the figure type that has moved last
+     * @param renderer displays the final board
      * @return true if one of the parties has one, false otherwise
      */
-    private static boolean checkWin(int dim, String[] players, char figure) {
+    private static boolean checkWin(FoxHoundState state, char figure, FoxHoundRenderer renderer) {
         boolean win = false;
         String winner = null;
         if (figure == FoxHoundUtils.FOX_FIELD) {
-            win = FoxHoundUtils.isFoxWin(players[players.length - 1]);
+            win = state.isFoxWin();
             winner = "The Fox wins!";
         } else {
-            win = FoxHoundUtils.isHoundWin(players, dim);
+            win = state.isHoundWin();
             winner = "The Hounds win!";
         }
 
         if (win) {
             System.out.println(winner);
-            FoxHoundUI.displayBoard(players, dim);
+            renderer.render(state);
         }
         return win;
     }
 
-    /**
-     * Swap between fox and hounds to determine the next
-     * figure to move.
-     * 
-     * @param currentTurn last figure to be moved
-     * @return next figure to be moved
-     */
-    private static char swapPlayers(char currentTurn) {
-        if (currentTurn == FoxHoundUtils.FOX_FIELD) {
-            return FoxHoundUtils.HOUND_FIELD;
-        } else {
-            return FoxHoundUtils.FOX_FIELD;
-        }
-    }
-
     /**
      * The main loop of the game. Interactions with the main
      * menu are interpreted and executed here.
      * 
-     * @param dim the dimension of the game board
-     * @param players current position of all figures on the board in board coordinates
+     * While the player thinks about a move, the computer player ponders
+     * on the expected reply.
+     * 
+     * Every change of the state is handed to the autosave, which writes
+     * it in the background. When the game is over, because a side has won
+     * or the computer resigns, the autosave is deleted. Exiting from the
+     * menu keeps it, so that the game can be continued on the next start.
+     * 
+     * @param state the initial game state
+     * @param computer the computer player or null if both sides are played by humans
+     * @param autosave the background autosave of the game
+     * @param renderer displays the board before every move
      */
-    private static void gameLoop(int dim, String[] players) {
+    private static void gameLoop(FoxHoundState state, FoxHoundComputerPlayer computer,
+            FoxHoundAutosave autosave, FoxHoundRenderer renderer) {
 
-        // start each game with the Fox
-        char turn = FoxHoundUtils.FOX_FIELD;
         boolean exit = false;
+        boolean gameOver = false;
         while (!exit) {
             System.out.println("\n#################################");
-            FoxHoundUI.displayBoard(players, dim);
-            FoxHoundUI.displayPlayerPositions(players);
+            renderer.render(state);
+            FoxHoundUI.displayStatePlayers(state);
+
+            char turn = state.getTurn();
+            if (computer != null && computer.getSide() == turn) {
+                FoxHoundState next = handleComputerMove(state, computer);
+                if (next != null) {
+                    state = next;
+                    autosave.submit(state);
+                    gameOver = checkWin(state, turn, renderer);
+                    exit = gameOver;
+                    if (!exit) {
+                        // search the expected reply while the player thinks
+                        computer.startPondering(state.getBoard());
+                    }
+                } else {
+                    System.out.println("The computer cannot move and resigns.");
+                    gameOver = true;
+                    exit = true;
+                }
+                continue;
+            }
 
             int choice = FoxHoundUI.mainMenuQuery(turn, STDIN_SCAN);
             
             // handle menu choice
             switch (choice) {
                 case FoxHoundUI.MENU_MOVE:
-                    handleMove(dim, players, turn);
-                    exit = checkWin(dim, players, turn);
-                    turn = swapPlayers(turn);
+                    state = handleMove(state);
+                    autosave.submit(state);
+                    gameOver = checkWin(state, turn, renderer);
+                    exit = gameOver;
                     break;
                 case FoxHoundUI.MENU_SAVE:
-                    handleSaving(players, turn);
+                    handleSaving(state);
                     break;
                 case FoxHoundUI.MENU_LOAD:
-                    char nextTurn = handleLoading(players);
-                    if (FoxHoundUtils.isValidTurn(nextTurn)) {
-                        turn = nextTurn;
+                    stopPondering(computer);
+                    FoxHoundState loaded = handleLoading();
+                    if (loaded != null) {
+                        state = loaded;
+                        autosave.submit(state);
                     } else {
                         System.err.println("ERROR: Loading from file failed.");
                     }
@@ -197,10 +342,116 @@ public class FoxHoundGame {
                 case FoxHoundUI.MENU_EXIT:
                     exit = true;
                     break;
+                case FoxHoundUI.MENU_UNDO:
+                    stopPondering(computer);
+                    FoxHoundState previous = handleUndo(state, computer);
+                    if (previous != null) {
+                        state = previous;
+                        autosave.submit(state);
+                    } else {
+                        System.err.println("ERROR: There is no move to undo.");
+                    }
+                    break;
+                case FoxHoundUI.MENU_REDO:
+                    stopPondering(computer);
+                    FoxHoundState next = handleRedo(state, computer);
+                    if (next != null) {
+                        state = next;
+                        autosave.submit(state);
+                    } else {
+                        System.err.println("ERROR: There is no move to redo.");
+                    }
+                    break;
                 default:
                     System.err.println("ERROR: invalid menu choice: " + choice);
             }
         }
+
+        stopPondering(computer);
+        if (gameOver) {
+            autosave.clear();
+        }
+    }
+
+    /**
+     * The main loop of a game on a large board, see {@link FoxHoundLargeBoard}.
+     * 
+     * Both sides are played by humans. Only a window around the fox is
+     * displayed and the game is neither saved nor autosaved.
+     * 
+     * @param board the large game board in its initial position
+     */
+    private static void largeGameLoop(FoxHoundLargeBoard board) {
+        char turn = FoxHoundUtils.FOX_FIELD;
+        while (true) {
+            System.out.println("\n#################################");
+            FoxHoundUI.displayViewport(board, FoxHoundUI.DEFAULT_VIEWPORT_RADIUS);
+            System.out.println((turn == FoxHoundUtils.FOX_FIELD ? "Fox" : "Hounds") + " to move");
+
+            long[] move = FoxHoundUI.largeMoveQuery(board.getDimension(), STDIN_SCAN);
+            if (move == null) {
+                return;
+            }
+            int fromRow = (int) (move[0] >>> 32);
+            int fromCol = (int) move[0];
+            int toRow = (int) (move[1] >>> 32);
+            int toCol = (int) move[1];
+            if (!board.isValidMove(turn, fromRow, fromCol, toRow, toCol)) {
+                System.err.println("ERROR: Invalid move. Try again!");
+                continue;
+            }
+            board.move(fromRow, fromCol, toRow, toCol);
+
+            if (turn == FoxHoundUtils.FOX_FIELD ? board.isFoxWin() : board.isHoundWin()) {
+                System.out.println(turn == FoxHoundUtils.FOX_FIELD
+                    ? "The Fox wins!" : "The Hounds win!");
+                FoxHoundUI.displayViewport(board, FoxHoundUI.DEFAULT_VIEWPORT_RADIUS);
+                return;
+            }
+            turn = turn == FoxHoundUtils.FOX_FIELD ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+        }
+    }
+
+    /**
+     * Abort the background search of the computer player, if there is one.
+     * 
+     * @param computer the computer player or null if both sides are played by humans
+     */
+    private static void stopPondering(FoxHoundComputerPlayer computer) {
+        if (computer != null) {
+            computer.stopPondering();
+        }
+    }
+
+    /**
+     * Run the program selected by a mode flag instead of the console game.
+     * 
+     * @param mode one of the {@link #MODE_FLAGS}
+     * @param args the command line arguments without flags
+     */
+    private static void runMode(String mode, String[] args) {
+        switch (mode) {
+            case "--engine":
+                FoxHoundEngine.main(args);
+                break;
+            case "--server":
+                FoxHoundServer.main(args);
+                break;
+            case "--replay":
+                FoxHoundReplay.main(args);
+                break;
+            case "--large":
+                try {
+                    largeGameLoop(new FoxHoundLargeBoard(args.length > 0
+                        ? Integer.parseInt(args[0]) : FoxHoundLargeBoard.DEFAULT_LARGE_DIM));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("ERROR: Invalid large board dimension: " + e.getMessage());
+                }
+                STDIN_SCAN.close();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
     }
 
     /**
@@ -215,15 +466,88 @@ public class FoxHoundGame {
      * Dimensions must be between {@value FoxHoundUtils#MIN_DIM} and 
      * {@value FoxHoundUtils#MAX_DIM}.
      * 
-     * @param args contain the command line arguments where the first can be
-     * board dimensions.
+     * A computer player can be selected with further optional arguments, see
+     * {@link #parseComputerPlayer(String[], boolean)}. The flag {@code --mcts}
+     * lets it pick moves with a Monte Carlo tree search instead of the
+     * alpha-beta search.
+     * 
+     * All arguments starting with {@code --} are flags. They may be given
+     * anywhere and are removed before the other arguments are parsed, so
+     * {@code 8 --server} and {@code --server 8} are the same. At most one
+     * of the following mode flags may be given, each runs another program
+     * than the console game with the remaining arguments:
+     * With the flag {@code --engine} a {@link FoxHoundEngine} reads
+     * commands from the standard input.
+     * With the flag {@code --server} a {@link FoxHoundServer} hosts games
+     * for clients connecting over the network, the remaining arguments are
+     * the port and the number of search threads.
+     * With the flag {@code --replay} the games listed in the file given as
+     * remaining argument are replayed without interaction, see
+     * {@link FoxHoundReplay}.
+     * With the flag {@code --large} two players play on a large board of
+     * the dimension given as remaining argument, up to
+     * {@value FoxHoundLargeBoard#MAX_LARGE_DIM}, see {@link FoxHoundLargeBoard}.
+     * 
+     * The flag {@code --ansi} keeps the board at the top of the terminal
+     * and only redraws the fields changed by a move, see {@link FoxHoundRenderer}.
+     * 
+     * The game is saved in the background after every move. If an autosave
+     * of an unfinished game is found at startup, the player may continue it.
+     * 
+     * @param args contain the command line arguments where the first one
+     * which is not a flag can be board dimensions.
      */
     public static void main(String[] args) {
+        String mode = null;
+        boolean mcts = false;
+        boolean ansi = false;
+        for (String arg : args) {
+            if (!arg.startsWith(FLAG_PREFIX)) {
+                continue;
+            }
+            if (MODE_FLAGS.contains(arg)) {
+                if (mode != null && !mode.equals(arg)) {
+                    System.err.println("ERROR: Flags " + mode + " and " + arg
+                        + " cannot be combined.");
+                    return;
+                }
+                mode = arg;
+            } else if ("--mcts".equals(arg)) {
+                mcts = true;
+            } else if ("--ansi".equals(arg)) {
+                ansi = true;
+            } else {
+                System.err.println("ERROR: Unknown flag: " + arg);
+                return;
+            }
+        }
+        args = Arrays.stream(args).filter(arg -> !arg.startsWith(FLAG_PREFIX))
+            .toArray(String[]::new);
+
+        if (mode != null) {
+            runMode(mode, args);
+            return;
+        }
+
         int dimension = parseDimensions(args);
+        FoxHoundComputerPlayer computer = parseComputerPlayer(args, mcts);
 
-        String[] players = FoxHoundUtils.initialisePositions(dimension);
+        // start each game with the Fox, unless an autosaved game is continued
+        FoxHoundState state = FoxHoundState.initial(dimension);
+        FoxHoundState recovered = FoxHoundAutosave.recover(FoxHoundAutosave.DEFAULT_FILE);
+        if (recovered != null && FoxHoundUI.recoveryQuery(STDIN_SCAN)) {
+            state = recovered;
+        }
 
-        gameLoop(dimension, players);
+        FoxHoundRenderer renderer = new FoxHoundRenderer(System.out, ansi);
+        try (FoxHoundAutosave autosave = new FoxHoundAutosave(FoxHoundAutosave.DEFAULT_FILE)) {
+            gameLoop(state, computer, autosave, renderer);
+        } finally {
+            renderer.close();
+            if (computer != null) {
+                computer.close();
+            }
+        }
 
         // Close the scanner reading the standard input stream       
         STDIN_SCAN.close();
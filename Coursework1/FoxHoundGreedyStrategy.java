@@ -0,0 +1,58 @@
+import java.util.SplittableRandom;
+
+/**
+ * A strategy picking the move with the best evaluation one ply ahead.
+ *
+ * Moves winning the game immediately are always preferred. Otherwise
+ * the resulting positions are compared with
+ * {@link FoxHoundSearch#evaluate(FoxHoundBitboard, char)} and ties are
+ * broken randomly.
+ */
+public class FoxHoundGreedyStrategy implements FoxHoundStrategy {
+
+    private final SplittableRandom random;
+    private final int[] moves;
+
+    /**
+     * Create a greedy strategy.
+     *
+     * @param seed the seed of the random number generator used to break ties
+     */
+    public FoxHoundGreedyStrategy(long seed) {
+        this.random = new SplittableRandom(seed);
+        this.moves = new int[FoxHoundMoveGen.MAX_MOVES];
+    }
+
+    @Override
+    public int chooseMove(FoxHoundBitboard board, char turn) {
+        int count = FoxHoundMoveGen.generateMoves(board, turn, moves);
+        char next = turn == FoxHoundUtils.FOX_FIELD
+            ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+
+        int best = FoxHoundMoveGen.NO_MOVE;
+        int bestScore = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int i = 0; i < count; i++) {
+            int origin = FoxHoundMoveGen.getOrigin(moves[i]);
+            int dest = FoxHoundMoveGen.getDest(moves[i]);
+
+            board.movePiece(origin, dest);
+            boolean win = turn == FoxHoundUtils.FOX_FIELD ? board.isFoxWin() : board.isHoundWin();
+            int score = win ? Integer.MAX_VALUE : -FoxHoundSearch.evaluate(board, next);
+            board.movePiece(dest, origin);
+
+            if (score > bestScore) {
+                best = moves[i];
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore) {
+                // reservoir sampling picks every tied move with equal probability
+                ties++;
+                if (random.nextInt(ties) == 0) {
+                    best = moves[i];
+                }
+            }
+        }
+        return best;
+    }
+}
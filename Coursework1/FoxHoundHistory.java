@@ -0,0 +1,235 @@
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable, persistent record of the moves of a game.
+ *
+ * A history is a node holding the last move and a reference to the
+ * history before that move. Playing a move creates one new node and
+ * shares the whole previous history with it, so recording, taking back
+ * and replaying a move takes constant time and memory, no matter how
+ * long the game is. Since nodes are never changed, any number of
+ * variations can branch off the same history, e.g. the line of a game
+ * before an undo and the line played after it, and they can be shared
+ * between threads without locking.
+ *
+ * A history only records moves and the hash of every position. The
+ * positions themselves are kept once per game and moved from one node to
+ * any other node of the same game with
+ * {@link #walk(FoxHoundHistory, FoxHoundHistory, IntConsumer)}, which is
+ * how every {@link FoxHoundState} of a game shares one board.
+ *
+ * The searches do not record their variations here: {@link FoxHoundSearch},
+ * {@link FoxHoundMctsStrategy} and {@link FoxHoundTrapDetector} visit far
+ * too many positions to allocate a node for each of them, so they play
+ * and take back moves on a bare {@link FoxHoundBitboard} instead. They
+ * start from the board of a state.
+ */
+public final class FoxHoundHistory {
+
+    private final FoxHoundHistory parent;
+    private final int move;
+    private final int ply;
+    private final long hash;
+
+    private FoxHoundHistory(FoxHoundHistory parent, int move, int ply, long hash) {
+        this.parent = parent;
+        this.move = move;
+        this.ply = ply;
+        this.hash = hash;
+    }
+
+    // -------------- CREATION ------------------------------------------
+
+    /**
+     * Create the history of a game starting in the given position.
+     *
+     * @param hash the hash of the start position including the side to move,
+     * see {@link FoxHoundState#getHash()}
+     * @return a history without moves
+     */
+    public static FoxHoundHistory start(long hash) {
+        return new FoxHoundHistory(null, FoxHoundMoveGen.NO_MOVE, 0, hash);
+    }
+
+    /**
+     * Return the history after playing the given move.
+     *
+     * This history is not changed and stays valid.
+     *
+     * @param move the move packed with {@link FoxHoundMoveGen#packMove(int, int)}
+     * @param hash the hash of the position after the move including the side to move
+     * @return the history with the given move as last move
+     * @throws IllegalArgumentException if the given move is {@value FoxHoundMoveGen#NO_MOVE}
+     */
+    public FoxHoundHistory play(int move, long hash) {
+        if (move == FoxHoundMoveGen.NO_MOVE) {
+            throw new IllegalArgumentException("Given move must not be NO_MOVE.");
+        }
+        return new FoxHoundHistory(this, move, ply + 1, hash);
+    }
+
+    // -------------- QUERIES ------------------------------------------
+
+    /**
+     * Return the history before the last move.
+     *
+     * @return the previous history or null if no move has been played
+     */
+    public FoxHoundHistory getParent() {
+        return parent;
+    }
+
+    /**
+     * Check if this history contains no moves.
+     *
+     * @return true if this is the start of the game, false otherwise
+     */
+    public boolean isStart() {
+        return parent == null;
+    }
+
+    /**
+     * Return the last move of this history.
+     *
+     * @return the packed move or {@value FoxHoundMoveGen#NO_MOVE} if no move has been played
+     */
+    public int getLastMove() {
+        return move;
+    }
+
+    /**
+     * Return the number of moves of this history.
+     *
+     * @return the number of moves since the start
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    /**
+     * Return the hash of the position after the last move.
+     *
+     * @return the position hash including the side to move
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Copy the moves of this history into the given array.
+     *
+     * @param target receives the packed moves from the start of the game
+     * @return the number of moves
+     * @throws IllegalArgumentException if the given array is too short
+     * @throws NullPointerException if the given array is null
+     */
+    public int getMoves(int[] target) {
+        Objects.requireNonNull(target, "Given target must not be null.");
+        if (target.length < ply) {
+            throw new IllegalArgumentException("Given target must hold " + ply
+                + " moves but has length " + target.length);
+        }
+
+        for (FoxHoundHistory node = this; node.parent != null; node = node.parent) {
+            target[node.ply - 1] = node.move;
+        }
+        return ply;
+    }
+
+    /**
+     * Find the latest history which both this and the given history continue.
+     *
+     * This takes time linear in the number of moves after the branch point.
+     *
+     * @param other another history of the same game
+     * @return the common history or null if the histories have different starts
+     * @throws NullPointerException if the given history is null
+     */
+    public FoxHoundHistory commonAncestor(FoxHoundHistory other) {
+        Objects.requireNonNull(other, "Given history must not be null.");
+
+        FoxHoundHistory a = this;
+        FoxHoundHistory b = other;
+        while (a.ply > b.ply) {
+            a = a.parent;
+        }
+        while (b.ply > a.ply) {
+            b = b.parent;
+        }
+        while (a != b) {
+            a = a.parent;
+            b = b.parent;
+            if (a == null) {
+                return null;
+            }
+        }
+        return a;
+    }
+
+    // -------------- REPLAY ------------------------------------------
+
+    /**
+     * Move the given board from the position of one history to the
+     * position of another history of the same game.
+     *
+     * @param board the board in the position of the first history, it is updated
+     * @param from the history matching the current board
+     * @param to the history whose position should be reached
+     * @throws IllegalArgumentException if the histories do not have the same start
+     * @throws NullPointerException if an argument is null
+     * @see #walk(FoxHoundHistory, FoxHoundHistory, IntConsumer)
+     */
+    public static void walk(FoxHoundBitboard board, FoxHoundHistory from, FoxHoundHistory to) {
+        Objects.requireNonNull(board, "Given board must not be null.");
+        walk(from, to, move -> board.movePiece(FoxHoundMoveGen.getOrigin(move),
+            FoxHoundMoveGen.getDest(move)));
+    }
+
+    /**
+     * Pass the moves leading from the position of one history to the
+     * position of another history of the same game to the given consumer.
+     *
+     * Moves after the common history are taken back first, each passed as
+     * a move from its destination to its origin, then the moves of the
+     * target line are passed in the order they were played. Switching
+     * between neighbouring variations therefore only costs the moves in
+     * which they differ.
+     *
+     * @param from the history of the current position
+     * @param to the history whose position should be reached
+     * @param play receives the packed moves to apply
+     * @throws IllegalArgumentException if the histories do not have the same start
+     * @throws NullPointerException if an argument is null
+     */
+    public static void walk(FoxHoundHistory from, FoxHoundHistory to, IntConsumer play) {
+        Objects.requireNonNull(play, "Given consumer must not be null.");
+        FoxHoundHistory common = from.commonAncestor(to);
+        if (common == null) {
+            throw new IllegalArgumentException("Given histories belong to different games.");
+        }
+
+        for (FoxHoundHistory node = from; node != common; node = node.parent) {
+            play.accept(FoxHoundMoveGen.packMove(FoxHoundMoveGen.getDest(node.move),
+                FoxHoundMoveGen.getOrigin(node.move)));
+        }
+
+        int count = to.ply - common.ply;
+        if (count == 0) {
+            return;
+        }
+        int[] line = new int[count];
+        for (FoxHoundHistory node = to; node != common; node = node.parent) {
+            line[node.ply - common.ply - 1] = node.move;
+        }
+        for (int move : line) {
+            play.accept(move);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ply " + ply + (parent == null ? "" : ", last move "
+            + FoxHoundMoveGen.getOrigin(move) + "-" + FoxHoundMoveGen.getDest(move));
+    }
+}
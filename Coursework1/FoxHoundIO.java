@@ -14,6 +14,10 @@ public class FoxHoundIO {
     /** Indicator for a loading error. */
     private static final char LOAD_ERROR = '#';
 
+    /** Binary reader and writer with reusable buffers for each thread. */
+    private static final ThreadLocal<FoxHoundBinaryIO> BINARY_IO =
+        ThreadLocal.withInitial(FoxHoundBinaryIO::new);
+
     /**
      * Load player positions and next turn from the given file.
      * 
@@ -31,9 +35,34 @@ public class FoxHoundIO {
      */
     public static char loadGame(String[] players, Path fileName) {
         Objects.requireNonNull(players, "Given players array must not be null.");
-        Objects.requireNonNull(players, "Given fileName must not be null.");
         FoxHoundUtils.boardSetupCheck(players, FoxHoundUtils.DEFAULT_DIM);
 
+        FoxHoundCoord[] coords = FoxHoundCoord.fromStrings(players);
+        char result = loadGameCoords(coords, fileName);
+        if (FoxHoundUtils.isValidTurn(result)) {
+            for (int i = 0; i < coords.length; i++) {
+                players[i] = coords[i].toString();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Load player positions and next turn from the given file.
+     * 
+     * The same file format as for {@link #loadGame(String[], Path)} is
+     * expected.
+     * 
+     * @param players position of all figures on the board.
+     * Contents loaded from file are saved in the given array.
+     * @param fileName the file name where saved positions can be found
+     * @return indicator for figure occupying this field or error value in case of loading error
+     */
+    public static char loadGameCoords(FoxHoundCoord[] players, Path fileName) {
+        Objects.requireNonNull(players, "Given players array must not be null.");
+        Objects.requireNonNull(fileName, "Given fileName must not be null.");
+        FoxHoundUtils.coordSetupCheck(players, FoxHoundUtils.DEFAULT_DIM);
+
         if (!Files.isRegularFile(fileName) || !Files.isReadable(fileName)) {
             System.err.println("ERROR: Invalid file name: " + fileName);
             return LOAD_ERROR;
@@ -51,51 +80,58 @@ public class FoxHoundIO {
     }
 
     /**
-     * Parse content loaded from a game file and 
-     * create a corresponding players array.
+     * Load a game state from the given file and validate it.
      * 
-     * @param content figure positions loaded from file
-     * @param players position of all figures on the board in board coordinates.
-     * Contents loaded from file are saved in the given array.
-     * @return indicator for figure occupying this field or error value in case of formatting error
+     * Files ending with {@value FoxHoundBinaryIO#FILE_EXTENSION} are read
+     * with {@link FoxHoundBinaryIO} and may have any board dimension. For
+     * all other files the same format as for {@link #loadGame(String[], Path)}
+     * is expected. In addition, figures must be placed on playable fields
+     * and no field may be taken twice.
+     * 
+     * @param fileName the file name where saved positions can be found
+     * @return the loaded game state or null in case of loading error
+     * @throws NullPointerException if the given file name is null
      */
-    private static char parseContent(String content, String[] players) {
-        // check lines
-        String[] lines = content.split("\\n");
-        if (lines.length != 1) {
-            System.err.println("ERROR: Invalid number of lines: " + lines.length);
-            return LOAD_ERROR;
+    public static FoxHoundState loadState(Path fileName) {
+        Objects.requireNonNull(fileName, "Given fileName must not be null.");
+        if (FoxHoundBinaryIO.isBinaryFile(fileName)) {
+            return BINARY_IO.get().load(fileName);
         }
 
-        // check line elements
-        String[] elements = lines[0].split(" ");
-        if (elements.length != (FoxHoundUtils.DEFAULT_DIM / 2) + 2) {
-            System.err.println("ERROR: Invalid number of elements: " + elements.length);
-            return LOAD_ERROR;
-        }
-
-        // check coordinates
-        for (int i = 1; i < elements.length; i++) {
-            String pos = elements[i];
-            if (!FoxHoundUtils.isBoardCoordinate(pos, FoxHoundUtils.DEFAULT_DIM)) {
-                System.err.println("ERROR: Invalid coordinate: " + pos);
-                return LOAD_ERROR;
-            }
+        FoxHoundCoord[] players = FoxHoundUtils.initialiseCoords(FoxHoundUtils.DEFAULT_DIM);
+        char turn = loadGameCoords(players, fileName);
+        if (!FoxHoundUtils.isValidTurn(turn)) {
+            return null;
         }
 
-        // check specifier for next move
-        if (elements[0].length() > 1 || !FoxHoundUtils.isValidTurn(elements[0].charAt(0))) {
-            System.err.println("ERROR: Invalid figure symbol: " + elements[0]);
-            return LOAD_ERROR;       
+        try {
+            return FoxHoundState.create(players, FoxHoundUtils.DEFAULT_DIM, turn);
+        } catch (IllegalArgumentException e) {
+            System.err.println("ERROR: Invalid game state: " + e.getMessage());
+            return null;
         }
+    }
 
-        // save board coordinates
-        for (int i = 1; i < elements.length; i++) {
-            players[i - 1] = elements[i];
+    /**
+     * Parse content loaded from a game file and 
+     * create a corresponding players array.
+     * 
+     * The format rules are shared with the bulk validation of game files
+     * in {@link FoxHoundValidator}.
+     * 
+     * @param content figure positions loaded from file
+     * @param players position of all figures on the board.
+     * Contents loaded from file are saved in the given array.
+     * @return indicator for figure occupying this field or error value in case of formatting error
+     */
+    private static char parseContent(String content, FoxHoundCoord[] players) {
+        FoxHoundValidator validator = new FoxHoundValidator();
+        FoxHoundValidator.Problem problem = validator.parseText(content, players);
+        if (problem != FoxHoundValidator.Problem.NONE) {
+            System.err.println("ERROR: " + problem.getMessage() + ": " + validator.getDetail());
+            return LOAD_ERROR;
         }
-
-        // return next move
-        return elements[0].charAt(0);
+        return validator.getTurn();
     }
 
     /**
@@ -113,8 +149,50 @@ public class FoxHoundIO {
      */
     public static boolean saveGame(String[] players, char toMove, Path fileName) {
         Objects.requireNonNull(players, "Given players array must not be null.");
-        Objects.requireNonNull(players, "Given fileName must not be null.");
         FoxHoundUtils.boardSetupCheck(players, FoxHoundUtils.DEFAULT_DIM);
+        return saveGameCoords(FoxHoundCoord.fromStrings(players), toMove, fileName);
+    }
+
+    /**
+     * Save the given game state at the given file location.
+     * 
+     * Files ending with {@value FoxHoundBinaryIO#FILE_EXTENSION} are written
+     * with {@link FoxHoundBinaryIO}, which supports all board dimensions.
+     * Otherwise the same rules as for {@link #saveGame(String[], char, Path)} apply.
+     * 
+     * @param state the game state to be saved
+     * @param fileName the file name and path to save the file at
+     * @return true if saving was successful, false otherwise
+     * @throws NullPointerException if the given state or file name is null
+     */
+    public static boolean saveState(FoxHoundState state, Path fileName) {
+        Objects.requireNonNull(state, "Given state must not be null.");
+        Objects.requireNonNull(fileName, "Given fileName must not be null.");
+        if (FoxHoundBinaryIO.isBinaryFile(fileName)) {
+            return BINARY_IO.get().save(state, fileName);
+        }
+        if (state.getDimension() != FoxHoundUtils.DEFAULT_DIM) {
+            System.err.println("ERROR: Text files only support dimension " + FoxHoundUtils.DEFAULT_DIM
+                + ", use a " + FoxHoundBinaryIO.FILE_EXTENSION + " file instead.");
+            return false;
+        }
+        return saveGameCoords(state.getPlayers(), state.getTurn(), fileName);
+    }
+
+    /**
+     * Save the given board positions and next turn at the given file location.
+     * 
+     * The same rules as for {@link #saveGame(String[], char, Path)} apply.
+     * 
+     * @param players position of all figures on the board to be saved
+     * @param toMove the next figure to move
+     * @param fileName the file name and path to save the file at
+     * @return true if saving was successful, false otherwise
+     */
+    public static boolean saveGameCoords(FoxHoundCoord[] players, char toMove, Path fileName) {
+        Objects.requireNonNull(players, "Given players array must not be null.");
+        Objects.requireNonNull(fileName, "Given fileName must not be null.");
+        FoxHoundUtils.coordSetupCheck(players, FoxHoundUtils.DEFAULT_DIM);
         if (!FoxHoundUtils.isValidTurn(toMove)) {
             throw new IllegalArgumentException("Given figure id invalid: " + toMove);
         }
@@ -133,8 +211,8 @@ public class FoxHoundIO {
 
         StringJoiner output = new StringJoiner(" ");
         output.add("" + toMove);
-        for (String pos : players) {
-            output.add(pos);
+        for (FoxHoundCoord pos : players) {
+            output.add(pos.toString());
         }
 
         try {
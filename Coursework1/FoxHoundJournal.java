@@ -0,0 +1,618 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An append-only journal of complete fox hound games.
+ *
+ * The journal is a directory with an index file and any number of
+ * segment files. Games are appended to the newest segment, a new one is
+ * started once it exceeds the segment size. Each game in a segment is
+ * stored as the start position in the record format of
+ * {@link FoxHoundBinaryIO} followed by every move as the origin and
+ * destination square with {@link FoxHoundBinaryIO#squareBytes(int)}
+ * bytes each.
+ *
+ * When a game ends, a fixed size entry with its segment, offset, number
+ * of moves, board dimension and winner is appended to the index. Game
+ * {@code n} therefore has its entry at a fixed offset of the index and
+ * move {@code m} of a game is at a fixed offset behind its start
+ * position, so both can be found with a single read without scanning.
+ *
+ * Segments and index are written in batches from two buffers. How often
+ * they are forced to the storage device is set by a {@link SyncPolicy}.
+ * Data is always written before the index entries referring to it, so a
+ * game without an index entry, e.g. after a crash, is simply discarded
+ * the next time the journal is opened.
+ *
+ * All methods are synchronized, so games can be appended from several
+ * threads, as long as every thread uses
+ * {@link #appendGame(FoxHoundBitboard, char, int[], int, char)}.
+ * Games written move by move must not be interleaved.
+ */
+public class FoxHoundJournal implements Closeable {
+
+    /** How often written data is forced to the storage device. */
+    public enum SyncPolicy {
+        /** Never force data, leave it to the operating system. */
+        NONE,
+        /** Force data whenever the buffers are written out. */
+        BATCH,
+        /** Write out and force the buffers after every game. */
+        GAME
+    }
+
+    /** Default size after which a new segment is started. */
+    public static final long DEFAULT_SEGMENT_SIZE = 64L << 20;
+    /** Largest segment size, so that every segment can be memory mapped. */
+    public static final long MAX_SEGMENT_SIZE = 1L << 30;
+    /** Default size of the write buffers. */
+    public static final int DEFAULT_BATCH_SIZE = 64 << 10;
+
+    /** Name of the index file within the journal directory. */
+    public static final String INDEX_FILE = "journal.idx";
+
+    /** Identifies index files, reads as "FHJI". */
+    static final int INDEX_MAGIC = 0x46484A49;
+    /** Identifies segment files, reads as "FHJS". */
+    static final int SEGMENT_MAGIC = 0x46484A53;
+    /** Version of the index and segment format. */
+    static final int VERSION = 1;
+    /** Size of the index and segment file headers. */
+    static final int HEADER_SIZE = 8;
+    /** Size of one index entry. */
+    static final int ENTRY_SIZE = 16;
+
+    private final Path dir;
+    private final long segmentSize;
+    private final SyncPolicy syncPolicy;
+    private final FoxHoundBinaryIO binaryIO;
+
+    private final FileChannel index;
+    private final List<FileChannel> segments;
+    private final ByteBuffer dataBuffer;
+    private final ByteBuffer indexBuffer;
+    private final ByteBuffer readBuffer;
+
+    /** Number of games with an index entry, including buffered ones. */
+    private long gameCount;
+    /** Number of games whose index entry has been written to the index file. */
+    private long flushedGameCount;
+    /** Offset of the buffered data in the current segment. */
+    private long flushedOffset;
+
+    // state of the game currently being written
+    private int gameDim;
+    private int gameOffset;
+    private int gameMoves;
+    private int gameMaxMoves;
+    private int gameSquareBytes;
+
+    /**
+     * Open the journal in the given directory with default settings and
+     * without forcing written data.
+     *
+     * @param dir the journal directory, created if it does not exist
+     * @return the opened journal
+     * @throws IOException if the journal files cannot be opened or created
+     * @throws IllegalArgumentException if the directory contains invalid journal files
+     * @throws NullPointerException if the given directory is null
+     */
+    public static FoxHoundJournal open(Path dir) throws IOException {
+        return new FoxHoundJournal(dir, DEFAULT_SEGMENT_SIZE, DEFAULT_BATCH_SIZE, SyncPolicy.NONE);
+    }
+
+    /**
+     * Open the journal in the given directory.
+     *
+     * Existing games are kept and new games are appended to them. Data of
+     * a game that was not finished is removed from the newest segment.
+     *
+     * @param dir the journal directory, created if it does not exist
+     * @param segmentSize size in bytes after which a new segment is started
+     * @param batchSize size in bytes of the write buffers
+     * @param syncPolicy when written data is forced to the storage device
+     * @throws IOException if the journal files cannot be opened or created
+     * @throws IllegalArgumentException if the directory contains invalid journal files,
+     * the segment size is not positive or larger than
+     * {@value FoxHoundJournal#MAX_SEGMENT_SIZE} or the batch size is too small to
+     * hold the longest possible game
+     * @throws NullPointerException if the given directory or policy is null
+     */
+    public FoxHoundJournal(Path dir, long segmentSize, int batchSize, SyncPolicy syncPolicy)
+            throws IOException {
+
+        this.dir = Objects.requireNonNull(dir, "Given directory must not be null.");
+        this.syncPolicy = Objects.requireNonNull(syncPolicy, "Given sync policy must not be null.");
+        if (segmentSize <= 0 || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Segment size must be between 1 and "
+                + MAX_SEGMENT_SIZE + " but is: " + segmentSize);
+        }
+        if (batchSize < maxGameSize(FoxHoundUtils.MAX_DIM)) {
+            throw new IllegalArgumentException("Batch size must be at least "
+                + maxGameSize(FoxHoundUtils.MAX_DIM) + " but is: " + batchSize);
+        }
+
+        this.segmentSize = segmentSize;
+        this.binaryIO = new FoxHoundBinaryIO();
+        this.dataBuffer = ByteBuffer.allocateDirect(batchSize);
+        this.indexBuffer = ByteBuffer.allocateDirect(batchSize - batchSize % ENTRY_SIZE);
+        this.readBuffer = ByteBuffer.allocateDirect(maxGameSize(FoxHoundUtils.MAX_DIM));
+        this.segments = new ArrayList<>();
+
+        Files.createDirectories(dir);
+        this.index = FileChannel.open(dir.resolve(INDEX_FILE), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            closeChannels();
+            throw e;
+        }
+    }
+
+    /**
+     * Return the file name of the segment with the given number.
+     *
+     * @param segment the segment number
+     * @return the segment file name within the journal directory
+     */
+    public static String segmentFileName(int segment) {
+        return String.format("segment-%05d.fhj", segment);
+    }
+
+    /**
+     * Return the number of bytes of the longest possible game.
+     */
+    private static int maxGameSize(int dim) {
+        return FoxHoundBinaryIO.recordSize(dim)
+            + FoxHoundTournament.maxGameLength(dim) * 2 * FoxHoundBinaryIO.squareBytes(dim);
+    }
+
+    /**
+     * Read the index, open all segments and remove data of unfinished games.
+     */
+    private void recover() throws IOException {
+        long size = index.size();
+        if (size == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(INDEX_MAGIC).putInt(VERSION);
+            header.flip();
+            index.write(header, 0);
+        } else {
+            checkHeader(index, INDEX_MAGIC, dir.resolve(INDEX_FILE));
+        }
+
+        // an entry that was only partially written is dropped
+        gameCount = Math.max(0, (size - HEADER_SIZE) / ENTRY_SIZE);
+        index.truncate(HEADER_SIZE + gameCount * ENTRY_SIZE);
+        flushedGameCount = gameCount;
+
+        for (int segment = 0; Files.exists(dir.resolve(segmentFileName(segment))); segment++) {
+            FileChannel channel = FileChannel.open(dir.resolve(segmentFileName(segment)),
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segments.add(channel);
+            checkHeader(channel, SEGMENT_MAGIC, dir.resolve(segmentFileName(segment)));
+        }
+
+        if (segments.isEmpty()) {
+            startSegment();
+            return;
+        }
+
+        long end = HEADER_SIZE;
+        if (gameCount > 0) {
+            readEntry(gameCount - 1);
+            int segment = readBuffer.getInt();
+            if (segment >= segments.size()) {
+                throw new IllegalArgumentException("Index refers to missing segment " + segment);
+            }
+            int offset = readBuffer.getInt();
+            int moves = readBuffer.getInt();
+            int dim = readBuffer.get();
+            if (segment == segments.size() - 1) {
+                end = offset + gameSize(dim, moves);
+            }
+        }
+        FileChannel current = segments.get(segments.size() - 1);
+        current.truncate(end);
+        flushedOffset = end;
+    }
+
+    static void checkHeader(FileChannel channel, int magic, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // keep reading until the header is complete
+        }
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != magic || header.getInt() != VERSION) {
+            throw new IllegalArgumentException("Not a journal file of version " + VERSION + ": " + file);
+        }
+    }
+
+    /**
+     * Create a new segment and make it the current one.
+     */
+    private void startSegment() throws IOException {
+        FileChannel channel = FileChannel.open(dir.resolve(segmentFileName(segments.size())),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segments.add(channel);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(SEGMENT_MAGIC).putInt(VERSION);
+        header.flip();
+        channel.write(header, 0);
+        flushedOffset = HEADER_SIZE;
+    }
+
+    private static int gameSize(int dim, int moves) {
+        return FoxHoundBinaryIO.recordSize(dim) + moves * 2 * FoxHoundBinaryIO.squareBytes(dim);
+    }
+
+    // -------------- WRITING ------------------------------------------
+
+    /**
+     * Start a new game with the given start position.
+     *
+     * @param start the start position of the game, it is not modified
+     * @param turn the figure type that has the first move
+     * @throws IOException if writing buffered data fails
+     * @throws IllegalArgumentException if the given figure type or position is invalid
+     * @throws IllegalStateException if the previous game has not been ended
+     * @throws NullPointerException if the given position is null
+     */
+    public synchronized void beginGame(FoxHoundBitboard start, char turn) throws IOException {
+        Objects.requireNonNull(start, "Given start position must not be null.");
+        if (gameDim != 0) {
+            throw new IllegalStateException("Previous game has not been ended.");
+        }
+
+        int dim = start.getDimension();
+        long offset = flushedOffset + dataBuffer.position();
+        if (offset >= segmentSize && offset > HEADER_SIZE) {
+            flush();
+            startSegment();
+        } else if (dataBuffer.remaining() < maxGameSize(dim)) {
+            writeBuffers();
+        }
+
+        int recordStart = dataBuffer.position();
+        binaryIO.writeRecord(start, turn, dataBuffer);
+        gameDim = dim;
+        gameOffset = (int) (flushedOffset + recordStart);
+        gameMoves = 0;
+        gameMaxMoves = FoxHoundTournament.maxGameLength(dim);
+        gameSquareBytes = FoxHoundBinaryIO.squareBytes(dim);
+    }
+
+    /**
+     * Append a move to the current game.
+     *
+     * Moves are not validated, they are expected to come from the rules engine.
+     *
+     * @param move the move packed as by {@link FoxHoundMoveGen}
+     * @throws IllegalStateException if no game has been started or the game is
+     * longer than any valid game
+     */
+    public synchronized void appendMove(int move) {
+        if (gameDim == 0) {
+            throw new IllegalStateException("No game has been started.");
+        }
+        if (gameMoves == gameMaxMoves) {
+            throw new IllegalStateException("Game exceeds " + gameMaxMoves + " moves.");
+        }
+
+        FoxHoundBinaryIO.putSquare(dataBuffer, FoxHoundMoveGen.getOrigin(move), gameSquareBytes);
+        FoxHoundBinaryIO.putSquare(dataBuffer, FoxHoundMoveGen.getDest(move), gameSquareBytes);
+        gameMoves++;
+    }
+
+    /**
+     * End the current game and add it to the index.
+     *
+     * @param winner the figure type that won the game
+     * @return the number of the game in the journal, starting with zero
+     * @throws IOException if writing buffered data fails
+     * @throws IllegalArgumentException if the given figure type is invalid
+     * @throws IllegalStateException if no game has been started
+     */
+    public synchronized long endGame(char winner) throws IOException {
+        if (gameDim == 0) {
+            throw new IllegalStateException("No game has been started.");
+        }
+        if (!FoxHoundUtils.isValidTurn(winner)) {
+            throw new IllegalArgumentException("Invalid figure type: " + winner);
+        }
+
+        if (!indexBuffer.hasRemaining()) {
+            writeBuffers();
+        }
+        indexBuffer.putInt(segments.size() - 1).putInt(gameOffset).putInt(gameMoves)
+            .put((byte) gameDim).put((byte) winner).putShort((short) 0);
+        gameDim = 0;
+        long game = gameCount++;
+
+        if (syncPolicy == SyncPolicy.GAME) {
+            flush();
+        }
+        return game;
+    }
+
+    /**
+     * Append a complete game.
+     *
+     * @param start the start position of the game, it is not modified
+     * @param turn the figure type that has the first move
+     * @param moves the moves of the game packed as by {@link FoxHoundMoveGen}
+     * @param count the number of moves
+     * @param winner the figure type that won the game
+     * @return the number of the game in the journal, starting with zero
+     * @throws IOException if writing buffered data fails
+     * @throws IllegalArgumentException if a given figure type or the position is invalid
+     * @throws IllegalStateException if a game written move by move has not been ended
+     * or the game is longer than any valid game
+     * @throws NullPointerException if the given position or moves are null
+     */
+    public synchronized long appendGame(FoxHoundBitboard start, char turn, int[] moves, int count,
+            char winner) throws IOException {
+
+        Objects.requireNonNull(moves, "Given moves must not be null.");
+        if (!FoxHoundUtils.isValidTurn(winner)) {
+            throw new IllegalArgumentException("Invalid figure type: " + winner);
+        }
+
+        beginGame(start, turn);
+        try {
+            for (int i = 0; i < count; i++) {
+                appendMove(moves[i]);
+            }
+        } catch (RuntimeException e) {
+            // nothing has been written to the index for this game
+            dropGame();
+            throw e;
+        }
+        return endGame(winner);
+    }
+
+    /**
+     * Write all buffered data and force it to the storage device
+     * unless the sync policy is {@link SyncPolicy#NONE}.
+     *
+     * Buffers are also written automatically once they are full and, with
+     * {@link SyncPolicy#GAME}, after every game.
+     *
+     * Data of a game that has not been ended yet is written as well, but
+     * it is not part of the journal before its index entry is written.
+     *
+     * @throws IOException if writing fails
+     */
+    public synchronized void flush() throws IOException {
+        writeBuffers();
+    }
+
+    /**
+     * Write buffered data, first the segment and then the index.
+     */
+    private void writeBuffers() throws IOException {
+        boolean force = syncPolicy != SyncPolicy.NONE;
+        FileChannel current = segments.get(segments.size() - 1);
+
+        dataBuffer.flip();
+        while (dataBuffer.hasRemaining()) {
+            flushedOffset += current.write(dataBuffer, flushedOffset);
+        }
+        dataBuffer.clear();
+        if (force) {
+            // data has to be on the device before the index entries referring to it
+            current.force(false);
+        }
+
+        indexBuffer.flip();
+        long position = HEADER_SIZE + flushedGameCount * ENTRY_SIZE;
+        while (indexBuffer.hasRemaining()) {
+            position += index.write(indexBuffer, position);
+        }
+        indexBuffer.clear();
+        flushedGameCount = gameCount;
+        if (force) {
+            index.force(false);
+        }
+    }
+
+    /**
+     * Discard the game that is currently being written.
+     */
+    private void dropGame() {
+        if (gameOffset >= flushedOffset) {
+            dataBuffer.position((int) (gameOffset - flushedOffset));
+        } else {
+            // parts of the game have been written already, they are overwritten
+            // by the next game or cut off when the journal is closed
+            dataBuffer.clear();
+            flushedOffset = gameOffset;
+        }
+        gameDim = 0;
+    }
+
+    // -------------- READING ------------------------------------------
+
+    /**
+     * Return the number of games in the journal.
+     *
+     * @return the number of ended games
+     */
+    public synchronized long getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Return the number of moves of the given game.
+     *
+     * @param game the number of the game
+     * @return the number of moves
+     * @throws IOException if reading fails
+     * @throws IndexOutOfBoundsException if there is no such game
+     */
+    public synchronized int getMoveCount(long game) throws IOException {
+        readEntry(game);
+        return readBuffer.getInt(8);
+    }
+
+    /**
+     * Return the board dimension of the given game.
+     *
+     * @param game the number of the game
+     * @return the board dimension
+     * @throws IOException if reading fails
+     * @throws IndexOutOfBoundsException if there is no such game
+     */
+    public synchronized int getDimension(long game) throws IOException {
+        readEntry(game);
+        return readBuffer.get(12);
+    }
+
+    /**
+     * Return the winner of the given game.
+     *
+     * @param game the number of the game
+     * @return the figure type that won the game
+     * @throws IOException if reading fails
+     * @throws IndexOutOfBoundsException if there is no such game
+     */
+    public synchronized char getWinner(long game) throws IOException {
+        readEntry(game);
+        return (char) readBuffer.get(13);
+    }
+
+    /**
+     * Return a single move of the given game.
+     *
+     * The move is found with one read of the index and one of the segment.
+     *
+     * @param game the number of the game
+     * @param move the number of the move within the game, starting with zero
+     * @return the move packed as by {@link FoxHoundMoveGen}
+     * @throws IOException if reading fails
+     * @throws IndexOutOfBoundsException if there is no such game or move
+     */
+    public synchronized int getMove(long game, int move) throws IOException {
+        readEntry(game);
+        int segment = readBuffer.getInt();
+        int offset = readBuffer.getInt();
+        int moves = readBuffer.getInt();
+        int dim = readBuffer.get();
+        Objects.checkIndex(move, moves);
+
+        int width = FoxHoundBinaryIO.squareBytes(dim);
+        read(segment, offset + FoxHoundBinaryIO.recordSize(dim) + (long) move * 2 * width, 2 * width);
+        int origin = FoxHoundBinaryIO.getSquare(readBuffer, width);
+        int dest = FoxHoundBinaryIO.getSquare(readBuffer, width);
+        return origin << 16 | dest;
+    }
+
+    /**
+     * Restore the position of the given game after the given number of moves.
+     *
+     * The start position and all moves up to the given one are read with a
+     * single read and replayed on the given board.
+     *
+     * @param game the number of the game
+     * @param moves the number of moves to be played, at most the number of moves of the game
+     * @param target the board the position is written to, it must have the
+     * dimension of the game
+     * @return the figure type that has the next move in the restored position
+     * @throws IOException if reading fails
+     * @throws IndexOutOfBoundsException if there is no such game or move
+     * @throws IllegalArgumentException if the dimension of the target board does not
+     * match or the stored start position is corrupt
+     */
+    public synchronized char readPosition(long game, int moves, FoxHoundBitboard target)
+            throws IOException {
+
+        Objects.requireNonNull(target, "Given target board must not be null.");
+        readEntry(game);
+        int segment = readBuffer.getInt();
+        int offset = readBuffer.getInt();
+        int moveCount = readBuffer.getInt();
+        int dim = readBuffer.get();
+        Objects.checkIndex(moves, moveCount + 1);
+
+        read(segment, offset, gameSize(dim, moves));
+        char turn = binaryIO.readRecord(readBuffer, target);
+        int width = FoxHoundBinaryIO.squareBytes(dim);
+        for (int i = 0; i < moves; i++) {
+            int origin = FoxHoundBinaryIO.getSquare(readBuffer, width);
+            target.movePiece(origin, FoxHoundBinaryIO.getSquare(readBuffer, width));
+            turn = turn == FoxHoundUtils.FOX_FIELD ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+        }
+        return turn;
+    }
+
+    /**
+     * Read the index entry of the given game into the read buffer.
+     */
+    private void readEntry(long game) throws IOException {
+        Objects.checkIndex(game, gameCount);
+        if (game >= flushedGameCount) {
+            writeBuffers();
+        }
+        readFully(index, HEADER_SIZE + game * ENTRY_SIZE, ENTRY_SIZE);
+    }
+
+    /**
+     * Read the given range of a segment into the read buffer.
+     */
+    private void read(int segment, long offset, int length) throws IOException {
+        readFully(segments.get(segment), offset, length);
+    }
+
+    private void readFully(FileChannel channel, long offset, int length) throws IOException {
+        readBuffer.clear().limit(length);
+        while (readBuffer.hasRemaining()) {
+            if (channel.read(readBuffer, offset + readBuffer.position()) < 0) {
+                throw new IOException("Unexpected end of journal file.");
+            }
+        }
+        readBuffer.flip();
+    }
+
+    /**
+     * Write all buffered data and close the journal files.
+     *
+     * A game that has not been ended is discarded.
+     *
+     * @throws IOException if writing or closing fails
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (gameDim != 0) {
+                dropGame();
+            }
+            flush();
+            segments.get(segments.size() - 1).truncate(flushedOffset);
+        } finally {
+            closeChannels();
+        }
+    }
+
+    private void closeChannels() throws IOException {
+        IOException failure = null;
+        List<FileChannel> channels = new ArrayList<>(segments);
+        channels.add(index);
+        for (FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,485 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A fox hound board for dimensions far beyond {@value FoxHoundUtils#MAX_DIM}.
+ *
+ * The regular {@link FoxHoundBitboard} spends one bit per square and
+ * names columns with single letters, which limits it to small boards.
+ * This variant only stores the figures: their rows and columns are kept
+ * in arrays indexed by figure, hounds first and the fox last like in a
+ * players array, and an open addressing hash table maps occupied fields
+ * to figures. Memory and the cost of every rule query therefore depend
+ * on the number of figures only, not on the size of the board, so a
+ * board of 1000 x 1000 fields with 500 hounds is as fast as a small one.
+ *
+ * Columns are named like spreadsheet columns: {@code A} to {@code Z},
+ * followed by {@code AA}, {@code AB} and so on. Rows are numbered from
+ * one, e.g. {@code AB1000} is the field in column 28 of row 1000.
+ *
+ * Moves are packed as figure index and direction, see
+ * {@link #generateMoves(char, int[])}.
+ */
+public class FoxHoundLargeBoard {
+
+    /** Dimension of a large board if none is given. */
+    public static final int DEFAULT_LARGE_DIM = 1000;
+
+    /** Largest supported board dimension. */
+    public static final int MAX_LARGE_DIM = 1 << 20;
+
+    /** Marks an empty field. */
+    public static final int NO_PIECE = -1;
+
+    /** Marks an invalid coordinate returned by {@link #parseCoords(CharSequence, int)}. */
+    public static final long NO_COORDS = -1;
+
+    /** Row and column offsets of the four directions, in the order of {@link FoxHoundBitboard}. */
+    private static final int[] DIR_ROWS = {-1, 1, 1, -1};
+    private static final int[] DIR_COLS = {-1, -1, 1, 1};
+
+    private static final int LETTERS = 26;
+
+    private final int dim;
+    private final int[] rows;
+    private final int[] cols;
+
+    /** Field keys, {@code row * dim + col + 1}, zero marks an empty slot. */
+    private final long[] keys;
+    private final int[] pieces;
+    private final int mask;
+
+    /**
+     * Create a board of the given dimension with all figures in their
+     * initial positions, following {@link FoxHoundUtils#initialiseCoords(int)}.
+     *
+     * @param dim dimension of the game board
+     * @throws IllegalArgumentException if the dimension is out of bounds
+     */
+    public FoxHoundLargeBoard(int dim) {
+        if (dim < FoxHoundUtils.MIN_DIM || dim > MAX_LARGE_DIM) {
+            throw new IllegalArgumentException("Dimension must be between "
+                + FoxHoundUtils.MIN_DIM + " and " + MAX_LARGE_DIM + " but is: " + dim);
+        }
+
+        this.dim = dim;
+        int count = dim / 2 + 1;
+        rows = new int[count];
+        cols = new int[count];
+
+        // at most a quarter of the slots is used, so probe sequences stay short
+        int capacity = Integer.highestOneBit(count * 4 - 1) << 1;
+        keys = new long[capacity];
+        pieces = new int[capacity];
+        mask = capacity - 1;
+
+        for (int i = 0; i < count - 1; i++) {
+            place(i, 0, 2 * i + 1);
+        }
+        place(count - 1, dim - 1, (dim / 2) + (dim % 2) - ((dim / 2) % 2));
+    }
+
+    /**
+     * Return the dimension of the board.
+     *
+     * @return the number of rows and columns
+     */
+    public int getDimension() {
+        return dim;
+    }
+
+    /**
+     * Return the number of figures, the fox included.
+     *
+     * @return the number of figures
+     */
+    public int getPieceCount() {
+        return rows.length;
+    }
+
+    /**
+     * Return the index of the fox, which is the last figure.
+     *
+     * @return the figure index of the fox
+     */
+    public int getFox() {
+        return rows.length - 1;
+    }
+
+    /**
+     * Return the row of a figure.
+     *
+     * @param piece the figure index
+     * @return the row (starting with zero from top to bottom)
+     * @throws ArrayIndexOutOfBoundsException if the index is invalid
+     */
+    public int getRow(int piece) {
+        return rows[piece];
+    }
+
+    /**
+     * Return the column of a figure.
+     *
+     * @param piece the figure index
+     * @return the column (starting with zero from left to right)
+     * @throws ArrayIndexOutOfBoundsException if the index is invalid
+     */
+    public int getCol(int piece) {
+        return cols[piece];
+    }
+
+    /**
+     * Return the figure on the given field.
+     *
+     * @param row the row of the field
+     * @param col the column of the field
+     * @return the figure index or {@value #NO_PIECE} if the field is empty or outside
+     */
+    public int pieceAt(int row, int col) {
+        if (row < 0 || col < 0 || row >= dim || col >= dim) {
+            return NO_PIECE;
+        }
+        long key = key(row, col);
+        for (int slot = slot(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return pieces[slot];
+            }
+        }
+        return NO_PIECE;
+    }
+
+    // -------------- RULES ----------------------------------------------
+
+    /**
+     * Check if the given destination can be reached from the given origin
+     * for the specified figure, with the same rules as
+     * {@link FoxHoundBitboard#isValidMove(char, int, int)}.
+     *
+     * @param figure the type of figure to be moved
+     * @param fromRow the row of the origin
+     * @param fromCol the column of the origin
+     * @param toRow the row of the destination
+     * @param toCol the column of the destination
+     * @return true if the move is valid, false otherwise
+     * @throws IllegalArgumentException if the given figure type is invalid
+     */
+    public boolean isValidMove(char figure, int fromRow, int fromCol, int toRow, int toCol) {
+        if (!FoxHoundUtils.isValidTurn(figure)) {
+            throw new IllegalArgumentException("Invalid figure type: " + figure);
+        }
+        int piece = pieceAt(fromRow, fromCol);
+        if (piece == NO_PIECE || (piece == getFox()) != (figure == FoxHoundUtils.FOX_FIELD)) {
+            return false;
+        }
+
+        int rowStep = toRow - fromRow;
+        if (Math.abs(toCol - fromCol) != 1 || Math.abs(rowStep) != 1
+                || (figure == FoxHoundUtils.HOUND_FIELD && rowStep != 1)) {
+            return false;
+        }
+        return toRow < dim && toCol >= 0 && toCol < dim && toRow >= 0
+            && pieceAt(toRow, toCol) == NO_PIECE;
+    }
+
+    /**
+     * Move the figure on the given origin to the given destination.
+     *
+     * The move is not validated, use
+     * {@link #isValidMove(char, int, int, int, int)} for that.
+     *
+     * @param fromRow the row of the origin
+     * @param fromCol the column of the origin
+     * @param toRow the row of the destination
+     * @param toCol the column of the destination
+     * @throws IllegalArgumentException if there is no figure on the origin
+     */
+    public void move(int fromRow, int fromCol, int toRow, int toCol) {
+        int piece = pieceAt(fromRow, fromCol);
+        if (piece == NO_PIECE) {
+            throw new IllegalArgumentException("No figure on given field: "
+                + toBoardCoords(fromRow, fromCol));
+        }
+        remove(key(fromRow, fromCol));
+        place(piece, toRow, toCol);
+    }
+
+    /**
+     * Check if the fox has reached row {@value FoxHoundUtils#FOX_WIN_ROW}.
+     *
+     * @return true if the fox has won, false otherwise
+     */
+    public boolean isFoxWin() {
+        return rows[getFox()] == FoxHoundUtils.FOX_WIN_ROW;
+    }
+
+    /**
+     * Return true if the fox can no longer move, i.e. all of its corner
+     * fields are either outside of the board or taken by a hound.
+     *
+     * @return true if the hounds have won, false otherwise
+     */
+    public boolean isHoundWin() {
+        int fox = getFox();
+        for (int dir = 0; dir < FoxHoundBitboard.NUM_DIRECTIONS; dir++) {
+            int row = rows[fox] + DIR_ROWS[dir];
+            int col = cols[fox] + DIR_COLS[dir];
+            if (row >= 0 && col >= 0 && row < dim && col < dim && pieceAt(row, col) == NO_PIECE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // -------------- MOVE GENERATION ------------------------------------
+
+    /**
+     * Write all legal moves of the given side into the given buffer.
+     *
+     * A move is packed as {@code piece << 2 | direction}, see
+     * {@link #getMovePiece(int)} and {@link #getMoveDirection(int)}.
+     *
+     * @param figure the side to move
+     * @param buffer receives the moves, it must hold two moves per hound
+     * @return the number of moves
+     * @throws IllegalArgumentException if the given figure type is invalid
+     */
+    public int generateMoves(char figure, int[] buffer) {
+        int count = 0;
+        if (figure == FoxHoundUtils.FOX_FIELD) {
+            count = addMoves(getFox(), 0, FoxHoundBitboard.NUM_DIRECTIONS, buffer, count);
+        } else if (figure == FoxHoundUtils.HOUND_FIELD) {
+            // hounds may only move towards the bottom
+            for (int piece = 0; piece < getFox(); piece++) {
+                count = addMoves(piece, 1, 3, buffer, count);
+            }
+        } else {
+            throw new IllegalArgumentException("Invalid figure type: " + figure);
+        }
+        return count;
+    }
+
+    /**
+     * Play a move created by {@link #generateMoves(char, int[])}.
+     *
+     * @param move the packed move
+     */
+    public void applyMove(int move) {
+        int piece = getMovePiece(move);
+        int dir = getMoveDirection(move);
+        move(rows[piece], cols[piece], rows[piece] + DIR_ROWS[dir], cols[piece] + DIR_COLS[dir]);
+    }
+
+    /**
+     * Return the figure index of a packed move.
+     *
+     * @param move the packed move
+     * @return the index of the moved figure
+     */
+    public static int getMovePiece(int move) {
+        return move >>> 2;
+    }
+
+    /**
+     * Return the direction of a packed move.
+     *
+     * @param move the packed move
+     * @return one of the four direction indices of {@link FoxHoundBitboard}
+     */
+    public static int getMoveDirection(int move) {
+        return move & 3;
+    }
+
+    private int addMoves(int piece, int firstDir, int endDir, int[] buffer, int count) {
+        for (int dir = firstDir; dir < endDir; dir++) {
+            int row = rows[piece] + DIR_ROWS[dir];
+            int col = cols[piece] + DIR_COLS[dir];
+            if (row >= 0 && col >= 0 && row < dim && col < dim && pieceAt(row, col) == NO_PIECE) {
+                buffer[count++] = piece << 2 | dir;
+            }
+        }
+        return count;
+    }
+
+    // -------------- COORDINATES ----------------------------------------
+
+    /**
+     * Append the name of a column, e.g. {@code A}, {@code Z} or {@code AA}.
+     *
+     * @param bld the builder to append to
+     * @param col the column (starting with zero from left to right)
+     * @return the given builder
+     */
+    public static StringBuilder appendColumn(StringBuilder bld, int col) {
+        int start = bld.length();
+        // bijective base 26, so there is no letter for zero
+        for (int value = col + 1; value > 0; value = (value - 1) / LETTERS) {
+            bld.append((char) (FoxHoundUtils.COLUMN_START_COORD + (value - 1) % LETTERS));
+        }
+        int end = bld.length() - 1;
+        for (int i = start; i < end; i++, end--) {
+            char swap = bld.charAt(i);
+            bld.setCharAt(i, bld.charAt(end));
+            bld.setCharAt(end, swap);
+        }
+        return bld;
+    }
+
+    /**
+     * Return the board coordinates of a field, e.g. {@code AB1000}.
+     *
+     * @param row the row of the field
+     * @param col the column of the field
+     * @return the coordinates of the field
+     */
+    public static String toBoardCoords(int row, int col) {
+        return appendColumn(new StringBuilder(), col).append(row + 1).toString();
+    }
+
+    /**
+     * Parse board coordinates with multi letter columns.
+     *
+     * Lower case letters are accepted.
+     *
+     * @param text the coordinates, e.g. {@code AB1000}
+     * @param dim dimension of the game board
+     * @return {@code row << 32 | col} or {@value #NO_COORDS} if the text is
+     * malformed or outside of the board
+     * @throws NullPointerException if the given text is null
+     */
+    public static long parseCoords(CharSequence text, int dim) {
+        int i = 0;
+        long col = 0;
+        for (; i < text.length() && Character.isLetter(text.charAt(i)); i++) {
+            int letter = Character.toUpperCase(text.charAt(i)) - FoxHoundUtils.COLUMN_START_COORD;
+            if (letter < 0 || letter >= LETTERS || col > dim) {
+                return NO_COORDS;
+            }
+            col = col * LETTERS + letter + 1;
+        }
+        if (i == 0 || i == text.length()) {
+            return NO_COORDS;
+        }
+
+        long row = 0;
+        for (; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9' || row > dim) {
+                return NO_COORDS;
+            }
+            row = row * 10 + c - '0';
+        }
+        if (row < 1 || row > dim || col > dim) {
+            return NO_COORDS;
+        }
+        return (row - 1) << 32 | (col - 1);
+    }
+
+    // -------------- HASH TABLE -----------------------------------------
+
+    private long key(int row, int col) {
+        return (long) row * dim + col + 1;
+    }
+
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+    }
+
+    private void place(int piece, int row, int col) {
+        rows[piece] = row;
+        cols[piece] = col;
+        long key = key(row, col);
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        pieces[slot] = piece;
+    }
+
+    /**
+     * Remove a key and shift following entries back, so that probe
+     * sequences never contain a gap.
+     */
+    private void remove(long key) {
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            // move the entry if its home is not within (gap, next]
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                pieces[gap] = pieces[next];
+                gap = next;
+            }
+        }
+        keys[gap] = 0;
+    }
+
+    // -------------- MAIN -----------------------------------------------
+
+    /**
+     * Play random moves on a large board and report the speed of the
+     * rules and of the viewport rendering.
+     *
+     * Arguments are the dimension and the number of moves, both optional.
+     *
+     * @param args contain the command line arguments
+     */
+    public static void main(String[] args) {
+        int dim = DEFAULT_LARGE_DIM;
+        int plies = 1_000_000;
+        try {
+            if (args.length > 0) {
+                dim = Integer.parseInt(args[0]);
+            }
+            if (args.length > 1) {
+                plies = Integer.parseInt(args[1]);
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("ERROR: Dimension and number of moves must be numbers.");
+            System.exit(1);
+        }
+
+        FoxHoundLargeBoard board = new FoxHoundLargeBoard(dim);
+        int[] moves = new int[2 * board.getPieceCount() + FoxHoundBitboard.NUM_DIRECTIONS];
+        Random random = new Random(1);
+        char turn = FoxHoundUtils.FOX_FIELD;
+        int games = 1;
+        long start = System.nanoTime();
+        for (int ply = 0; ply < plies; ply++) {
+            int count = board.generateMoves(turn, moves);
+            if (count == 0 || board.isFoxWin() || board.isHoundWin()) {
+                board = new FoxHoundLargeBoard(dim);
+                turn = FoxHoundUtils.FOX_FIELD;
+                games++;
+                continue;
+            }
+            board.applyMove(moves[random.nextInt(count)]);
+            turn = turn == FoxHoundUtils.FOX_FIELD ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        StringBuilder bld = new StringBuilder();
+        long renderStart = System.nanoTime();
+        FoxHoundUI.appendViewport(bld, board, FoxHoundUI.DEFAULT_VIEWPORT_RADIUS);
+        long renderMicros = (System.nanoTime() - renderStart) / 1000;
+
+        System.out.print(bld);
+        System.out.printf("%d moves in %d games on %d x %d with %d hounds: %d moves/s, "
+            + "viewport rendered in %d us%n", plies, games, dim, dim, board.getPieceCount() - 1,
+            plies * 1_000_000_000L / elapsed, renderMicros);
+    }
+
+    @Override
+    public String toString() {
+        String[] players = new String[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            players[i] = toBoardCoords(rows[i], cols[i]);
+        }
+        return Arrays.toString(players);
+    }
+}
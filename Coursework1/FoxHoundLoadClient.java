@@ -0,0 +1,294 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * A load generator for the {@link FoxHoundServer}.
+ *
+ * The client opens many connections at once and lets each of them play
+ * random games: it asks for the legal moves, plays one of them and
+ * starts a new game once there is no move left. Every command waits for
+ * its answer before the next is sent, so the measured round trips
+ * include the full latency of the server.
+ *
+ * All connections are driven by one thread with a {@link Selector}, so
+ * thousands of sessions can be simulated from a single process.
+ */
+public class FoxHoundLoadClient {
+
+    private static final byte[] NEW_GAME = bytes("position startpos\n");
+    private static final byte[] LIST_MOVES = bytes("moves\n");
+    private static final String MOVES_ANSWER = "moves";
+    private static final int BUFFER_SIZE = 1024;
+
+    private final InetSocketAddress address;
+    private final int sessions;
+    private final int roundTrips;
+    private final long seed;
+
+    /**
+     * Statistics of a load run.
+     */
+    public static final class Result {
+        private final long roundTrips;
+        private final long errors;
+        private final long elapsedNanos;
+        private final long[] latencies;
+
+        private Result(long roundTrips, long errors, long elapsedNanos, long[] latencies) {
+            this.roundTrips = roundTrips;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies;
+        }
+
+        /**
+         * Return the number of answered commands.
+         *
+         * @return the number of round trips
+         */
+        public long getRoundTrips() {
+            return roundTrips;
+        }
+
+        /**
+         * Return the number of commands answered with an error.
+         *
+         * @return the number of errors
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Return the answered commands per second.
+         *
+         * @return the throughput of the run
+         */
+        public long getRoundTripsPerSecond() {
+            return elapsedNanos == 0 ? 0 : roundTrips * 1_000_000_000L / elapsedNanos;
+        }
+
+        /**
+         * Return a latency percentile of the round trips.
+         *
+         * @param percentile the percentile between 0 and 100
+         * @return the latency in microseconds
+         * @throws IllegalArgumentException if the percentile is out of range
+         */
+        public long getLatencyMicros(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100 but is: "
+                    + percentile);
+            }
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1000;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d round trips, %d errors, %d round trips/s, "
+                + "latency p50 %d us, p99 %d us, max %d us",
+                roundTrips, errors, getRoundTripsPerSecond(), getLatencyMicros(50),
+                getLatencyMicros(99), getLatencyMicros(100));
+        }
+    }
+
+    /**
+     * State of one simulated player.
+     */
+    private static final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer input = ByteBuffer.allocate(BUFFER_SIZE);
+        final StringBuilder line = new StringBuilder();
+        long sentNanos;
+        int answered;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Create a load generator.
+     *
+     * @param address the address of the server
+     * @param sessions the number of simultaneous connections
+     * @param roundTrips the number of commands sent by each connection
+     * @param seed the seed of the random move choice
+     * @throws IllegalArgumentException if the number of sessions or round trips is not positive
+     * @throws NullPointerException if the given address is null
+     */
+    public FoxHoundLoadClient(InetSocketAddress address, int sessions, int roundTrips, long seed) {
+        this.address = Objects.requireNonNull(address, "Given address must not be null.");
+        if (sessions < 1) {
+            throw new IllegalArgumentException("Number of sessions must be positive but is: "
+                + sessions);
+        }
+        if (roundTrips < 1) {
+            throw new IllegalArgumentException("Number of round trips must be positive but is: "
+                + roundTrips);
+        }
+        this.sessions = sessions;
+        this.roundTrips = roundTrips;
+        this.seed = seed;
+    }
+
+    /**
+     * Connect all sessions, send the commands and wait for all answers.
+     *
+     * @return the statistics of the run
+     * @throws IOException if a connection fails
+     */
+    public Result run() throws IOException {
+        Random random = new Random(seed);
+        long[] latencies = new long[sessions * roundTrips];
+        int measured = 0;
+        long errors = 0;
+        int done = 0;
+
+        Selector selector = Selector.open();
+        try {
+            for (int i = 0; i < sessions; i++) {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.configureBlocking(false);
+                Connection connection = new Connection(channel);
+                channel.register(selector, SelectionKey.OP_READ, connection);
+            }
+
+            long start = System.nanoTime();
+            for (SelectionKey key : selector.keys()) {
+                send((Connection) key.attachment(), NEW_GAME);
+            }
+
+            while (done < sessions) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Connection connection = (Connection) key.attachment();
+
+                    if (connection.channel.read(connection.input) < 0) {
+                        throw new IOException("Server closed a session.");
+                    }
+                    connection.input.flip();
+                    while (readLine(connection)) {
+                        long now = System.nanoTime();
+                        latencies[measured++] = now - connection.sentNanos;
+                        if (connection.line.indexOf("error") == 0) {
+                            errors++;
+                        }
+
+                        if (++connection.answered == roundTrips) {
+                            key.cancel();
+                            connection.channel.close();
+                            done++;
+                            break;
+                        }
+                        send(connection, nextCommand(connection.line, random));
+                    }
+                    if (connection.channel.isOpen()) {
+                        connection.input.compact();
+                    }
+                }
+            }
+
+            long elapsed = System.nanoTime() - start;
+            long[] sorted = Arrays.copyOf(latencies, measured);
+            Arrays.sort(sorted);
+            return new Result(measured, errors, elapsed, sorted);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                ((Connection) key.attachment()).channel.close();
+            }
+            selector.close();
+        }
+    }
+
+    /**
+     * Pick the command following an answer: a random legal move after a
+     * move list, a new game if there is no move left and a move list otherwise.
+     */
+    private static byte[] nextCommand(StringBuilder answer, Random random) {
+        if (answer.indexOf(MOVES_ANSWER) != 0) {
+            return LIST_MOVES;
+        }
+        int count = (answer.length() - MOVES_ANSWER.length()) / 5;
+        if (count == 0) {
+            return NEW_GAME;
+        }
+        int start = MOVES_ANSWER.length() + 1 + random.nextInt(count) * 5;
+        return bytes("move " + answer.substring(start, start + 4) + "\n");
+    }
+
+    private static boolean readLine(Connection connection) {
+        ByteBuffer input = connection.input;
+        for (int i = input.position(); i < input.limit(); i++) {
+            if (input.get(i) == '\n') {
+                connection.line.setLength(0);
+                for (int j = input.position(); j < i; j++) {
+                    connection.line.append((char) (input.get(j) & 0xFF));
+                }
+                input.position(i + 1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void send(Connection connection, byte[] command) throws IOException {
+        connection.sentNanos = System.nanoTime();
+        ByteBuffer output = ByteBuffer.wrap(command);
+        // commands are tiny, a blocking retry is only needed under extreme load
+        while (output.hasRemaining()) {
+            connection.channel.write(output);
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // -------------- MAIN -----------------------------------------------
+
+    /**
+     * Run a load test and print its statistics.
+     *
+     * Arguments are the host, the port, the number of sessions and the
+     * number of round trips per session, all optional.
+     *
+     * @param args contain the command line arguments
+     */
+    public static void main(String[] args) {
+        String host = args.length > 0 ? args[0] : "localhost";
+        try {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : FoxHoundServer.DEFAULT_PORT;
+            int sessions = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+            int roundTrips = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+
+            FoxHoundLoadClient client = new FoxHoundLoadClient(
+                new InetSocketAddress(host, port), sessions, roundTrips, System.nanoTime());
+            System.out.println(client.run());
+        } catch (NumberFormatException e) {
+            System.err.println("ERROR: Port, sessions and round trips must be numbers.");
+            System.exit(1);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("ERROR: Load test failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,465 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * A strategy picking moves with a Monte Carlo tree search.
+ *
+ * Instead of searching the game tree exhaustively, the strategy plays a
+ * large number of games from the current position to the end and grows
+ * a tree of statistics towards the moves which win most often. Every
+ * iteration selects a path through the known positions with the UCT
+ * formula, adds the first unknown position, plays the game out with the
+ * playout policy and counts the result for every position on the path.
+ * The move leading to the most visited position is played. Unlike the
+ * alpha-beta {@link FoxHoundSearch}, the cost of an iteration grows only
+ * with the game length and not exponentially with the search depth, so
+ * it still gives useful moves on large boards.
+ *
+ * With more than one thread, iterations run in parallel on a fork join
+ * pool owned by the strategy and share one tree. A single thread runs
+ * the iterations on the calling thread without a pool.
+ * The tree is stored in a fixed size, lock free table keyed by the
+ * position hash: the statistics of a position are packed into a single
+ * long of visits and wins, which is updated with one atomic addition. A
+ * visit is counted when a thread passes a position and the win only
+ * after the playout, so positions currently explored by other threads
+ * look worse for a moment and threads spread over different paths.
+ * When the table is full, new positions are played out without being
+ * added.
+ *
+ * The strategy itself is not thread safe, only one move may be chosen
+ * at a time. It has to be closed when it is no longer needed to shut its
+ * pool down.
+ */
+public class FoxHoundMctsStrategy implements FoxHoundStrategy, AutoCloseable {
+
+    /** Default memory budget of the statistics table in megabytes. */
+    public static final int DEFAULT_TABLE_MB = 16;
+    /** Default weight of the exploration term of the UCT formula. */
+    public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+    /** Number of playouts which are not limited. */
+    public static final long NO_PLAYOUT_LIMIT = Long.MAX_VALUE;
+
+    /** Number of bytes needed per table entry. */
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+    /** Number of table entries tried for a position before giving up. */
+    private static final int PROBE_LIMIT = 8;
+    /** Value added to the statistics of a position for one visit. */
+    private static final long VISIT = 1L << 32;
+    /** Mask of the win count in the statistics of a position. */
+    private static final long WINS_MASK = 0xFFFFFFFFL;
+
+    private final int threads;
+    private final long playoutLimit;
+    private final long timeMillis;
+    private final Supplier<FoxHoundStrategy> playoutPolicy;
+    private final double exploration;
+    /** Runs the iterations of more than one thread, null for a single thread. */
+    private final ForkJoinPool pool;
+
+    private final AtomicLongArray keys;
+    private final AtomicLongArray stats;
+    private final int mask;
+
+    private final AtomicLong playouts = new AtomicLong();
+    private volatile boolean stopped;
+    private long deadline;
+    private long elapsedNanos;
+    private int bestVisits;
+    private int bestWins;
+
+    /**
+     * Create a Monte Carlo strategy with random playouts, a statistics
+     * table of the default size and the default exploration weight.
+     *
+     * @param threads the number of threads running iterations in parallel
+     * @param playoutLimit the maximum number of playouts per move
+     * @param timeMillis the time budget per move in milliseconds
+     * @param seed the seed of the random playouts
+     * @throws IllegalArgumentException if an argument is not positive
+     */
+    public FoxHoundMctsStrategy(int threads, long playoutLimit, long timeMillis, long seed) {
+        this(threads, playoutLimit, timeMillis, randomPolicy(seed), DEFAULT_TABLE_MB,
+            DEFAULT_EXPLORATION);
+    }
+
+    /**
+     * Create a Monte Carlo strategy.
+     *
+     * The playout policy is called once per thread and move, the strategies
+     * it creates play both sides of the playouts of that thread.
+     *
+     * @param threads the number of threads running iterations in parallel
+     * @param playoutLimit the maximum number of playouts per move
+     * @param timeMillis the time budget per move in milliseconds
+     * @param playoutPolicy creates the strategy playing out games
+     * @param megabytes the memory budget of the statistics table in megabytes
+     * @param exploration the weight of the exploration term of the UCT formula
+     * @throws IllegalArgumentException if an argument is not positive
+     * @throws NullPointerException if the given playout policy is null
+     */
+    public FoxHoundMctsStrategy(int threads, long playoutLimit, long timeMillis,
+            Supplier<FoxHoundStrategy> playoutPolicy, int megabytes, double exploration) {
+
+        if (threads < 1 || playoutLimit < 1 || timeMillis < 1) {
+            throw new IllegalArgumentException("Threads, playouts and time must be positive but are: "
+                + threads + ", " + playoutLimit + " and " + timeMillis);
+        }
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Memory budget must be at least 1 MB but is: "
+                + megabytes);
+        }
+        if (!(exploration > 0)) {
+            throw new IllegalArgumentException("Exploration must be positive but is: " + exploration);
+        }
+
+        long entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / ENTRY_BYTES);
+        int size = (int) Math.min(entries, 1 << 30);
+
+        this.threads = threads;
+        this.playoutLimit = playoutLimit;
+        this.timeMillis = timeMillis;
+        this.playoutPolicy = Objects.requireNonNull(playoutPolicy,
+            "Given playout policy must not be null.");
+        this.exploration = exploration;
+        this.pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        this.keys = new AtomicLongArray(size);
+        this.stats = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Create a playout policy picking random moves.
+     *
+     * @param seed the seed of the first random number generator
+     * @return a supplier creating a random strategy with a new seed per call
+     */
+    public static Supplier<FoxHoundStrategy> randomPolicy(long seed) {
+        AtomicLong seeds = new AtomicLong(seed);
+        return () -> new FoxHoundRandomStrategy(seeds.getAndIncrement());
+    }
+
+    // -------------- SEARCH ------------------------------------------
+
+    @Override
+    public int chooseMove(FoxHoundBitboard board, char turn) {
+        Objects.requireNonNull(board, "Given board must not be null.");
+        if (!FoxHoundUtils.isValidTurn(turn)) {
+            throw new IllegalArgumentException("Invalid figure type: " + turn);
+        }
+
+        long start = System.nanoTime();
+        deadline = timeMillis >= FoxHoundSearch.NO_TIME_LIMIT
+            ? Long.MAX_VALUE : start + timeMillis * 1_000_000;
+        stopped = false;
+        playouts.set(0);
+        clearTable();
+
+        int[] rootMoves = new int[FoxHoundMoveGen.MAX_MOVES];
+        int count = FoxHoundMoveGen.generateMoves(board, turn, rootMoves);
+        if (count <= 1) {
+            elapsedNanos = System.nanoTime() - start;
+            bestVisits = 0;
+            bestWins = 0;
+            return count == 0 ? FoxHoundMoveGen.NO_MOVE : rootMoves[0];
+        }
+
+        if (pool == null) {
+            new Worker(board).run(turn);
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                Worker worker = new Worker(board);
+                tasks.add(pool.submit(() -> worker.run(turn)));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+
+        // the most visited move is the most reliable one
+        long rootKey = board.getHash() ^ FoxHoundZobrist.sideKey(turn);
+        int best = rootMoves[0];
+        long bestStats = 0;
+        for (int i = 0; i < count; i++) {
+            long key = childKey(rootKey, turn, rootMoves[i]);
+            int slot = find(key, false);
+            long childStats = slot < 0 ? 0 : stats.get(slot);
+            if ((childStats >>> 32) > (bestStats >>> 32)) {
+                best = rootMoves[i];
+                bestStats = childStats;
+            }
+        }
+
+        bestVisits = (int) (bestStats >>> 32);
+        bestWins = (int) (bestStats & WINS_MASK);
+        elapsedNanos = System.nanoTime() - start;
+        return best;
+    }
+
+    /**
+     * Abort a running search as soon as possible.
+     *
+     * This may be called from a different thread. The search then returns
+     * the best move found so far.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Shut down the pool of the search threads, if there is one.
+     *
+     * A strategy with more than one thread cannot choose moves any more
+     * after it has been closed.
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Return the number of playouts of the last search.
+     *
+     * @return the number of games played out
+     */
+    public long getPlayouts() {
+        return Math.min(playouts.get(), playoutLimit);
+    }
+
+    /**
+     * Return the time spent in the last search.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Summarise the statistics of the last search.
+     *
+     * @return a formatted string with playouts, speed and the win rate of the chosen move
+     */
+    public String getReport() {
+        long perSecond = elapsedNanos == 0 ? 0 : getPlayouts() * 1_000_000_000L / elapsedNanos;
+        double winRate = bestVisits == 0 ? 0 : 100.0 * bestWins / bestVisits;
+        return String.format("%d playouts in %d ms (%d playouts/s) on %d threads, win rate %.1f%%",
+            getPlayouts(), getElapsedMillis(), perSecond, threads, winRate);
+    }
+
+    /**
+     * Check if the search has to end before the next iteration.
+     *
+     * @return true if the search is stopped, out of time or has played all playouts
+     */
+    private boolean isFinished() {
+        return stopped || System.nanoTime() > deadline || playouts.incrementAndGet() > playoutLimit;
+    }
+
+    // -------------- STATISTICS TABLE ------------------------------------------
+
+    private void clearTable() {
+        for (int i = 0; i <= mask; i++) {
+            keys.setPlain(i, 0);
+            stats.setPlain(i, 0);
+        }
+    }
+
+    /**
+     * Return the key of the position after the given move.
+     *
+     * @param key the key of the current position including the side to move
+     * @param turn the figure type that has the next move
+     * @param move the packed move
+     * @return the key of the position after the move including the side to move
+     */
+    private static long childKey(long key, char turn, int move) {
+        return key ^ FoxHoundZobrist.moveKey(turn, FoxHoundMoveGen.getOrigin(move),
+            FoxHoundMoveGen.getDest(move));
+    }
+
+    /**
+     * Find the table entry of the given position.
+     *
+     * @param key the key of the position
+     * @param insert true to claim a free entry if the position is not in the table
+     * @return the index of the entry or -1 if the position is not in the table
+     */
+    private int find(long key, boolean insert) {
+        // zero marks a free entry
+        long tag = key == 0 ? 1 : key;
+        int idx = (int) tag & mask;
+        for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+            long current = keys.get(idx);
+            if (current == tag) {
+                return idx;
+            }
+            if (current == 0) {
+                if (!insert) {
+                    return -1;
+                }
+                if (keys.compareAndSet(idx, 0, tag) || keys.get(idx) == tag) {
+                    return idx;
+                }
+            }
+            idx = (idx + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Runs iterations of one thread on its own copy of the root position.
+     */
+    private final class Worker {
+
+        private final FoxHoundBitboard root;
+        private final FoxHoundBitboard board;
+        private final FoxHoundStrategy policy;
+        private final int[] moves = new int[FoxHoundMoveGen.MAX_MOVES];
+        private final int[] path;
+        private final char[] movers;
+        private int pathLength;
+
+        private Worker(FoxHoundBitboard position) {
+            this.root = new FoxHoundBitboard(position);
+            this.board = new FoxHoundBitboard(position);
+            this.policy = playoutPolicy.get();
+            int maxPlies = FoxHoundTournament.maxGameLength(position.getDimension()) + 1;
+            this.path = new int[maxPlies];
+            this.movers = new char[maxPlies];
+        }
+
+        private void run(char rootTurn) {
+            long rootKey = root.getHash() ^ FoxHoundZobrist.sideKey(rootTurn);
+            while (!isFinished()) {
+                board.copyFrom(root);
+                int rootSlot = find(rootKey, true);
+                if (rootSlot >= 0) {
+                    stats.getAndAdd(rootSlot, VISIT);
+                }
+                char winner = iterate(rootTurn, rootKey, rootSlot);
+
+                for (int i = 0; i < pathLength; i++) {
+                    if (movers[i] == winner) {
+                        stats.getAndIncrement(path[i]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Select a path through the tree, expand it by one position and play
+         * the game out.
+         *
+         * @param turn the figure type that has the next move at the root
+         * @param key the key of the root position
+         * @param slot the table entry of the root position or -1
+         * @return the figure type that won the playout
+         */
+        private char iterate(char turn, long key, int slot) {
+            pathLength = 0;
+            boolean inTree = slot >= 0;
+
+            while (inTree) {
+                int count = FoxHoundMoveGen.generateMoves(board, turn, moves);
+                if (count == 0) {
+                    // a side without any legal move loses
+                    return other(turn);
+                }
+
+                int move = select(key, slot, turn, count);
+                key = childKey(key, turn, move);
+                board.movePiece(FoxHoundMoveGen.getOrigin(move), FoxHoundMoveGen.getDest(move));
+
+                slot = find(key, true);
+                inTree = slot >= 0 && (stats.getAndAdd(slot, VISIT) >>> 32) > 0;
+                if (slot >= 0) {
+                    path[pathLength] = slot;
+                    movers[pathLength++] = turn;
+                }
+
+                char winner = winnerAfterMove(turn);
+                turn = other(turn);
+                if (winner != 0) {
+                    return winner;
+                }
+            }
+
+            return playout(turn);
+        }
+
+        /**
+         * Pick the child of the current position with the best UCT value.
+         * Children which have not been visited yet are tried first.
+         */
+        private int select(long key, int slot, char turn, int count) {
+            double logVisits = Math.log(Math.max(1, stats.get(slot) >>> 32));
+            int best = moves[0];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                int childSlot = find(childKey(key, turn, moves[i]), false);
+                long childStats = childSlot < 0 ? 0 : stats.get(childSlot);
+                long visits = childStats >>> 32;
+                if (visits == 0) {
+                    return moves[i];
+                }
+
+                double value = (double) (childStats & WINS_MASK) / visits
+                    + exploration * Math.sqrt(logVisits / visits);
+                if (value > bestValue) {
+                    best = moves[i];
+                    bestValue = value;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Play the game out with the playout policy.
+         *
+         * @param turn the figure type that has the next move
+         * @return the figure type that won the game
+         */
+        private char playout(char turn) {
+            while (true) {
+                int move = policy.chooseMove(board, turn);
+                if (move == FoxHoundMoveGen.NO_MOVE) {
+                    return other(turn);
+                }
+
+                board.movePiece(FoxHoundMoveGen.getOrigin(move), FoxHoundMoveGen.getDest(move));
+                char winner = winnerAfterMove(turn);
+                if (winner != 0) {
+                    return winner;
+                }
+                turn = other(turn);
+            }
+        }
+
+        /**
+         * Check if the last move has ended the game.
+         *
+         * @param mover the figure type which has made the last move
+         * @return the winning figure type or 0 if the game goes on
+         */
+        private char winnerAfterMove(char mover) {
+            if (mover == FoxHoundUtils.FOX_FIELD ? board.isFoxWin() : board.isHoundWin()) {
+                return mover;
+            }
+            return 0;
+        }
+    }
+
+    private static char other(char turn) {
+        return turn == FoxHoundUtils.FOX_FIELD ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+    }
+}
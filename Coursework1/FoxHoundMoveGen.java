@@ -0,0 +1,227 @@
+import java.util.Objects;
+
+/**
+ * A utility class for the fox hound program.
+ *
+ * It contains a legal move generator working on a {@link FoxHoundBitboard}.
+ * Moves are written as packed int values into a buffer provided by the
+ * caller, so that generating moves does not allocate any memory and a
+ * single buffer can be reused for any number of positions.
+ *
+ * A packed move stores the origin square in the upper 16 bits and the
+ * destination square in the lower 16 bits.
+ */
+public class FoxHoundMoveGen {
+
+    /**
+     * Maximum number of legal moves in any position.
+     *
+     * Every hound can move to at most two fields while the fox
+     * can move to at most four.
+     */
+    public static final int MAX_MOVES = Math.max(FoxHoundBitboard.NUM_DIRECTIONS,
+        2 * (FoxHoundUtils.MAX_DIM / 2));
+
+    /** Indicates that no move is available. */
+    public static final int NO_MOVE = -1;
+
+    /** Number of bits used for the destination of a packed move. */
+    private static final int DEST_BITS = 16;
+    /** Mask to extract the destination of a packed move. */
+    private static final int DEST_MASK = (1 << DEST_BITS) - 1;
+
+    // -------------- MOVE ENCODING ------------------------------------------
+
+    /**
+     * Pack the given squares into a single move value.
+     *
+     * @param origin the starting square of the move
+     * @param dest the end square of the move
+     * @return the packed move
+     */
+    public static int packMove(int origin, int dest) {
+        return (origin << DEST_BITS) | dest;
+    }
+
+    /**
+     * Extract the starting square of a packed move.
+     *
+     * @param move the packed move
+     * @return the origin square
+     */
+    public static int getOrigin(int move) {
+        return move >>> DEST_BITS;
+    }
+
+    /**
+     * Extract the end square of a packed move.
+     *
+     * @param move the packed move
+     * @return the destination square
+     */
+    public static int getDest(int move) {
+        return move & DEST_MASK;
+    }
+
+    // -------------- GENERATION ------------------------------------------
+
+    /**
+     * Write all legal moves of the given figure type into the given buffer.
+     *
+     * @param board the current position
+     * @param figure the type of figure to be moved
+     * @param buffer the buffer the packed moves are written to starting at index zero,
+     * must hold at least {@value FoxHoundMoveGen#MAX_MOVES} entries
+     * @return the number of moves written to the buffer
+     * @throws IllegalArgumentException if the given figure type is invalid or the
+     * buffer is too small
+     * @throws NullPointerException if the given board or buffer is null
+     */
+    public static int generateMoves(FoxHoundBitboard board, char figure, int[] buffer) {
+        if (figure == FoxHoundUtils.FOX_FIELD) {
+            return generateFoxMoves(board, buffer);
+        } else if (figure == FoxHoundUtils.HOUND_FIELD) {
+            return generateHoundMoves(board, buffer);
+        }
+        throw new IllegalArgumentException("Invalid figure type: " + figure);
+    }
+
+    /**
+     * Write all legal fox moves into the given buffer.
+     *
+     * @param board the current position
+     * @param buffer the buffer the packed moves are written to starting at index zero,
+     * must hold at least {@value FoxHoundMoveGen#MAX_MOVES} entries
+     * @return the number of moves written to the buffer
+     * @throws IllegalArgumentException if the buffer is too small
+     * @throws NullPointerException if the given board or buffer is null
+     */
+    public static int generateFoxMoves(FoxHoundBitboard board, int[] buffer) {
+        bufferCheck(buffer);
+
+        int fox = board.getFoxSquare();
+        int count = 0;
+        for (int dir = 0; dir < FoxHoundBitboard.NUM_DIRECTIONS; dir++) {
+            int dest = board.getNeighbour(fox, dir);
+            if (dest != FoxHoundBitboard.NO_SQUARE && !board.isHound(dest)) {
+                buffer[count] = packMove(fox, dest);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Write all legal hound moves into the given buffer.
+     *
+     * Moves are ordered by ascending origin square.
+     *
+     * @param board the current position
+     * @param buffer the buffer the packed moves are written to starting at index zero,
+     * must hold at least {@value FoxHoundMoveGen#MAX_MOVES} entries
+     * @return the number of moves written to the buffer
+     * @throws IllegalArgumentException if the buffer is too small
+     * @throws NullPointerException if the given board or buffer is null
+     */
+    public static int generateHoundMoves(FoxHoundBitboard board, int[] buffer) {
+        bufferCheck(buffer);
+
+        int count = 0;
+        for (int word = 0; word < FoxHoundBitboard.WORDS; word++) {
+            long bits = board.getHoundWord(word);
+            while (bits != 0) {
+                int origin = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                int dest = board.getNeighbour(origin, FoxHoundBitboard.BOTTOM_LEFT);
+                if (dest != FoxHoundBitboard.NO_SQUARE && !board.isOccupied(dest)) {
+                    buffer[count] = packMove(origin, dest);
+                    count++;
+                }
+                dest = board.getNeighbour(origin, FoxHoundBitboard.BOTTOM_RIGHT);
+                if (dest != FoxHoundBitboard.NO_SQUARE && !board.isOccupied(dest)) {
+                    buffer[count] = packMove(origin, dest);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // -------------- COUNTING ------------------------------------------
+
+    /**
+     * Count the legal moves of the given figure type without
+     * writing them anywhere.
+     *
+     * @param board the current position
+     * @param figure the type of figure to be moved
+     * @return the number of legal moves
+     * @throws IllegalArgumentException if the given figure type is invalid
+     * @throws NullPointerException if the given board is null
+     */
+    public static int countMoves(FoxHoundBitboard board, char figure) {
+        Objects.requireNonNull(board, "Given board must not be null.");
+
+        if (figure == FoxHoundUtils.FOX_FIELD) {
+            return countFoxMoves(board);
+        } else if (figure == FoxHoundUtils.HOUND_FIELD) {
+            return countHoundMoves(board);
+        }
+        throw new IllegalArgumentException("Invalid figure type: " + figure);
+    }
+
+    /**
+     * Count the legal fox moves.
+     *
+     * The fox can move to each of its free corner fields, which
+     * the board keeps count of.
+     *
+     * @param board the current position
+     * @return the number of legal fox moves
+     */
+    public static int countFoxMoves(FoxHoundBitboard board) {
+        return board.getFoxFreeCorners();
+    }
+
+    /**
+     * Count the legal hound moves.
+     *
+     * @param board the current position
+     * @return the number of legal hound moves
+     */
+    public static int countHoundMoves(FoxHoundBitboard board) {
+        int count = 0;
+        for (int word = 0; word < FoxHoundBitboard.WORDS; word++) {
+            long bits = board.getHoundWord(word);
+            while (bits != 0) {
+                int origin = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                int dest = board.getNeighbour(origin, FoxHoundBitboard.BOTTOM_LEFT);
+                if (dest != FoxHoundBitboard.NO_SQUARE && !board.isOccupied(dest)) {
+                    count++;
+                }
+                dest = board.getNeighbour(origin, FoxHoundBitboard.BOTTOM_RIGHT);
+                if (dest != FoxHoundBitboard.NO_SQUARE && !board.isOccupied(dest)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Check if the given buffer can hold the moves of any position.
+     *
+     * @param buffer the buffer to be checked
+     * @throws IllegalArgumentException if the buffer is too small
+     * @throws NullPointerException if the buffer is null
+     */
+    private static void bufferCheck(int[] buffer) {
+        if (buffer.length < MAX_MOVES) {
+            throw new IllegalArgumentException("Given move buffer must hold at least "
+                + MAX_MOVES + " moves but has length: " + buffer.length);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+import java.util.SplittableRandom;
+
+/**
+ * A strategy picking a random legal move.
+ */
+public class FoxHoundRandomStrategy implements FoxHoundStrategy {
+
+    private final SplittableRandom random;
+    private final int[] moves;
+
+    /**
+     * Create a random strategy.
+     *
+     * @param seed the seed of the random number generator
+     */
+    public FoxHoundRandomStrategy(long seed) {
+        this.random = new SplittableRandom(seed);
+        this.moves = new int[FoxHoundMoveGen.MAX_MOVES];
+    }
+
+    @Override
+    public int chooseMove(FoxHoundBitboard board, char turn) {
+        int count = FoxHoundMoveGen.generateMoves(board, turn, moves);
+        if (count == 0) {
+            return FoxHoundMoveGen.NO_MOVE;
+        }
+        return moves[random.nextInt(count)];
+    }
+}
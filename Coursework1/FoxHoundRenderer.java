@@ -0,0 +1,184 @@
+import java.io.PrintStream;
+import java.util.Objects;
+
+/**
+ * Displays the game board of a state, redrawing as little as possible.
+ *
+ * In plain mode every call prints the whole board, just like
+ * {@link FoxHoundUI#displayState(FoxHoundState)}, but reuses its buffers.
+ *
+ * In ANSI mode the board is drawn once at the top of the terminal and
+ * all further output scrolls in a region below it. Later calls only
+ * rewrite the fields which changed, addressing them with cursor escape
+ * sequences. If the state is one move ahead of or behind the last frame,
+ * the changed fields are the squares of that move. Otherwise the new
+ * frame is compared field by field with the last one. A board of another
+ * dimension, e.g. after loading a game, is drawn from scratch.
+ *
+ * A renderer keeps the last frame and is not thread safe.
+ */
+public class FoxHoundRenderer {
+
+    private static final String ESC = "\033[";
+    private static final String SAVE_CURSOR = "\0337";
+    private static final String RESTORE_CURSOR = "\0338";
+    private static final String CLEAR_SCREEN = ESC + "2J" + ESC + "H";
+    private static final String RESET_SCROLL_REGION = ESC + "r";
+    /** Moves the cursor to the last line, terminals clamp the line number. */
+    private static final String BOTTOM_LINE = ESC + "999;1H";
+
+    /** Lines of a drawn board above the first row of fields. */
+    private static final int HEADER_LINES = 2;
+    /** Lines of a drawn board below the last row of fields, including the blank line. */
+    private static final int FOOTER_LINES = 3;
+
+    private final PrintStream out;
+    private final boolean ansi;
+    private final StringBuilder bld = new StringBuilder();
+
+    private char[] frame = new char[0];
+    private char[] next = new char[0];
+    private int dim;
+    private FoxHoundHistory rendered;
+    private int updatedFields;
+
+    /**
+     * Create a renderer printing to the given stream.
+     *
+     * @param out the stream showing the board, usually the standard output
+     * @param ansi true to update the board in place with ANSI escape
+     * sequences, false to print the whole board every time
+     * @throws NullPointerException if the given stream is null
+     */
+    public FoxHoundRenderer(PrintStream out, boolean ansi) {
+        this.out = Objects.requireNonNull(out, "Given stream must not be null.");
+        this.ansi = ansi;
+    }
+
+    /**
+     * Display the game board of the given state.
+     *
+     * @param state the current game state
+     * @throws NullPointerException if the given state is null
+     */
+    public void render(FoxHoundState state) {
+        Objects.requireNonNull(state, "Given state must not be null.");
+        FoxHoundBitboard board = state.getBoard();
+        FoxHoundHistory history = state.getHistory();
+
+        bld.setLength(0);
+        if (!ansi || rendered == null || board.getDimension() != dim) {
+            redraw(board);
+        } else if (history == rendered) {
+            updatedFields = 0;
+        } else if (history.getParent() == rendered) {
+            updateMove(board, history.getLastMove());
+        } else if (rendered.getParent() == history) {
+            updateMove(board, rendered.getLastMove());
+        } else {
+            updateDiff(board);
+        }
+        rendered = history;
+
+        if (bld.length() > 0) {
+            out.print(bld);
+            out.flush();
+        }
+    }
+
+    /**
+     * Force the next call of {@link #render(FoxHoundState)} to draw the
+     * whole board, e.g. because other output has overwritten it.
+     */
+    public void invalidate() {
+        rendered = null;
+    }
+
+    /**
+     * Return the number of fields written by the last call of
+     * {@link #render(FoxHoundState)}.
+     *
+     * @return the number of written fields, all fields for a full redraw
+     */
+    public int getUpdatedFields() {
+        return updatedFields;
+    }
+
+    /**
+     * Give the whole terminal back to scrolling output.
+     *
+     * Does nothing in plain mode.
+     */
+    public void close() {
+        if (ansi && rendered != null) {
+            out.print(RESET_SCROLL_REGION + BOTTOM_LINE);
+            out.flush();
+            rendered = null;
+        }
+    }
+
+    // -------------- DRAWING --------------------------------------------
+
+    private void redraw(FoxHoundBitboard board) {
+        dim = board.getDimension();
+        if (frame.length < dim * dim) {
+            frame = new char[dim * dim];
+            next = new char[dim * dim];
+        }
+        FoxHoundUI.getFieldSymbols(board, frame);
+
+        int boardLines = dim + HEADER_LINES + FOOTER_LINES;
+        if (ansi) {
+            bld.append(RESET_SCROLL_REGION).append(CLEAR_SCREEN);
+        }
+        FoxHoundUI.appendBoard(bld, frame, dim);
+        if (ansi) {
+            // keep the board in place, everything else scrolls below it
+            bld.append(ESC).append(boardLines + 1).append('r');
+            bld.append(ESC).append(boardLines + 1).append(";1H");
+        } else {
+            bld.append(System.lineSeparator());
+        }
+        updatedFields = dim * dim;
+    }
+
+    private void updateMove(FoxHoundBitboard board, int move) {
+        updatedFields = 0;
+        bld.append(SAVE_CURSOR);
+        updateSquare(board, FoxHoundMoveGen.getOrigin(move));
+        updateSquare(board, FoxHoundMoveGen.getDest(move));
+        bld.append(RESTORE_CURSOR);
+    }
+
+    private void updateSquare(FoxHoundBitboard board, int square) {
+        int field = board.getRow(square) * dim + board.getCol(square);
+        char symbol = FoxHoundUI.getFieldSymbol(board, square);
+        if (frame[field] != symbol) {
+            frame[field] = symbol;
+            appendField(field, symbol);
+        }
+    }
+
+    private void updateDiff(FoxHoundBitboard board) {
+        FoxHoundUI.getFieldSymbols(board, next);
+        updatedFields = 0;
+        bld.append(SAVE_CURSOR);
+        for (int field = 0; field < dim * dim; field++) {
+            if (frame[field] != next[field]) {
+                appendField(field, next[field]);
+            }
+        }
+        bld.append(RESTORE_CURSOR);
+
+        char[] swap = frame;
+        frame = next;
+        next = swap;
+    }
+
+    private void appendField(int field, char symbol) {
+        int line = field / dim + HEADER_LINES + 1;
+        int column = field % dim + FoxHoundUI.getFieldOffset(dim) + 1;
+        bld.append(ESC).append(line).append(';').append(column).append('H').append(symbol);
+        updatedFields++;
+    }
+}
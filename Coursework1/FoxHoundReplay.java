@@ -0,0 +1,451 @@
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * Replays recorded games without any interaction, e.g. to check that
+ * archived games are still legal under the current rules.
+ *
+ * The input holds one game per line. A line lists the moves of a game
+ * separated by spaces, tabs or commas, starting with the fox. Moves are
+ * written as origin and destination without a separator like in the
+ * {@link FoxHoundEngine} protocol, e.g. {@code E8D7}. A line may start
+ * with the board dimension, otherwise the default dimension
+ * {@value FoxHoundUtils#DEFAULT_DIM} is used. Blank lines and lines
+ * starting with {@code #} are skipped.
+ *
+ * For every game one line is written:
+ * <pre>
+ * line result plies illegal position
+ * </pre>
+ * where {@code line} is the line number of the game in the input,
+ * {@code result} is {@code F}, {@code H} or {@code none} with the rules
+ * of {@link FoxHoundEngine}, i.e. a side to move without any legal move
+ * has lost,
+ * {@code plies} is the number of legal moves played, {@code illegal} is
+ * {@code -} or the number and text of the first illegal move, e.g.
+ * {@code 7:E6E4}, and {@code position} lists the final squares of the
+ * hounds followed by the fox. Moves after an illegal move or after the
+ * end of the game are not played.
+ *
+ * Input is parsed byte by byte from a reused buffer straight into a
+ * reused {@link FoxHoundBitboard}, and output is collected in a buffer
+ * written in large blocks, so no strings are created per move.
+ */
+public class FoxHoundReplay {
+
+    /** Size of the input and output buffers in bytes. */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /** Room kept free in the output buffer for one result line. */
+    private static final int LINE_RESERVE = 512;
+    /** Longest move token kept for the report. */
+    private static final int TOKEN_LIMIT = 16;
+
+    private static final byte[] NONE = {'n', 'o', 'n', 'e'};
+
+    private final byte[] input = new byte[BUFFER_SIZE];
+    private final byte[] output = new byte[BUFFER_SIZE];
+    private int outputLength;
+    private OutputStream out;
+
+    /** Initial positions by dimension, created when first needed. */
+    private final FoxHoundBitboard[] initialBoards = new FoxHoundBitboard[FoxHoundUtils.MAX_DIM + 1];
+    private final FoxHoundBitboard[] boards = new FoxHoundBitboard[FoxHoundUtils.MAX_DIM + 1];
+
+    // state of the current game
+    private final byte[] token = new byte[TOKEN_LIMIT];
+    private int tokenLength;
+    private boolean tokenTruncated;
+    private long line;
+    private boolean lineHasTokens;
+    private boolean comment;
+    private FoxHoundBitboard board;
+    private char turn;
+    private int plies;
+    private final byte[] illegal = new byte[TOKEN_LIMIT];
+    private int illegalLength;
+    private int illegalPly;
+
+    private long games;
+    private long moves;
+    private long foxWins;
+    private long houndWins;
+    private long illegalGames;
+
+    /**
+     * Statistics of a replay.
+     */
+    public static final class Result {
+        private final long games;
+        private final long moves;
+        private final long foxWins;
+        private final long houndWins;
+        private final long illegalGames;
+        private final long elapsedNanos;
+
+        private Result(long games, long moves, long foxWins, long houndWins, long illegalGames,
+                long elapsedNanos) {
+            this.games = games;
+            this.moves = moves;
+            this.foxWins = foxWins;
+            this.houndWins = houndWins;
+            this.illegalGames = illegalGames;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Return the number of replayed games.
+         *
+         * @return the number of games
+         */
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * Return the number of legal moves played in all games.
+         *
+         * @return the number of moves
+         */
+        public long getMoves() {
+            return moves;
+        }
+
+        /**
+         * Return the number of games won by the fox.
+         *
+         * @return the number of fox wins
+         */
+        public long getFoxWins() {
+            return foxWins;
+        }
+
+        /**
+         * Return the number of games won by the hounds.
+         *
+         * @return the number of hound wins
+         */
+        public long getHoundWins() {
+            return houndWins;
+        }
+
+        /**
+         * Return the number of games containing an illegal move.
+         *
+         * @return the number of illegal games
+         */
+        public long getIllegalGames() {
+            return illegalGames;
+        }
+
+        /**
+         * Return the moves replayed per second.
+         *
+         * @return the speed of the replay
+         */
+        public long getMovesPerSecond() {
+            return elapsedNanos == 0 ? 0 : moves * 1_000_000_000L / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d games, %d moves, %d fox wins, %d hound wins, "
+                + "%d illegal games, %d moves/s",
+                games, moves, foxWins, houndWins, illegalGames, getMovesPerSecond());
+        }
+    }
+
+    /**
+     * Replay all games of the given input and write one result line per game.
+     *
+     * Neither stream is closed, the output is flushed.
+     *
+     * @param in the recorded games
+     * @param out receives the results
+     * @return the statistics of the replay
+     * @throws IOException if reading or writing fails
+     * @throws NullPointerException if a given stream is null
+     */
+    public Result replay(InputStream in, OutputStream out) throws IOException {
+        Objects.requireNonNull(in, "Given input must not be null.");
+        this.out = Objects.requireNonNull(out, "Given output must not be null.");
+        long start = System.nanoTime();
+        games = moves = foxWins = houndWins = illegalGames = 0;
+        line = 1;
+        startLine();
+
+        int length;
+        while ((length = in.read(input)) >= 0) {
+            for (int i = 0; i < length; i++) {
+                byte b = input[i];
+                if (b == '\n') {
+                    endToken();
+                    endLine();
+                } else if (comment) {
+                    continue;
+                } else if (b == ' ' || b == '\t' || b == ',' || b == '\r') {
+                    endToken();
+                } else if (b == '#' && !lineHasTokens && tokenLength == 0) {
+                    comment = true;
+                } else if (tokenLength < TOKEN_LIMIT) {
+                    token[tokenLength++] = b;
+                } else {
+                    tokenTruncated = true;
+                }
+            }
+        }
+        // the last line may lack a line break
+        endToken();
+        endLine();
+
+        flushOutput();
+        out.flush();
+        return new Result(games, moves, foxWins, houndWins, illegalGames,
+            System.nanoTime() - start);
+    }
+
+    // -------------- GAMES ----------------------------------------------
+
+    private void startLine() {
+        lineHasTokens = false;
+        comment = false;
+        board = null;
+        turn = FoxHoundUtils.FOX_FIELD;
+        plies = 0;
+        illegalLength = 0;
+    }
+
+    private void endLine() throws IOException {
+        if (lineHasTokens) {
+            if (board == null) {
+                // only a dimension was given
+                board = newGame(FoxHoundUtils.DEFAULT_DIM);
+            }
+            finishGame();
+        }
+        line++;
+        startLine();
+    }
+
+    private void endToken() {
+        if (tokenLength == 0) {
+            return;
+        }
+        boolean first = !lineHasTokens;
+        lineHasTokens = true;
+
+        if (illegalLength > 0) {
+            // the game has already failed
+        } else if (first && isNumber()) {
+            int dim = parseNumber(0, tokenLength);
+            if (dim < FoxHoundUtils.MIN_DIM || dim > FoxHoundUtils.MAX_DIM) {
+                board = newGame(FoxHoundUtils.DEFAULT_DIM);
+                markIllegal();
+            } else {
+                board = newGame(dim);
+            }
+        } else {
+            if (board == null) {
+                board = newGame(FoxHoundUtils.DEFAULT_DIM);
+            }
+            playToken();
+        }
+        tokenLength = 0;
+        tokenTruncated = false;
+    }
+
+    private FoxHoundBitboard newGame(int dim) {
+        if (initialBoards[dim] == null) {
+            initialBoards[dim] = FoxHoundBitboard.fromCoords(FoxHoundUtils.initialiseCoords(dim), dim);
+            boards[dim] = new FoxHoundBitboard(dim);
+        }
+        boards[dim].copyFrom(initialBoards[dim]);
+        return boards[dim];
+    }
+
+    /**
+     * Play the move in the token buffer or mark it as illegal.
+     */
+    private void playToken() {
+        if (tokenTruncated || board.isFoxWin() || board.isHoundWin()) {
+            markIllegal();
+            return;
+        }
+
+        // origin and destination are each a column letter followed by a row number
+        int split = 1;
+        while (split < tokenLength && isDigit(token[split])) {
+            split++;
+        }
+        int origin = parseSquare(0, split);
+        int dest = parseSquare(split, tokenLength);
+        if (origin == FoxHoundBitboard.NO_SQUARE || dest == FoxHoundBitboard.NO_SQUARE
+                || !board.isValidMove(turn, origin, dest)) {
+            markIllegal();
+            return;
+        }
+
+        board.movePiece(origin, dest);
+        plies++;
+        turn = turn == FoxHoundUtils.FOX_FIELD ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+    }
+
+    private void markIllegal() {
+        illegalPly = plies + 1;
+        System.arraycopy(token, 0, illegal, 0, tokenLength);
+        illegalLength = tokenLength;
+    }
+
+    private void finishGame() throws IOException {
+        games++;
+        moves += plies;
+
+        if (outputLength > output.length - LINE_RESERVE) {
+            flushOutput();
+        }
+        writeNumber(line);
+        output[outputLength++] = ' ';
+        char winner = winner();
+        if (winner == FoxHoundUtils.FOX_FIELD) {
+            output[outputLength++] = (byte) FoxHoundUtils.FOX_FIELD;
+            foxWins++;
+        } else if (winner == FoxHoundUtils.HOUND_FIELD) {
+            output[outputLength++] = (byte) FoxHoundUtils.HOUND_FIELD;
+            houndWins++;
+        } else {
+            writeBytes(NONE, NONE.length);
+        }
+        output[outputLength++] = ' ';
+        writeNumber(plies);
+        output[outputLength++] = ' ';
+        if (illegalLength > 0) {
+            illegalGames++;
+            writeNumber(illegalPly);
+            output[outputLength++] = ':';
+            writeBytes(illegal, illegalLength);
+        } else {
+            output[outputLength++] = '-';
+        }
+
+        for (int sq = board.nextHound(0); sq != FoxHoundBitboard.NO_SQUARE;
+                sq = board.nextHound(sq + 1)) {
+            writeSquare(sq);
+        }
+        writeSquare(board.getFoxSquare());
+        output[outputLength++] = '\n';
+    }
+
+    /**
+     * Return the winner of the final position of the current game.
+     *
+     * @return the figure type that has won or 'n' if the game goes on
+     */
+    private char winner() {
+        if (board.isFoxWin()) {
+            return FoxHoundUtils.FOX_FIELD;
+        }
+        if (board.isHoundWin()) {
+            return FoxHoundUtils.HOUND_FIELD;
+        }
+        if (FoxHoundMoveGen.countMoves(board, turn) == 0) {
+            // a side without any legal move loses
+            return turn == FoxHoundUtils.FOX_FIELD ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+        }
+        return 'n';
+    }
+
+    // -------------- PARSING --------------------------------------------
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private boolean isNumber() {
+        for (int i = 0; i < tokenLength; i++) {
+            if (!isDigit(token[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parse the digits of the token buffer in the given range, saturating
+     * long numbers so they stay out of range.
+     */
+    private int parseNumber(int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = Math.min(value * 10 + token[i] - '0', Integer.MAX_VALUE / 10);
+        }
+        return value;
+    }
+
+    private int parseSquare(int from, int to) {
+        if (to - from < 2) {
+            return FoxHoundBitboard.NO_SQUARE;
+        }
+        int letter = token[from] & ~0x20;
+        if (letter < FoxHoundUtils.COLUMN_START_COORD || letter > 'Z') {
+            return FoxHoundBitboard.NO_SQUARE;
+        }
+        for (int i = from + 1; i < to; i++) {
+            if (!isDigit(token[i])) {
+                return FoxHoundBitboard.NO_SQUARE;
+            }
+        }
+        return board.getSquare(parseNumber(from + 1, to) - 1, letter - FoxHoundUtils.COLUMN_START_COORD);
+    }
+
+    // -------------- OUTPUT ---------------------------------------------
+
+    private void writeBytes(byte[] bytes, int length) {
+        System.arraycopy(bytes, 0, output, outputLength, length);
+        outputLength += length;
+    }
+
+    private void writeNumber(long value) {
+        if (value >= 10) {
+            writeNumber(value / 10);
+        }
+        output[outputLength++] = (byte) ('0' + value % 10);
+    }
+
+    private void writeSquare(int sq) {
+        output[outputLength++] = ' ';
+        output[outputLength++] = (byte) (FoxHoundUtils.COLUMN_START_COORD + board.getCol(sq));
+        writeNumber(board.getRow(sq) + 1);
+    }
+
+    private void flushOutput() throws IOException {
+        out.write(output, 0, outputLength);
+        outputLength = 0;
+    }
+
+    // -------------- MAIN -----------------------------------------------
+
+    /**
+     * Replay the games of the given file, or of the standard input for
+     * {@code -}, and write the results to the standard output, followed by
+     * a summary line starting with {@code #}.
+     *
+     * @param args contain the command line arguments, the first is the file
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("ERROR: No replay file given.");
+            System.exit(1);
+        }
+
+        FoxHoundReplay replay = new FoxHoundReplay();
+        try (InputStream in = "-".equals(args[0]) ? System.in : new FileInputStream(args[0])) {
+            Result result = replay.replay(in, System.out);
+            System.out.println("# " + result);
+        } catch (IOException e) {
+            System.err.println("ERROR: Replay failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,438 @@
+import java.util.Objects;
+
+/**
+ * A game tree search for the fox hound game.
+ *
+ * The search uses iterative deepening negamax with alpha-beta pruning on
+ * a {@link FoxHoundBitboard}. Positions are identified by their Zobrist
+ * hash, which the board updates incrementally for every move, as key in
+ * a fixed size {@link FoxHoundTranspositionTable}. On boards with mirror
+ * symmetry a position and its mirror image share one table entry, see
+ * {@link FoxHoundBitboard#getCanonicalHash()}. Each search is bound by
+ * a time budget and returns the best move of the deepest completed
+ * iteration.
+ *
+ * A search object is not thread safe, but it can be reused for any
+ * number of searches. A search can be prepared with
+ * {@link #start(FoxHoundBitboard, char, long, int)} on one thread and
+ * run with {@link #run()} on another one, e.g. to ponder while the
+ * opponent thinks. Its time budget can then still be changed with
+ * {@link #setTimeBudget(long)} and it can be aborted with {@link #stop()}.
+ */
+public class FoxHoundSearch {
+
+    /** Score of a won position at the root. */
+    public static final int WIN_SCORE = 30000;
+    /** Maximum search depth in plies. */
+    public static final int MAX_DEPTH = 100;
+    /** Scores beyond this value are wins or losses at a known distance. */
+    public static final int WIN_THRESHOLD = WIN_SCORE - MAX_DEPTH - 1;
+
+    /** Default memory budget of the transposition table in megabytes. */
+    public static final int DEFAULT_TABLE_MB = 64;
+    /** Time budget for searches which are only limited by their depth. */
+    public static final long NO_TIME_LIMIT = Long.MAX_VALUE / 1_000_000;
+
+    /** Number of nodes between two checks of the time budget. */
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    /** Evaluation bonus per row the fox is away from the bottom. */
+    private static final int ROW_WEIGHT = 10;
+    /** Evaluation bonus per free corner field of the fox. */
+    private static final int MOBILITY_WEIGHT = 4;
+    /** Evaluation bonus for each hound which the fox has already passed. */
+    private static final int PASSED_HOUND_WEIGHT = 25;
+
+    private final FoxHoundTranspositionTable table;
+    private final int[][] moves;
+
+    private FoxHoundBitboard board;
+    private char rootTurn;
+    private int depthLimit;
+    private long startNanos;
+    private volatile long deadline;
+    private long nodeLimit = Long.MAX_VALUE;
+    private volatile boolean stopped;
+
+    private long nodes;
+    private int rootBestMove;
+    private int completedDepth;
+    private int bestScore;
+    private long elapsedNanos;
+
+    /**
+     * Create a search with a transposition table of the default size.
+     */
+    public FoxHoundSearch() {
+        this(new FoxHoundTranspositionTable(DEFAULT_TABLE_MB,
+            FoxHoundTranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+    }
+
+    /**
+     * Create a search using the given transposition table.
+     *
+     * @param table the transposition table
+     * @throws NullPointerException if the given table is null
+     */
+    public FoxHoundSearch(FoxHoundTranspositionTable table) {
+        this.table = Objects.requireNonNull(table, "Given table must not be null.");
+        this.moves = new int[MAX_DEPTH + 1][FoxHoundMoveGen.MAX_MOVES];
+    }
+
+    // -------------- SEARCH ------------------------------------------
+
+    /**
+     * Search the best move for the given position.
+     *
+     * @param position the current position, it is not modified
+     * @param turn the figure type that has the next move
+     * @param timeMillis the time budget in milliseconds
+     * @param maxDepth the maximum search depth in plies
+     * @return the best move or {@value FoxHoundMoveGen#NO_MOVE} if there is no legal move
+     * @throws IllegalArgumentException if the given figure type is invalid
+     * @throws NullPointerException if the given position is null
+     */
+    public int search(FoxHoundBitboard position, char turn, long timeMillis, int maxDepth) {
+        start(position, turn, timeMillis, maxDepth);
+        return run();
+    }
+
+    /**
+     * Prepare a search of the given position without running it.
+     *
+     * The position is copied and the time budget starts now. A
+     * {@link #stop()} after this call aborts the following {@link #run()},
+     * even if that has not started yet.
+     *
+     * @param position the current position, it is not modified
+     * @param turn the figure type that has the next move
+     * @param timeMillis the time budget in milliseconds
+     * @param maxDepth the maximum search depth in plies
+     * @throws IllegalArgumentException if the given figure type is invalid
+     * @throws NullPointerException if the given position is null
+     */
+    public void start(FoxHoundBitboard position, char turn, long timeMillis, int maxDepth) {
+        Objects.requireNonNull(position, "Given position must not be null.");
+        if (!FoxHoundUtils.isValidTurn(turn)) {
+            throw new IllegalArgumentException("Invalid figure type: " + turn);
+        }
+
+        startNanos = System.nanoTime();
+        if (board == null || board.getDimension() != position.getDimension()) {
+            board = new FoxHoundBitboard(position);
+        } else {
+            board.copyFrom(position);
+        }
+        rootTurn = turn;
+        depthLimit = Math.min(maxDepth, MAX_DEPTH);
+        stopped = false;
+        setTimeBudget(timeMillis);
+    }
+
+    /**
+     * Run the search prepared by {@link #start(FoxHoundBitboard, char, long, int)}.
+     *
+     * @return the best move or {@value FoxHoundMoveGen#NO_MOVE} if there is no legal move
+     * @throws IllegalStateException if no search has been prepared
+     */
+    public int run() {
+        if (board == null) {
+            throw new IllegalStateException("No search has been started.");
+        }
+
+        nodes = 0;
+        completedDepth = 0;
+        table.newSearch();
+        table.resetStatistics();
+
+        int[] rootMoves = moves[0];
+        int count = FoxHoundMoveGen.generateMoves(board, rootTurn, rootMoves);
+        int bestMove = count > 0 ? rootMoves[0] : FoxHoundMoveGen.NO_MOVE;
+        bestScore = 0;
+
+        for (int depth = 1; depth <= depthLimit && count > 1; depth++) {
+            int score = negamax(rootTurn, depth, 0, -WIN_SCORE, WIN_SCORE);
+            if (stopped) {
+                break;
+            }
+
+            bestMove = rootBestMove;
+            bestScore = score;
+            completedDepth = depth;
+
+            // a forced result has been found, searching deeper does not change it
+            if (Math.abs(score) > WIN_THRESHOLD) {
+                break;
+            }
+        }
+
+        elapsedNanos = System.nanoTime() - startNanos;
+        return bestMove;
+    }
+
+    /**
+     * Change the time budget of the current or prepared search.
+     *
+     * The budget counts from the call to
+     * {@link #start(FoxHoundBitboard, char, long, int)}, so a search
+     * that has already used up the new budget stops at the next check.
+     * This may be called from a different thread.
+     *
+     * @param timeMillis the time budget in milliseconds
+     */
+    public void setTimeBudget(long timeMillis) {
+        deadline = timeMillis >= NO_TIME_LIMIT ? Long.MAX_VALUE : startNanos + timeMillis * 1_000_000;
+    }
+
+    /**
+     * Limit the number of nodes visited by each following search.
+     *
+     * A search reaching the limit stops like one running out of time.
+     * Unlike a time budget, a node limit gives the same result on every
+     * run, which matters where a search is used as a proof.
+     *
+     * @param nodeLimit the maximum number of nodes per search
+     * @throws IllegalArgumentException if the given limit is not positive
+     */
+    public void setNodeLimit(long nodeLimit) {
+        if (nodeLimit < 1) {
+            throw new IllegalArgumentException("Node limit must be positive but is: " + nodeLimit);
+        }
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Abort a running search as soon as possible.
+     *
+     * This may be called from a different thread. The search then returns
+     * the best move of the last completed iteration.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Search the current position with alpha-beta pruning.
+     *
+     * @param turn the figure type that has the next move
+     * @param depth the remaining search depth
+     * @param ply the distance to the root
+     * @param alpha the lower bound of the search window
+     * @param beta the upper bound of the search window
+     * @return the score from the perspective of the side to move
+     */
+    private int negamax(char turn, int depth, int ply, int alpha, int beta) {
+        nodes++;
+        if (nodes > nodeLimit
+            || ((nodes % TIME_CHECK_INTERVAL) == 0 && System.nanoTime() > deadline)) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+
+        // the fox only reaches the top row with its own move
+        if (board.isFoxWin()) {
+            return -(WIN_SCORE - ply);
+        }
+
+        long hash = board.getCanonicalHash() ^ FoxHoundZobrist.sideKey(turn);
+        int ttMove = FoxHoundMoveGen.NO_MOVE;
+        long entry = table.probe(hash);
+        if (entry != 0) {
+            ttMove = board.toCanonicalMove(FoxHoundTranspositionTable.getMove(entry));
+            if (ply > 0 && FoxHoundTranspositionTable.getDepth(entry) >= depth) {
+                int score = fromTableScore(FoxHoundTranspositionTable.getScore(entry), ply);
+                int bound = FoxHoundTranspositionTable.getBound(entry);
+                if (bound == FoxHoundTranspositionTable.BOUND_EXACT
+                    || (bound == FoxHoundTranspositionTable.BOUND_LOWER && score >= beta)
+                    || (bound == FoxHoundTranspositionTable.BOUND_UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int[] buffer = moves[ply];
+        int count = FoxHoundMoveGen.generateMoves(board, turn, buffer);
+        if (count == 0) {
+            return -(WIN_SCORE - ply);
+        }
+        if (depth == 0 || ply == MAX_DEPTH) {
+            return evaluate(board, turn);
+        }
+
+        orderMoves(buffer, count, ttMove);
+
+        char next = turn == FoxHoundUtils.FOX_FIELD
+            ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+        int originalAlpha = alpha;
+        int bestScoreHere = -WIN_SCORE;
+        int bestMove = buffer[0];
+
+        for (int i = 0; i < count; i++) {
+            int move = buffer[i];
+            int origin = FoxHoundMoveGen.getOrigin(move);
+            int dest = FoxHoundMoveGen.getDest(move);
+
+            board.movePiece(origin, dest);
+            int score = -negamax(next, depth - 1, ply + 1, -beta, -alpha);
+            board.movePiece(dest, origin);
+
+            if (stopped) {
+                return 0;
+            }
+            if (score > bestScoreHere) {
+                bestScoreHere = score;
+                bestMove = move;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int bound = FoxHoundTranspositionTable.BOUND_EXACT;
+        if (bestScoreHere <= originalAlpha) {
+            bound = FoxHoundTranspositionTable.BOUND_UPPER;
+        } else if (bestScoreHere >= beta) {
+            bound = FoxHoundTranspositionTable.BOUND_LOWER;
+        }
+        table.store(hash, board.toCanonicalMove(bestMove), toTableScore(bestScoreHere, ply),
+            depth, bound);
+        if (ply == 0) {
+            rootBestMove = bestMove;
+        }
+
+        return bestScoreHere;
+    }
+
+    /**
+     * Move the given move from the transposition table to the front.
+     *
+     * @param buffer the generated moves
+     * @param count the number of generated moves
+     * @param ttMove the best move found in an earlier search
+     */
+    private static void orderMoves(int[] buffer, int count, int ttMove) {
+        for (int i = 1; i < count; i++) {
+            if (buffer[i] == ttMove) {
+                buffer[i] = buffer[0];
+                buffer[0] = ttMove;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Estimate the value of the current position.
+     *
+     * The fox is better off the closer it is to row
+     * {@value FoxHoundUtils#FOX_WIN_ROW}, the more fields it can move to
+     * and the more hounds it has already passed.
+     *
+     * @param board the position to be evaluated
+     * @param turn the figure type that has the next move
+     * @return the score from the perspective of the side to move
+     */
+    public static int evaluate(FoxHoundBitboard board, char turn) {
+        int fox = board.getFoxSquare();
+        int foxRow = board.getRow(fox);
+
+        int passed = 0;
+        for (int sq = board.nextHound(0); sq != FoxHoundBitboard.NO_SQUARE;
+                sq = board.nextHound(sq + 1)) {
+            if (board.getRow(sq) >= foxRow) {
+                passed++;
+            }
+        }
+
+        int score = (board.getDimension() - foxRow) * ROW_WEIGHT
+            + FoxHoundMoveGen.countFoxMoves(board) * MOBILITY_WEIGHT
+            + passed * PASSED_HOUND_WEIGHT;
+        return turn == FoxHoundUtils.FOX_FIELD ? score : -score;
+    }
+
+    /**
+     * Convert a score into a distance from the current node
+     * before storing it in the transposition table.
+     */
+    private static int toTableScore(int score, int ply) {
+        if (score > WIN_THRESHOLD) {
+            return score + ply;
+        } else if (score < -WIN_THRESHOLD) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Convert a score from the transposition table into
+     * a distance from the root.
+     */
+    private static int fromTableScore(int score, int ply) {
+        if (score > WIN_THRESHOLD) {
+            return score - ply;
+        } else if (score < -WIN_THRESHOLD) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    // -------------- STATISTICS ------------------------------------------
+
+    /**
+     * Return the number of nodes visited by the last search.
+     *
+     * @return number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Return the depth of the last completed iteration.
+     *
+     * @return search depth in plies
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Return the score of the best move of the last search.
+     *
+     * @return score from the perspective of the side to move
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * Return the number of nodes searched per second in the last search.
+     *
+     * @return nodes per second
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Return the time spent in the last search.
+     *
+     * @return time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Return the transposition table used by this search.
+     *
+     * @return the transposition table
+     */
+    public FoxHoundTranspositionTable getTable() {
+        return table;
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * A strategy picking moves with a depth limited {@link FoxHoundSearch}.
+ */
+public class FoxHoundSearchStrategy implements FoxHoundStrategy {
+
+    /** Default memory budget of the transposition table in megabytes. */
+    public static final int DEFAULT_TABLE_MB = 4;
+
+    private final FoxHoundSearch search;
+    private final int depth;
+    private final long timeMillis;
+
+    /**
+     * Create a search strategy.
+     *
+     * @param depth the maximum search depth in plies
+     * @param timeMillis the time budget per move in milliseconds
+     * @throws IllegalArgumentException if the depth or time budget is not positive
+     */
+    public FoxHoundSearchStrategy(int depth, long timeMillis) {
+        if (depth < 1 || timeMillis < 1) {
+            throw new IllegalArgumentException("Depth and time must be positive but are: "
+                + depth + " and " + timeMillis);
+        }
+
+        this.search = new FoxHoundSearch(new FoxHoundTranspositionTable(DEFAULT_TABLE_MB,
+            FoxHoundTranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+        this.depth = depth;
+        this.timeMillis = timeMillis;
+    }
+
+    @Override
+    public int chooseMove(FoxHoundBitboard board, char turn) {
+        return search.search(board, turn, timeMillis, depth);
+    }
+}
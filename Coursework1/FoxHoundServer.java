@@ -0,0 +1,424 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A server hosting many independent fox hound games in one process.
+ *
+ * Every client connection is a session with its own
+ * {@link FoxHoundEngine} and therefore its own game state. Sessions speak
+ * the line protocol of the engine, e.g. {@code position startpos},
+ * {@code moves}, {@code move E8D7} or {@code go movetime 100}, and are
+ * answered in the order of their commands.
+ *
+ * All connections are served by a single thread using a {@link Selector},
+ * which parses and answers the cheap commands right away. Searches are
+ * handed to a small pool of worker threads, each owning one
+ * {@link FoxHoundSearch}, so a long search never stalls the other
+ * sessions. While a search of a session runs, its further commands wait
+ * in the input buffer of the session.
+ */
+public class FoxHoundServer implements Runnable, Closeable {
+
+    /** Port the server listens on if none is given. */
+    public static final int DEFAULT_PORT = 4848;
+
+    /** Size of the transposition table of each search worker in megabytes. */
+    public static final int WORKER_TABLE_MB = 16;
+
+    /** Longest accepted command line in bytes. */
+    private static final int LINE_LIMIT = 4096;
+
+    /** Initial size of the output buffer of a session in bytes. */
+    private static final int OUTPUT_SIZE = 1024;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final ExecutorService workers;
+    private final ThreadLocal<FoxHoundSearch> searches = ThreadLocal.withInitial(() ->
+        new FoxHoundSearch(new FoxHoundTranspositionTable(WORKER_TABLE_MB,
+            FoxHoundTranspositionTable.ReplacementPolicy.DEPTH_PREFERRED)));
+
+    /** Sessions whose search has ended, handed back to the selector thread. */
+    private final Queue<Session> searched = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running = true;
+    private volatile int sessionCount;
+    private volatile long commandCount;
+
+    /**
+     * State of one client connection.
+     */
+    private final class Session {
+        final SocketChannel channel;
+        final FoxHoundEngine engine = new FoxHoundEngine(searches::get);
+        final ByteBuffer input = ByteBuffer.allocate(LINE_LIMIT);
+        final StringBuilder line = new StringBuilder();
+        final StringBuilder answers = new StringBuilder();
+        ByteBuffer output = ByteBuffer.allocate(OUTPUT_SIZE);
+        SelectionKey key;
+
+        /** Answer of the running search, written by a worker thread. */
+        String searchAnswer;
+        boolean searching;
+        boolean closing;
+
+        Session(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Create a server listening on the given address.
+     *
+     * The server does not accept connections before {@link #run()} is called.
+     *
+     * @param address the local address to bind to, port 0 picks a free port
+     * @param searchThreads the number of threads running searches
+     * @throws IOException if the server socket cannot be opened
+     * @throws IllegalArgumentException if the number of threads is not positive
+     * @throws NullPointerException if the given address is null
+     */
+    public FoxHoundServer(InetSocketAddress address, int searchThreads) throws IOException {
+        if (address == null) {
+            throw new NullPointerException("Given address must not be null.");
+        }
+        if (searchThreads < 1) {
+            throw new IllegalArgumentException("Number of search threads must be positive but is: "
+                + searchThreads);
+        }
+
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        try {
+            server.bind(address);
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            server.close();
+            selector.close();
+            throw e;
+        }
+        workers = Executors.newFixedThreadPool(searchThreads, task -> {
+            Thread thread = new Thread(task, "FoxHoundSearchWorker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Return the port the server listens on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Return the number of open sessions.
+     *
+     * @return the number of connected clients
+     */
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Return the number of commands answered since the server started.
+     *
+     * @return the number of commands
+     */
+    public long getCommandCount() {
+        return commandCount;
+    }
+
+    /**
+     * Serve the connections until the server is closed.
+     *
+     * Errors of a single connection close only that session.
+     */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Session finished;
+                while ((finished = searched.poll()) != null) {
+                    finishSearch(finished);
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+
+                    Session session = (Session) key.attachment();
+                    try {
+                        if (key.isWritable()) {
+                            flush(session);
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            read(session);
+                        }
+                    } catch (IOException e) {
+                        closeSession(session);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("ERROR: Server failed: " + e);
+        } finally {
+            shutdown();
+        }
+    }
+
+    /**
+     * Stop the server and close all sessions.
+     *
+     * May be called from any thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    // -------------- SESSIONS -------------------------------------------
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+        Session session = new Session(channel);
+        session.key = channel.register(selector, SelectionKey.OP_READ, session);
+        sessionCount++;
+    }
+
+    private void read(Session session) throws IOException {
+        if (session.channel.read(session.input) < 0) {
+            closeSession(session);
+            return;
+        }
+        process(session);
+    }
+
+    /**
+     * Execute the complete command lines in the input buffer of a session
+     * until a search is started, the session quits or the buffer runs out.
+     */
+    private void process(Session session) throws IOException {
+        ByteBuffer input = session.input;
+        input.flip();
+        while (!session.searching && !session.closing) {
+            int end = indexOfNewline(input);
+            if (end < 0) {
+                break;
+            }
+
+            // the protocol is ASCII, so bytes map directly to characters
+            StringBuilder line = session.line;
+            line.setLength(0);
+            for (int i = input.position(); i < end; i++) {
+                byte b = input.get(i);
+                if (b != '\r') {
+                    line.append((char) (b & 0xFF));
+                }
+            }
+            input.position(end + 1);
+
+            commandCount++;
+            if (isSearchCommand(line)) {
+                startSearch(session, line.toString());
+            } else if (!session.engine.execute(line, session.answers)) {
+                session.closing = true;
+            }
+        }
+        input.compact();
+
+        if (!input.hasRemaining() && indexOfNewline(input.duplicate().flip()) < 0) {
+            session.answers.append("error command longer than ").append(LINE_LIMIT)
+                .append(" bytes\n");
+            session.closing = true;
+        }
+        flush(session);
+    }
+
+    private void startSearch(Session session, String command) {
+        session.searching = true;
+        workers.execute(() -> {
+            StringBuilder answer = new StringBuilder();
+            try {
+                session.engine.execute(command, answer);
+            } catch (RuntimeException e) {
+                answer.append("error search failed: ").append(e.getMessage()).append('\n');
+            }
+            session.searchAnswer = answer.toString();
+            searched.add(session);
+            selector.wakeup();
+        });
+    }
+
+    private void finishSearch(Session session) {
+        session.searching = false;
+        session.answers.append(session.searchAnswer);
+        session.searchAnswer = null;
+        if (!session.key.isValid()) {
+            return;
+        }
+        try {
+            // commands which arrived during the search are still buffered
+            process(session);
+        } catch (IOException e) {
+            closeSession(session);
+        }
+    }
+
+    /**
+     * Write as much pending output as the connection accepts and choose
+     * the events the session waits for next.
+     */
+    private void flush(Session session) throws IOException {
+        StringBuilder answers = session.answers;
+        if (answers.length() > 0) {
+            if (session.output.remaining() < answers.length()) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(session.output.capacity() * 2,
+                    session.output.position() + answers.length()));
+                session.output.flip();
+                larger.put(session.output);
+                session.output = larger;
+            }
+            for (int i = 0; i < answers.length(); i++) {
+                session.output.put((byte) answers.charAt(i));
+            }
+            answers.setLength(0);
+        }
+
+        ByteBuffer output = session.output;
+        output.flip();
+        session.channel.write(output);
+        boolean pending = output.hasRemaining();
+        output.compact();
+
+        if (pending) {
+            // stop reading until the client catches up
+            session.key.interestOps(SelectionKey.OP_WRITE);
+        } else if (session.closing) {
+            closeSession(session);
+        } else {
+            session.key.interestOps(session.searching ? 0 : SelectionKey.OP_READ);
+        }
+    }
+
+    private void closeSession(Session session) {
+        if (!session.key.isValid()) {
+            return;
+        }
+        session.key.cancel();
+        try {
+            session.channel.close();
+        } catch (IOException e) {
+            // the session is gone either way
+        }
+        sessionCount--;
+    }
+
+    private void shutdown() {
+        workers.shutdownNow();
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Session) {
+                closeSession((Session) key.attachment());
+            }
+        }
+        try {
+            server.close();
+            selector.close();
+            workers.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (IOException e) {
+            System.err.println("ERROR: Closing the server failed: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -------------- PARSING --------------------------------------------
+
+    private static int indexOfNewline(ByteBuffer buffer) {
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Check whether a command line is a go command, which is too slow
+     * to run on the selector thread.
+     */
+    private static boolean isSearchCommand(CharSequence line) {
+        int i = 0;
+        while (i < line.length() && line.charAt(i) == ' ') {
+            i++;
+        }
+        return i + 1 < line.length() && line.charAt(i) == 'g' && line.charAt(i + 1) == 'o'
+            && (i + 2 == line.length() || line.charAt(i + 2) == ' ');
+    }
+
+    // -------------- MAIN -----------------------------------------------
+
+    /**
+     * Run a server until the process is stopped.
+     *
+     * The optional first argument is the port, the optional second the
+     * number of search threads, which defaults to the number of processors.
+     *
+     * @param args contain the command line arguments
+     */
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            if (args.length > 0) {
+                port = Integer.parseInt(args[0]);
+            }
+            if (args.length > 1) {
+                threads = Integer.parseInt(args[1]);
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("ERROR: Port and thread count must be numbers.");
+            System.exit(1);
+        }
+
+        try (FoxHoundServer server = new FoxHoundServer(new InetSocketAddress(port), threads)) {
+            System.out.println("Fox hound server listening on port " + server.getPort());
+            server.run();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("ERROR: Cannot start the server: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
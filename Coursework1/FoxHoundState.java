@@ -0,0 +1,402 @@
+import java.util.Arrays;
+
+/**
+ * An immutable, validated state of a fox hound game.
+ *
+ * The state consists of the positions of all figures and the figure type
+ * that has the next move. It is checked once when it is created, i.e.
+ * where positions enter the program from the user or from a file. From
+ * then on new states only arise from moves, so the rule queries of this
+ * class and the renderer in {@link FoxHoundUI} trust it and do not
+ * validate the whole board on every call the way the players array
+ * functions of {@link FoxHoundUtils} have to.
+ *
+ * A state is a persistent value: {@link #move(FoxHoundCoord, FoxHoundCoord)},
+ * {@link #undo()} and {@link #redo()} return a new state and leave this
+ * one unchanged, so a caller can keep any state of a game and branch
+ * from it. Every state records its moves in a {@link FoxHoundHistory}
+ * shared with the state it was derived from, so a move, an undo and a
+ * redo each cost constant time and memory.
+ *
+ * The positions are not copied per state. All states of a game share
+ * one players array of {@link FoxHoundCoord} objects for display and
+ * saving, one {@link FoxHoundBitboard} for the rules, the win conditions
+ * and the position hash, and a dense index from square to players array
+ * entry linking both. The shared positions belong to the state used
+ * last. Using another state moves them there first with
+ * {@link FoxHoundHistory#walk(FoxHoundHistory, FoxHoundHistory, java.util.function.IntConsumer)},
+ * which only costs the moves in which both states differ, so following
+ * a game move by move never replays anything. For the same reason the
+ * states of one game must not be used by several threads at the same time.
+ */
+public final class FoxHoundState {
+
+    /** Marks an empty square in the piece index. */
+    public static final int NO_PIECE = -1;
+
+    private final int dim;
+    private final char turn;
+    private final Positions positions;
+    private final FoxHoundHistory history;
+    /** Histories taken back by undo, the most recent first. */
+    private final RedoEntry redoLine;
+
+    /**
+     * The positions of the figures of one game, shared by all its states.
+     */
+    private static final class Positions {
+
+        private final FoxHoundCoord[] players;
+        private final FoxHoundBitboard board;
+        /** Index into the players array for every square or {@value FoxHoundState#NO_PIECE}. */
+        private final int[] pieces;
+        /** The history of the state the positions currently belong to. */
+        private FoxHoundHistory history;
+
+        private Positions(FoxHoundCoord[] players, FoxHoundBitboard board, FoxHoundHistory history) {
+            this.players = players;
+            this.board = board;
+            this.history = history;
+
+            this.pieces = new int[board.getSquareCount()];
+            Arrays.fill(pieces, NO_PIECE);
+            for (int i = 0; i < players.length; i++) {
+                pieces[board.fromCoord(players[i])] = i;
+            }
+        }
+
+        /**
+         * Update the board, the players array and the piece index for the given move.
+         *
+         * @param move the packed move
+         * @throws IllegalArgumentException if there is no figure on the origin
+         */
+        private void applyMove(int move) {
+            int origin = FoxHoundMoveGen.getOrigin(move);
+            int dest = FoxHoundMoveGen.getDest(move);
+            board.movePiece(origin, dest);
+
+            int idx = pieces[origin];
+            pieces[origin] = NO_PIECE;
+            pieces[dest] = idx;
+            players[idx] = board.toCoord(dest);
+        }
+    }
+
+    /**
+     * An entry of the persistent stack of histories which can be redone.
+     */
+    private static final class RedoEntry {
+
+        private final FoxHoundHistory history;
+        private final RedoEntry next;
+
+        private RedoEntry(FoxHoundHistory history, RedoEntry next) {
+            this.history = history;
+            this.next = next;
+        }
+    }
+
+    private FoxHoundState(int dim, char turn, Positions positions, FoxHoundHistory history,
+            RedoEntry redoLine) {
+        this.dim = dim;
+        this.turn = turn;
+        this.positions = positions;
+        this.history = history;
+        this.redoLine = redoLine;
+    }
+
+    // -------------- CREATION ------------------------------------------
+
+    /**
+     * Create the initial state of a game with the fox to move.
+     *
+     * @param dim dimension of the game board
+     * @return the initial game state
+     * @throws IllegalArgumentException if given dimensions are out of bounds
+     */
+    public static FoxHoundState initial(int dim) {
+        return create(FoxHoundUtils.initialiseCoords(dim), dim, FoxHoundUtils.FOX_FIELD);
+    }
+
+    /**
+     * Validate the given positions and create a game state from them.
+     *
+     * @param players position of all figures on the board, the array is copied
+     * @param dim dimension of the game board
+     * @param turn the figure type that has the next move
+     * @return the validated game state
+     * @throws IllegalArgumentException if the given dimension or figure type is invalid,
+     * the players array does not match the dimension, places a figure on a field which is
+     * not playable or places two figures on the same field
+     * @throws NullPointerException if the given players array or one of its entries is null
+     */
+    public static FoxHoundState create(FoxHoundCoord[] players, int dim, char turn) {
+        if (!FoxHoundUtils.isValidTurn(turn)) {
+            throw new IllegalArgumentException("Invalid figure type: " + turn);
+        }
+
+        FoxHoundBitboard board = FoxHoundBitboard.fromCoords(players, dim);
+        FoxHoundHistory start = FoxHoundHistory.start(board.getHash() ^ FoxHoundZobrist.sideKey(turn));
+        return new FoxHoundState(dim, turn, new Positions(players.clone(), board, start), start,
+            null);
+    }
+
+    /**
+     * Validate the given positions in board coordinates and create
+     * a game state from them.
+     *
+     * @param players position of all figures on the board in board coordinates
+     * @param dim dimension of the game board
+     * @param turn the figure type that has the next move
+     * @return the validated game state
+     * @throws IllegalArgumentException if the given dimension, figure type or
+     * players array are invalid, see {@link #create(FoxHoundCoord[], int, char)}
+     * @throws NullPointerException if the given players array or one of its entries is null
+     */
+    public static FoxHoundState fromStrings(String[] players, int dim, char turn) {
+        FoxHoundUtils.boardSetupCheck(players, dim);
+        return create(FoxHoundCoord.fromStrings(players), dim, turn);
+    }
+
+    // -------------- QUERIES ------------------------------------------
+
+    /**
+     * Return the dimension of the game board.
+     *
+     * @return the board dimension
+     */
+    public int getDimension() {
+        return dim;
+    }
+
+    /**
+     * Return the figure type that has the next move.
+     *
+     * @return the figure type
+     */
+    public char getTurn() {
+        return turn;
+    }
+
+    /**
+     * Return the number of figures on the board.
+     *
+     * @return number of hounds plus one for the fox
+     */
+    public int getPlayerCount() {
+        return positions.players.length;
+    }
+
+    /**
+     * Return the position of one figure.
+     *
+     * The order is the same as in the array the state was created
+     * from, the fox is always last.
+     *
+     * @param idx index of the figure
+     * @return the position of the figure
+     * @throws ArrayIndexOutOfBoundsException if the index is invalid
+     */
+    public FoxHoundCoord getPlayer(int idx) {
+        return positions().players[idx];
+    }
+
+    /**
+     * Return the index of the figure on the given field in constant time.
+     *
+     * @param pos the field to look up
+     * @return the index of the figure as used by {@link #getPlayer(int)} or
+     * {@value #NO_PIECE} if the field is empty, outside of the board or not playable
+     * @throws NullPointerException if the given position is null
+     */
+    public int getPlayerIdx(FoxHoundCoord pos) {
+        Positions shared = positions();
+        int sq = shared.board.getSquare(pos.getRow(), pos.getCol());
+        return sq == FoxHoundBitboard.NO_SQUARE ? NO_PIECE : shared.pieces[sq];
+    }
+
+    /**
+     * Return a copy of the positions of all figures.
+     *
+     * @return position of all figures on the board with the fox last
+     */
+    public FoxHoundCoord[] getPlayers() {
+        return positions().players.clone();
+    }
+
+    /**
+     * Return the bitboard of this state without copying it.
+     *
+     * The bitboard is shared by all states of the game. It must not be
+     * modified, and it only shows the positions of this state until another
+     * state of the game is used.
+     *
+     * @return the bitboard of the positions of this state
+     */
+    public FoxHoundBitboard getBoard() {
+        return positions().board;
+    }
+
+    /**
+     * Return the Zobrist hash of this state including the side to move.
+     *
+     * @return the position hash, see {@link FoxHoundZobrist}
+     */
+    public long getHash() {
+        return history.getHash();
+    }
+
+    /**
+     * Return the moves played since the first state of the game was created.
+     *
+     * Histories are immutable and shared between the states of a game,
+     * e.g. two states branching off the same state share its history.
+     *
+     * @return the history of this state
+     */
+    public FoxHoundHistory getHistory() {
+        return history;
+    }
+
+    // -------------- RULES ------------------------------------------
+
+    /**
+     * Check if the figure type to move may move from the given origin
+     * to the given destination.
+     *
+     * Both coordinates are expected to be on the board, e.g. parsed with
+     * {@link FoxHoundUI#coordQuery(int, java.util.Scanner)}.
+     *
+     * @param origin the starting position of the move
+     * @param dest the end position of the move
+     * @return true if the move is valid, false otherwise
+     */
+    public boolean isValidMove(FoxHoundCoord origin, FoxHoundCoord dest) {
+        FoxHoundBitboard board = positions().board;
+        int from = board.getSquare(origin.getRow(), origin.getCol());
+        int to = board.getSquare(dest.getRow(), dest.getCol());
+        return from != FoxHoundBitboard.NO_SQUARE && to != FoxHoundBitboard.NO_SQUARE
+            && board.isValidMove(turn, from, to);
+    }
+
+    /**
+     * Return the state after moving the figure on the given origin to the
+     * given destination, with the turn passed to the other side.
+     *
+     * The move is not validated, use
+     * {@link #isValidMove(FoxHoundCoord, FoxHoundCoord)} for that. This
+     * state is not changed. The new state has no moves to redo.
+     *
+     * @param origin the starting position of the move
+     * @param dest the end position of the move
+     * @return the state after the move
+     * @throws IllegalArgumentException if there is no figure on the origin
+     */
+    public FoxHoundState move(FoxHoundCoord origin, FoxHoundCoord dest) {
+        Positions shared = positions();
+        FoxHoundBitboard board = shared.board;
+        int move = FoxHoundMoveGen.packMove(board.fromCoord(origin), board.fromCoord(dest));
+        shared.applyMove(move);
+
+        char next = opponent(turn);
+        shared.history = history.play(move, board.getHash() ^ FoxHoundZobrist.sideKey(next));
+        return new FoxHoundState(dim, next, shared, shared.history, null);
+    }
+
+    // -------------- UNDO ------------------------------------------
+
+    /**
+     * Check if there is a move which can be taken back.
+     *
+     * @return true if {@link #undo()} would return a state, false otherwise
+     */
+    public boolean canUndo() {
+        return !history.isStart();
+    }
+
+    /**
+     * Check if there is a move taken back which can be played again.
+     *
+     * @return true if {@link #redo()} would return a state, false otherwise
+     */
+    public boolean canRedo() {
+        return redoLine != null;
+    }
+
+    /**
+     * Return the state before the last move.
+     *
+     * The last move can be played again with {@link #redo()} on the
+     * returned state. This state is not changed.
+     *
+     * @return the previous state or null if no move has been played
+     */
+    public FoxHoundState undo() {
+        if (history.isStart()) {
+            return null;
+        }
+        return new FoxHoundState(dim, opponent(turn), positions, history.getParent(),
+            new RedoEntry(history, redoLine));
+    }
+
+    /**
+     * Return the state after playing the last move taken back again.
+     *
+     * A new move made with {@link #move(FoxHoundCoord, FoxHoundCoord)}
+     * starts without moves which could be redone.
+     *
+     * @return the next state or null if there is nothing to redo
+     */
+    public FoxHoundState redo() {
+        if (redoLine == null) {
+            return null;
+        }
+        return new FoxHoundState(dim, opponent(turn), positions, redoLine.history, redoLine.next);
+    }
+
+    /**
+     * Return the shared positions after moving them to this state.
+     *
+     * @return the positions of this state
+     */
+    private Positions positions() {
+        Positions shared = positions;
+        if (shared.history != history) {
+            FoxHoundHistory.walk(shared.history, history, shared::applyMove);
+            shared.history = history;
+        }
+        return shared;
+    }
+
+    private static char opponent(char turn) {
+        return turn == FoxHoundUtils.FOX_FIELD ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+    }
+
+    // -------------- WIN CONDITIONS ------------------------------------------
+
+    /**
+     * Check if the fox has reached row {@value FoxHoundUtils#FOX_WIN_ROW}.
+     *
+     * @return true if the fox has won, false otherwise
+     */
+    public boolean isFoxWin() {
+        return positions().board.isFoxWin();
+    }
+
+    /**
+     * Check if the fox can no longer move.
+     *
+     * This takes constant time, see {@link FoxHoundBitboard#isHoundWin()}.
+     *
+     * @return true if the hounds have won, false otherwise
+     */
+    public boolean isHoundWin() {
+        return positions().board.isHoundWin();
+    }
+
+    @Override
+    public String toString() {
+        return turn + " " + Arrays.toString(positions().players);
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * A strategy picking moves for one side of the fox hound game.
+ *
+ * Strategies may keep internal state such as random number generators
+ * or search tables and are therefore not expected to be thread safe.
+ * Programs playing games in parallel should create one strategy
+ * object per thread.
+ */
+public interface FoxHoundStrategy {
+
+    /**
+     * Pick a move for the given position.
+     *
+     * @param board the current position, it must be unchanged when this method returns
+     * @param turn the figure type that has the next move
+     * @return the packed move or {@value FoxHoundMoveGen#NO_MOVE} if there is no legal move
+     */
+    int chooseMove(FoxHoundBitboard board, char turn);
+}
@@ -0,0 +1,523 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * A perfect play endgame tablebase for the fox hound game.
+ *
+ * The tablebase stores the game theoretic outcome of every placement of
+ * the fox and all hounds on the playable squares of a board for both
+ * sides to move. It is generated with retrograde analysis and saved as a
+ * compact binary file with one byte per position. Lookups read directly
+ * from the memory mapped file, so that the table never has to be loaded
+ * onto the heap and can be shared by any number of threads.
+ *
+ * Every hound move advances a hound by one row, so there are no draws. A
+ * side without any legal move loses, which for the fox means it is trapped
+ * and for the hounds means they are stuck at the bottom of the board.
+ *
+ * Each byte holds the outcome from the perspective of the side to move:
+ * the distance to the end of the game in plies in the lower seven bits and
+ * a flag in the highest bit which is set if the side to move wins.
+ */
+public class FoxHoundTablebase {
+
+    /** Largest dimension for which a tablebase can be generated. */
+    public static final int MAX_TABLEBASE_DIM = 11;
+
+    /** Value of positions without a known outcome, e.g. two figures on one square. */
+    public static final byte UNKNOWN = (byte) 0xFF;
+    /** Largest distance to the end of the game which can be stored. */
+    public static final int MAX_DISTANCE = 126;
+
+    /** Identifies tablebase files, reads as "FHTB". */
+    private static final int MAGIC = 0x46485442;
+    /** Version of the file format. */
+    private static final byte VERSION = 1;
+    /** Number of bytes before the first position value. */
+    private static final int HEADER_SIZE = 16;
+
+    /** Flag for positions won by the side to move. */
+    private static final int WIN_FLAG = 0x80;
+    /** Mask to extract the distance of a position value. */
+    private static final int DISTANCE_MASK = 0x7F;
+
+    /** Side index for positions with the fox to move. */
+    private static final int SIDE_FOX = 0;
+    /** Side index for positions with the hounds to move. */
+    private static final int SIDE_HOUNDS = 1;
+
+    /** Number of hound placements handled by one parallel task. */
+    private static final int CHUNK_SIZE = 256;
+
+    private final Indexer indexer;
+    private final ByteBuffer table;
+
+    /**
+     * Create a tablebase reading from the given buffer.
+     *
+     * @param dim dimension of the game board
+     * @param table buffer with all position values starting at index zero
+     */
+    private FoxHoundTablebase(int dim, ByteBuffer table) {
+        this.indexer = new Indexer(dim);
+        this.table = table;
+    }
+
+    // -------------- VALUES ------------------------------------------
+
+    /**
+     * Check if the given value is a win for the side to move.
+     *
+     * @param value a position value
+     * @return true if the side to move wins, false otherwise
+     */
+    public static boolean isWin(byte value) {
+        return value != UNKNOWN && (value & WIN_FLAG) != 0;
+    }
+
+    /**
+     * Check if the given value is a loss for the side to move.
+     *
+     * @param value a position value
+     * @return true if the side to move loses, false otherwise
+     */
+    public static boolean isLoss(byte value) {
+        return (value & WIN_FLAG) == 0;
+    }
+
+    /**
+     * Extract the number of plies until the game ends with perfect play.
+     *
+     * The winning side plays the fastest win while the losing
+     * side delays the end of the game as long as possible.
+     *
+     * @param value a position value
+     * @return the distance to the end of the game or -1 if unknown
+     */
+    public static int getDistance(byte value) {
+        return value == UNKNOWN ? -1 : value & DISTANCE_MASK;
+    }
+
+    // -------------- LOOKUP ------------------------------------------
+
+    /**
+     * Open a tablebase file for lookups.
+     *
+     * The file is memory mapped and not read into memory.
+     *
+     * @param file the tablebase file
+     * @return a tablebase reading from the given file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a valid tablebase
+     * @throws NullPointerException if the given file is null
+     */
+    public static FoxHoundTablebase open(Path file) throws IOException {
+        Objects.requireNonNull(file, "Given file must not be null.");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    break;
+                }
+            }
+            header.flip();
+
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC
+                || header.get() != VERSION) {
+                throw new IllegalArgumentException("Not a tablebase file: " + file);
+            }
+
+            int dim = header.get();
+            FoxHoundUtils.dimensionCheck(dim);
+            Indexer indexer = new Indexer(dim);
+            header.position(header.position() + 2); // skip hound count and padding
+            long size = header.getLong();
+
+            if (size != indexer.size || channel.size() != HEADER_SIZE + size) {
+                throw new IllegalArgumentException("Tablebase file has invalid size: " + file);
+            }
+
+            MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, size);
+            return new FoxHoundTablebase(dim, table);
+        }
+    }
+
+    /**
+     * Return the dimension of the board covered by this tablebase.
+     *
+     * @return the board dimension
+     */
+    public int getDimension() {
+        return indexer.dim;
+    }
+
+    /**
+     * Look up the value of the given position.
+     *
+     * @param board the position to be looked up
+     * @param turn the figure type that has the next move
+     * @return the position value from the perspective of the side to move
+     * @throws IllegalArgumentException if the board does not match this tablebase or
+     * the given figure type is invalid
+     * @throws NullPointerException if the given board is null
+     */
+    public byte probe(FoxHoundBitboard board, char turn) {
+        Objects.requireNonNull(board, "Given board must not be null.");
+        if (board.getDimension() != indexer.dim || board.getHoundCount() != indexer.hounds) {
+            throw new IllegalArgumentException("Given board does not match tablebase dimension "
+                + indexer.dim);
+        }
+
+        return table.get((int) indexer.index(board, sideIndex(turn)));
+    }
+
+    /**
+     * Pick a move which achieves the value of the given position.
+     *
+     * The winning side picks the fastest win, the losing side the
+     * longest defence.
+     *
+     * @param board the current position, it is unchanged when this method returns
+     * @param turn the figure type that has the next move
+     * @param buffer move buffer with at least {@value FoxHoundMoveGen#MAX_MOVES} entries
+     * @return the best move or {@value FoxHoundMoveGen#NO_MOVE} if there is none
+     * @throws IllegalArgumentException if the board does not match this tablebase or
+     * the given figure type is invalid
+     * @throws NullPointerException if the given board or buffer is null
+     */
+    public int bestMove(FoxHoundBitboard board, char turn, int[] buffer) {
+        int side = sideIndex(turn);
+        byte value = probe(board, turn);
+        int count = FoxHoundMoveGen.generateMoves(board, turn, buffer);
+
+        int best = FoxHoundMoveGen.NO_MOVE;
+        int bestDistance = -1;
+        for (int i = 0; i < count; i++) {
+            int move = buffer[i];
+            int origin = FoxHoundMoveGen.getOrigin(move);
+            int dest = FoxHoundMoveGen.getDest(move);
+
+            board.movePiece(origin, dest);
+            byte reply = table.get((int) indexer.index(board, 1 - side));
+            board.movePiece(dest, origin);
+
+            int distance = getDistance(reply);
+            if (isWin(value) && isLoss(reply) && distance == getDistance(value) - 1) {
+                return move;
+            }
+            if (best == FoxHoundMoveGen.NO_MOVE || distance > bestDistance) {
+                best = move;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Translate the given figure type into a side index.
+     *
+     * @param turn the figure type that has the next move
+     * @return the side index
+     * @throws IllegalArgumentException if the given figure type is invalid
+     */
+    private static int sideIndex(char turn) {
+        if (turn == FoxHoundUtils.FOX_FIELD) {
+            return SIDE_FOX;
+        } else if (turn == FoxHoundUtils.HOUND_FIELD) {
+            return SIDE_HOUNDS;
+        }
+        throw new IllegalArgumentException("Invalid figure type: " + turn);
+    }
+
+    // -------------- GENERATION ------------------------------------------
+
+    /**
+     * Generate the tablebase for the given dimension and save it
+     * to the given file.
+     *
+     * Generation runs in parallel on all available cores.
+     *
+     * @param dim dimension of the game board
+     * @param file the file to save the tablebase to, overwritten if it exists
+     * @throws IOException if writing the file fails
+     * @throws IllegalArgumentException if the dimension is invalid or larger than
+     * {@value FoxHoundTablebase#MAX_TABLEBASE_DIM}
+     * @throws NullPointerException if the given file is null
+     */
+    public static void generate(int dim, Path file) throws IOException {
+        Objects.requireNonNull(file, "Given file must not be null.");
+        byte[] values = solve(dim);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).put(VERSION).put((byte) dim).put((byte) (dim / 2)).put((byte) 0);
+        header.putLong(values.length);
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(header);
+            ByteBuffer body = ByteBuffer.wrap(values);
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+        }
+    }
+
+    /**
+     * Solve all positions for the given dimension with retrograde analysis.
+     *
+     * In pass zero all terminal positions are resolved. In pass n a position
+     * is won in n plies if a move leads to a position lost in n - 1 plies and
+     * lost in n plies if all moves lead to won positions, the longest of which
+     * ends in n - 1 plies. Positions resolved within a pass therefore never
+     * influence other positions in the same pass, which allows all positions
+     * of a pass to be processed in parallel.
+     *
+     * @param dim dimension of the game board
+     * @return the values of all positions
+     * @throws IllegalArgumentException if the dimension is invalid or larger than
+     * {@value FoxHoundTablebase#MAX_TABLEBASE_DIM}
+     */
+    static byte[] solve(int dim) {
+        FoxHoundUtils.dimensionCheck(dim);
+        if (dim > MAX_TABLEBASE_DIM) {
+            throw new IllegalArgumentException("Tablebases are only supported up to dimension "
+                + MAX_TABLEBASE_DIM + " but given dimension is: " + dim);
+        }
+
+        Indexer indexer = new Indexer(dim);
+        byte[] values = new byte[(int) indexer.size];
+        Arrays.fill(values, UNKNOWN);
+
+        int chunks = (int) ((indexer.combinations + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        int pass = 0;
+        long resolved;
+        do {
+            if (pass > MAX_DISTANCE) {
+                throw new IllegalStateException("Distance exceeds " + MAX_DISTANCE + " plies.");
+            }
+            final int currentPass = pass;
+            resolved = IntStream.range(0, chunks).parallel()
+                .mapToLong(chunk -> solveChunk(indexer, values, chunk, currentPass))
+                .sum();
+            pass++;
+        } while (resolved > 0);
+
+        return values;
+    }
+
+    /**
+     * Run one pass of the retrograde analysis on a range of hound placements.
+     *
+     * @param indexer position indexer for the board dimension
+     * @param values the values of all positions
+     * @param chunk index of the range of hound placements
+     * @param pass the current pass
+     * @return number of newly resolved positions
+     */
+    private static long solveChunk(Indexer indexer, byte[] values, int chunk, int pass) {
+        FoxHoundBitboard board = new FoxHoundBitboard(indexer.dim);
+        int[] buffer = new int[FoxHoundMoveGen.MAX_MOVES];
+        int[] houndSquares = new int[indexer.hounds];
+
+        long first = (long) chunk * CHUNK_SIZE;
+        long last = Math.min(first + CHUNK_SIZE, indexer.combinations);
+        long resolved = 0;
+
+        for (long rank = first; rank < last; rank++) {
+            board.clear();
+            indexer.unrank(rank, houndSquares);
+            for (int sq : houndSquares) {
+                board.addHound(sq);
+            }
+
+            for (int fox = 0; fox < indexer.squares; fox++) {
+                if (board.isHound(fox)) {
+                    continue;
+                }
+                board.setFox(fox);
+
+                for (int side = SIDE_FOX; side <= SIDE_HOUNDS; side++) {
+                    int idx = (int) indexer.index(rank, fox, side);
+                    if (values[idx] != UNKNOWN) {
+                        continue;
+                    }
+
+                    byte value = pass == 0
+                        ? terminalValue(board, side)
+                        : passValue(indexer, values, board, side, pass, buffer);
+                    if (value != UNKNOWN) {
+                        values[idx] = value;
+                        resolved++;
+                    }
+                }
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Calculate the value of a position if the game is already over.
+     *
+     * @param board the position
+     * @param side the side to move
+     * @return the position value or {@value FoxHoundTablebase#UNKNOWN} if
+     * the game is not over
+     */
+    private static byte terminalValue(FoxHoundBitboard board, int side) {
+        if (board.isFoxWin()) {
+            return side == SIDE_FOX ? (byte) WIN_FLAG : 0;
+        }
+
+        int moves = side == SIDE_FOX
+            ? FoxHoundMoveGen.countFoxMoves(board)
+            : FoxHoundMoveGen.countHoundMoves(board);
+        return moves == 0 ? 0 : UNKNOWN;
+    }
+
+    /**
+     * Calculate the value of a position in the given pass
+     * from the values of its successors.
+     *
+     * @param indexer position indexer for the board dimension
+     * @param values the values of all positions
+     * @param board the position, it is unchanged when this method returns
+     * @param side the side to move
+     * @param pass the current pass
+     * @param buffer move buffer
+     * @return the position value or {@value FoxHoundTablebase#UNKNOWN} if
+     * it cannot be resolved in this pass
+     */
+    private static byte passValue(Indexer indexer, byte[] values, FoxHoundBitboard board,
+            int side, int pass, int[] buffer) {
+
+        int count = side == SIDE_FOX
+            ? FoxHoundMoveGen.generateFoxMoves(board, buffer)
+            : FoxHoundMoveGen.generateHoundMoves(board, buffer);
+
+        boolean allWins = true;
+        int longestWin = -1;
+        for (int i = 0; i < count; i++) {
+            int origin = FoxHoundMoveGen.getOrigin(buffer[i]);
+            int dest = FoxHoundMoveGen.getDest(buffer[i]);
+
+            board.movePiece(origin, dest);
+            byte reply = values[(int) indexer.index(board, 1 - side)];
+            board.movePiece(dest, origin);
+
+            if (reply == UNKNOWN) {
+                allWins = false;
+            } else if (isLoss(reply)) {
+                if (getDistance(reply) == pass - 1) {
+                    return (byte) (WIN_FLAG | pass);
+                }
+                allWins = false;
+            } else {
+                longestWin = Math.max(longestWin, getDistance(reply));
+            }
+        }
+
+        if (allWins && longestWin == pass - 1) {
+            return (byte) pass;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Generate a tablebase file.
+     *
+     * @param args the board dimension and the file name, both optional
+     */
+    public static void main(String[] args) {
+        int dim = args.length > 0 ? Integer.parseInt(args[0]) : FoxHoundUtils.DEFAULT_DIM;
+        Path file = Paths.get(args.length > 1 ? args[1] : "foxhound" + dim + ".tb");
+
+        long start = System.nanoTime();
+        try {
+            generate(dim, file);
+            FoxHoundTablebase tablebase = open(file);
+            FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(
+                FoxHoundUtils.initialisePositions(dim), dim);
+            byte value = tablebase.probe(board, FoxHoundUtils.FOX_FIELD);
+
+            System.out.println("Tablebase saved to " + file + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+            System.out.println("Initial position: " + (isWin(value) ? "Fox" : "Hounds")
+                + " win in " + getDistance(value) + " plies");
+        } catch (IOException e) {
+            System.err.println("ERROR: Writing tablebase failed: " + e);
+        }
+    }
+
+    /**
+     * Maps positions to indices in the tablebase.
+     *
+     * The set of hound squares is ranked in the combinatorial number
+     * system, so every set of hounds has a unique rank between zero
+     * and (squares choose hounds) - 1. The index of a position is
+     * ((side * combinations) + rank) * squares + fox square.
+     */
+    private static final class Indexer {
+
+        private final int dim;
+        private final int squares;
+        private final int hounds;
+        private final long[][] binomials;
+        private final long combinations;
+        private final long size;
+
+        private Indexer(int dim) {
+            this.dim = dim;
+            this.squares = (dim * dim) / 2;
+            this.hounds = dim / 2;
+
+            binomials = new long[squares + 1][hounds + 1];
+            for (int n = 0; n <= squares; n++) {
+                binomials[n][0] = 1;
+                for (int k = 1; k <= hounds && k <= n; k++) {
+                    binomials[n][k] = binomials[n - 1][k - 1] + binomials[n - 1][k];
+                }
+            }
+
+            combinations = binomials[squares][hounds];
+            size = 2 * combinations * squares;
+        }
+
+        private long index(long rank, int fox, int side) {
+            return (side * combinations + rank) * squares + fox;
+        }
+
+        private long index(FoxHoundBitboard board, int side) {
+            long rank = 0;
+            int k = 1;
+            for (int sq = board.nextHound(0); sq != FoxHoundBitboard.NO_SQUARE;
+                    sq = board.nextHound(sq + 1)) {
+                rank += binomials[sq][k];
+                k++;
+            }
+            return index(rank, board.getFoxSquare(), side);
+        }
+
+        private void unrank(long rank, int[] houndSquares) {
+            long remaining = rank;
+            int sq = squares - 1;
+            for (int k = hounds; k >= 1; k--) {
+                while (binomials[sq][k] > remaining) {
+                    sq--;
+                }
+                houndSquares[k - 1] = sq;
+                remaining -= binomials[sq][k];
+                sq--;
+            }
+        }
+    }
+}
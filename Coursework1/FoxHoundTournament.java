@@ -0,0 +1,471 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A headless batch runner for the fox hound game.
+ *
+ * The tournament plays a number of games between two strategies on all
+ * available cores without any console interaction per move. The games
+ * are split recursively into fork join tasks, so idle threads steal work
+ * from busy ones and long games do not stall the rest of the batch.
+ * Every thread reuses its own strategies and board for all
+ * of its games, so playing a game does not allocate any memory.
+ *
+ * Optionally a game is ended as a hound win as soon as a
+ * {@link FoxHoundTrapDetector} proves that the fox is trapped, instead
+ * of playing out the remaining moves. All games can also be recorded
+ * in a {@link FoxHoundJournal}.
+ */
+public class FoxHoundTournament {
+
+    /** Number of games played by a task without splitting it further. */
+    private static final int GAMES_PER_TASK = 256;
+
+    /** Default seed of the random strategies. */
+    private static final long DEFAULT_SEED = 42;
+
+    private final int dim;
+    private final FoxHoundBitboard initial;
+    private final Supplier<FoxHoundStrategy> foxStrategy;
+    private final Supplier<FoxHoundStrategy> houndStrategy;
+    private final boolean detectTraps;
+    private final ThreadLocal<Worker> workers;
+    private FoxHoundJournal journal;
+
+    /**
+     * Create a tournament on a board of the given dimension.
+     *
+     * The strategy suppliers are called once per thread.
+     *
+     * @param dim dimension of the game board
+     * @param foxStrategy creates the strategy playing the fox
+     * @param houndStrategy creates the strategy playing the hounds
+     * @throws IllegalArgumentException if the given dimension is invalid
+     * @throws NullPointerException if a given strategy supplier is null
+     */
+    public FoxHoundTournament(int dim, Supplier<FoxHoundStrategy> foxStrategy,
+            Supplier<FoxHoundStrategy> houndStrategy) {
+
+        this(dim, foxStrategy, houndStrategy, false);
+    }
+
+    /**
+     * Create a tournament on a board of the given dimension which
+     * optionally ends games early once the fox is trapped for certain.
+     *
+     * The strategy suppliers are called once per thread.
+     *
+     * @param dim dimension of the game board
+     * @param foxStrategy creates the strategy playing the fox
+     * @param houndStrategy creates the strategy playing the hounds
+     * @param detectTraps true to end games as soon as a trap is detected
+     * @throws IllegalArgumentException if the given dimension is invalid
+     * @throws NullPointerException if a given strategy supplier is null
+     */
+    public FoxHoundTournament(int dim, Supplier<FoxHoundStrategy> foxStrategy,
+            Supplier<FoxHoundStrategy> houndStrategy, boolean detectTraps) {
+
+        this.dim = dim;
+        this.initial = FoxHoundBitboard.fromPlayers(FoxHoundUtils.initialisePositions(dim), dim);
+        this.foxStrategy = Objects.requireNonNull(foxStrategy, "Given fox strategy must not be null.");
+        this.houndStrategy = Objects.requireNonNull(houndStrategy,
+            "Given hound strategy must not be null.");
+        this.detectTraps = detectTraps;
+        this.workers = ThreadLocal.withInitial(Worker::new);
+    }
+
+    /**
+     * Record all games played from now on in the given journal.
+     *
+     * Games are appended in the order they end, which differs
+     * between runs as they are played in parallel.
+     *
+     * @param journal the journal to record games in or null to stop recording
+     */
+    public void setJournal(FoxHoundJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Play the given number of games in parallel.
+     *
+     * @param games the number of games to be played
+     * @return the aggregated results of all games
+     * @throws IllegalArgumentException if the number of games is negative
+     * @throws UncheckedIOException if recording a game in the journal fails
+     */
+    public Result run(long games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Number of games must not be negative: " + games);
+        }
+
+        long start = System.nanoTime();
+        Result result = ForkJoinPool.commonPool().invoke(new GamesTask(0, games));
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    /**
+     * Return the largest possible number of plies in a game.
+     *
+     * Every hound move advances a hound by one row and the fox
+     * moves in between, which limits the length of a game.
+     *
+     * @param dim dimension of the game board
+     * @return the maximum game length in plies
+     */
+    static int maxGameLength(int dim) {
+        return 2 * (dim / 2) * (dim - 1) + 1;
+    }
+
+    /**
+     * Per thread state reused for all games played by one thread.
+     */
+    private final class Worker {
+
+        private final FoxHoundStrategy fox = foxStrategy.get();
+        private final FoxHoundStrategy hounds = houndStrategy.get();
+        private final FoxHoundBitboard board = new FoxHoundBitboard(dim);
+        private final FoxHoundTrapDetector detector = detectTraps
+            ? new FoxHoundTrapDetector(dim) : null;
+        private final int[] moves = new int[maxGameLength(dim)];
+
+        /**
+         * Play one game from the initial position.
+         *
+         * @param result the statistics the outcome is added to
+         */
+        private void playGame(Result result) {
+            board.copyFrom(initial);
+            char turn = FoxHoundUtils.FOX_FIELD;
+            int plies = 0;
+
+            while (true) {
+                FoxHoundStrategy strategy = turn == FoxHoundUtils.FOX_FIELD ? fox : hounds;
+                int move = strategy.chooseMove(board, turn);
+                if (move == FoxHoundMoveGen.NO_MOVE) {
+                    // a side without any legal move loses
+                    endGame(result, turn == FoxHoundUtils.HOUND_FIELD, plies);
+                    return;
+                }
+
+                board.movePiece(FoxHoundMoveGen.getOrigin(move), FoxHoundMoveGen.getDest(move));
+                moves[plies++] = move;
+
+                if (turn == FoxHoundUtils.FOX_FIELD && board.isFoxWin()) {
+                    endGame(result, true, plies);
+                    return;
+                } else if (turn == FoxHoundUtils.HOUND_FIELD && board.isHoundWin()) {
+                    endGame(result, false, plies);
+                    return;
+                } else if (turn == FoxHoundUtils.HOUND_FIELD && detector != null
+                        && detector.isInevitableTrap(board, FoxHoundUtils.FOX_FIELD)) {
+                    // only a hound move can close the region of the fox
+                    result.addTrap(plies);
+                    record(false, plies);
+                    return;
+                }
+
+                turn = turn == FoxHoundUtils.FOX_FIELD
+                    ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+            }
+        }
+
+        private void endGame(Result result, boolean foxWin, int plies) {
+            result.addGame(foxWin, plies);
+            record(foxWin, plies);
+        }
+
+        /**
+         * Append the game to the journal, if there is one.
+         */
+        private void record(boolean foxWin, int plies) {
+            FoxHoundJournal target = journal;
+            if (target == null) {
+                return;
+            }
+
+            try {
+                target.appendGame(initial, FoxHoundUtils.FOX_FIELD, moves, plies,
+                    foxWin ? FoxHoundUtils.FOX_FIELD : FoxHoundUtils.HOUND_FIELD);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Recording game in journal failed.", e);
+            }
+        }
+    }
+
+    /**
+     * Plays a range of games, splitting it in halves until it is small
+     * enough to be played by a single thread.
+     */
+    private final class GamesTask extends RecursiveTask<Result> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        private GamesTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                Worker worker = workers.get();
+                Result result = new Result(dim);
+                for (long game = from; game < to; game++) {
+                    worker.playGame(result);
+                }
+                return result;
+            }
+
+            long middle = from + (to - from) / 2;
+            GamesTask left = new GamesTask(from, middle);
+            left.fork();
+            Result result = new GamesTask(middle, to).compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+
+    /**
+     * Aggregated results of a number of games.
+     */
+    public static class Result {
+
+        private final long[] lengths;
+        private long foxWins;
+        private long houndWins;
+        private long traps;
+        private long elapsedNanos;
+
+        /**
+         * Create empty results for the given board dimension.
+         *
+         * @param dim dimension of the game board
+         */
+        public Result(int dim) {
+            this.lengths = new long[maxGameLength(dim) + 1];
+        }
+
+        /**
+         * Add the outcome of one game.
+         *
+         * @param foxWin true if the fox won the game, false if the hounds won
+         * @param plies the length of the game in plies
+         */
+        public void addGame(boolean foxWin, int plies) {
+            if (foxWin) {
+                foxWins++;
+            } else {
+                houndWins++;
+            }
+            lengths[Math.min(plies, lengths.length - 1)]++;
+        }
+
+        /**
+         * Add a game which was ended early as a hound win because
+         * the fox was trapped for certain.
+         *
+         * @param plies the number of plies played until the trap was detected
+         */
+        public void addTrap(int plies) {
+            addGame(false, plies);
+            traps++;
+        }
+
+        /**
+         * Add all outcomes of the given results to these results.
+         *
+         * @param other the results to be added
+         */
+        public void merge(Result other) {
+            foxWins += other.foxWins;
+            houndWins += other.houndWins;
+            traps += other.traps;
+            for (int i = 0; i < lengths.length; i++) {
+                lengths[i] += other.lengths[i];
+            }
+        }
+
+        /**
+         * Return the number of games played.
+         *
+         * @return number of games
+         */
+        public long getGames() {
+            return foxWins + houndWins;
+        }
+
+        /**
+         * Return the number of games won by the fox.
+         *
+         * @return number of fox wins
+         */
+        public long getFoxWins() {
+            return foxWins;
+        }
+
+        /**
+         * Return the number of games won by the hounds.
+         *
+         * @return number of hound wins
+         */
+        public long getHoundWins() {
+            return houndWins;
+        }
+
+        /**
+         * Return the number of hound wins which were ended early
+         * because the fox was trapped for certain.
+         *
+         * @return number of detected traps
+         */
+        public long getTraps() {
+            return traps;
+        }
+
+        /**
+         * Return the number of games which ended after the given number of plies.
+         *
+         * @param plies the game length in plies
+         * @return number of games with this length
+         */
+        public long getGamesOfLength(int plies) {
+            return plies < lengths.length ? lengths[plies] : 0;
+        }
+
+        /**
+         * Return the number of games played per second.
+         *
+         * @return games per second
+         */
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : getGames() * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            long games = getGames();
+            StringBuilder bld = new StringBuilder();
+            bld.append(String.format("Games: %d in %.3f s (%.0f games/s)%n",
+                games, elapsedNanos / 1e9, getGamesPerSecond()));
+            bld.append(String.format("Fox wins: %d (%.2f%%)%n", foxWins, percentage(foxWins, games)));
+            bld.append(String.format("Hound wins: %d (%.2f%%)%n", houndWins,
+                percentage(houndWins, games)));
+            if (traps > 0) {
+                bld.append(String.format("Ended early by a trap: %d (%.2f%%)%n", traps,
+                    percentage(traps, games)));
+            }
+
+            bld.append("Game length histogram (plies: games):\n");
+            for (int plies = 0; plies < lengths.length; plies++) {
+                if (lengths[plies] > 0) {
+                    bld.append(String.format("%4d: %d%n", plies, lengths[plies]));
+                }
+            }
+            return bld.toString();
+        }
+
+        private static double percentage(long part, long total) {
+            return total == 0 ? 0 : 100.0 * part / total;
+        }
+    }
+
+    // -------------- COMMAND LINE ------------------------------------------
+
+    /**
+     * Create a strategy supplier from its command line name.
+     *
+     * Valid names are {@code random}, {@code greedy}, {@code search:<depth>}
+     * and {@code mcts:<playouts>} where the depth and the number of playouts
+     * per move are optional. The games of a tournament already run on all
+     * cores, so every Monte Carlo strategy uses a single thread, which
+     * runs its search on the tournament thread and needs no pool to close.
+     *
+     * @param name the name of the strategy
+     * @param seeds source of seeds for the random number generators
+     * @return a supplier creating a new strategy object per call
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    static Supplier<FoxHoundStrategy> parseStrategy(String name, AtomicLong seeds) {
+        String[] parts = name.split(":");
+        switch (parts[0]) {
+            case "random":
+                return () -> new FoxHoundRandomStrategy(seeds.getAndIncrement());
+            case "greedy":
+                return () -> new FoxHoundGreedyStrategy(seeds.getAndIncrement());
+            case "search":
+                int depth = parts.length > 1 ? Integer.parseInt(parts[1]) : 4;
+                return () -> new FoxHoundSearchStrategy(depth, FoxHoundSearch.NO_TIME_LIMIT);
+            case "mcts":
+                long playouts = parts.length > 1 ? Long.parseLong(parts[1]) : 1000;
+                return () -> new FoxHoundMctsStrategy(1, playouts, FoxHoundSearch.NO_TIME_LIMIT,
+                    FoxHoundMctsStrategy.randomPolicy(seeds.getAndIncrement()), 1,
+                    FoxHoundMctsStrategy.DEFAULT_EXPLORATION);
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+
+    /**
+     * Run a tournament from the command line.
+     *
+     * Arguments are the board dimension, the number of games, the fox
+     * strategy, the hound strategy and the seed, all of them optional.
+     * The flag {@code --early-trap} ends games as soon as the fox is
+     * trapped for certain and {@code --journal <dir>} records all games
+     * in the journal in the given directory. Flags may be given anywhere.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        boolean detectTraps = false;
+        String journalDir = null;
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--early-trap".equals(args[i])) {
+                detectTraps = true;
+            } else if ("--journal".equals(args[i]) && i + 1 < args.length) {
+                journalDir = args[++i];
+            } else {
+                values.add(args[i]);
+            }
+        }
+        args = values.toArray(new String[0]);
+
+        try {
+            int dim = args.length > 0 ? Integer.parseInt(args[0]) : FoxHoundUtils.DEFAULT_DIM;
+            long games = args.length > 1 ? Long.parseLong(args[1]) : 100_000;
+            AtomicLong seeds = new AtomicLong(args.length > 4 ? Long.parseLong(args[4]) : DEFAULT_SEED);
+            Supplier<FoxHoundStrategy> fox = parseStrategy(args.length > 2 ? args[2] : "random", seeds);
+            Supplier<FoxHoundStrategy> hounds = parseStrategy(args.length > 3 ? args[3] : "random", seeds);
+
+            FoxHoundTournament tournament = new FoxHoundTournament(dim, fox, hounds, detectTraps);
+            if (journalDir == null) {
+                System.out.print(tournament.run(games));
+                return;
+            }
+
+            try (FoxHoundJournal journal = FoxHoundJournal.open(Paths.get(journalDir))) {
+                tournament.setJournal(journal);
+                System.out.print(tournament.run(games));
+                System.out.println("Games in journal: " + journal.getGameCount());
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("ERROR: Invalid tournament argument: " + e.getMessage());
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("ERROR: Writing journal failed: " + e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A fixed size transposition table for the fox hound search.
+ *
+ * Entries are stored in two parallel long arrays holding the position
+ * hash and the packed entry data. The number of entries is the largest
+ * power of two fitting into the configured memory budget, so an entry
+ * is addressed by the lower bits of the hash. The table never grows.
+ *
+ * Entry data consists of the best move (32 bits), the score (16 bits),
+ * the search depth (8 bits), the bound type (2 bits), a flag marking the
+ * entry as used and the generation of the search which stored the entry
+ * (5 bits).
+ */
+public class FoxHoundTranspositionTable {
+
+    /** Policy deciding whether a new entry overwrites an existing one. */
+    public enum ReplacementPolicy {
+        /** Always overwrite the existing entry. */
+        ALWAYS,
+        /**
+         * Keep entries from the current search with a deeper search depth
+         * and overwrite everything else.
+         */
+        DEPTH_PREFERRED
+    }
+
+    /** Score is exact. */
+    public static final int BOUND_EXACT = 0;
+    /** Score is a lower bound, the search failed high. */
+    public static final int BOUND_LOWER = 1;
+    /** Score is an upper bound, the search failed low. */
+    public static final int BOUND_UPPER = 2;
+
+    /** Number of bytes needed per entry. */
+    public static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+    private static final int MOVE_SHIFT = 32;
+    private static final int SCORE_SHIFT = 16;
+    private static final int DEPTH_SHIFT = 8;
+    private static final int BOUND_SHIFT = 6;
+    private static final long USED_FLAG = 1L << 5;
+    private static final int GENERATION_MASK = 0x1F;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private final ReplacementPolicy policy;
+
+    private int generation;
+    private long probes;
+    private long hits;
+
+    /**
+     * Create a transposition table for the given memory budget.
+     *
+     * @param megabytes the memory budget in megabytes, at least one
+     * @param policy the replacement policy
+     * @throws IllegalArgumentException if the memory budget is invalid
+     * @throws NullPointerException if the given policy is null
+     */
+    public FoxHoundTranspositionTable(int megabytes, ReplacementPolicy policy) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Memory budget must be at least 1 MB but is: "
+                + megabytes);
+        }
+        Objects.requireNonNull(policy, "Given policy must not be null.");
+
+        long entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / ENTRY_BYTES);
+        int size = (int) Math.min(entries, 1 << 30);
+
+        this.keys = new long[size];
+        this.data = new long[size];
+        this.mask = size - 1;
+        this.policy = policy;
+    }
+
+    /**
+     * Look up the entry of the given position.
+     *
+     * @param hash the position hash
+     * @return the entry data or 0 if there is no entry for this position
+     */
+    public long probe(long hash) {
+        probes++;
+        int idx = (int) hash & mask;
+        if (keys[idx] == hash && data[idx] != 0) {
+            hits++;
+            return data[idx];
+        }
+        return 0;
+    }
+
+    /**
+     * Store an entry for the given position.
+     *
+     * @param hash the position hash
+     * @param move the best move found or {@value FoxHoundMoveGen#NO_MOVE}
+     * @param score the score of the position
+     * @param depth the remaining search depth
+     * @param bound the bound type of the score
+     */
+    public void store(long hash, int move, int score, int depth, int bound) {
+        int idx = (int) hash & mask;
+
+        if (policy == ReplacementPolicy.DEPTH_PREFERRED && data[idx] != 0 && keys[idx] != hash
+            && getGeneration(data[idx]) == generation && getDepth(data[idx]) > depth) {
+            return;
+        }
+
+        keys[idx] = hash;
+        data[idx] = ((long) move << MOVE_SHIFT)
+            | ((long) (score & 0xFFFF) << SCORE_SHIFT)
+            | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+            | ((long) bound << BOUND_SHIFT)
+            | USED_FLAG
+            | generation;
+    }
+
+    /**
+     * Start a new search, which ages all existing entries.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * Remove all entries and reset the statistics.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+        resetStatistics();
+    }
+
+    /**
+     * Reset the probe and hit counters.
+     */
+    public void resetStatistics() {
+        probes = 0;
+        hits = 0;
+    }
+
+    /**
+     * Return the share of probes which found an entry.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+
+    /**
+     * Return the number of entries.
+     *
+     * @return the table capacity
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    // -------------- ENTRY DATA ------------------------------------------
+
+    /**
+     * Extract the best move of an entry.
+     *
+     * @param entry the entry data
+     * @return the best move
+     */
+    public static int getMove(long entry) {
+        return (int) (entry >>> MOVE_SHIFT);
+    }
+
+    /**
+     * Extract the score of an entry.
+     *
+     * @param entry the entry data
+     * @return the score
+     */
+    public static int getScore(long entry) {
+        return (short) (entry >>> SCORE_SHIFT);
+    }
+
+    /**
+     * Extract the search depth of an entry.
+     *
+     * @param entry the entry data
+     * @return the depth
+     */
+    public static int getDepth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Extract the bound type of an entry.
+     *
+     * @param entry the entry data
+     * @return the bound type
+     */
+    public static int getBound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    private static int getGeneration(long entry) {
+        return (int) entry & GENERATION_MASK;
+    }
+}
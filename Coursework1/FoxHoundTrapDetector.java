@@ -0,0 +1,179 @@
+import java.util.Arrays;
+
+/**
+ * Early detection of a trapped fox in the fox hound game.
+ *
+ * The hounds win when the fox can no longer move. Long before that,
+ * a game is often decided because the hounds have closed off the region
+ * the fox can reach, so that it can never get to row
+ * {@value FoxHoundUtils#FOX_WIN_ROW}. Such a trap is detected in two steps:
+ *
+ * First, a flood fill from the fox over all fields which are not taken by
+ * a hound finds the region of the fox. If this region contains a field of
+ * row {@value FoxHoundUtils#FOX_WIN_ROW} the fox is not trapped. Note that
+ * the hounds in their initial position already close off the whole lower
+ * part of the board, which is why only regions of at most
+ * {@code dim} fields are considered any further. This check is cheap and
+ * rules out most positions.
+ *
+ * Second, as the hounds must move every turn they may be forced to open
+ * the region again. A small closed region is therefore only reported as a
+ * trap once a {@link FoxHoundSearch} bound by a node limit proves a forced
+ * win for the hounds. A detected trap is always a certain hound win, while
+ * traps that are too deep to be proven within the node limit are missed.
+ *
+ * A trap detector is not thread safe, but it can be reused for any number
+ * of positions of the same board dimension.
+ */
+public class FoxHoundTrapDetector {
+
+    /** Default number of nodes the proof search may visit per position. */
+    public static final long DEFAULT_NODE_LIMIT = 4096;
+
+    /** Memory budget of the transposition table of the proof search in megabytes. */
+    private static final int TABLE_MB = 1;
+
+    private final FoxHoundSearch search;
+    private final FoxHoundBitboard board;
+    private final int maxRegionSize;
+    private final long[] region;
+    private final int[] stack;
+    private final int[] moves;
+
+    /**
+     * Create a trap detector with the default node limit.
+     *
+     * @param dim dimension of the game board
+     * @throws IllegalArgumentException if given dimensions are out of bounds
+     */
+    public FoxHoundTrapDetector(int dim) {
+        this(dim, DEFAULT_NODE_LIMIT);
+    }
+
+    /**
+     * Create a trap detector.
+     *
+     * @param dim dimension of the game board
+     * @param nodeLimit the maximum number of nodes of the proof search per position
+     * @throws IllegalArgumentException if given dimensions are out of bounds or
+     * the given node limit is not positive
+     */
+    public FoxHoundTrapDetector(int dim, long nodeLimit) {
+        this.board = new FoxHoundBitboard(dim);
+        this.maxRegionSize = dim;
+        this.search = new FoxHoundSearch(new FoxHoundTranspositionTable(TABLE_MB,
+            FoxHoundTranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+        this.search.setNodeLimit(nodeLimit);
+        this.region = new long[FoxHoundBitboard.WORDS];
+        this.stack = new int[board.getSquareCount()];
+        this.moves = new int[FoxHoundMoveGen.MAX_MOVES];
+    }
+
+    /**
+     * Check if the hounds have closed off the region the fox can reach
+     * without any hound moving, so that it does not contain a field of row
+     * {@value FoxHoundUtils#FOX_WIN_ROW}.
+     *
+     * @param position the current position, it is not modified
+     * @return true if the region of the fox is closed, false otherwise
+     * @throws IllegalArgumentException if the dimension of the given position does
+     * not match this detector
+     * @throws NullPointerException if the given position is null
+     */
+    public boolean isRegionClosed(FoxHoundBitboard position) {
+        board.copyFrom(position);
+        return fillRegion() > 0;
+    }
+
+    /**
+     * Check if the fox is trapped for certain, i.e. its region is closed
+     * and the hounds can force a win from the given position.
+     *
+     * Only regions of at most {@code dim} fields are examined by the proof
+     * search, larger ones are not reported as traps.
+     *
+     * @param position the current position, it is not modified
+     * @param turn the figure type that has the next move
+     * @return true if the hounds are proven to win, false otherwise
+     * @throws IllegalArgumentException if the given figure type is invalid or the
+     * dimension of the given position does not match this detector
+     * @throws NullPointerException if the given position is null
+     */
+    public boolean isInevitableTrap(FoxHoundBitboard position, char turn) {
+        if (!FoxHoundUtils.isValidTurn(turn)) {
+            throw new IllegalArgumentException("Invalid figure type: " + turn);
+        }
+
+        board.copyFrom(position);
+        int size = fillRegion();
+        if (size == 0 || size > maxRegionSize) {
+            return false;
+        }
+
+        // forced moves are played out here, as the search
+        // does not score positions with a single legal move
+        char side = turn;
+        while (true) {
+            int count = FoxHoundMoveGen.generateMoves(board, side, moves);
+            if (count == 0) {
+                // a side without any legal move loses
+                return side == FoxHoundUtils.FOX_FIELD;
+            }
+
+            if (count > 1) {
+                search.search(board, side, FoxHoundSearch.NO_TIME_LIMIT, FoxHoundSearch.MAX_DEPTH);
+                int score = search.getBestScore();
+                if (search.getCompletedDepth() == 0) {
+                    return false;
+                }
+                return side == FoxHoundUtils.HOUND_FIELD
+                    ? score > FoxHoundSearch.WIN_THRESHOLD : score < -FoxHoundSearch.WIN_THRESHOLD;
+            }
+
+            board.movePiece(FoxHoundMoveGen.getOrigin(moves[0]), FoxHoundMoveGen.getDest(moves[0]));
+            if (side == FoxHoundUtils.FOX_FIELD && board.isFoxWin()) {
+                return false;
+            } else if (side == FoxHoundUtils.HOUND_FIELD && board.isHoundWin()) {
+                return true;
+            }
+            side = side == FoxHoundUtils.FOX_FIELD ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+        }
+    }
+
+    /**
+     * Flood fill the region of the fox on the working board.
+     *
+     * @return the size of the region or 0 if it contains a field
+     * of row {@value FoxHoundUtils#FOX_WIN_ROW}
+     */
+    private int fillRegion() {
+        int fox = board.getFoxSquare();
+        if (fox == FoxHoundBitboard.NO_SQUARE) {
+            throw new IllegalArgumentException("Fox has not been placed on the board.");
+        }
+
+        Arrays.fill(region, 0L);
+        region[fox >>> 6] |= 1L << fox;
+        stack[0] = fox;
+        int top = 1;
+        int size = 0;
+
+        while (top > 0) {
+            int sq = stack[--top];
+            if (board.getRow(sq) == FoxHoundUtils.FOX_WIN_ROW) {
+                return 0;
+            }
+            size++;
+
+            for (int dir = 0; dir < FoxHoundBitboard.NUM_DIRECTIONS; dir++) {
+                int next = board.getNeighbour(sq, dir);
+                if (next != FoxHoundBitboard.NO_SQUARE && !board.isHound(next)
+                        && (region[next >>> 6] & (1L << next)) == 0) {
+                    region[next >>> 6] |= 1L << next;
+                    stack[top++] = next;
+                }
+            }
+        }
+        return size;
+    }
+}
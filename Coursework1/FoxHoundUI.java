@@ -20,11 +20,11 @@ public class FoxHoundUI {
     private static final int LEADING_ZERO_THRESHOLD = 9;
 
     /** Number of main menu entries. */
-    private static final int MENU_ENTRIES = 4;
+    private static final int MENU_ENTRIES = 6;
     /** Main menu display string. */
     private static final String MAIN_MENU =
         "\n1. Move\n2. Save Game\n3. Load Game" 
-      + "\n4. Exit\n\nEnter 1 - 4:";
+      + "\n4. Exit\n5. Undo Move\n6. Redo Move\n\nEnter 1 - 6:";
 
     /** 
      * Message with instructions for the position menu. 
@@ -44,6 +44,15 @@ public class FoxHoundUI {
     public static final int MENU_LOAD = 3;
     /** Menu entry to terminate the program. */
     public static final int MENU_EXIT = 4;
+    /** Menu entry to take back the last move. */
+    public static final int MENU_UNDO = 5;
+    /** Menu entry to play a move taken back again. */
+    public static final int MENU_REDO = 6;
+
+    /** Number of rows and columns shown on each side of the fox on a large board. */
+    public static final int DEFAULT_VIEWPORT_RADIUS = 10;
+    /** Input which ends a game on a large board. */
+    public static final String LARGE_EXIT = "exit";
 
     /**
      * Display the game board using ASCII graphics.
@@ -55,23 +64,178 @@ public class FoxHoundUI {
      */
     public static void displayBoard(String[] players, int dim) {
         FoxHoundUtils.boardSetupCheck(players, dim);
+        displayBoardCoords(FoxHoundCoord.fromStrings(players), dim);
+    }
+
+    /**
+     * Display the game board using ASCII graphics.
+     * 
+     * @param players position of all figures on the board
+     * @param dim dimension of the game board
+     * @throws IllegalArgumentException if players array contains illegal entries or dimension is invalid
+     * @throws NullPointerException if players array is null or contains null values
+     */
+    public static void displayBoardCoords(FoxHoundCoord[] players, int dim) {
+        FoxHoundUtils.coordSetupCheck(players, dim);
+        printBoard(getFieldSymbols(players, dim), dim);
+    }
+
+    /**
+     * Display the game board of the given state using ASCII graphics.
+     * 
+     * The state has been validated on creation, so it is not checked again.
+     * 
+     * @param state the current game state
+     * @throws NullPointerException if the given state is null
+     */
+    public static void displayState(FoxHoundState state) {
+        FoxHoundBitboard board = state.getBoard();
+        char[] fields = new char[board.getDimension() * board.getDimension()];
+        getFieldSymbols(board, fields);
+        printBoard(fields, board.getDimension());
+    }
+
+    /**
+     * Display a window of a large game board centered on the fox.
+     * 
+     * Only the fields of the window are looked at, so this takes the
+     * same time whatever the size of the board.
+     * 
+     * @param board the large game board
+     * @param radius the number of rows and columns shown on each side of the fox
+     * @throws IllegalArgumentException if the radius is negative
+     * @throws NullPointerException if the given board is null
+     */
+    public static void displayViewport(FoxHoundLargeBoard board, int radius) {
+        StringBuilder bld = new StringBuilder();
+        appendViewport(bld, board, radius);
+        System.out.println(bld);
+    }
+
+    /**
+     * Append a window of a large game board centered on the fox.
+     * 
+     * The window is moved inside the board where the fox is close to an
+     * edge. Column names can have several letters, so they are written
+     * top down above their column.
+     * 
+     * @param bld the builder to append to
+     * @param board the large game board
+     * @param radius the number of rows and columns shown on each side of the fox
+     * @throws IllegalArgumentException if the radius is negative
+     * @throws NullPointerException if the given board is null
+     */
+    static void appendViewport(StringBuilder bld, FoxHoundLargeBoard board, int radius) {
+        Objects.requireNonNull(board, "Given board must not be null.");
+        if (radius < 0) {
+            throw new IllegalArgumentException("Viewport radius must not be negative but is: "
+                + radius);
+        }
+
+        int dim = board.getDimension();
+        int size = (int) Math.min(dim, 2L * radius + 1);
+        int fox = board.getFox();
+        int top = Math.max(0, Math.min(board.getRow(fox) - radius, dim - size));
+        int left = Math.max(0, Math.min(board.getCol(fox) - radius, dim - size));
+
+        StringBuilder labels = new StringBuilder();
+        int[] labelEnds = new int[size];
+        int height = 0;
+        for (int i = 0; i < size; i++) {
+            int start = labels.length();
+            FoxHoundLargeBoard.appendColumn(labels, left + i);
+            labelEnds[i] = labels.length();
+            height = Math.max(height, labels.length() - start);
+        }
+
+        bld.append("Rows ").append(top + 1).append('-').append(top + size).append(", columns ");
+        FoxHoundLargeBoard.appendColumn(bld, left).append('-');
+        FoxHoundLargeBoard.appendColumn(bld, left + size - 1);
+        bld.append(" of ").append(dim).append(" x ").append(dim).append("\n\n");
+
+        int rowWidth = String.valueOf(top + size).length();
+        for (int line = 0; line < height; line++) {
+            appendRepeated(bld, ' ', rowWidth + 1);
+            for (int i = 0; i < size; i++) {
+                // labels are aligned at their last letter
+                int idx = labelEnds[i] - height + line;
+                int start = i == 0 ? 0 : labelEnds[i - 1];
+                bld.append(idx >= start ? labels.charAt(idx) : ' ');
+            }
+            bld.append("\n");
+        }
+        bld.append("\n");
+
+        for (int row = top; row < top + size; row++) {
+            String rowId = String.valueOf(row + 1);
+            appendRepeated(bld, '0', rowWidth - rowId.length());
+            bld.append(rowId).append(' ');
+            for (int col = left; col < left + size; col++) {
+                int piece = board.pieceAt(row, col);
+                if (piece == FoxHoundLargeBoard.NO_PIECE) {
+                    bld.append(EMPTY_FIELD);
+                } else {
+                    bld.append(piece == fox ? FoxHoundUtils.FOX_FIELD : FoxHoundUtils.HOUND_FIELD);
+                }
+            }
+            bld.append(' ');
+            appendRepeated(bld, '0', rowWidth - rowId.length());
+            bld.append(rowId).append("\n");
+        }
+    }
 
+    private static void appendRepeated(StringBuilder bld, char c, int count) {
+        for (int i = 0; i < count; i++) {
+            bld.append(c);
+        }
+    }
+
+    /**
+     * Print the given field symbols as game board with row and column headers.
+     * 
+     * @param fields the graphical representation of all fields row by row
+     * @param dim dimension of the game board
+     */
+    private static void printBoard(char[] fields, int dim) {
         StringBuilder bld = new StringBuilder();
+        appendBoard(bld, fields, dim);
+        System.out.println(bld);
+    }
+
+    /**
+     * Append the given field symbols as game board with row and column headers.
+     * 
+     * The board starts with the column header and a blank line, so the
+     * fields of a row are on line {@code row + 3} of the board. The line
+     * break printed after the board is not appended.
+     * 
+     * @param bld the builder to append to
+     * @param fields the graphical representation of all fields row by row
+     * @param dim dimension of the game board
+     */
+    static void appendBoard(StringBuilder bld, char[] fields, int dim) {
         bld.append(getColumnHeader(dim)).append("\n");
 
         for (int row = 0; row < dim; row++) {
             String rowId = getRowId(dim, row);
             bld.append(rowId).append(" ");
 
-            for (int col = 0; col < dim; col++) {
-                bld.append(getFieldSymbol(row, col, players));                
-            }
+            bld.append(fields, row * dim, dim);
             bld.append(" ").append(rowId).append("\n");
         }
 
         bld.append("\n").append(getColumnHeader(dim)).append("\n");
+    }
 
-        System.out.println(bld);
+    /**
+     * Calculate the position of the first field of each row within a
+     * board line as printed by {@link #appendBoard(StringBuilder, char[], int)}.
+     * 
+     * @param dim dimension of the game board
+     * @return the zero based offset of the fields from the start of a row line
+     */
+    static int getFieldOffset(int dim) {
+        return getRowId(dim, 0).length() + 1;
     }
 
     /**
@@ -90,27 +254,58 @@ public class FoxHoundUI {
    }
 
    /**
-    * Pick the correct field symbol for a given position on the game 
+    * Pick the correct field symbol for every position on the game 
     * board. 
     * 
     * This depends on whether the field is occupied or not and if so
     * by which figure.
     *
-    * @param row row of the game board (starting with zero from top to bottom)
-    * @param col row of the game board (starting with zero from left to right)
-    * @param players position of all figures on the board in board coordinates
-    * @return a character as graphical representation of the specified game board field
+    * @param players position of all figures on the board
+    * @param dim dimension of the game board
+    * @return the graphical representation of all fields row by row
+    */
+    private static char[] getFieldSymbols(FoxHoundCoord[] players, int dim) {
+        char[] fields = new char[dim * dim];
+        Arrays.fill(fields, EMPTY_FIELD);
+
+        for (int i = 0; i < players.length; i++) {
+            char symbol = i < players.length - 1 ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+            fields[players[i].getRow() * dim + players[i].getCol()] = symbol;
+        }
+        return fields;
+    }
+
+   /**
+    * Pick the correct field symbol for every position on the given board.
+    *
+    * @param board the current figure positions
+    * @param fields receives the graphical representation of all fields row by row,
+    * it must hold at least dim * dim symbols
     */
-    private static char getFieldSymbol(int row, int col, String[] players) {
-        String bCoords = FoxHoundUtils.getBoardCoords(row, col);
+    static void getFieldSymbols(FoxHoundBitboard board, char[] fields) {
+        int dim = board.getDimension();
+        Arrays.fill(fields, 0, dim * dim, EMPTY_FIELD);
 
-        if (FoxHoundUtils.isFoxCoord(bCoords, players)) {
+        for (int sq = board.nextHound(0); sq != FoxHoundBitboard.NO_SQUARE;
+                sq = board.nextHound(sq + 1)) {
+            fields[board.getRow(sq) * dim + board.getCol(sq)] = FoxHoundUtils.HOUND_FIELD;
+        }
+        int fox = board.getFoxSquare();
+        fields[board.getRow(fox) * dim + board.getCol(fox)] = FoxHoundUtils.FOX_FIELD;
+    }
+
+   /**
+    * Pick the correct field symbol for one square of the given board.
+    *
+    * @param board the current figure positions
+    * @param square the index of a playable square
+    * @return the graphical representation of the square
+    */
+    static char getFieldSymbol(FoxHoundBitboard board, int square) {
+        if (board.getFoxSquare() == square) {
             return FoxHoundUtils.FOX_FIELD;
-        } else if (FoxHoundUtils.isHoundCoord(bCoords, players)) {
-            return FoxHoundUtils.HOUND_FIELD;
-        } else {
-            return EMPTY_FIELD;
         }
+        return board.isHound(square) ? FoxHoundUtils.HOUND_FIELD : EMPTY_FIELD;
     }
 
     /**
@@ -143,6 +338,32 @@ public class FoxHoundUI {
         System.out.println("Players: " + Arrays.toString(players));
     }
 
+    /**
+     * Display current board coordinates of all figures.
+     * 
+     * @param players position of all figures on the board
+     */
+    public static void displayPlayerCoords(FoxHoundCoord[] players) {
+        System.out.println("Players: " + Arrays.toString(players));
+    }
+
+    /**
+     * Display current board coordinates of all figures of the given state.
+     * 
+     * @param state the current game state
+     * @throws NullPointerException if the given state is null
+     */
+    public static void displayStatePlayers(FoxHoundState state) {
+        StringBuilder bld = new StringBuilder("Players: [");
+        for (int i = 0; i < state.getPlayerCount(); i++) {
+            if (i > 0) {
+                bld.append(", ");
+            }
+            bld.append(state.getPlayer(i));
+        }
+        System.out.println(bld.append(']'));
+    }
+
     /**
      * Print the main menu and query the user for an entry selection.
      * 
@@ -198,6 +419,24 @@ public class FoxHoundUI {
      * @throws NullPointerException if the given Scanner is null
      */
     public static String[] positionQuery(int dim, Scanner stdin) {
+        return FoxHoundCoord.toStrings(coordQuery(dim, stdin));
+    }
+
+    /**
+     * Query the user for two position coordinates to update
+     * a figure on the game board.
+     * 
+     * Positions given by the user must be in board coordinates
+     * separated by a single space.
+     * 
+     * @param dim dimension of the game board
+     * @param stdin a Scanner object to read user input from
+     * @return the coordinates provided by the user with the origin as
+     * first entry and the destination as second
+     * @throws IllegalArgumentException if the given dimension is invalid
+     * @throws NullPointerException if the given Scanner is null
+     */
+    public static FoxHoundCoord[] coordQuery(int dim, Scanner stdin) {
         Objects.requireNonNull(stdin, "Given Scanner must not be null");
         FoxHoundUtils.dimensionCheck(dim);
 
@@ -205,28 +444,111 @@ public class FoxHoundUI {
         String end = "" + (char)(FoxHoundUtils.COLUMN_START_COORD + dim - 1);
         String menuMsg = String.format(POSITION_MENU, start, end, dim);
 
-        String[] input = null;
+        FoxHoundCoord[] input = null;
         while (input == null) {
             System.out.println(menuMsg);
 
             String line = stdin.nextLine();
-            input = line.split(" ");
-
-            boolean validInput = 
-                input.length == 2
-             && FoxHoundUtils.isBoardCoordinate(input[0], dim) 
-             && FoxHoundUtils.isBoardCoordinate(input[1], dim);
+            input = parseCoordPair(line, dim);
 
-            if (!validInput) {
+            if (input == null) {
                 System.err.println("ERROR: Please enter valid " 
                     + "coordinate pair separated by space.");
-                input = null; // reset input variable
             }
         }
 
         return input;
     }
 
+    /**
+     * Query the user for a move on a large game board.
+     * 
+     * Positions must be in board coordinates with multi letter columns,
+     * see {@link FoxHoundLargeBoard}, separated by a single space.
+     * 
+     * @param dim dimension of the large game board
+     * @param stdin a Scanner object to read user input from
+     * @return the origin and destination, each as {@code row << 32 | col},
+     * or null if the user entered {@value #LARGE_EXIT}
+     * @throws NullPointerException if the given Scanner is null
+     */
+    public static long[] largeMoveQuery(int dim, Scanner stdin) {
+        Objects.requireNonNull(stdin, "Given Scanner must not be null");
+
+        while (true) {
+            System.out.println("\nEnter two positions between A1-"
+                + FoxHoundLargeBoard.toBoardCoords(dim - 1, dim - 1) + " or " + LARGE_EXIT + ":");
+            String line = stdin.nextLine().trim();
+            if (LARGE_EXIT.equals(line)) {
+                return null;
+            }
+
+            String[] parts = line.split(" ");
+            if (parts.length == 2) {
+                long origin = FoxHoundLargeBoard.parseCoords(parts[0], dim);
+                long dest = FoxHoundLargeBoard.parseCoords(parts[1], dim);
+                if (origin != FoxHoundLargeBoard.NO_COORDS && dest != FoxHoundLargeBoard.NO_COORDS) {
+                    return new long[]{origin, dest};
+                }
+            }
+            System.err.println("ERROR: Please enter valid coordinate pair separated by space.");
+        }
+    }
+
+    /**
+     * Parse two board coordinates separated by a single space.
+     * 
+     * Trailing spaces are ignored.
+     * 
+     * @param line the line entered by the user
+     * @param dim dimension of the game board
+     * @return the two coordinates or null if the line is invalid
+     */
+    private static FoxHoundCoord[] parseCoordPair(String line, int dim) {
+        int end = line.length();
+        while (end > 0 && line.charAt(end - 1) == ' ') {
+            end--;
+        }
+
+        int separator = line.indexOf(' ');
+        if (separator < 0 || separator >= end) {
+            return null;
+        }
+        int second = line.indexOf(' ', separator + 1);
+        if (second >= 0 && second < end) {
+            return null;
+        }
+
+        FoxHoundCoord origin = FoxHoundCoord.parse(line, 0, separator, dim);
+        FoxHoundCoord dest = FoxHoundCoord.parse(line, separator + 1, end, dim);
+        if (origin == null || dest == null) {
+            return null;
+        }
+        return new FoxHoundCoord[]{origin, dest};
+    }
+
+    /**
+     * Ask the user whether an autosaved game should be recovered.
+     * 
+     * @param stdin a Scanner object to read user input from
+     * @return true if the user wants to continue the autosaved game, false otherwise
+     * @throws NullPointerException if the given Scanner is null
+     */
+    public static boolean recoveryQuery(Scanner stdin) {
+        Objects.requireNonNull(stdin, "Given Scanner must not be null.");
+
+        while (true) {
+            System.out.println("An autosaved game was found. Recover it? (y/n)");
+            String input = stdin.nextLine().trim();
+            if (input.equalsIgnoreCase("y")) {
+                return true;
+            } else if (input.equalsIgnoreCase("n")) {
+                return false;
+            }
+            System.out.println("Please enter y or n.");
+        }
+    }
+
     /**
      * Query the user for a file path.
      * 
@@ -5,6 +5,11 @@ import java.util.Objects;
  * 
  * It contains helper functions to check the state of the game
  * board and validate board coordinates and figure positions.
+ *
+ * Figure positions can be given as board coordinate strings or as
+ * shared {@link FoxHoundCoord} objects. The latter do not need to be
+ * parsed or built again for every query and should be preferred
+ * everywhere but at the input and output boundary of the program.
  */
 public class FoxHoundUtils {
 
@@ -64,6 +69,33 @@ public class FoxHoundUtils {
         }
     }
 
+    /**
+     * Check the setup of the board by validating the given players
+     * array against the given dimension.
+     * 
+     * @param players position of all figures on the board
+     * @param dim dimension of the game board
+     * @throws IllegalArgumentException if the given players array has entries outside
+     * of the board or does not match with the given board dimensions
+     * @throws IllegalArgumentException if given dimensions are out of bounds
+     * @throws NullPointerException if the given players array or an entry within
+     * the players array is null
+     */
+    public static void coordSetupCheck(FoxHoundCoord[] players, int dim) {
+        dimensionCheck(dim);
+        Objects.requireNonNull(players, "Given players array must not be null.");
+
+        if (players.length != (dim / 2) + 1) {
+            throw new IllegalArgumentException("Given players array is invalid.");
+        }
+        for (FoxHoundCoord pos : players) {
+            Objects.requireNonNull(pos, "Given players array must not contain null.");
+            if (!pos.isWithin(dim)) {
+                throw new IllegalArgumentException("Given players array is invalid.");
+            }
+        }
+    }
+
     /**
      * Check if the given position has correct board coordinates considering
      * a specific dimension.
@@ -83,17 +115,19 @@ public class FoxHoundUtils {
     }
 
     /**
-     * Check if the given position has correct board coordinates.
+     * Check if the given coordinate is on a board of the given dimension.
      * 
      * @param pos position to be validated
+     * @param dim dimension of the game board
      * @throws NullPointerException if the given position is null
-     * @throws IllegalArgumentException if the given coordinate is not 
-     * a valid board coordinate
+     * @throws IllegalArgumentException if the given coordinate is outside of the board
      */
-    private static void boardCoordCheck(String pos) {
-        if (!isBoardCoordinate(pos)) {
+    private static void coordCheck(FoxHoundCoord pos, int dim) {
+        Objects.requireNonNull(pos, "Given position must not be null.");
+        if (!pos.isWithin(dim)) {
             throw new IllegalArgumentException("Given position must" 
-            + " be a valid board coordinate but is: " + pos);
+            + " be on the board for dimension " + dim 
+            + " but is: " + pos);
         }
     }
 
@@ -154,7 +188,11 @@ public class FoxHoundUtils {
         if (row < 0 || column < 0) {
             throw new IllegalArgumentException("Given coordinates must be larger than zero.");
         }
-        
+
+        // the coordinates of all fields of the largest board are shared
+        if (row < MAX_DIM && column < MAX_DIM) {
+            return FoxHoundCoord.of(row, column).toString();
+        }
         return "" + (char)(COLUMN_START_COORD + column) + (row + 1);
     }
 
@@ -170,8 +208,7 @@ public class FoxHoundUtils {
      * @throws IllegalArgumentException if the given board coordinate has an invalid format
      */
     public static int getRowCoord(String boardCoords) {
-        boardCoordCheck(boardCoords);
-        return Integer.parseInt(boardCoords.substring(1)) - 1;
+        return toCoord(boardCoords).getRow();
     }
 
     /**
@@ -186,8 +223,24 @@ public class FoxHoundUtils {
      * @throws IllegalArgumentException if the given board coordinate has an invalid format
      */
     public static int getColCoord(String boardCoords) {
-        boardCoordCheck(boardCoords);
-        return boardCoords.charAt(0) - COLUMN_START_COORD;
+        return toCoord(boardCoords).getCol();
+    }
+
+    /**
+     * Parse the given board coordinates into a shared coordinate object.
+     * 
+     * @param boardCoords position in board coordinates
+     * @return the corresponding coordinate
+     * @throws NullPointerException if the given board coordinate is null
+     * @throws IllegalArgumentException if the given board coordinate has an invalid format
+     */
+    public static FoxHoundCoord toCoord(String boardCoords) {
+        FoxHoundCoord coord = FoxHoundCoord.parse(boardCoords);
+        if (coord == null) {
+            throw new IllegalArgumentException("Given position must" 
+            + " be a valid board coordinate but is: " + boardCoords);
+        }
+        return coord;
     }
 
     /**
@@ -211,32 +264,7 @@ public class FoxHoundUtils {
      * @throws NullPointerException if the given position is null
      */
     public static boolean isBoardCoordinate(String pos, int dim) {
-        Objects.requireNonNull(pos, "Given position must not be null.");
-
-        if (pos.length() < 2) {
-            return false;
-        }
-        char column = pos.charAt(0);
-        String row = pos.substring(1);
-
-        if (column < COLUMN_START_COORD 
-            || column > COLUMN_START_COORD + dim - 1) {
-            return false;
-        }
-
-        // if the row is not numeric using a regular expression
-        // \d+ means look for one or more digits
-        if(!row.matches("\\d+")) {
-            return false;
-        }
-
-        // check if row number is within bounds
-        int rowNum = Integer.parseInt(row);
-        if (rowNum > dim || rowNum < 1) {
-            return false;
-        }
-
-        return true;
+        return FoxHoundCoord.parse(pos, dim) != null;
     }
 
     // ----------------- Players Array Helper ----------------------------------
@@ -267,6 +295,40 @@ public class FoxHoundUtils {
         return false;
     }
 
+    /**
+     * Update the array with figure positions for the given values and
+     * update the given Zobrist hash of the position accordingly.
+     *
+     * The hash is updated for the moved figure as well as for the
+     * change of the side to move, see {@link FoxHoundZobrist}.
+     * 
+     * @param players position of all figures on the board in board coordinates
+     * @param oldPos the old position of the figure to be updated
+     * @param newPos the new position of the figure to be updated
+     * @param dim dimension of the game board
+     * @param hash the hash of the position before the update
+     * @return the hash of the position after the update
+     * @throws NullPointerException if any of the three object parameters are null
+     * @throws IllegalArgumentException if no figure with the given old position was found
+     * or a position is not a valid board coordinate for the given dimension
+     */
+    public static long updatePlayerPos(String[] players, String oldPos, String newPos, 
+            int dim, long hash) {
+        Objects.requireNonNull(players, "Given player positions must not be null.");
+        Objects.requireNonNull(oldPos, "Given old position must not be null.");
+        Objects.requireNonNull(newPos, "Given new position must not be null.");
+
+        int pIdx = getPlayerIdx(oldPos, players);
+        if (pIdx == -1) {
+            throw new IllegalArgumentException("No figure found at given position: " + oldPos);
+        }
+
+        char figure = pIdx == players.length - 1 ? FOX_FIELD : HOUND_FIELD;
+        long result = FoxHoundZobrist.updateHash(hash, figure, oldPos, newPos, dim);
+        players[pIdx] = newPos;
+        return result;
+    }
+
     /**
      * Check if the given board coordinate is the coordinate of a hound
      * in the given players array.
@@ -301,6 +363,87 @@ public class FoxHoundUtils {
         return pIdx == players.length - 1;
     }
 
+    /**
+     * Update the array with figure positions for the given values.
+     *
+     * If no figure with the given old position was found, false is returned. If one
+     * can be found, it is updated with the given newPos and true is returned.
+     * 
+     * @param players position of all figures on the board
+     * @param oldPos the old position of the figure to be updated
+     * @param newPos the new position of the figure to be updated
+     * @return true if successful, false otherwise
+     * @throws NullPointerException if any of the three parameters are null
+     */
+    public static boolean updatePlayerPos(FoxHoundCoord[] players, FoxHoundCoord oldPos,
+            FoxHoundCoord newPos) {
+        Objects.requireNonNull(players, "Given player positions must not be null.");
+        Objects.requireNonNull(oldPos, "Given old position must not be null.");
+        Objects.requireNonNull(newPos, "Given new position must not be null.");
+
+        int pIdx = getPlayerIdx(oldPos, players);
+        if (pIdx != -1) {
+            players[pIdx] = newPos;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Check if the given coordinate is the coordinate of a hound
+     * in the given players array.
+     * 
+     * @param coord the coordinate to be checked
+     * @param players position of all figures on the board
+     * @return true if it is a hound position, false otherwise
+     * @throws NullPointerException if any of the two parameters are null
+     */
+    public static boolean isHoundCoord(FoxHoundCoord coord, FoxHoundCoord[] players) {
+        Objects.requireNonNull(players, "Given player positions must not be null.");
+        Objects.requireNonNull(coord, "Given coordinate must not be null.");
+
+        int pIdx = getPlayerIdx(coord, players);
+        return pIdx >= 0 && pIdx < players.length - 1;
+    }
+
+    /**
+     * Check if the given coordinate is the coordinate of the fox
+     * in the given players array.
+     * 
+     * @param coord the coordinate to be checked
+     * @param players position of all figures on the board
+     * @return true if it is the fox position, false otherwise
+     * @throws NullPointerException if any of the two parameters are null
+     */
+    public static boolean isFoxCoord(FoxHoundCoord coord, FoxHoundCoord[] players) {
+        Objects.requireNonNull(players, "Given player positions must not be null.");
+        Objects.requireNonNull(coord, "Given coordinate must not be null.");
+
+        return players.length > 0 && players[players.length - 1] == coord;
+    }
+
+    /**
+     * Find the given coordinate in the given players array
+     * and return the corresponding array index or -1 if it
+     * cannot be found.
+     * 
+     * Coordinates are shared, so they are compared by identity.
+     * 
+     * @param coord the coordinate to be searched
+     * @param players position of all figures on the board
+     * @return the index of the given position in the given players array or -1 if
+     * it cannot be found
+     */
+    private static int getPlayerIdx(FoxHoundCoord coord, FoxHoundCoord[] players) {
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == coord) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Find the given coordinate in the given players array
      * and return the corresponding array index or -1 if it
@@ -337,6 +480,21 @@ public class FoxHoundUtils {
      * @throws IllegalArgumentException if given dimensions are out of bounds
      */
     public static String[] initialisePositions(int dim) {
+        return FoxHoundCoord.toStrings(initialiseCoords(dim));
+    }
+
+    /**
+     * Initialise the positions on the board of all figures for the
+     * given board dimensions. 
+     *
+     * Dimensions must be between {@value FoxHoundUtils#MIN_DIM} and 
+     * {@value FoxHoundUtils#MAX_DIM}.
+     * 
+     * @param dim dimension of the game board
+     * @return position of all figures on the board in their initial position
+     * @throws IllegalArgumentException if given dimensions are out of bounds
+     */
+    public static FoxHoundCoord[] initialiseCoords(int dim) {
         dimensionCheck(dim);
 
         final int numHounds = dim / 2;
@@ -354,17 +512,17 @@ public class FoxHoundUtils {
          */
         final int foxStartCol = (dim / 2) + (dim % 2) - ((dim / 2) % 2);
 
-        String[] pos = new String[numHounds + numFox];
+        FoxHoundCoord[] pos = new FoxHoundCoord[numHounds + numFox];
  
         int houndIdx = 0;
         // place the hounds in their start row spaced out by one field
         for (int colIdx = 1; colIdx < dim; colIdx += 2) {
-            pos[houndIdx] = getBoardCoords(houndStartRow, colIdx);
+            pos[houndIdx] = FoxHoundCoord.of(houndStartRow, colIdx);
             houndIdx++;
         }
 
         // place the fox
-        pos[idxFox] = getBoardCoords(foxStartRow, foxStartCol);
+        pos[idxFox] = FoxHoundCoord.of(foxStartRow, foxStartCol);
 
         return pos;
     }
@@ -382,10 +540,20 @@ public class FoxHoundUtils {
      * a valid board coordinate
      */
     public static boolean isFoxWin(String foxPos) {
-        boardCoordCheck(foxPos);
+        return isFoxWinCoord(toCoord(foxPos));
+    }
 
-        int foxRow = getRowCoord(foxPos);
-        return foxRow == FOX_WIN_ROW;
+    /**
+     * Check if the given position fulfills the winning
+     * positions for the fox.
+     * 
+     * @param foxPos position to be checked
+     * @return true if the given position means a win for the fox, false otherwise
+     * @throws NullPointerException if the given position is null
+     */
+    public static boolean isFoxWinCoord(FoxHoundCoord foxPos) {
+        Objects.requireNonNull(foxPos, "Given position must not be null.");
+        return foxPos.getRow() == FOX_WIN_ROW;
     }
 
     /**
@@ -416,14 +584,29 @@ public class FoxHoundUtils {
      */
     public static boolean isHoundWin(String[] players, int dimension) {
         boardSetupCheck(players, dimension);
+        return isHoundWinCoords(FoxHoundCoord.fromStrings(players), dimension);
+    }
+
+    /**
+     * Return true if the fox can no longer move, i.e. all of its
+     * corner fields are either outside of the board or taken by a hound.
+     *
+     * @param players positions of all game pieces
+     * @param dimension dimension of the board
+     * @return true if the fox can no longer move, false otherwise
+     * @throws IllegalArgumentException if the given players array contains invalid values or if
+     * the given dimensions are invalid
+     * @throws NullPointerException if the given players array is null or contains null values.
+     */
+    public static boolean isHoundWinCoords(FoxHoundCoord[] players, int dimension) {
+        coordSetupCheck(players, dimension);
 
-        String foxPosB =  players[players.length - 1];
-        String[] cornerFields = getCornerFields(foxPosB, dimension);
-      
+        FoxHoundCoord foxPos = players[players.length - 1];
         // if any of the corner fields are not taken
         // by a hound, the fox can still move
-        for (String corner : cornerFields) {
-            if(corner != null && !isHoundCoord(corner, players)) {
+        for (int dir = 0; dir < FoxHoundBitboard.NUM_DIRECTIONS; dir++) {
+            FoxHoundCoord corner = foxPos.getNeighbour(dir, dimension);
+            if (corner != null && !isHoundCoord(corner, players)) {
                 return false;
             }
         }
@@ -449,30 +632,39 @@ public class FoxHoundUtils {
         dimensionCheck(dim);
         boardCoordCheck(posB, dim);
 
-        final int numCorners = 4;
-        final int topLeft = 0;
-        final int bottomLeft = 1;
-        final int bottomRight = 2;
-        final int topRight = 3;
-        
-        int row = getRowCoord(posB);
-        int col = getColCoord(posB);
+        FoxHoundCoord[] corners = getCornerCoords(toCoord(posB), dim);
+        String[] result = new String[corners.length];
+        for (int i = 0; i < corners.length; i++) {
+            if (corners[i] != null) {
+                result[i] = corners[i].toString();
+            }
+        }
+        return result;
+    }
 
-        String[] result = new String[numCorners];
+    /**
+     * Return all valid corner fields to the given coordinate.
+     *
+     * Corners are ordered top left, bottom left, bottom right and top right.
+     * If the coordinate is at the border of the field, then fields which
+     * would be outside will be null in the returned array.
+     *
+     * @param pos position to be checked
+     * @param dim dimension of the board
+     * @return array with coordinates of the corners in relation
+     * to the given coordinate
+     * @throws IllegalArgumentException if the given dimension is invalid or the given
+     * position is outside of the board
+     * @throws NullPointerException if the given position is null
+     */
+    public static FoxHoundCoord[] getCornerCoords(FoxHoundCoord pos, int dim) {
+        dimensionCheck(dim);
+        coordCheck(pos, dim);
 
-        if (row - 1 >= 0 && col - 1 >= 0) {// top left
-            result[topLeft] = getBoardCoords(row - 1, col - 1);
-        }
-        if (row + 1 < dim && col - 1 >= 0) {// bottom left
-            result[bottomLeft] = getBoardCoords(row + 1, col - 1);
-        }
-        if (row + 1 < dim && col + 1 < dim) {// bottom right
-            result[bottomRight] = getBoardCoords(row + 1, col + 1);   
-        }    
-        if (row - 1 >= 0 && col + 1 < dim) {// top right
-            result[topRight] = getBoardCoords(row - 1, col + 1);
+        FoxHoundCoord[] result = new FoxHoundCoord[FoxHoundBitboard.NUM_DIRECTIONS];
+        for (int dir = 0; dir < result.length; dir++) {
+            result[dir] = pos.getNeighbour(dir, dim);
         }
-
         return result;
     }
 
@@ -506,12 +698,41 @@ public class FoxHoundUtils {
         boardSetupCheck(players, dim);
         boardCoordCheck(origin, dim);
         boardCoordCheck(dest, dim);
+
+        return isValidMove(dim, FoxHoundCoord.fromStrings(players), figure,
+            toCoord(origin), toCoord(dest));
+    }
+
+    /**
+     * Check if the given destination can be reached from the given origin
+     * for the specified figure.
+     *
+     * The same rules as for
+     * {@link #isValidMove(int, String[], char, String, String)} apply.
+     * 
+     * @param dim the dimension of the game board
+     * @param players position of all figures on the board
+     * @param figure the type of figure to be moved
+     * @param origin the starting position of the move
+     * @param dest the end position of the move
+     * @return true if the move was successful, false otherwise
+     * @throws IllegalArgumentException if the given dimension, entries in players array,
+     * given figure type or given origin and destination are invalid.
+     * @throws NullPointerException if the given players array is null or has null entries or
+     * if the given origin or destination positions are null
+     */
+    public static boolean isValidMove(int dim, FoxHoundCoord[] players, char figure, 
+            FoxHoundCoord origin, FoxHoundCoord dest) {
+
+        coordSetupCheck(players, dim);
+        coordCheck(origin, dim);
+        coordCheck(dest, dim);
         if (!isValidTurn(figure)) {
                 throw new IllegalArgumentException("Invalid figure type: " + figure);
         }
 
         // figure wants to stay in the same spot
-        if (origin.equals(dest)) {
+        if (origin == dest) {
             return false;
         }
 
@@ -533,30 +754,25 @@ public class FoxHoundUtils {
      * hounds.
      * 
      * @param dim the dimension of the game board
-     * @param players position of all figures on the board in board coordinates
+     * @param players position of all figures on the board
      * @param figure the type of figure to be moved
      * @param origin the starting position of the move
      * @param dest the end position of the move
      * @return true if the move is into a valid corner, false otherwise
      */
-    private static boolean isMoveToValidCorner(int dim, String[] players, 
-            char figure, String origin, String dest) {
+    private static boolean isMoveToValidCorner(int dim, FoxHoundCoord[] players, 
+            char figure, FoxHoundCoord origin, FoxHoundCoord dest) {
        
         boolean success = false;
-        String[] cornerFields = getCornerFields(origin, dim);
-        for (String corner : cornerFields) {
+        for (int dir = 0; dir < FoxHoundBitboard.NUM_DIRECTIONS; dir++) {
             // destination is a valid corner field
             // and not occupied by another player
-            if(corner != null && corner.equals(dest) 
-               && !isHoundCoord(dest, players) 
-               && !isFoxCoord(dest, players)) {
+            if (origin.getNeighbour(dir, dim) == dest && getPlayerIdx(dest, players) == -1) {
 
                 success = true;
                 // if the figure is a Hound, it may not move backwards
                 if (figure == HOUND_FIELD) {
-                    int originRow = getRowCoord(origin);
-                    int destRow = getRowCoord(dest);
-                    success = originRow < destRow;
+                    success = origin.getRow() < dest.getRow();
                 }
 
                 break;
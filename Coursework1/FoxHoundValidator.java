@@ -0,0 +1,595 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Validation of text game files of the fox hound game.
+ *
+ * The format rules are the ones of {@link FoxHoundIO#loadGame(String[], Path)},
+ * which uses {@link #parseText(CharSequence, FoxHoundCoord[])} to load files.
+ * In addition, a file is only valid if all figures are on playable fields
+ * and no field is taken twice. The number of hounds is covered by the
+ * number of elements on the line, which must be one figure symbol followed
+ * by {@code DEFAULT_DIM / 2} hounds and the fox.
+ *
+ * Problems are returned as values instead of being printed. A validator
+ * object reuses its buffers for all files, so it is not thread safe. The
+ * command line mode validates whole directories on all available cores,
+ * see {@link #validateDirectory(Path, int, Consumer, PrintStream)}.
+ */
+public class FoxHoundValidator {
+
+    /** Kinds of problems a game file can have. */
+    public enum Problem {
+        NONE("Valid"),
+        UNREADABLE("Reading file content failed"),
+        LINES("Invalid number of lines"),
+        ELEMENTS("Invalid number of elements"),
+        COORDINATE("Invalid coordinate"),
+        FIGURE("Invalid figure symbol"),
+        NOT_PLAYABLE("Figure on a field which is not playable"),
+        DUPLICATE("Two figures on the same field");
+
+        private final String message;
+
+        Problem(String message) {
+            this.message = message;
+        }
+
+        /**
+         * Return a description of the problem.
+         *
+         * @return the message as used for error output
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * The validation result of a single file.
+     */
+    public static final class Result {
+
+        private final Path file;
+        private final Problem problem;
+        private final String detail;
+
+        /**
+         * Create a validation result.
+         *
+         * @param file the validated file
+         * @param problem the problem found in the file
+         * @param detail the part of the file or error causing the problem
+         */
+        public Result(Path file, Problem problem, String detail) {
+            this.file = file;
+            this.problem = problem;
+            this.detail = detail;
+        }
+
+        /**
+         * Return the validated file.
+         *
+         * @return the file path
+         */
+        public Path getFile() {
+            return file;
+        }
+
+        /**
+         * Return the problem found in the file.
+         *
+         * @return the kind of problem
+         */
+        public Problem getProblem() {
+            return problem;
+        }
+
+        /**
+         * Return the part of the file or error causing the problem.
+         *
+         * @return the problem details
+         */
+        public String getDetail() {
+            return detail;
+        }
+
+        @Override
+        public String toString() {
+            return file + ": " + problem.getMessage() + ": " + detail;
+        }
+    }
+
+    /** Number of figures in a text game file. */
+    private static final int FIGURES = FoxHoundUtils.DEFAULT_DIM / 2 + 1;
+
+    /** Largest file size which is read, valid files are much smaller. */
+    private static final int MAX_FILE_SIZE = 1 << 20;
+    /** Initial size of the read buffers. */
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private final FoxHoundCoord[] coords = new FoxHoundCoord[FIGURES];
+    private final FoxHoundCoord[] players = new FoxHoundCoord[FIGURES];
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    private ByteBuffer bytes;
+    private CharBuffer chars;
+
+    private String detail = "";
+    private char turn;
+
+    // -------------- SINGLE FILES ------------------------------------------
+
+    /**
+     * Parse the content of a text game file.
+     *
+     * The content must be a single line, trailing line breaks are ignored.
+     * It must consist of a figure symbol followed by all hound positions
+     * and the fox position in board coordinates for the default dimension,
+     * each separated by a single space.
+     *
+     * @param content figure positions loaded from file
+     * @param target position of all figures on the board, only filled if the
+     * content is valid
+     * @return {@link Problem#NONE} if the content is valid, a format problem otherwise
+     * @throws NullPointerException if the given content or array is null
+     */
+    public Problem parseText(CharSequence content, FoxHoundCoord[] target) {
+        detail = "";
+        int length = content.length();
+
+        // lines and elements are counted the way String.split counts them,
+        // so trailing separators are ignored
+        int lineEnd = indexOf(content, '\n', 0, length);
+        if (lineEnd < length) {
+            int lines = countSegments(content, 0, length, '\n');
+            if (lines != 1) {
+                detail = String.valueOf(lines);
+                return Problem.LINES;
+            }
+        }
+
+        int elements = countSegments(content, 0, lineEnd, ' ');
+        if (elements != FIGURES + 1) {
+            detail = String.valueOf(elements);
+            return Problem.ELEMENTS;
+        }
+
+        int symbolEnd = indexOf(content, ' ', 0, lineEnd);
+        int start = symbolEnd + 1;
+        for (int i = 0; i < FIGURES; i++) {
+            int end = indexOf(content, ' ', start, lineEnd);
+            coords[i] = FoxHoundCoord.parse(content, start, end, FoxHoundUtils.DEFAULT_DIM);
+            if (coords[i] == null) {
+                detail = content.subSequence(start, end).toString();
+                return Problem.COORDINATE;
+            }
+            start = end + 1;
+        }
+
+        if (symbolEnd != 1 || !FoxHoundUtils.isValidTurn(content.charAt(0))) {
+            detail = content.subSequence(0, symbolEnd).toString();
+            return Problem.FIGURE;
+        }
+
+        System.arraycopy(coords, 0, target, 0, FIGURES);
+        turn = content.charAt(0);
+        return Problem.NONE;
+    }
+
+    /**
+     * Parse the content of a text game file and check that the
+     * positions are legal.
+     *
+     * @param content figure positions loaded from file
+     * @return {@link Problem#NONE} if the content is valid, the first problem otherwise
+     * @throws NullPointerException if the given content is null
+     */
+    public Problem checkText(CharSequence content) {
+        Problem problem = parseText(content, players);
+        if (problem != Problem.NONE) {
+            return problem;
+        }
+
+        long taken = 0;
+        for (FoxHoundCoord pos : players) {
+            if (!pos.isPlayable()) {
+                detail = pos.toString();
+                return Problem.NOT_PLAYABLE;
+            }
+            long bit = 1L << (pos.getRow() * FoxHoundUtils.DEFAULT_DIM + pos.getCol());
+            if ((taken & bit) != 0) {
+                detail = pos.toString();
+                return Problem.DUPLICATE;
+            }
+            taken |= bit;
+        }
+        return Problem.NONE;
+    }
+
+    /**
+     * Read the given file and check its content.
+     *
+     * The file is read as UTF-8 into buffers which are reused for all files.
+     *
+     * @param file the game file to be checked
+     * @return {@link Problem#NONE} if the file is valid, the first problem otherwise
+     * @throws NullPointerException if the given file is null
+     */
+    public Problem validate(Path file) {
+        Objects.requireNonNull(file, "Given file must not be null.");
+        detail = "";
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > MAX_FILE_SIZE) {
+                detail = "File is larger than " + MAX_FILE_SIZE + " bytes";
+                return Problem.UNREADABLE;
+            }
+            ensureCapacity((int) size);
+            bytes.clear();
+            while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+                // keep reading until the file is consumed
+            }
+        } catch (IOException e) {
+            detail = e.toString();
+            return Problem.UNREADABLE;
+        }
+
+        bytes.flip();
+        chars.clear();
+        decoder.reset();
+        CoderResult result = decoder.decode(bytes, chars, true);
+        if (!result.isError()) {
+            result = decoder.flush(chars);
+        }
+        if (result.isError()) {
+            detail = "Malformed input";
+            return Problem.UNREADABLE;
+        }
+        chars.flip();
+
+        return checkText(chars);
+    }
+
+    /**
+     * Return details of the last problem, e.g. the invalid coordinate.
+     *
+     * @return the problem details or an empty string
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * Return the figure type to move of the last valid content.
+     *
+     * @return the figure type that has the next move
+     */
+    public char getTurn() {
+        return turn;
+    }
+
+    private void ensureCapacity(int size) {
+        if (bytes == null || bytes.capacity() < size) {
+            int capacity = Math.max(INITIAL_BUFFER_SIZE, Integer.highestOneBit(Math.max(size, 1) - 1) << 1);
+            bytes = ByteBuffer.allocate(capacity);
+            // UTF-8 never decodes to more characters than bytes
+            chars = CharBuffer.allocate(capacity);
+        }
+    }
+
+    private static int indexOf(CharSequence text, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Count the parts of the given range that are separated by the given
+     * character in the same way as {@link String#split(String)}.
+     */
+    private static int countSegments(CharSequence text, int start, int end, char separator) {
+        if (indexOf(text, separator, start, end) == end) {
+            return 1;
+        }
+
+        // trailing empty parts are not counted
+        int segments = 0;
+        int count = 0;
+        int segmentStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || text.charAt(i) == separator) {
+                count++;
+                if (i > segmentStart) {
+                    segments = count;
+                }
+                segmentStart = i + 1;
+            }
+        }
+        return segments;
+    }
+
+    // -------------- DIRECTORIES ------------------------------------------
+
+    /**
+     * Aggregated results of a directory validation.
+     */
+    public static final class Summary {
+
+        private final long[] counts = new long[Problem.values().length];
+        private final List<Result> examples;
+        private final int maxExamples;
+        private long elapsedNanos;
+
+        private Summary(int maxExamples) {
+            this.maxExamples = maxExamples;
+            this.examples = new ArrayList<>(maxExamples);
+        }
+
+        private synchronized void add(long[] workerCounts) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += workerCounts[i];
+            }
+        }
+
+        private synchronized void addExample(Result result) {
+            if (examples.size() < maxExamples) {
+                examples.add(result);
+            }
+        }
+
+        /**
+         * Return the number of files with the given problem.
+         *
+         * @param problem the kind of problem, {@link Problem#NONE} for valid files
+         * @return the number of files
+         */
+        public synchronized long getCount(Problem problem) {
+            return counts[problem.ordinal()];
+        }
+
+        /**
+         * Return the number of validated files.
+         *
+         * @return the number of files
+         */
+        public synchronized long getFiles() {
+            long files = 0;
+            for (long count : counts) {
+                files += count;
+            }
+            return files;
+        }
+
+        /**
+         * Return some of the invalid files.
+         *
+         * @return up to the requested number of invalid files
+         */
+        public synchronized List<Result> getExamples() {
+            return Collections.unmodifiableList(new ArrayList<>(examples));
+        }
+
+        @Override
+        public synchronized String toString() {
+            long files = getFiles();
+            StringBuilder bld = new StringBuilder();
+            bld.append(String.format("Files: %d in %.3f s (%.0f files/s)%n", files, elapsedNanos / 1e9,
+                elapsedNanos == 0 ? 0 : files * 1e9 / elapsedNanos));
+            for (Problem problem : Problem.values()) {
+                if (problem == Problem.NONE || counts[problem.ordinal()] > 0) {
+                    bld.append(String.format("%s: %d%n", problem.getMessage(), counts[problem.ordinal()]));
+                }
+            }
+            if (!examples.isEmpty()) {
+                bld.append("Examples:\n");
+                for (Result result : examples) {
+                    bld.append("  ").append(result).append('\n');
+                }
+            }
+            return bld.toString();
+        }
+    }
+
+    /** Marks the end of the files for the worker threads. */
+    private static final Path END = Paths.get("");
+
+    /** Number of files waiting for validation per thread. */
+    private static final int QUEUE_SIZE_PER_THREAD = 1024;
+
+    /** Number of files between two progress lines. */
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    /** Number of invalid files kept as examples in the summary. */
+    private static final int MAX_EXAMPLES = 10;
+
+    /**
+     * Validate all regular files in the given directory in parallel.
+     *
+     * The directory is listed lazily and files are handed to the worker
+     * threads through a bounded queue, so memory use does not depend on
+     * the number of files. Subdirectories are not searched.
+     *
+     * @param dir the directory containing the game files
+     * @param threads the number of worker threads
+     * @param invalidFiles receives the result of every invalid file, it is called
+     * from several threads at the same time
+     * @param progress receives a line every {@value FoxHoundValidator#PROGRESS_INTERVAL}
+     * files, or null for no progress output
+     * @return the summary of all files
+     * @throws IOException if the directory cannot be listed
+     * @throws IllegalArgumentException if the number of threads is not positive
+     * @throws NullPointerException if the given directory or consumer is null
+     */
+    public static Summary validateDirectory(Path dir, int threads, Consumer<Result> invalidFiles,
+            PrintStream progress) throws IOException {
+
+        Objects.requireNonNull(dir, "Given directory must not be null.");
+        Objects.requireNonNull(invalidFiles, "Given consumer must not be null.");
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+
+        long start = System.nanoTime();
+        Summary summary = new Summary(MAX_EXAMPLES);
+        BlockingQueue<Path> queue = new ArrayBlockingQueue<>(threads * QUEUE_SIZE_PER_THREAD);
+        AtomicLong done = new AtomicLong();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                FoxHoundValidator validator = new FoxHoundValidator();
+                long[] counts = new long[Problem.values().length];
+                try {
+                    for (Path file = take(queue); file != END; file = take(queue)) {
+                        Problem problem = validator.validate(file);
+                        counts[problem.ordinal()]++;
+                        done.incrementAndGet();
+                        if (problem != Problem.NONE && failure.get() == null) {
+                            Result result = new Result(file, problem, validator.getDetail());
+                            summary.addExample(result);
+                            try {
+                                invalidFiles.accept(result);
+                            } catch (RuntimeException e) {
+                                // keep draining the queue, so the directory listing is not blocked
+                                failure.compareAndSet(null, e);
+                            }
+                        }
+                    }
+                } finally {
+                    summary.add(counts);
+                }
+            }, "FoxHoundValidator-" + i);
+            workers[i].start();
+        }
+
+        long submitted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, Files::isRegularFile)) {
+            for (Path file : files) {
+                put(queue, file);
+                submitted++;
+                if (progress != null && submitted % PROGRESS_INTERVAL == 0) {
+                    long elapsed = System.nanoTime() - start;
+                    progress.printf("Validated %d files (%.0f files/s)%n", done.get(),
+                        done.get() * 1e9 / elapsed);
+                }
+            }
+        } finally {
+            for (int i = 0; i < threads; i++) {
+                put(queue, END);
+            }
+            for (Thread worker : workers) {
+                join(worker);
+            }
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        summary.elapsedNanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    private static Path take(BlockingQueue<Path> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return END;
+        }
+    }
+
+    private static void put(BlockingQueue<Path> queue, Path file) {
+        try {
+            queue.put(file);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating files.", e);
+        }
+    }
+
+    private static void join(Thread worker) {
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -------------- COMMAND LINE ------------------------------------------
+
+    /**
+     * Validate all game files of a directory from the command line.
+     *
+     * Arguments are the directory, the number of threads, which defaults
+     * to the number of available cores, and a report file, which receives
+     * a tab separated line with file, problem and detail for every invalid
+     * file.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("ERROR: Expected a directory, an optional number of threads"
+                + " and an optional report file.");
+            return;
+        }
+
+        try {
+            Path dir = Paths.get(args[0]);
+            int threads = args.length > 1 ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+
+            Summary summary;
+            if (args.length > 2) {
+                try (BufferedWriter report = Files.newBufferedWriter(Paths.get(args[2]))) {
+                    summary = validateDirectory(dir, threads, result -> writeLine(report, result), System.out);
+                }
+            } else {
+                summary = validateDirectory(dir, threads, result -> { }, System.out);
+            }
+            System.out.print(summary);
+        } catch (IllegalArgumentException e) {
+            System.err.println("ERROR: Invalid validator argument: " + e.getMessage());
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("ERROR: Validating directory failed: " + e);
+        }
+    }
+
+    private static void writeLine(BufferedWriter report, Result result) {
+        synchronized (report) {
+            try {
+                report.write(result.getFile() + "\t" + result.getProblem() + "\t" + result.getDetail());
+                report.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * A utility class for the fox hound program.
+ *
+ * It contains the random keys for Zobrist hashing of game positions.
+ * A position hash is the exclusive or of one key per figure and square,
+ * one key for the board dimension and one key if the hounds are to move.
+ * Moving a figure therefore only takes two exclusive or operations to
+ * update a hash, and a third one to switch the side to move.
+ *
+ * Keys are generated from a fixed seed, so hashes are stable across
+ * program runs and can be stored. As the hash does not depend on the
+ * order of the hounds in a players array, a position loaded from a file
+ * has the same hash as the same position reached by play.
+ */
+public class FoxHoundZobrist {
+
+    /** Seed of the key generator, changing it invalidates stored hashes. */
+    private static final long SEED = 0x5DEECE66DL;
+
+    /** Largest number of squares on any board. */
+    private static final int MAX_SQUARES = (FoxHoundUtils.MAX_DIM * FoxHoundUtils.MAX_DIM) / 2;
+
+    private static final long[] HOUND_KEYS = new long[MAX_SQUARES];
+    private static final long[] FOX_KEYS = new long[MAX_SQUARES];
+    private static final long[] DIM_KEYS = new long[FoxHoundUtils.MAX_DIM + 1];
+
+    /** Key which is part of the hash if the hounds are to move. */
+    public static final long HOUNDS_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int sq = 0; sq < MAX_SQUARES; sq++) {
+            HOUND_KEYS[sq] = random.nextLong();
+            FOX_KEYS[sq] = random.nextLong();
+        }
+        for (int dim = 0; dim < DIM_KEYS.length; dim++) {
+            DIM_KEYS[dim] = random.nextLong();
+        }
+        HOUNDS_TO_MOVE = random.nextLong();
+    }
+
+    /**
+     * Return the key of the given board dimension.
+     *
+     * @param dim the board dimension
+     * @return the dimension key
+     */
+    public static long dimensionKey(int dim) {
+        return DIM_KEYS[dim];
+    }
+
+    /**
+     * Return the key of a hound on the given square.
+     *
+     * @param sq the square index
+     * @return the hound key
+     */
+    public static long houndKey(int sq) {
+        return HOUND_KEYS[sq];
+    }
+
+    /**
+     * Return the key of the fox on the given square.
+     *
+     * @param sq the square index
+     * @return the fox key
+     */
+    public static long foxKey(int sq) {
+        return FOX_KEYS[sq];
+    }
+
+    /**
+     * Return the key of a figure type on the given square.
+     *
+     * @param figure the figure type
+     * @param sq the square index
+     * @return the figure key
+     */
+    public static long figureKey(char figure, int sq) {
+        return figure == FoxHoundUtils.FOX_FIELD ? FOX_KEYS[sq] : HOUND_KEYS[sq];
+    }
+
+    /**
+     * Return the key to be toggled when a figure moves
+     * from the given origin to the given destination.
+     *
+     * @param figure the type of figure which moves
+     * @param origin the starting square of the move
+     * @param dest the end square of the move
+     * @return the combined key of the move including the change of side to move
+     */
+    public static long moveKey(char figure, int origin, int dest) {
+        return figureKey(figure, origin) ^ figureKey(figure, dest) ^ HOUNDS_TO_MOVE;
+    }
+
+    /**
+     * Return the key of the given side to move.
+     *
+     * @param turn the figure type that has the next move
+     * @return the side key
+     */
+    public static long sideKey(char turn) {
+        return turn == FoxHoundUtils.HOUND_FIELD ? HOUNDS_TO_MOVE : 0;
+    }
+
+    /**
+     * Return the hash of the given position including the side to move.
+     *
+     * The position part is maintained incrementally by the board, so
+     * this takes constant time.
+     *
+     * @param board the position
+     * @param turn the figure type that has the next move
+     * @return the position hash
+     * @throws IllegalArgumentException if the given figure type is invalid
+     * @throws NullPointerException if the given board is null
+     */
+    public static long hash(FoxHoundBitboard board, char turn) {
+        Objects.requireNonNull(board, "Given board must not be null.");
+        if (!FoxHoundUtils.isValidTurn(turn)) {
+            throw new IllegalArgumentException("Invalid figure type: " + turn);
+        }
+
+        return board.getHash() ^ sideKey(turn);
+    }
+
+    /**
+     * Calculate the hash of the given players array from scratch.
+     *
+     * @param players position of all figures on the board in board coordinates
+     * @param turn the figure type that has the next move
+     * @param dim dimension of the game board
+     * @return the position hash
+     * @throws IllegalArgumentException if the given figure type, players array
+     * or dimension is invalid
+     * @throws NullPointerException if the given players array is null or contains null values
+     */
+    public static long hash(String[] players, char turn, int dim) {
+        FoxHoundUtils.boardSetupCheck(players, dim);
+        if (!FoxHoundUtils.isValidTurn(turn)) {
+            throw new IllegalArgumentException("Invalid figure type: " + turn);
+        }
+
+        long hash = DIM_KEYS[dim] ^ sideKey(turn);
+        for (int i = 0; i < players.length; i++) {
+            int sq = square(players[i], dim);
+            hash ^= i < players.length - 1 ? HOUND_KEYS[sq] : FOX_KEYS[sq];
+        }
+        return hash;
+    }
+
+    /**
+     * Update the given hash for a move of the given figure type
+     * including the change of the side to move.
+     *
+     * @param hash the hash before the move
+     * @param figure the type of figure which moves
+     * @param oldPos the old position of the figure in board coordinates
+     * @param newPos the new position of the figure in board coordinates
+     * @param dim dimension of the game board
+     * @return the hash after the move
+     * @throws IllegalArgumentException if a position is invalid
+     * @throws NullPointerException if a position is null
+     */
+    public static long updateHash(long hash, char figure, String oldPos, String newPos, int dim) {
+        return hash ^ moveKey(figure, square(oldPos, dim), square(newPos, dim));
+    }
+
+    /**
+     * Translate board coordinates into a square index.
+     *
+     * Fields which are not playable share the index of
+     * their playable neighbour to the left or right.
+     *
+     * @param pos position in board coordinates
+     * @param dim dimension of the game board
+     * @return the square index
+     */
+    private static int square(String pos, int dim) {
+        FoxHoundCoord coord = FoxHoundCoord.parse(pos, dim);
+        if (coord == null) {
+            throw new IllegalArgumentException("Given position must be a valid board coordinate"
+                + " for dimension " + dim + " but is: " + pos);
+        }
+        return (coord.getRow() * dim + coord.getCol()) >>> 1;
+    }
+}
@@ -0,0 +1,117 @@
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of the batch evaluators with a per-position
+ * loop over the players array rules of {@link FoxHoundUtils}.
+ *
+ * All benchmarks compute the same features of the same positions and
+ * report positions per second. See the README for how to build and run it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class FoxHoundEvalBenchmark {
+
+    private static final int POSITIONS = 4096;
+
+    @Param({"8", "16"})
+    private int dim;
+
+    private String[][] positions;
+    private FoxHoundBatch batch;
+    private FoxHoundBatchEvaluator scalar;
+    private FoxHoundBatchEvaluator vector;
+
+    @Setup
+    public void setup() {
+        batch = new FoxHoundBatch(dim, dim / 2, POSITIONS);
+        positions = new String[POSITIONS][];
+
+        // positions of random games
+        Random random = new Random(1);
+        int[] moves = new int[FoxHoundMoveGen.MAX_MOVES];
+        FoxHoundBitboard board = FoxHoundBitboard.fromCoords(FoxHoundUtils.initialiseCoords(dim), dim);
+        char turn = FoxHoundUtils.FOX_FIELD;
+        for (int i = 0; i < POSITIONS; i++) {
+            int count = FoxHoundMoveGen.generateMoves(board, turn, moves);
+            if (count == 0 || board.isFoxWin()) {
+                board = FoxHoundBitboard.fromCoords(FoxHoundUtils.initialiseCoords(dim), dim);
+                turn = FoxHoundUtils.FOX_FIELD;
+                count = FoxHoundMoveGen.generateMoves(board, turn, moves);
+            }
+            int move = moves[random.nextInt(count)];
+            board.movePiece(FoxHoundMoveGen.getOrigin(move), FoxHoundMoveGen.getDest(move));
+            turn = turn == FoxHoundUtils.FOX_FIELD ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+            batch.add(board);
+            positions[i] = board.toPlayers();
+        }
+
+        scalar = FoxHoundBatchEvaluator.scalar();
+        vector = FoxHoundBatchEvaluator.create();
+        if (!vector.isVectorised()) {
+            throw new IllegalStateException("SIMD kernel not found, compile the vector directory.");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int utilsLoop() {
+        int sum = 0;
+        for (String[] players : positions) {
+            String fox = players[players.length - 1];
+            int minRow = dim;
+            int maxRow = -1;
+            int houndMoves = 0;
+            for (int h = 0; h < players.length - 1; h++) {
+                houndMoves += countMoves(players, FoxHoundUtils.HOUND_FIELD, players[h]);
+                int row = FoxHoundCoord.parse(players[h]).getRow();
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+            }
+            sum += FoxHoundCoord.parse(fox).getRow() - FoxHoundUtils.FOX_WIN_ROW
+                + countMoves(players, FoxHoundUtils.FOX_FIELD, fox) + houndMoves + maxRow - minRow;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int scalarBatch() {
+        scalar.evaluate(batch);
+        return batch.getHoundMobility(POSITIONS - 1);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int vectorBatch() {
+        vector.evaluate(batch);
+        return batch.getHoundMobility(POSITIONS - 1);
+    }
+
+    private int countMoves(String[] players, char figure, String origin) {
+        int count = 0;
+        for (String corner : FoxHoundUtils.getCornerFields(origin, dim)) {
+            if (corner != null && FoxHoundUtils.isValidMove(dim, players, figure, origin, corner)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
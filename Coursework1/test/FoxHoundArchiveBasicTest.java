@@ -0,0 +1,135 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FoxHoundArchiveBasicTest {
+
+    private static final long GAMES = 10_000;
+
+    private Path dir;
+
+    /**
+     * Sums up position hashes, which does not depend on the order of positions.
+     */
+    private static final class HashSum implements FoxHoundArchive.PositionVisitor {
+
+        private long positions;
+        private long hashSum;
+
+        @Override
+        public void visit(long game, int ply, FoxHoundBitboard board, char turn, char winner) {
+            positions++;
+            hashSum += board.getHash() ^ FoxHoundZobrist.sideKey(turn);
+        }
+
+        private HashSum merge(HashSum other) {
+            positions += other.positions;
+            hashSum += other.hashSum;
+            return this;
+        }
+    }
+
+    @Before
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("foxHoundArchive");
+        AtomicLong seeds = new AtomicLong(11);
+        FoxHoundTournament tournament = new FoxHoundTournament(FoxHoundUtils.DEFAULT_DIM,
+            () -> new FoxHoundRandomStrategy(seeds.getAndIncrement()),
+            () -> new FoxHoundGreedyStrategy(seeds.getAndIncrement()));
+
+        // a small segment size spreads the games over several segments
+        try (FoxHoundJournal journal = new FoxHoundJournal(dir, 64 << 10,
+                FoxHoundJournal.DEFAULT_BATCH_SIZE, FoxHoundJournal.SyncPolicy.NONE)) {
+            tournament.setJournal(journal);
+            tournament.run(GAMES);
+        }
+    }
+
+    // ------------------------- scanning --------------------
+
+    @Test
+    public void testParallelScanMatchesSequentialScan() throws IOException {
+        FoxHoundArchive archive = FoxHoundArchive.open(dir);
+        assertEquals("Number of games not as expected.", GAMES, archive.getGameCount());
+
+        HashSum sequential = new HashSum();
+        archive.forEachPosition(0, archive.getGameCount(), sequential);
+        HashSum parallel = archive.parallelForEachPosition(HashSum::new, HashSum::merge);
+
+        long positions = 0;
+        try (FoxHoundJournal journal = FoxHoundJournal.open(dir)) {
+            for (long game = 0; game < GAMES; game++) {
+                positions += journal.getMoveCount(game) + 1;
+            }
+        }
+        assertEquals("Every position expected to be visited once.", positions, sequential.positions);
+        assertEquals("Parallel scan expected to visit the same positions.",
+            sequential.positions, parallel.positions);
+        assertEquals("Parallel scan expected to visit the same positions.",
+            sequential.hashSum, parallel.hashSum);
+    }
+
+    @Test
+    public void testScanMatchesJournal() throws IOException {
+        FoxHoundArchive archive = FoxHoundArchive.open(dir);
+        long game = GAMES - 1;
+        FoxHoundBitboard expected = new FoxHoundBitboard(FoxHoundUtils.DEFAULT_DIM);
+
+        try (FoxHoundJournal journal = FoxHoundJournal.open(dir)) {
+            int ply = journal.getMoveCount(game) / 2;
+            char turn = journal.readPosition(game, ply, expected);
+            char winner = journal.getWinner(game);
+
+            archive.forEachPosition(game, game + 1, (g, p, board, t, w) -> {
+                assertEquals("Game number not as expected.", game, g);
+                assertEquals("Winner not as expected.", winner, w);
+                if (p == ply) {
+                    assertEquals("Position not as expected.", expected.getHash(), board.getHash());
+                    assertEquals("Turn not as expected.", turn, t);
+                }
+            });
+        }
+    }
+
+    // ------------------------- corrupt moves --------------------
+
+    private static FoxHoundArchive archiveWithMove(String origin, String dest) throws IOException {
+        Path corrupt = Files.createTempDirectory("foxHoundArchiveCorrupt");
+        FoxHoundBitboard start = FoxHoundBitboard.fromCoords(
+            FoxHoundUtils.initialiseCoords(FoxHoundUtils.DEFAULT_DIM), FoxHoundUtils.DEFAULT_DIM);
+        int move = FoxHoundMoveGen.packMove(start.fromBoardCoords(origin),
+            dest == null ? 255 : start.fromBoardCoords(dest));
+
+        try (FoxHoundJournal journal = new FoxHoundJournal(corrupt, 64 << 10,
+                FoxHoundJournal.DEFAULT_BATCH_SIZE, FoxHoundJournal.SyncPolicy.NONE)) {
+            journal.appendGame(start, FoxHoundUtils.FOX_FIELD, new int[]{move}, 1,
+                FoxHoundUtils.FOX_FIELD);
+        }
+        return FoxHoundArchive.open(corrupt);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testScanRejectsIllegalMove() throws IOException {
+        // the fox is to move, but a hound moves onto the square of another hound
+        FoxHoundArchive archive = archiveWithMove("B1", "D1");
+        archive.forEachPosition(0, 1, (g, p, board, t, w) -> { });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testScanRejectsSquareOutOfRange() throws IOException {
+        FoxHoundArchive archive = archiveWithMove("E8", null);
+        archive.forEachPosition(0, 1, (g, p, board, t, w) -> { });
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testScanOutOfRange() throws IOException {
+        FoxHoundArchive archive = FoxHoundArchive.open(dir);
+        archive.forEachPosition(0, GAMES + 1, (g, p, board, t, w) -> { });
+    }
+}
@@ -0,0 +1,67 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FoxHoundAutosaveBasicTest {
+
+    private Path file;
+
+    @Before
+    public void setup() throws IOException {
+        file = Files.createTempDirectory("foxHoundAutosave").resolve("autosave.fhb");
+    }
+
+    @Test
+    public void testLastStateRecovered() {
+        FoxHoundState state = FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM);
+        try (FoxHoundAutosave autosave = new FoxHoundAutosave(file)) {
+            autosave.submit(state);
+            state = state.move(FoxHoundCoord.parse("E8"), FoxHoundCoord.parse("D7"));
+            autosave.submit(state);
+            state = state.move(FoxHoundCoord.parse("B1"), FoxHoundCoord.parse("A2"));
+            autosave.submit(state);
+        }
+
+        FoxHoundState recovered = FoxHoundAutosave.recover(file);
+        assertNotNull("Autosave expected to be recovered.", recovered);
+        assertEquals("Last submitted state expected to be saved.", state.getHash(), recovered.getHash());
+    }
+
+    @Test
+    public void testClearDeletesAutosave() {
+        try (FoxHoundAutosave autosave = new FoxHoundAutosave(file)) {
+            autosave.submit(FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM));
+            autosave.clear();
+        }
+
+        assertFalse("Autosave file expected to be deleted.", Files.exists(file));
+        assertNull("Nothing expected to be recovered.", FoxHoundAutosave.recover(file));
+    }
+
+    @Test
+    public void testSubmitBeforeCloseNeverDropped() {
+        FoxHoundState initial = FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM);
+        FoxHoundState moved = initial.move(FoxHoundCoord.parse("E8"), FoxHoundCoord.parse("D7"));
+
+        for (int i = 0; i < 50; i++) {
+            FoxHoundState state = i % 2 == 0 ? initial : moved;
+            try (FoxHoundAutosave autosave = new FoxHoundAutosave(file)) {
+                autosave.submit(state);
+            }
+            FoxHoundState recovered = FoxHoundAutosave.recover(file);
+            assertNotNull("Autosave expected to be recovered in round " + i + ".", recovered);
+            assertEquals("Last submitted state expected to be saved in round " + i + ".",
+                state.getHash(), recovered.getHash());
+
+            try (FoxHoundAutosave autosave = new FoxHoundAutosave(file)) {
+                autosave.clear();
+            }
+            assertFalse("Autosave file expected to be deleted in round " + i + ".", Files.exists(file));
+        }
+    }
+}
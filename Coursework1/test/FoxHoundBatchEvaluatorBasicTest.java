@@ -0,0 +1,102 @@
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class FoxHoundBatchEvaluatorBasicTest {
+
+    /**
+     * Fill a batch with positions of random games and return them as players arrays.
+     */
+    private static String[][] randomPositions(FoxHoundBatch batch, long seed) {
+        int dim = batch.getDimension();
+        Random random = new Random(seed);
+        int[] moves = new int[FoxHoundMoveGen.MAX_MOVES];
+        String[][] positions = new String[batch.getCapacity()][];
+
+        FoxHoundBitboard board = FoxHoundBitboard.fromCoords(FoxHoundUtils.initialiseCoords(dim), dim);
+        char turn = FoxHoundUtils.FOX_FIELD;
+        for (int i = 0; i < positions.length; i++) {
+            int count = FoxHoundMoveGen.generateMoves(board, turn, moves);
+            if (count == 0 || board.isFoxWin()) {
+                board = FoxHoundBitboard.fromCoords(FoxHoundUtils.initialiseCoords(dim), dim);
+                turn = FoxHoundUtils.FOX_FIELD;
+                count = FoxHoundMoveGen.generateMoves(board, turn, moves);
+            }
+            int move = moves[random.nextInt(count)];
+            board.movePiece(FoxHoundMoveGen.getOrigin(move), FoxHoundMoveGen.getDest(move));
+            turn = turn == FoxHoundUtils.FOX_FIELD ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+
+            batch.add(board);
+            positions[i] = board.toPlayers();
+        }
+        return positions;
+    }
+
+    /**
+     * Count the legal moves of a figure one field at a time with the players array rules.
+     */
+    private static int countMoves(String[] players, int dim, char figure, String origin) {
+        int count = 0;
+        for (String corner : FoxHoundUtils.getCornerFields(origin, dim)) {
+            if (corner != null && FoxHoundUtils.isValidMove(dim, players, figure, origin, corner)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void assertMatchesUtils(FoxHoundBatch batch, String[][] positions) {
+        int dim = batch.getDimension();
+        for (int i = 0; i < positions.length; i++) {
+            String[] players = positions[i];
+            String fox = players[players.length - 1];
+            int houndMoves = 0;
+            int minRow = dim;
+            int maxRow = -1;
+            for (int h = 0; h < players.length - 1; h++) {
+                houndMoves += countMoves(players, dim, FoxHoundUtils.HOUND_FIELD, players[h]);
+                int row = FoxHoundCoord.parse(players[h]).getRow();
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+            }
+
+            assertEquals("Fox distance of position " + i + " not as expected.",
+                FoxHoundCoord.parse(fox).getRow(), batch.getFoxDistance(i));
+            assertEquals("Fox mobility of position " + i + " not as expected.",
+                countMoves(players, dim, FoxHoundUtils.FOX_FIELD, fox), batch.getFoxMobility(i));
+            assertEquals("Hound mobility of position " + i + " not as expected.",
+                houndMoves, batch.getHoundMobility(i));
+            assertEquals("Hound gap of position " + i + " not as expected.",
+                maxRow - minRow, batch.getHoundGap(i));
+        }
+    }
+
+    // ------------------------- evaluate --------------------
+
+    @Test
+    public void testScalarMatchesUtils() {
+        FoxHoundBatch batch = new FoxHoundBatch(FoxHoundUtils.DEFAULT_DIM, 4, 500);
+        String[][] positions = randomPositions(batch, 1);
+
+        FoxHoundBatchEvaluator.scalar().evaluate(batch);
+        assertMatchesUtils(batch, positions);
+    }
+
+    @Test
+    public void testBestKernelMatchesUtils() {
+        // an odd size leaves positions for the scalar tail of the SIMD kernel
+        FoxHoundBatch batch = new FoxHoundBatch(11, 5, 333);
+        String[][] positions = randomPositions(batch, 2);
+
+        FoxHoundBatchEvaluator.create().evaluate(batch);
+        assertMatchesUtils(batch, positions);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddOtherDimension() {
+        FoxHoundBatch batch = new FoxHoundBatch(FoxHoundUtils.DEFAULT_DIM, 4, 10);
+        batch.add(FoxHoundBitboard.fromCoords(FoxHoundUtils.initialiseCoords(10), 10));
+    }
+}
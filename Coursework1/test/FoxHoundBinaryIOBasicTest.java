@@ -0,0 +1,109 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FoxHoundBinaryIOBasicTest {
+
+    private FoxHoundBinaryIO io;
+
+    @Before
+    public void setup() {
+        io = new FoxHoundBinaryIO();
+    }
+
+    private Path getTmpPath() {
+        try {
+            File tmpFile = File.createTempFile("foxHoundGameSave", FoxHoundBinaryIO.FILE_EXTENSION);
+            Path tmpPath = tmpFile.toPath();
+            // remove it again, as saving requires a new file
+            tmpFile.delete();
+            return tmpPath;
+        } catch(IOException e) {
+            throw new UncheckedIOException("Saving file test failed.", e);
+        }
+    }
+
+    // ------------------------- records --------------------
+
+    @Test
+    public void testRecordRoundTripAllDimensions() {
+        ByteBuffer buffer = ByteBuffer.allocate(FoxHoundBinaryIO.recordSize(FoxHoundUtils.MAX_DIM));
+
+        for (int dim = FoxHoundUtils.MIN_DIM; dim <= FoxHoundUtils.MAX_DIM; dim++) {
+            FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(FoxHoundUtils.initialisePositions(dim), dim);
+            buffer.clear();
+            io.writeRecord(board, FoxHoundUtils.HOUND_FIELD, buffer);
+            assertEquals("Record size not as expected for dimension " + dim + ".",
+                FoxHoundBinaryIO.recordSize(dim), buffer.position());
+
+            buffer.flip();
+            FoxHoundBitboard loaded = new FoxHoundBitboard(dim);
+            char turn = io.readRecord(buffer, loaded);
+            assertEquals("Loaded turn not as expected.", FoxHoundUtils.HOUND_FIELD, turn);
+            assertEquals("Loaded position not as expected for dimension " + dim + ".",
+                board.getHash(), loaded.getHash());
+            assertFalse("Whole record expected to be read.", buffer.hasRemaining());
+        }
+    }
+
+    @Test
+    public void testRecordSizeUsesTwoBytesForLargeBoards() {
+        assertEquals("Small boards expected to use one byte per square.", 1 + 5 + 4,
+            FoxHoundBinaryIO.recordSize(FoxHoundUtils.DEFAULT_DIM));
+        assertEquals("Large boards expected to use two bytes per square.", 1 + 14 * 2 + 4,
+            FoxHoundBinaryIO.recordSize(FoxHoundUtils.MAX_DIM));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadRecordCorrupted() {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        ByteBuffer buffer = ByteBuffer.allocate(FoxHoundBinaryIO.recordSize(dim));
+        io.writeRecord(FoxHoundBitboard.fromPlayers(FoxHoundUtils.initialisePositions(dim), dim),
+            FoxHoundUtils.FOX_FIELD, buffer);
+        buffer.put(2, (byte) (buffer.get(2) + 1));
+
+        buffer.flip();
+        io.readRecord(buffer, new FoxHoundBitboard(dim));
+    }
+
+    // ------------------------- files --------------------
+
+    @Test
+    public void testSaveLoadState() {
+        int dim = 10;
+        FoxHoundState state = FoxHoundState.initial(dim)
+            .move(FoxHoundCoord.parse("E10"), FoxHoundCoord.parse("D9"));
+        Path saveFile = getTmpPath();
+
+        assertTrue("Save expected to be successful.", FoxHoundIO.saveState(state, saveFile));
+        FoxHoundState loaded = FoxHoundIO.loadState(saveFile);
+
+        assertNotNull("Load expected to be successful.", loaded);
+        assertEquals("Loaded dimension not as expected.", dim, loaded.getDimension());
+        assertEquals("Loaded state not as expected.", state.getHash(), loaded.getHash());
+        assertFalse("Existing file not expected to be overwritten.", io.save(state, saveFile));
+    }
+
+    @Test
+    public void testLoadCorruptedFile() throws IOException {
+        Path saveFile = getTmpPath();
+        assertTrue("Save expected to be successful.",
+            io.save(FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM), saveFile));
+
+        byte[] content = Files.readAllBytes(saveFile);
+        content[content.length - 1] ^= 1;
+        Files.write(saveFile, content);
+        assertNull("Corrupted file not expected to be loaded.", io.load(saveFile));
+
+        Files.write(saveFile, new byte[]{'F', ' ', 'B', '1'});
+        assertNull("Text file not expected to be loaded.", io.load(saveFile));
+    }
+}
@@ -0,0 +1,184 @@
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FoxHoundBitboardBasicTest {
+
+    private String[] defaultPlayers;
+
+    @Before
+    public void setup() {
+        defaultPlayers = new String[]{"B1","D1","F1","H1","E8"};
+    }
+
+    private int square(FoxHoundBitboard board, String bCoord) {
+        return board.getSquare(FoxHoundUtils.getRowCoord(bCoord), FoxHoundUtils.getColCoord(bCoord));
+    }
+
+    // ------------------------- conversion --------------------
+
+    @Test
+    public void testFromPlayersRoundTrip() {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(defaultPlayers, dim);
+
+        assertEquals("Number of hounds not as expected.", 4, board.getHoundCount());
+        assertArrayEquals("Converted players array not as expected.", defaultPlayers, board.toPlayers());
+    }
+
+    @Test
+    public void testToPlayersSortsHounds() {
+        String[] players = {"F1","B1","H1","D1","E8"};
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM);
+
+        assertArrayEquals("Hounds expected in ascending square order.", defaultPlayers, board.toPlayers());
+    }
+
+    @Test
+    public void testFromPlayersLargestBoard() {
+        int dim = FoxHoundUtils.MAX_DIM;
+        String[] players = FoxHoundUtils.initialisePositions(dim);
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, dim);
+
+        assertEquals("Square count not as expected.", dim * dim / 2, board.getSquareCount());
+        assertArrayEquals("Converted players array not as expected.", players, board.toPlayers());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromPlayersUnplayableField() {
+        String[] players = {"A1","D1","F1","H1","E8"};
+        FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromPlayersDuplicateField() {
+        String[] players = {"B1","B1","F1","H1","E8"};
+        FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testFromPlayersNull() {
+        FoxHoundBitboard.fromPlayers(null, FoxHoundUtils.DEFAULT_DIM);
+    }
+
+    // ------------------------- rules --------------------
+
+    @Test
+    public void testIsValidMoveMatchesUtils() {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        String[][] positions = {
+            defaultPlayers,
+            {"C4","E4","C6","E6","D5"},
+            {"B3","D3","F1","H3","A2"},
+            {"B1","D1","F1","H1","C2"}
+        };
+
+        for (String[] players : positions) {
+            FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, dim);
+            for (int origin = 0; origin < board.getSquareCount(); origin++) {
+                for (int dest = 0; dest < board.getSquareCount(); dest++) {
+                    String from = board.toBoardCoords(origin);
+                    String to = board.toBoardCoords(dest);
+                    for (char figure : new char[]{FoxHoundUtils.FOX_FIELD, FoxHoundUtils.HOUND_FIELD}) {
+                        boolean expected = FoxHoundUtils.isValidMove(dim, players, figure, from, to);
+                        assertEquals("Move validation differs for " + figure + " " + from + " " + to,
+                            expected, board.isValidMove(figure, origin, dest));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIsHoundWin() {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        String[] players = {"C4","E4","C6","E6","D5"};
+
+        assertTrue("Hounds are expected to win in given positions.",
+            FoxHoundBitboard.fromPlayers(players, dim).isHoundWin());
+        assertFalse("Hounds are not expected to win in given positions.",
+            FoxHoundBitboard.fromPlayers(defaultPlayers, dim).isHoundWin());
+
+        players = new String[]{"B1","D1","F1","G2","H1"};
+        assertTrue("Fox in a corner is expected to be trapped.",
+            FoxHoundBitboard.fromPlayers(players, dim).isHoundWin());
+    }
+
+    @Test
+    public void testMovePiece() {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(defaultPlayers, dim);
+
+        board.movePiece(square(board, "E8"), square(board, "D7"));
+        board.movePiece(square(board, "D1"), square(board, "E2"));
+
+        String[] expected = {"B1","F1","H1","E2","D7"};
+        assertArrayEquals("Positions after moves not as expected.", expected, board.toPlayers());
+        assertFalse("Fox is not expected to win.", board.isFoxWin());
+    }
+
+    @Test
+    public void testFoxFreeCornersFollowMoves() {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(defaultPlayers, dim);
+        String[][] moves = {{"E8","D7"},{"D1","E2"},{"D7","E6"},{"E2","F3"},{"E6","D5"},
+            {"F3","E4"},{"D5","C4"},{"B1","C2"},{"C4","D3"},{"C2","B3"}};
+
+        for (String[] move : moves) {
+            board.movePiece(square(board, move[0]), square(board, move[1]));
+
+            FoxHoundBitboard fresh = FoxHoundBitboard.fromPlayers(board.toPlayers(), dim);
+            assertEquals("Free corners after " + move[0] + " " + move[1] + " not as expected.",
+                fresh.getFoxFreeCorners(), board.getFoxFreeCorners());
+        }
+        assertEquals("Fox on D3 is expected to have three free corners.", 3, board.getFoxFreeCorners());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMovePieceEmptyOrigin() {
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(defaultPlayers, FoxHoundUtils.DEFAULT_DIM);
+        board.movePiece(square(board, "C4"), square(board, "B3"));
+    }
+
+    // ------------------------- symmetry --------------------
+
+    @Test
+    public void testMirrorHashMatchesMirroredBoard() {
+        int dim = 9;
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(
+            new String[]{"B1","D1","H1","A4","D9"}, dim);
+        FoxHoundBitboard mirror = FoxHoundBitboard.fromPlayers(
+            new String[]{"H1","F1","B1","I4","F9"}, dim);
+
+        assertEquals("Mirror hash expected to be the hash of the mirrored board.",
+            mirror.getHash(), board.getMirrorHash());
+        assertEquals("Mirrored boards expected to share their canonical hash.",
+            mirror.getCanonicalHash(), board.getCanonicalHash());
+        assertNotEquals("Exactly one of the boards expected to be mirrored.",
+            board.isMirrored(), mirror.isMirrored());
+
+        int move = FoxHoundMoveGen.packMove(square(board, "D9"), square(board, "C8"));
+        int mirrorMove = FoxHoundMoveGen.packMove(square(mirror, "F9"), square(mirror, "G8"));
+        FoxHoundBitboard canonical = board.isMirrored() ? mirror : board;
+        assertEquals("Moves expected to be translated into the canonical position.",
+            canonical == board ? move : mirrorMove, board.toCanonicalMove(move));
+        assertEquals("Moves expected to be translated into the canonical position.",
+            canonical == board ? move : mirrorMove, mirror.toCanonicalMove(mirrorMove));
+
+        board.movePiece(square(board, "D9"), square(board, "C8"));
+        mirror.movePiece(square(mirror, "F9"), square(mirror, "G8"));
+        assertEquals("Mirror hash expected to follow moves.",
+            mirror.getHash(), board.getMirrorHash());
+    }
+
+    @Test
+    public void testNoMirrorOnEvenBoards() {
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(defaultPlayers, FoxHoundUtils.DEFAULT_DIM);
+
+        assertFalse("Even boards expected to have no mirror symmetry.",
+            FoxHoundBitboard.hasMirrorSymmetry(FoxHoundUtils.DEFAULT_DIM));
+        assertEquals("Mirror hash expected to equal the hash.", board.getHash(), board.getMirrorHash());
+        assertFalse("Even boards expected never to be mirrored.", board.isMirrored());
+    }
+}
@@ -0,0 +1,76 @@
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FoxHoundComputerPlayerBasicTest {
+
+    private FoxHoundComputerPlayer computer;
+    private FoxHoundBitboard board;
+
+    @Before
+    public void setup() {
+        computer = new FoxHoundComputerPlayer(FoxHoundUtils.HOUND_FIELD, new FoxHoundSearch(), 100);
+        board = FoxHoundBitboard.fromPlayers(new String[]{"B1","D1","F1","H1","C6"},
+            FoxHoundUtils.DEFAULT_DIM);
+    }
+
+    @After
+    public void teardown() {
+        computer.close();
+    }
+
+    private static void play(FoxHoundBitboard board, FoxHoundCoord[] move) {
+        board.movePiece(board.fromCoord(move[0]), board.fromCoord(move[1]));
+    }
+
+    // ------------------------- pondering --------------------
+
+    @Test
+    public void testPonderHit() throws InterruptedException {
+        play(board, computer.chooseMove(board));
+        assertTrue("Computer expected to ponder.", computer.startPondering(board));
+
+        int reply = computer.getPonderMove();
+        assertTrue("Predicted reply expected to be legal.", board.isValidMove(FoxHoundUtils.FOX_FIELD,
+            FoxHoundMoveGen.getOrigin(reply), FoxHoundMoveGen.getDest(reply)));
+        Thread.sleep(150);
+
+        board.movePiece(FoxHoundMoveGen.getOrigin(reply), FoxHoundMoveGen.getDest(reply));
+        FoxHoundCoord[] move = computer.chooseMove(board);
+
+        assertNotNull("Computer expected to move.", move);
+        assertTrue("Background search expected to be used: " + computer.getSearchReport(),
+            computer.getSearchReport().startsWith("ponder hit"));
+        assertEquals("Pondering expected to end.", FoxHoundMoveGen.NO_MOVE, computer.getPonderMove());
+    }
+
+    @Test
+    public void testPonderMiss() {
+        play(board, computer.chooseMove(board));
+        assertTrue("Computer expected to ponder.", computer.startPondering(board));
+
+        int[] moves = new int[FoxHoundMoveGen.MAX_MOVES];
+        int count = FoxHoundMoveGen.generateFoxMoves(board, moves);
+        int other = moves[0] == computer.getPonderMove() ? moves[count - 1] : moves[0];
+        board.movePiece(FoxHoundMoveGen.getOrigin(other), FoxHoundMoveGen.getDest(other));
+        FoxHoundCoord[] move = computer.chooseMove(board);
+
+        assertNotNull("Computer expected to move.", move);
+        assertTrue("Move expected to be legal.", board.isValidMove(FoxHoundUtils.HOUND_FIELD,
+            board.fromCoord(move[0]), board.fromCoord(move[1])));
+        assertFalse("Background search not expected to be used.",
+            computer.getSearchReport().startsWith("ponder hit"));
+    }
+
+    @Test
+    public void testStopPondering() {
+        computer.stopPondering();
+        play(board, computer.chooseMove(board));
+        computer.startPondering(board);
+        computer.stopPondering();
+
+        assertEquals("Pondering expected to end.", FoxHoundMoveGen.NO_MOVE, computer.getPonderMove());
+    }
+}
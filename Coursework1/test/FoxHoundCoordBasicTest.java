@@ -0,0 +1,72 @@
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class FoxHoundCoordBasicTest {
+
+    // ------------------------- of --------------------
+
+    @Test
+    public void testOfIsShared() {
+        FoxHoundCoord coord = FoxHoundCoord.of(0, 1);
+
+        assertSame("Coordinates are expected to be shared.", coord, FoxHoundCoord.of(0, 1));
+        assertSame("Board coordinates are expected to be shared.",
+            coord.toString(), FoxHoundCoord.of(0, 1).toString());
+        assertEquals("Board coordinates not as expected.", "B1", coord.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfOutOfBounds() {
+        FoxHoundCoord.of(FoxHoundUtils.MAX_DIM, 0);
+    }
+
+    // ------------------------- parse --------------------
+
+    @Test
+    public void testParseValid() {
+        assertSame("Parsed coordinate not as expected.", FoxHoundCoord.of(7, 4),
+            FoxHoundCoord.parse("E8"));
+        assertSame("Leading zeros are expected to be accepted.", FoxHoundCoord.of(7, 4),
+            FoxHoundCoord.parse("E008"));
+        assertSame("Last field of the largest board not as expected.",
+            FoxHoundCoord.of(FoxHoundUtils.MAX_DIM - 1, FoxHoundUtils.MAX_DIM - 1),
+            FoxHoundCoord.parse("Z26"));
+        assertSame("Part of a line not parsed as expected.", FoxHoundCoord.of(1, 2),
+            FoxHoundCoord.parse("F E8 C2", 5, 7, FoxHoundUtils.DEFAULT_DIM));
+    }
+
+    @Test
+    public void testParseInvalid() {
+        String[] invalid = {"", "E", "8E", "e8", "E0", "E-1", "E+1", "E 8", "E8 ", "A27", "[1",
+            "A99999999999"};
+        for (String pos : invalid) {
+            assertNull("Position expected to be invalid: " + pos, FoxHoundCoord.parse(pos));
+        }
+        assertNull("Position expected to be outside of the board.",
+            FoxHoundCoord.parse("I1", FoxHoundUtils.DEFAULT_DIM));
+        assertNull("Position expected to be outside of the board.",
+            FoxHoundCoord.parse("A9", FoxHoundUtils.DEFAULT_DIM));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testParseNull() {
+        FoxHoundCoord.parse(null);
+    }
+
+    // ------------------------- getNeighbour --------------------
+
+    @Test
+    public void testGetNeighbour() {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        FoxHoundCoord coord = FoxHoundCoord.parse("A8");
+
+        assertNull("Top left neighbour expected to be outside.",
+            coord.getNeighbour(FoxHoundBitboard.TOP_LEFT, dim));
+        assertNull("Bottom right neighbour expected to be outside.",
+            coord.getNeighbour(FoxHoundBitboard.BOTTOM_RIGHT, dim));
+        assertSame("Top right neighbour not as expected.", FoxHoundCoord.parse("B7"),
+            coord.getNeighbour(FoxHoundBitboard.TOP_RIGHT, dim));
+        assertTrue("Field expected to be playable.", coord.isPlayable());
+    }
+}
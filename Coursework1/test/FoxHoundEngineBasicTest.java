@@ -0,0 +1,103 @@
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FoxHoundEngineBasicTest {
+
+    private FoxHoundEngine engine;
+
+    @Before
+    public void setup() {
+        engine = new FoxHoundEngine(new FoxHoundSearch(new FoxHoundTranspositionTable(1,
+            FoxHoundTranspositionTable.ReplacementPolicy.DEPTH_PREFERRED)));
+    }
+
+    private String execute(String command) {
+        StringBuilder out = new StringBuilder();
+        assertTrue("Engine not expected to quit.", engine.execute(command, out));
+        return out.toString();
+    }
+
+    // ------------------------- execute --------------------
+
+    @Test
+    public void testPositionAndMoves() {
+        assertEquals("ok\n", execute("position startpos moves E8D7 B1C2"));
+        assertEquals("moves D7C6 D7C8 D7E8 D7E6\n", execute("moves"));
+        assertEquals("ok\n", execute("move D7C6"));
+        assertEquals("ok\n", execute("undo"));
+        assertEquals("Fox expected to move.", FoxHoundUtils.FOX_FIELD, engine.getState().getTurn());
+        assertEquals("result none\n", execute("result"));
+    }
+
+    @Test
+    public void testStatesKeptByFrontEnd() {
+        execute("position startpos moves E8D7");
+        FoxHoundState mainLine = engine.getState();
+        execute("undo");
+        execute("move E8F7");
+        FoxHoundState variation = engine.getState();
+
+        assertEquals("Fox of the kept state not expected to move.", "D7",
+            mainLine.getPlayer(mainLine.getPlayerCount() - 1).toString());
+        assertEquals("Fox of the variation not as expected.", "F7",
+            variation.getPlayer(variation.getPlayerCount() - 1).toString());
+        assertSame("Both lines expected to share their start.",
+            mainLine.getHistory().getParent(), variation.getHistory().getParent());
+    }
+
+    @Test
+    public void testExplicitPosition() {
+        assertEquals("ok\n", execute("position 8 F C4 E4 C6 E6 D5"));
+        assertEquals("result H\n", execute("result"));
+        assertEquals("moves\n", execute("moves"));
+        assertEquals("bestmove none\n", execute("go depth 3"));
+    }
+
+    @Test
+    public void testErrorsKeepPosition() {
+        execute("position startpos");
+        String before = engine.getState().toString();
+
+        assertTrue(execute("move E8E7").startsWith("error illegal move"));
+        assertTrue(execute("position startpos moves E8D7 E8D7").startsWith("error"));
+        assertTrue(execute("position 8 X B1 D1 F1 H1 E8").startsWith("error"));
+        assertTrue(execute("jump").startsWith("error unknown command"));
+        assertEquals("", execute("   "));
+        assertEquals("Position not expected to change.", before, engine.getState().toString());
+    }
+
+    @Test
+    public void testGo() {
+        execute("position startpos 10");
+        String[] lines = execute("go depth 4").split("\n");
+
+        assertEquals("Two answer lines expected.", 2, lines.length);
+        assertTrue("Search info expected.", lines[0].startsWith("info depth 4 "));
+        assertTrue("Best move expected.", lines[1].startsWith("bestmove E10"));
+    }
+
+    // ------------------------- run --------------------
+
+    @Test
+    public void testRunManyCommands() throws IOException {
+        StringBuilder commands = new StringBuilder();
+        int games = 2000;
+        for (int i = 0; i < games; i++) {
+            commands.append("position startpos moves E8D7 B1C2\nmoves\n");
+        }
+        commands.append("quit\nisready\n");
+
+        StringWriter out = new StringWriter();
+        engine.run(new StringReader(commands.toString()), out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals("Every command before quit expected to be answered.", 2 * games, lines.length);
+        assertEquals("moves D7C6 D7C8 D7E8 D7E6", lines[lines.length - 1]);
+    }
+}
@@ -0,0 +1,95 @@
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class FoxHoundHistoryBasicTest {
+
+    private static FoxHoundState move(FoxHoundState state, String origin, String dest) {
+        return state.move(FoxHoundCoord.parse(origin), FoxHoundCoord.parse(dest));
+    }
+
+    // ------------------------- undo / redo --------------------
+
+    @Test
+    public void testUndoRedo() {
+        FoxHoundState initial = FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM);
+        assertNull("Nothing expected to undo.", initial.undo());
+
+        FoxHoundState played = move(move(initial, "E8", "D7"), "B1", "A2");
+
+        FoxHoundState state = played.undo().undo();
+        assertNotNull("Undo expected to succeed.", state);
+        assertFalse("Nothing expected to undo.", state.canUndo());
+        assertEquals("Initial state expected after undo.", initial.toString(), state.toString());
+        assertEquals("Initial hash expected after undo.", initial.getHash(), state.getHash());
+
+        state = state.redo().redo();
+        assertNotNull("Redo expected to succeed.", state);
+        assertNull("Nothing expected to redo.", state.redo());
+        assertEquals("State expected to be restored by redo.", played.toString(), state.toString());
+        assertEquals("Hash expected to be restored by redo.", played.getHash(), state.getHash());
+        assertEquals("Number of moves not as expected.", 2, state.getHistory().getPly());
+    }
+
+    @Test
+    public void testMoveDiscardsRedo() {
+        FoxHoundState first = move(FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM), "E8", "D7");
+
+        FoxHoundState state = move(first.undo(), "E8", "F7");
+        assertFalse("Redo expected to be discarded by a move.", state.canRedo());
+        assertNotSame("New move expected to branch off.", first.getHistory(), state.getHistory());
+        assertSame("Both lines expected to share their start.", first.getHistory().getParent(),
+            state.getHistory().getParent());
+        assertEquals("Branch point not as expected.", 0,
+            first.getHistory().commonAncestor(state.getHistory()).getPly());
+    }
+
+    // ------------------------- variations --------------------
+
+    @Test
+    public void testStatesAreValues() {
+        FoxHoundState initial = FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM);
+        String initialText = initial.toString();
+        FoxHoundState left = move(initial, "E8", "D7");
+        FoxHoundState right = move(initial, "E8", "F7");
+
+        assertEquals("Branched state expected to be unchanged.", initialText, initial.toString());
+        assertEquals("Fox of the first branch not as expected.", "D7",
+            left.getPlayer(left.getPlayerCount() - 1).toString());
+        assertEquals("Fox of the second branch not as expected.", "F7",
+            right.getPlayer(right.getPlayerCount() - 1).toString());
+        assertTrue("Move expected to be valid in the first branch.",
+            left.isValidMove(FoxHoundCoord.parse("B1"), FoxHoundCoord.parse("C2")));
+        assertEquals("Board expected to follow the state used.",
+            left.getHash(), left.getBoard().getHash() ^ FoxHoundZobrist.sideKey(left.getTurn()));
+        assertEquals("Piece index expected to follow the state used.", FoxHoundState.NO_PIECE,
+            initial.getPlayerIdx(FoxHoundCoord.parse("D7")));
+    }
+
+    @Test
+    public void testWalkBetweenVariations() {
+        FoxHoundState start = move(FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM), "E8", "D7");
+        FoxHoundHistory main = move(start, "B1", "C2").getHistory();
+        FoxHoundState state = move(move(start, "D1", "E2"), "D7", "C6");
+        FoxHoundHistory variation = state.getHistory();
+
+        FoxHoundBitboard board = new FoxHoundBitboard(state.getBoard());
+        FoxHoundHistory.walk(board, variation, main);
+        assertEquals("Board expected in the position of the main line.",
+            main.getHash(), board.getHash() ^ FoxHoundZobrist.sideKey(FoxHoundUtils.FOX_FIELD));
+
+        FoxHoundHistory.walk(board, main, variation);
+        assertEquals("Board expected in the position of the variation.",
+            state.getBoard(), board);
+
+        int[] moves = new int[variation.getPly()];
+        assertEquals("Number of moves not as expected.", 3, variation.getMoves(moves));
+        assertEquals("First move expected to be shared.", main.getParent().getLastMove(), moves[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWalkDifferentGames() {
+        FoxHoundBitboard board = new FoxHoundBitboard(FoxHoundUtils.DEFAULT_DIM);
+        FoxHoundHistory.walk(board, FoxHoundHistory.start(1), FoxHoundHistory.start(1));
+    }
+}
@@ -0,0 +1,137 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FoxHoundJournalBasicTest {
+
+    private Path dir;
+
+    @Before
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("foxHoundJournal");
+    }
+
+    private static int move(FoxHoundBitboard board, String origin, String dest) {
+        return board.fromBoardCoords(origin) << 16 | board.fromBoardCoords(dest);
+    }
+
+    // ------------------------- write and read --------------------
+
+    @Test
+    public void testAppendAndSeek() throws IOException {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        FoxHoundBitboard start = FoxHoundBitboard.fromPlayers(FoxHoundUtils.initialisePositions(dim), dim);
+        int[] moves = {move(start, "E8", "D7"), move(start, "B1", "A2"), move(start, "D7", "C6")};
+
+        try (FoxHoundJournal journal = FoxHoundJournal.open(dir)) {
+            assertEquals("First game number not as expected.", 0,
+                journal.appendGame(start, FoxHoundUtils.FOX_FIELD, moves, moves.length,
+                    FoxHoundUtils.HOUND_FIELD));
+
+            journal.beginGame(start, FoxHoundUtils.FOX_FIELD);
+            journal.appendMove(moves[0]);
+            assertEquals("Second game number not as expected.", 1,
+                journal.endGame(FoxHoundUtils.FOX_FIELD));
+
+            assertEquals("Number of games not as expected.", 2, journal.getGameCount());
+            assertEquals("Number of moves not as expected.", 3, journal.getMoveCount(0));
+            assertEquals("Winner not as expected.", FoxHoundUtils.FOX_FIELD, journal.getWinner(1));
+            assertEquals("Move not as expected.", moves[2], journal.getMove(0, 2));
+        }
+
+        try (FoxHoundJournal journal = FoxHoundJournal.open(dir)) {
+            FoxHoundBitboard expected = FoxHoundBitboard.fromPlayers(
+                new String[]{"D1","F1","H1","A2","C6"}, dim);
+            FoxHoundBitboard board = new FoxHoundBitboard(dim);
+
+            char turn = journal.readPosition(0, 3, board);
+            assertEquals("Reopened journal expected to contain all games.", 2, journal.getGameCount());
+            assertEquals("Turn not as expected.", FoxHoundUtils.HOUND_FIELD, turn);
+            assertEquals("Position not as expected.", expected.getHash(), board.getHash());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetMoveOutOfRange() throws IOException {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        FoxHoundBitboard start = FoxHoundBitboard.fromPlayers(FoxHoundUtils.initialisePositions(dim), dim);
+        try (FoxHoundJournal journal = FoxHoundJournal.open(dir)) {
+            journal.appendGame(start, FoxHoundUtils.FOX_FIELD, new int[0], 0, FoxHoundUtils.HOUND_FIELD);
+            journal.getMove(0, 0);
+        }
+    }
+
+    // ------------------------- segments and recovery --------------------
+
+    @Test
+    public void testUnfinishedGameDiscarded() throws IOException {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        FoxHoundBitboard start = FoxHoundBitboard.fromPlayers(FoxHoundUtils.initialisePositions(dim), dim);
+        int move = move(start, "E8", "D7");
+
+        try (FoxHoundJournal journal = new FoxHoundJournal(dir, 16, FoxHoundJournal.DEFAULT_BATCH_SIZE,
+                FoxHoundJournal.SyncPolicy.GAME)) {
+            journal.appendGame(start, FoxHoundUtils.FOX_FIELD, new int[]{move}, 1, FoxHoundUtils.FOX_FIELD);
+            journal.beginGame(start, FoxHoundUtils.FOX_FIELD);
+            journal.appendMove(move);
+            journal.flush();
+        }
+
+        // simulate a partially written index entry
+        try (FileChannel index = FileChannel.open(dir.resolve(FoxHoundJournal.INDEX_FILE),
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            index.write(java.nio.ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        }
+
+        try (FoxHoundJournal journal = new FoxHoundJournal(dir, 16, FoxHoundJournal.DEFAULT_BATCH_SIZE,
+                FoxHoundJournal.SyncPolicy.GAME)) {
+            assertEquals("Only finished games expected in journal.", 1, journal.getGameCount());
+            journal.appendGame(start, FoxHoundUtils.FOX_FIELD, new int[]{move}, 1, FoxHoundUtils.HOUND_FIELD);
+            journal.appendGame(start, FoxHoundUtils.FOX_FIELD, new int[]{move}, 1, FoxHoundUtils.FOX_FIELD);
+
+            assertEquals("Winner of appended game not as expected.",
+                FoxHoundUtils.HOUND_FIELD, journal.getWinner(1));
+            assertEquals("Move of appended game not as expected.", move, journal.getMove(2, 0));
+        }
+        assertTrue("Small segment size expected to start new segments.",
+            Files.exists(dir.resolve(FoxHoundJournal.segmentFileName(1))));
+    }
+
+    @Test
+    public void testTournamentRecordsAllGames() throws IOException {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        long games = 1000;
+        AtomicLong seeds = new AtomicLong(5);
+        FoxHoundTournament tournament = new FoxHoundTournament(dim,
+            () -> new FoxHoundRandomStrategy(seeds.getAndIncrement()),
+            () -> new FoxHoundRandomStrategy(seeds.getAndIncrement()));
+
+        FoxHoundTournament.Result result;
+        long foxWins = 0;
+        try (FoxHoundJournal journal = FoxHoundJournal.open(dir)) {
+            tournament.setJournal(journal);
+            result = tournament.run(games);
+
+            assertEquals("Every game expected in journal.", games, journal.getGameCount());
+            FoxHoundBitboard board = new FoxHoundBitboard(dim);
+            for (long game = 0; game < games; game++) {
+                int moves = journal.getMoveCount(game);
+                journal.readPosition(game, moves, board);
+                boolean foxWin = journal.getWinner(game) == FoxHoundUtils.FOX_FIELD;
+                if (!foxWin) {
+                    assertTrue("Fox expected to be trapped in final position.", board.isHoundWin());
+                }
+                foxWins += foxWin ? 1 : 0;
+            }
+        }
+        assertEquals("Fox wins in journal not as expected.", result.getFoxWins(), foxWins);
+    }
+}
@@ -0,0 +1,106 @@
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class FoxHoundLargeBoardBasicTest {
+
+    // ------------------------- coordinates --------------------
+
+    @Test
+    public void testMultiLetterColumns() {
+        assertEquals("A1", FoxHoundLargeBoard.toBoardCoords(0, 0));
+        assertEquals("Z5", FoxHoundLargeBoard.toBoardCoords(4, 25));
+        assertEquals("AA5", FoxHoundLargeBoard.toBoardCoords(4, 26));
+        assertEquals("ALL1000", FoxHoundLargeBoard.toBoardCoords(999, 999));
+
+        assertEquals((999L << 32) | 999, FoxHoundLargeBoard.parseCoords("all1000", 1000));
+        assertEquals(26L, FoxHoundLargeBoard.parseCoords("AA1", 1000));
+        assertEquals("Column outside of the board not expected to parse.",
+            FoxHoundLargeBoard.NO_COORDS, FoxHoundLargeBoard.parseCoords("ALM1", 1000));
+        assertEquals("Missing row not expected to parse.",
+            FoxHoundLargeBoard.NO_COORDS, FoxHoundLargeBoard.parseCoords("AB", 1000));
+    }
+
+    // ------------------------- rules --------------------
+
+    @Test
+    public void testMatchesBitboard() {
+        int dim = FoxHoundUtils.MAX_DIM;
+        FoxHoundLargeBoard large = new FoxHoundLargeBoard(dim);
+        FoxHoundBitboard board = FoxHoundBitboard.fromCoords(FoxHoundUtils.initialiseCoords(dim), dim);
+        assertEquals("Initial positions expected to match.",
+            Arrays.toString(board.toPlayers()), large.toString());
+
+        int[] moves = new int[2 * large.getPieceCount() + FoxHoundBitboard.NUM_DIRECTIONS];
+        int[] bitMoves = new int[FoxHoundMoveGen.MAX_MOVES];
+        Random random = new Random(3);
+        char turn = FoxHoundUtils.FOX_FIELD;
+        for (int ply = 0; ply < 200 && !large.isFoxWin() && !large.isHoundWin(); ply++) {
+            int count = large.generateMoves(turn, moves);
+            assertEquals("Number of moves not as expected.",
+                FoxHoundMoveGen.generateMoves(board, turn, bitMoves), count);
+            if (count == 0) {
+                break;
+            }
+
+            int move = moves[random.nextInt(count)];
+            int piece = FoxHoundLargeBoard.getMovePiece(move);
+            int origin = board.getSquare(large.getRow(piece), large.getCol(piece));
+            large.applyMove(move);
+            board.movePiece(origin, board.getSquare(large.getRow(piece), large.getCol(piece)));
+            turn = turn == FoxHoundUtils.FOX_FIELD ? FoxHoundUtils.HOUND_FIELD : FoxHoundUtils.FOX_FIELD;
+
+            assertEquals("Fox win expected to match.", board.isFoxWin(), large.isFoxWin());
+            assertEquals("Hound win expected to match.", board.isHoundWin(), large.isHoundWin());
+        }
+    }
+
+    @Test
+    public void testMoveOnLargeBoard() {
+        FoxHoundLargeBoard board = new FoxHoundLargeBoard(1000);
+        assertEquals("Number of figures not as expected.", 501, board.getPieceCount());
+        int fox = board.getFox();
+        int row = board.getRow(fox);
+        int col = board.getCol(fox);
+
+        assertTrue(board.isValidMove(FoxHoundUtils.FOX_FIELD, row, col, row - 1, col + 1));
+        assertFalse("Fox may not jump.",
+            board.isValidMove(FoxHoundUtils.FOX_FIELD, row, col, row - 2, col));
+        assertFalse("Hounds may not move backwards.",
+            board.isValidMove(FoxHoundUtils.HOUND_FIELD, 0, 999, -1, 998));
+
+        board.move(row, col, row - 1, col + 1);
+        assertEquals(FoxHoundLargeBoard.NO_PIECE, board.pieceAt(row, col));
+        assertEquals(fox, board.pieceAt(row - 1, col + 1));
+        assertEquals("Last hound expected on the last column.", fox - 1, board.pieceAt(0, 999));
+    }
+
+    // ------------------------- viewport --------------------
+
+    @Test
+    public void testViewport() {
+        FoxHoundLargeBoard board = new FoxHoundLargeBoard(30);
+        StringBuilder bld = new StringBuilder();
+        FoxHoundUI.appendViewport(bld, board, 2);
+
+        assertEquals("Rows 26-30, columns M-Q of 30 x 30\n\n"
+            + "   MNOPQ\n\n"
+            + "26 ..... 26\n"
+            + "27 ..... 27\n"
+            + "28 ..... 28\n"
+            + "29 ..... 29\n"
+            + "30 ..F.. 30\n", bld.toString());
+
+        bld.setLength(0);
+        FoxHoundUI.appendViewport(bld, new FoxHoundLargeBoard(1000), 1);
+        assertEquals("Rows 998-1000, columns SF-SH of 1000 x 1000\n\n"
+            + "     SSS\n"
+            + "     FGH\n\n"
+            + "0998 ... 0998\n"
+            + "0999 ... 0999\n"
+            + "1000 .F. 1000\n", bld.toString());
+    }
+}
@@ -0,0 +1,82 @@
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class FoxHoundMctsStrategyBasicTest {
+
+    // ------------------------- chooseMove --------------------
+
+    @Test
+    public void testFindsWinningMove() {
+        String[] players = {"B1","A6","C6","E6","C2"};
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, dim);
+        try (FoxHoundMctsStrategy mcts = new FoxHoundMctsStrategy(1, 2000,
+                FoxHoundSearch.NO_TIME_LIMIT, 3)) {
+
+            int move = mcts.chooseMove(board, FoxHoundUtils.FOX_FIELD);
+
+            assertEquals("Fox expected to reach the top row.",
+                "D1", board.toBoardCoords(FoxHoundMoveGen.getDest(move)));
+            assertEquals("Number of playouts not as expected.", 2000, mcts.getPlayouts());
+            assertArrayEquals("Board expected to be unchanged.",
+                players, board.toPlayers());
+        }
+    }
+
+    @Test
+    public void testParallelSearchOnLargeBoard() {
+        int dim = 20;
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(
+            FoxHoundUtils.initialisePositions(dim), dim);
+        try (FoxHoundMctsStrategy mcts = new FoxHoundMctsStrategy(4, 500,
+                FoxHoundSearch.NO_TIME_LIMIT, 5)) {
+
+            int move = mcts.chooseMove(board, FoxHoundUtils.HOUND_FIELD);
+
+            assertTrue("Chosen move expected to be legal.", board.isValidMove(FoxHoundUtils.HOUND_FIELD,
+                FoxHoundMoveGen.getOrigin(move), FoxHoundMoveGen.getDest(move)));
+            assertEquals("Number of playouts not as expected.", 500, mcts.getPlayouts());
+        }
+    }
+
+    @Test
+    public void testNoLegalMove() {
+        String[] players = {"C4","E4","C6","E6","D5"};
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM);
+        try (FoxHoundMctsStrategy mcts = new FoxHoundMctsStrategy(2, 100, 1000, 1)) {
+            assertEquals("No move expected for a trapped fox.", FoxHoundMoveGen.NO_MOVE,
+                mcts.chooseMove(board, FoxHoundUtils.FOX_FIELD));
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testClosedStrategyRejectsSearch() {
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(
+            FoxHoundUtils.initialisePositions(FoxHoundUtils.DEFAULT_DIM), FoxHoundUtils.DEFAULT_DIM);
+        FoxHoundMctsStrategy mcts = new FoxHoundMctsStrategy(2, 100, FoxHoundSearch.NO_TIME_LIMIT, 1);
+        mcts.close();
+
+        mcts.chooseMove(board, FoxHoundUtils.FOX_FIELD);
+    }
+
+    // ------------------------- tournament --------------------
+
+    @Test
+    public void testTournamentStrategy() {
+        AtomicLong seeds = new AtomicLong(1);
+        FoxHoundTournament tournament = new FoxHoundTournament(FoxHoundUtils.DEFAULT_DIM,
+            FoxHoundTournament.parseStrategy("random", seeds),
+            FoxHoundTournament.parseStrategy("mcts:200", seeds));
+
+        FoxHoundTournament.Result result = tournament.run(20);
+
+        assertEquals("Number of games not as expected.", 20, result.getGames());
+        // random hounds win less than one game in ten against a random fox
+        assertTrue("Monte Carlo hounds expected to beat a random fox.",
+            result.getHoundWins() > result.getFoxWins());
+    }
+}
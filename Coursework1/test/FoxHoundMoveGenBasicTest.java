@@ -0,0 +1,95 @@
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FoxHoundMoveGenBasicTest {
+
+    private FoxHoundBitboard defaultBoard;
+    private int[] buffer;
+
+    @Before
+    public void setup() {
+        defaultBoard = FoxHoundBitboard.fromPlayers(
+            new String[]{"B1","D1","F1","H1","E8"}, FoxHoundUtils.DEFAULT_DIM);
+        buffer = new int[FoxHoundMoveGen.MAX_MOVES];
+    }
+
+    private int countValidMoves(FoxHoundBitboard board, char figure) {
+        int count = 0;
+        for (int origin = 0; origin < board.getSquareCount(); origin++) {
+            for (int dest = 0; dest < board.getSquareCount(); dest++) {
+                if (board.isValidMove(figure, origin, dest)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // ------------------------- encoding --------------------
+
+    @Test
+    public void testPackMove() {
+        int move = FoxHoundMoveGen.packMove(337, 12);
+
+        assertEquals("Origin not as expected.", 337, FoxHoundMoveGen.getOrigin(move));
+        assertEquals("Destination not as expected.", 12, FoxHoundMoveGen.getDest(move));
+    }
+
+    // ------------------------- generateMoves --------------------
+
+    @Test
+    public void testGenerateMovesDefaultPosition() {
+        int foxMoves = FoxHoundMoveGen.generateMoves(defaultBoard, FoxHoundUtils.FOX_FIELD, buffer);
+        assertEquals("Number of fox moves not as expected.", 2, foxMoves);
+
+        int houndMoves = FoxHoundMoveGen.generateMoves(defaultBoard, FoxHoundUtils.HOUND_FIELD, buffer);
+        assertEquals("Number of hound moves not as expected.", 7, houndMoves);
+    }
+
+    @Test
+    public void testGeneratedMovesAreValid() {
+        String[][] positions = {
+            {"C4","E4","C6","E6","D5"},
+            {"B3","D3","F1","H3","A2"},
+            {"B1","D1","F1","H1","C2"}
+        };
+
+        for (String[] players : positions) {
+            FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM);
+            for (char figure : new char[]{FoxHoundUtils.FOX_FIELD, FoxHoundUtils.HOUND_FIELD}) {
+                int count = FoxHoundMoveGen.generateMoves(board, figure, buffer);
+
+                assertEquals("Generated moves differ from validated moves.",
+                    countValidMoves(board, figure), count);
+                assertEquals("Counted moves differ from generated moves.",
+                    count, FoxHoundMoveGen.countMoves(board, figure));
+                for (int i = 0; i < count; i++) {
+                    int move = buffer[i];
+                    assertTrue("Generated move expected to be valid.", board.isValidMove(figure,
+                        FoxHoundMoveGen.getOrigin(move), FoxHoundMoveGen.getDest(move)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGenerateMovesTrappedFox() {
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(
+            new String[]{"C4","E4","C6","E6","D5"}, FoxHoundUtils.DEFAULT_DIM);
+
+        assertEquals("Trapped fox is not expected to move.",
+            0, FoxHoundMoveGen.generateFoxMoves(board, buffer));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGenerateMovesBufferTooSmall() {
+        FoxHoundMoveGen.generateMoves(defaultBoard, FoxHoundUtils.FOX_FIELD, new int[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGenerateMovesInvalidFigure() {
+        FoxHoundMoveGen.generateMoves(defaultBoard, 'X', buffer);
+    }
+}
@@ -0,0 +1,84 @@
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class FoxHoundRendererBasicTest {
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    private String takeOutput() {
+        String text = output.toString();
+        output.reset();
+        return text;
+    }
+
+    private static FoxHoundState move(FoxHoundState state, String origin, String dest) {
+        return state.move(FoxHoundCoord.parse(origin), FoxHoundCoord.parse(dest));
+    }
+
+    // ------------------------- plain --------------------
+
+    @Test
+    public void testPlainMatchesDisplayState() {
+        FoxHoundState state = FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM);
+        state = move(state, "E8", "D7");
+
+        PrintStream originalStdOut = System.out;
+        System.setOut(new PrintStream(output));
+        try {
+            FoxHoundUI.displayState(state);
+        } finally {
+            System.setOut(originalStdOut);
+        }
+        String expected = takeOutput();
+
+        FoxHoundRenderer renderer = new FoxHoundRenderer(new PrintStream(output), false);
+        renderer.render(state);
+        assertEquals("Plain output expected to match the board display.", expected, takeOutput());
+        renderer.render(state);
+        assertEquals("Plain mode expected to redraw the whole board.", expected, takeOutput());
+    }
+
+    // ------------------------- ansi --------------------
+
+    @Test
+    public void testAnsiUpdatesMovedFields() {
+        FoxHoundState state = FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM);
+        FoxHoundRenderer renderer = new FoxHoundRenderer(new PrintStream(output), true);
+
+        renderer.render(state);
+        assertEquals("First frame expected to draw all fields.", 64, renderer.getUpdatedFields());
+        takeOutput();
+
+        state = move(state, "E8", "D7");
+        renderer.render(state);
+        assertEquals("Only the moved fields expected to be written.",
+            "\0337\033[10;7H.\033[9;6HF\0338", takeOutput());
+
+        renderer.render(state);
+        assertEquals("Nothing expected to be written for an unchanged state.", "", takeOutput());
+
+        state = state.undo();
+        renderer.render(state);
+        assertEquals("Undo expected to write the moved fields back.",
+            "\0337\033[10;7HF\033[9;6H.\0338", takeOutput());
+    }
+
+    @Test
+    public void testAnsiDiffsUnrelatedStates() {
+        FoxHoundRenderer renderer = new FoxHoundRenderer(new PrintStream(output), true);
+        renderer.render(FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM));
+
+        FoxHoundState other = move(move(FoxHoundState.initial(FoxHoundUtils.DEFAULT_DIM),
+            "E8", "D7"), "B1", "C2");
+        renderer.render(other);
+        assertEquals("Four fields expected to differ.", 4, renderer.getUpdatedFields());
+
+        renderer.render(FoxHoundState.initial(10));
+        assertEquals("Another dimension expected to be drawn from scratch.", 100,
+            renderer.getUpdatedFields());
+    }
+}
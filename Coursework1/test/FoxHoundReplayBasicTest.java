@@ -0,0 +1,68 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class FoxHoundReplayBasicTest {
+
+    private FoxHoundReplay.Result result;
+
+    private String replay(String games) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result = new FoxHoundReplay().replay(
+            new ByteArrayInputStream(games.getBytes(StandardCharsets.US_ASCII)), out);
+        return out.toString(StandardCharsets.US_ASCII.name());
+    }
+
+    // ------------------------- replay --------------------
+
+    @Test
+    public void testLegalGames() throws IOException {
+        String out = replay("E8D7 B1C2 D7E6\n"
+            + "# a comment\n"
+            + "\n"
+            + "4 C4B3 B1C2 B3A2 C2D3 A2B1\n");
+
+        assertEquals("1 none 3 - D1 F1 H1 C2 E6\n"
+            + "4 F 5 - D1 D3 B1\n", out);
+        assertEquals("Number of games not as expected.", 2, result.getGames());
+        assertEquals("Number of moves not as expected.", 8, result.getMoves());
+        assertEquals("Number of fox wins not as expected.", 1, result.getFoxWins());
+    }
+
+    @Test
+    public void testFirstIllegalMove() throws IOException {
+        String out = replay("E8D7,B1C2,D7D5,D5C4\r\n"
+            + "e8d7 H1G3\n"
+            + "E8D7 B1C2 X9Y9\n"
+            + "30 E8D7");
+
+        assertEquals("1 none 2 3:D7D5 D1 F1 H1 C2 D7\n"
+            + "2 none 1 2:H1G3 B1 D1 F1 H1 D7\n"
+            + "3 none 2 3:X9Y9 D1 F1 H1 C2 D7\n"
+            + "4 none 0 1:30 B1 D1 F1 H1 E8\n", out);
+        assertEquals("Number of illegal games not as expected.", 4, result.getIllegalGames());
+    }
+
+    @Test
+    public void testMovesAfterEndOfGame() throws IOException {
+        String out = replay("4 C4B3 B1C2 B3A2 C2D3 A2B1 D3C4\n");
+
+        assertEquals("1 F 5 6:D3C4 D1 D3 B1\n", out);
+        assertEquals("Number of illegal games not as expected.", 1, result.getIllegalGames());
+    }
+
+    @Test
+    public void testBlockedHoundsLose() throws IOException {
+        // the hound on A4 is at the bottom and the one on D1 is blocked by the fox
+        String out = replay("4 C4B3 B1A2 B3C4 A2B3 C4D3 B3A4 D3C2\n");
+
+        assertEquals("1 F 7 - D1 A4 C2\n", out);
+        assertEquals("Number of fox wins not as expected.", 1, result.getFoxWins());
+        assertEquals("Number of illegal games not as expected.", 0, result.getIllegalGames());
+    }
+}
@@ -0,0 +1,71 @@
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FoxHoundSearchBasicTest {
+
+    private static final long MOVE_TIME = 200;
+
+    private FoxHoundSearch search;
+
+    @Before
+    public void setup() {
+        search = new FoxHoundSearch(new FoxHoundTranspositionTable(1,
+            FoxHoundTranspositionTable.ReplacementPolicy.ALWAYS));
+    }
+
+    private String moveToString(FoxHoundBitboard board, int move) {
+        return board.toBoardCoords(FoxHoundMoveGen.getOrigin(move)) + " "
+            + board.toBoardCoords(FoxHoundMoveGen.getDest(move));
+    }
+
+    // ------------------------- search --------------------
+
+    @Test
+    public void testSearchFindsFoxWin() {
+        String[] players = {"B1","F1","G4","H5","E2"};
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM);
+
+        int move = search.search(board, FoxHoundUtils.FOX_FIELD, MOVE_TIME, FoxHoundSearch.MAX_DEPTH);
+
+        assertEquals("Fox is expected to move into the top row.", "E2 D1", moveToString(board, move));
+        assertEquals("Score expected to be a win in one ply.",
+            FoxHoundSearch.WIN_SCORE - 1, search.getBestScore());
+    }
+
+    @Test
+    public void testSearchFindsHoundWin() {
+        String[] players = {"C4","E4","C6","F5","D5"};
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM);
+
+        int move = search.search(board, FoxHoundUtils.HOUND_FIELD, MOVE_TIME, FoxHoundSearch.MAX_DEPTH);
+
+        board.movePiece(FoxHoundMoveGen.getOrigin(move), FoxHoundMoveGen.getDest(move));
+        assertTrue("Hounds are expected to trap the fox: " + board, board.isHoundWin());
+    }
+
+    @Test
+    public void testSearchDoesNotModifyPosition() {
+        String[] players = FoxHoundUtils.initialisePositions(FoxHoundUtils.DEFAULT_DIM);
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM);
+        FoxHoundBitboard copy = new FoxHoundBitboard(board);
+
+        int move = search.search(board, FoxHoundUtils.FOX_FIELD, MOVE_TIME, 6);
+
+        assertEquals("Searched position is not expected to change.", copy, board);
+        assertTrue("Search is expected to return a valid move.", board.isValidMove(
+            FoxHoundUtils.FOX_FIELD, FoxHoundMoveGen.getOrigin(move), FoxHoundMoveGen.getDest(move)));
+        assertTrue("Completed depth not as expected.", search.getCompletedDepth() <= 6);
+    }
+
+    @Test
+    public void testSearchNoLegalMove() {
+        String[] players = {"C4","E4","C6","E6","D5"};
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM);
+
+        int move = search.search(board, FoxHoundUtils.FOX_FIELD, MOVE_TIME, FoxHoundSearch.MAX_DEPTH);
+
+        assertEquals("Trapped fox is not expected to move.", FoxHoundMoveGen.NO_MOVE, move);
+    }
+}
@@ -0,0 +1,102 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FoxHoundServerBasicTest {
+
+    private FoxHoundServer server;
+    private Thread serverThread;
+
+    @Before
+    public void setup() throws IOException {
+        server = new FoxHoundServer(new InetSocketAddress("localhost", 0), 1);
+        serverThread = new Thread(server);
+        serverThread.start();
+    }
+
+    @After
+    public void teardown() throws InterruptedException {
+        server.close();
+        serverThread.join(5000);
+    }
+
+    // ------------------------- sessions --------------------
+
+    @Test
+    public void testSessionsAreIndependent() throws IOException {
+        try (Socket first = new Socket("localhost", server.getPort());
+             Socket second = new Socket("localhost", server.getPort())) {
+            BufferedReader firstIn = reader(first);
+            BufferedReader secondIn = reader(second);
+
+            send(first, "position startpos moves E8D7\nmoves\n");
+            send(second, "position startpos 6\nmove C6D5\nresult\n");
+
+            assertEquals("ok", firstIn.readLine());
+            assertEquals("moves B1A2 B1C2 D1C2 D1E2 F1E2 F1G2 H1G2", firstIn.readLine());
+            assertEquals("ok", secondIn.readLine());
+            assertEquals("ok", secondIn.readLine());
+            assertEquals("result none", secondIn.readLine());
+        }
+    }
+
+    @Test
+    public void testSearchDoesNotReorderAnswers() throws IOException {
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            BufferedReader in = reader(socket);
+            send(socket, "position startpos\ngo depth 3\nisready\n");
+
+            assertEquals("ok", in.readLine());
+            assertTrue("Search info expected first.", in.readLine().startsWith("info depth 3"));
+            assertTrue("Best move expected after the info.", in.readLine().startsWith("bestmove "));
+            assertEquals("readyok", in.readLine());
+        }
+    }
+
+    @Test
+    public void testQuitClosesSession() throws IOException {
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            BufferedReader in = reader(socket);
+            send(socket, "isready\nquit\nisready\n");
+
+            assertEquals("readyok", in.readLine());
+            assertNull("Session expected to be closed.", in.readLine());
+        }
+    }
+
+    // ------------------------- load --------------------
+
+    @Test
+    public void testLoadClient() throws IOException {
+        FoxHoundLoadClient client = new FoxHoundLoadClient(
+            new InetSocketAddress("localhost", server.getPort()), 50, 40, 1);
+
+        FoxHoundLoadClient.Result result = client.run();
+
+        assertEquals("Number of round trips not as expected.", 2000, result.getRoundTrips());
+        assertEquals("No errors expected.", 0, result.getErrors());
+        assertTrue("Latency percentiles expected to be ordered.",
+            result.getLatencyMicros(50) <= result.getLatencyMicros(99));
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(),
+            StandardCharsets.US_ASCII));
+    }
+
+    private static void send(Socket socket, String commands) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(commands.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
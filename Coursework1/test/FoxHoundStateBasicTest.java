@@ -0,0 +1,121 @@
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class FoxHoundStateBasicTest {
+
+    private static FoxHoundCoord coord(String pos) {
+        return FoxHoundCoord.parse(pos);
+    }
+
+    // ------------------------- create --------------------
+
+    @Test
+    public void testInitial() {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        FoxHoundState state = FoxHoundState.initial(dim);
+
+        assertEquals("Fox is expected to move first.", FoxHoundUtils.FOX_FIELD, state.getTurn());
+        assertArrayEquals("Initial positions not as expected.",
+            FoxHoundUtils.initialisePositions(dim), FoxHoundCoord.toStrings(state.getPlayers()));
+        assertEquals("State hash expected to match the hash of the players array.",
+            FoxHoundZobrist.hash(FoxHoundUtils.initialisePositions(dim), FoxHoundUtils.FOX_FIELD, dim),
+            state.getHash());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateDuplicateField() {
+        String[] players = {"B1","B1","F1","H1","E8"};
+        FoxHoundState.fromStrings(players, FoxHoundUtils.DEFAULT_DIM, FoxHoundUtils.FOX_FIELD);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateInvalidTurn() {
+        FoxHoundState.create(FoxHoundUtils.initialiseCoords(FoxHoundUtils.DEFAULT_DIM),
+            FoxHoundUtils.DEFAULT_DIM, 'X');
+    }
+
+    @Test
+    public void testCreateCopiesPlayers() {
+        FoxHoundCoord[] players = FoxHoundUtils.initialiseCoords(FoxHoundUtils.DEFAULT_DIM);
+        FoxHoundState state = FoxHoundState.create(players, FoxHoundUtils.DEFAULT_DIM,
+            FoxHoundUtils.FOX_FIELD);
+
+        players[0] = coord("A2");
+        assertSame("State is not expected to change with the given array.",
+            coord("B1"), state.getPlayer(0));
+    }
+
+    // ------------------------- move --------------------
+
+    @Test
+    public void testMoveMatchesUtils() {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        String[] players = FoxHoundUtils.initialisePositions(dim);
+        FoxHoundState state = FoxHoundState.initial(dim);
+        String[][] moves = {{"E8","E7"},{"E8","D7"},{"B1","A2"},{"D7","C6"},{"H1","H2"},{"H1","G2"}};
+
+        for (String[] move : moves) {
+            boolean expected = FoxHoundUtils.isValidMove(dim, players, state.getTurn(),
+                move[0], move[1]);
+            assertEquals("Validity of " + move[0] + " " + move[1] + " not as expected.",
+                expected, state.isValidMove(coord(move[0]), coord(move[1])));
+
+            if (expected) {
+                FoxHoundUtils.updatePlayerPos(players, move[0], move[1]);
+                state = state.move(coord(move[0]), coord(move[1]));
+            }
+        }
+
+        assertArrayEquals("Positions after moves not as expected.",
+            players, FoxHoundCoord.toStrings(state.getPlayers()));
+        assertEquals("Fox is expected to move next.", FoxHoundUtils.FOX_FIELD, state.getTurn());
+    }
+
+    @Test
+    public void testPieceIndexFollowsMoves() {
+        int dim = FoxHoundUtils.MAX_DIM;
+        FoxHoundState state = FoxHoundState.initial(dim);
+        state = state.move(coord("M26"), coord("L25"))
+            .move(coord("B1"), coord("C2"))
+            .move(coord("L25"), coord("K24"))
+            .undo();
+
+        for (int row = 0; row < dim; row++) {
+            for (int col = 0; col < dim; col++) {
+                FoxHoundCoord pos = FoxHoundCoord.of(row, col);
+                int expected = Arrays.asList(state.getPlayers()).indexOf(pos);
+                assertEquals("Piece index of " + pos + " not as expected.",
+                    expected < 0 ? FoxHoundState.NO_PIECE : expected, state.getPlayerIdx(pos));
+            }
+        }
+        assertEquals("Moved hound expected to keep its index.", 0, state.getPlayerIdx(coord("C2")));
+        assertEquals("Fox expected to be the last figure.", state.getPlayerCount() - 1,
+            state.getPlayerIdx(coord("L25")));
+    }
+
+    @Test
+    public void testIsHoundWin() {
+        String[] players = {"C4","E4","C6","E6","D5"};
+        FoxHoundState state = FoxHoundState.fromStrings(players, FoxHoundUtils.DEFAULT_DIM,
+            FoxHoundUtils.FOX_FIELD);
+
+        assertTrue("Hounds are expected to win.", state.isHoundWin());
+        assertFalse("Fox is not expected to win.", state.isFoxWin());
+    }
+
+    // ------------------------- loadState --------------------
+
+    @Test
+    public void testLoadState() {
+        FoxHoundState state = FoxHoundIO.loadState(Paths.get("game02.txt"));
+
+        assertNotNull("Loading is expected to succeed.", state);
+        assertEquals("Loaded turn not as expected.", FoxHoundUtils.HOUND_FIELD, state.getTurn());
+        assertSame("Loaded fox position not as expected.", coord("D5"),
+            state.getPlayer(state.getPlayerCount() - 1));
+    }
+}
@@ -0,0 +1,79 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class FoxHoundTablebaseBasicTest {
+
+    private FoxHoundTablebase createTablebase(int dim) throws IOException {
+        File file = File.createTempFile("foxHoundTablebase", ".tb");
+        file.deleteOnExit();
+        Path path = file.toPath();
+
+        FoxHoundTablebase.generate(dim, path);
+        return FoxHoundTablebase.open(path);
+    }
+
+    // ------------------------- probe --------------------
+
+    @Test
+    public void testProbeInitialPosition() throws IOException {
+        int dim = 4;
+        FoxHoundTablebase tablebase = createTablebase(dim);
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(
+            FoxHoundUtils.initialisePositions(dim), dim);
+
+        byte value = tablebase.probe(board, FoxHoundUtils.FOX_FIELD);
+
+        assertTrue("Hounds are expected to win on a 4x4 board.", FoxHoundTablebase.isLoss(value));
+        assertEquals("Distance to win not as expected.", 8, FoxHoundTablebase.getDistance(value));
+    }
+
+    @Test
+    public void testProbeTerminalPositions() throws IOException {
+        int dim = FoxHoundUtils.MIN_DIM + 1;
+        FoxHoundTablebase tablebase = createTablebase(dim);
+
+        // fox reached the top row
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(new String[]{"B3","D3","B1"}, dim);
+        byte value = tablebase.probe(board, FoxHoundUtils.HOUND_FIELD);
+        assertTrue("Hounds are expected to have lost.", FoxHoundTablebase.isLoss(value));
+        assertEquals("Distance not as expected.", 0, FoxHoundTablebase.getDistance(value));
+
+        // fox trapped in the corner
+        board = FoxHoundBitboard.fromPlayers(new String[]{"B3","B5","A4"}, dim);
+        value = tablebase.probe(board, FoxHoundUtils.FOX_FIELD);
+        assertTrue("Fox is expected to have lost.", FoxHoundTablebase.isLoss(value));
+        assertEquals("Distance not as expected.", 0, FoxHoundTablebase.getDistance(value));
+    }
+
+    @Test
+    public void testBestMoveKeepsWin() throws IOException {
+        int dim = 4;
+        FoxHoundTablebase tablebase = createTablebase(dim);
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(
+            FoxHoundUtils.initialisePositions(dim), dim);
+        int[] buffer = new int[FoxHoundMoveGen.MAX_MOVES];
+
+        board.movePiece(board.getFoxSquare(),
+            FoxHoundMoveGen.getDest(buffer[FoxHoundMoveGen.generateFoxMoves(board, buffer) - 1]));
+        byte value = tablebase.probe(board, FoxHoundUtils.HOUND_FIELD);
+        assertTrue("Hounds are expected to win.", FoxHoundTablebase.isWin(value));
+
+        int move = tablebase.bestMove(board, FoxHoundUtils.HOUND_FIELD, buffer);
+        board.movePiece(FoxHoundMoveGen.getOrigin(move), FoxHoundMoveGen.getDest(move));
+        byte reply = tablebase.probe(board, FoxHoundUtils.FOX_FIELD);
+
+        assertTrue("Fox is expected to lose after best move.", FoxHoundTablebase.isLoss(reply));
+        assertEquals("Best move expected to keep the shortest win.",
+            FoxHoundTablebase.getDistance(value) - 1, FoxHoundTablebase.getDistance(reply));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGenerateDimensionTooLarge() throws IOException {
+        createTablebase(FoxHoundTablebase.MAX_TABLEBASE_DIM + 1);
+    }
+}
@@ -0,0 +1,65 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class FoxHoundTournamentBasicTest {
+
+    // ------------------------- run --------------------
+
+    @Test
+    public void testRunCountsAllGames() {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        long games = 2000;
+        AtomicLong seeds = new AtomicLong(1);
+        FoxHoundTournament tournament = new FoxHoundTournament(dim,
+            () -> new FoxHoundRandomStrategy(seeds.getAndIncrement()),
+            () -> new FoxHoundGreedyStrategy(seeds.getAndIncrement()));
+
+        FoxHoundTournament.Result result = tournament.run(games);
+
+        assertEquals("Number of games not as expected.", games, result.getGames());
+        assertEquals("Wins expected to add up to the number of games.",
+            games, result.getFoxWins() + result.getHoundWins());
+
+        long lengthTotal = 0;
+        for (int plies = 0; plies <= FoxHoundTournament.maxGameLength(dim); plies++) {
+            lengthTotal += result.getGamesOfLength(plies);
+        }
+        assertEquals("Histogram expected to contain all games.", games, lengthTotal);
+        assertEquals("Games shorter than the shortest fox win are not expected.",
+            0, result.getGamesOfLength(dim - 2));
+    }
+
+    @Test
+    public void testRunSearchBeatsRandomHounds() {
+        FoxHoundTournament tournament = new FoxHoundTournament(FoxHoundUtils.DEFAULT_DIM,
+            () -> new FoxHoundSearchStrategy(4, FoxHoundSearch.NO_TIME_LIMIT),
+            () -> new FoxHoundRandomStrategy(7));
+
+        FoxHoundTournament.Result result = tournament.run(50);
+
+        assertEquals("Searching fox is expected to beat random hounds.", 50, result.getFoxWins());
+    }
+
+    @Test
+    public void testRunEndsTrappedGamesEarly() {
+        AtomicLong seeds = new AtomicLong(3);
+        FoxHoundTournament tournament = new FoxHoundTournament(FoxHoundUtils.DEFAULT_DIM,
+            () -> new FoxHoundRandomStrategy(seeds.getAndIncrement()),
+            () -> new FoxHoundGreedyStrategy(seeds.getAndIncrement()), true);
+
+        FoxHoundTournament.Result result = tournament.run(500);
+
+        assertEquals("Number of games not as expected.", 500, result.getGames());
+        assertTrue("Some games are expected to end with a detected trap.", result.getTraps() > 0);
+        assertTrue("Detected traps are expected to count as hound wins.",
+            result.getTraps() <= result.getHoundWins());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseStrategyUnknown() {
+        FoxHoundTournament.parseStrategy("minimax", new AtomicLong());
+    }
+}
@@ -0,0 +1,63 @@
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FoxHoundTrapDetectorBasicTest {
+
+    private FoxHoundTrapDetector detector;
+
+    @Before
+    public void setup() {
+        detector = new FoxHoundTrapDetector(FoxHoundUtils.DEFAULT_DIM);
+    }
+
+    // ------------------------- isRegionClosed --------------------
+
+    @Test
+    public void testInitialPosition() {
+        String[] players = FoxHoundUtils.initialisePositions(FoxHoundUtils.DEFAULT_DIM);
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM);
+
+        assertTrue("Hounds in the top row are expected to close off the fox.",
+            detector.isRegionClosed(board));
+        assertFalse("Fox is not expected to be trapped at the start.",
+            detector.isInevitableTrap(board, FoxHoundUtils.FOX_FIELD));
+    }
+
+    @Test
+    public void testIsRegionClosedBehindWall() {
+        String[] players = {"A6","C6","C8","H1","A8"};
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM);
+
+        assertTrue("Fox is expected to be closed off.", detector.isRegionClosed(board));
+    }
+
+    // ------------------------- isInevitableTrap --------------------
+
+    @Test
+    public void testIsInevitableTrapBehindWall() {
+        String[] players = {"A6","C6","C8","H1","A8"};
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM);
+        FoxHoundBitboard copy = new FoxHoundBitboard(board);
+
+        assertTrue("Fox is expected to be trapped.",
+            detector.isInevitableTrap(board, FoxHoundUtils.FOX_FIELD));
+        assertEquals("Given position is not expected to change.", copy, board);
+    }
+
+    @Test
+    public void testIsInevitableTrapOpenRegion() {
+        String[] players = {"B1","D1","F1","H1","E2"};
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM);
+
+        assertFalse("Fox next to the top row is not expected to be trapped.",
+            detector.isInevitableTrap(board, FoxHoundUtils.HOUND_FIELD));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIsInevitableTrapInvalidTurn() {
+        String[] players = FoxHoundUtils.initialisePositions(FoxHoundUtils.DEFAULT_DIM);
+        detector.isInevitableTrap(FoxHoundBitboard.fromPlayers(players, FoxHoundUtils.DEFAULT_DIM), 'X');
+    }
+}
@@ -0,0 +1,98 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FoxHoundValidatorBasicTest {
+
+    private FoxHoundValidator validator;
+
+    @Before
+    public void setup() {
+        validator = new FoxHoundValidator();
+    }
+
+    // ------------------------- checkText --------------------
+
+    private void checkProblem(String content, FoxHoundValidator.Problem expected, String detail) {
+        assertEquals("Problem not as expected for: " + content, expected, validator.checkText(content));
+        assertEquals("Detail not as expected for: " + content, detail, validator.getDetail());
+    }
+
+    @Test
+    public void testCheckTextFormat() {
+        checkProblem("F C2 D1 F1 H1 D7", FoxHoundValidator.Problem.NONE, "");
+        checkProblem("H C2 D1 F1 H1 D7 \n\n", FoxHoundValidator.Problem.NONE, "");
+        checkProblem("F C2\nD1", FoxHoundValidator.Problem.LINES, "2");
+        checkProblem("\n", FoxHoundValidator.Problem.LINES, "0");
+        checkProblem("", FoxHoundValidator.Problem.ELEMENTS, "1");
+        checkProblem("F C2  D1 F1 H1 D7", FoxHoundValidator.Problem.ELEMENTS, "7");
+        checkProblem("F C2 D1 F1 H1 I7", FoxHoundValidator.Problem.COORDINATE, "I7");
+        checkProblem("FH C2 D1 F1 H1 D7", FoxHoundValidator.Problem.FIGURE, "FH");
+        checkProblem(" C2 D1 F1 H1 D7", FoxHoundValidator.Problem.FIGURE, "");
+    }
+
+    @Test
+    public void testCheckTextLegality() {
+        checkProblem("F C2 D1 F1 H1 D8", FoxHoundValidator.Problem.NOT_PLAYABLE, "D8");
+        checkProblem("F C2 D1 F1 H1 C2", FoxHoundValidator.Problem.DUPLICATE, "C2");
+    }
+
+    @Test
+    public void testParseTextKeepsTargetOnError() {
+        FoxHoundCoord[] players = FoxHoundUtils.initialiseCoords(FoxHoundUtils.DEFAULT_DIM);
+        FoxHoundCoord[] expected = players.clone();
+
+        validator.parseText("F C2 D1 F1 H1", players);
+        assertArrayEquals("Players not expected to change.", expected, players);
+
+        assertEquals("Valid content expected.", FoxHoundValidator.Problem.NONE,
+            validator.parseText("H C2 D1 F1 H1 D7", players));
+        assertEquals("Turn not as expected.", FoxHoundUtils.HOUND_FIELD, validator.getTurn());
+        assertSame("Fox position not as expected.", FoxHoundCoord.parse("D7"), players[4]);
+    }
+
+    // ------------------------- validateDirectory --------------------
+
+    @Test
+    public void testValidateDataDirectory() throws IOException {
+        AtomicLong invalid = new AtomicLong();
+        FoxHoundValidator.Summary summary = FoxHoundValidator.validateDirectory(Paths.get("."), 2,
+            result -> invalid.incrementAndGet(), null);
+
+        long expectedFiles;
+        try (var files = Files.list(Paths.get("."))) {
+            expectedFiles = files.filter(Files::isRegularFile).count();
+        }
+        assertEquals("Every file expected to be validated.", expectedFiles, summary.getFiles());
+        assertEquals("Every invalid file expected to be reported.",
+            summary.getFiles() - summary.getCount(FoxHoundValidator.Problem.NONE), invalid.get());
+        assertTrue("Game files expected to be valid.",
+            summary.getCount(FoxHoundValidator.Problem.NONE) >= 3);
+        assertEquals("Invalid game files expected to be reported.",
+            1, summary.getCount(FoxHoundValidator.Problem.LINES));
+    }
+
+    @Test
+    public void testValidateManyFiles() throws IOException {
+        Path dir = Files.createTempDirectory("foxHoundValidator");
+        int files = 3000;
+        for (int i = 0; i < files; i++) {
+            String content = i % 3 == 0 ? "F C2 D1 F1 H1 C2" : "F C2 D1 F1 H1 D7";
+            Files.writeString(dir.resolve("game" + i + ".txt"), content);
+        }
+
+        FoxHoundValidator.Summary summary = FoxHoundValidator.validateDirectory(dir, 4, result -> { }, null);
+
+        assertEquals("Every file expected to be validated.", files, summary.getFiles());
+        assertEquals("Duplicate fields expected to be found.", files / 3,
+            summary.getCount(FoxHoundValidator.Problem.DUPLICATE));
+        assertFalse("Examples expected in summary.", summary.getExamples().isEmpty());
+    }
+}
@@ -0,0 +1,75 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FoxHoundZobristBasicTest {
+
+    private String[] defaultPlayers;
+
+    @Before
+    public void setup() {
+        defaultPlayers = new String[]{"B1","D1","F1","H1","E8"};
+    }
+
+    // ------------------------- hash --------------------
+
+    @Test
+    public void testHashIndependentOfHoundOrder() {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        String[] shuffled = {"H1","F1","B1","D1","E8"};
+
+        assertEquals("Hash is not expected to depend on the hound order.",
+            FoxHoundZobrist.hash(defaultPlayers, FoxHoundUtils.FOX_FIELD, dim),
+            FoxHoundZobrist.hash(shuffled, FoxHoundUtils.FOX_FIELD, dim));
+    }
+
+    @Test
+    public void testHashIncludesSideToMove() {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+
+        assertNotEquals("Hash is expected to depend on the side to move.",
+            FoxHoundZobrist.hash(defaultPlayers, FoxHoundUtils.FOX_FIELD, dim),
+            FoxHoundZobrist.hash(defaultPlayers, FoxHoundUtils.HOUND_FIELD, dim));
+    }
+
+    @Test
+    public void testHashMatchesBitboard() {
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        FoxHoundBitboard board = FoxHoundBitboard.fromPlayers(defaultPlayers, dim);
+
+        assertEquals("Bitboard hash not as expected.",
+            FoxHoundZobrist.hash(defaultPlayers, FoxHoundUtils.HOUND_FIELD, dim),
+            FoxHoundZobrist.hash(board, FoxHoundUtils.HOUND_FIELD));
+    }
+
+    // ------------------------- updatePlayerPos --------------------
+
+    @Test
+    public void testUpdatePlayerPosMatchesLoadedGame() {
+        // ATTENTION: the game file needs to be located in the working directory
+        int dim = FoxHoundUtils.DEFAULT_DIM;
+        String[] players = defaultPlayers;
+        long hash = FoxHoundZobrist.hash(players, FoxHoundUtils.FOX_FIELD, dim);
+
+        hash = FoxHoundUtils.updatePlayerPos(players, "E8", "D7", dim, hash);
+        hash = FoxHoundUtils.updatePlayerPos(players, "B1", "C2", dim, hash);
+
+        String[] loaded = FoxHoundUtils.initialisePositions(dim);
+        Path input = Paths.get("game01.txt");
+        char turn = FoxHoundIO.loadGame(loaded, input);
+
+        assertEquals("Hash of played position differs from loaded position.",
+            FoxHoundZobrist.hash(loaded, turn, dim), hash);
+        assertEquals("Hash of played position differs from recalculated hash.",
+            FoxHoundZobrist.hash(players, FoxHoundUtils.FOX_FIELD, dim), hash);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUpdatePlayerPosMissingFigure() {
+        FoxHoundUtils.updatePlayerPos(defaultPlayers, "C4", "D5", FoxHoundUtils.DEFAULT_DIM, 0L);
+    }
+}
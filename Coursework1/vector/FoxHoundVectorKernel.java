@@ -0,0 +1,87 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernel of the {@link FoxHoundBatchEvaluator}.
+ *
+ * Each lane of a vector holds one position of the batch, so all
+ * positions of a vector are evaluated with the same instructions. Fields
+ * are compared as {@code row * dim + col}, a field is free if it is on
+ * the board and no figure key equals it in that lane.
+ *
+ * Compile and run with {@code --add-modules jdk.incubator.vector}.
+ */
+public class FoxHoundVectorKernel implements FoxHoundBatchEvaluator.Kernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void evaluate(FoxHoundBatch batch) {
+        int dim = batch.getDimension();
+        int hounds = batch.getHoundCount();
+        int size = batch.getSize();
+        int bound = SPECIES.loopBound(size);
+        IntVector zero = IntVector.zero(SPECIES);
+        IntVector one = IntVector.broadcast(SPECIES, 1);
+
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            IntVector foxRow = IntVector.fromArray(SPECIES, batch.foxRows, i);
+            IntVector foxCol = IntVector.fromArray(SPECIES, batch.foxCols, i);
+            IntVector foxKey = foxRow.mul(dim).add(foxCol);
+            foxRow.sub(FoxHoundUtils.FOX_WIN_ROW).intoArray(batch.foxDistances, i);
+
+            IntVector foxMobility = zero;
+            for (int dir = 0; dir < FoxHoundBitboard.NUM_DIRECTIONS; dir++) {
+                IntVector row = foxRow.add(FoxHoundBatchEvaluator.DIR_ROWS[dir]);
+                IntVector col = foxCol.add(FoxHoundBatchEvaluator.DIR_COLS[dir]);
+                VectorMask<Integer> free = onBoard(row, col, dim);
+                free = free.andNot(isHound(batch, i, row.mul(dim).add(col), dim, hounds));
+                foxMobility = foxMobility.add(one, free);
+            }
+            foxMobility.intoArray(batch.foxMobilities, i);
+
+            IntVector houndMobility = zero;
+            IntVector minRow = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+            IntVector maxRow = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+            for (int h = 0; h < hounds; h++) {
+                IntVector row = IntVector.fromArray(SPECIES, batch.houndRows[h], i);
+                IntVector col = IntVector.fromArray(SPECIES, batch.houndCols[h], i);
+                minRow = minRow.min(row);
+                maxRow = maxRow.max(row);
+
+                // hounds may only move towards the bottom
+                IntVector next = row.add(1);
+                for (int step = -1; step <= 1; step += 2) {
+                    IntVector nextCol = col.add(step);
+                    IntVector key = next.mul(dim).add(nextCol);
+                    VectorMask<Integer> free = onBoard(next, nextCol, dim)
+                        .andNot(key.eq(foxKey))
+                        .andNot(isHound(batch, i, key, dim, hounds));
+                    houndMobility = houndMobility.add(one, free);
+                }
+            }
+            houndMobility.intoArray(batch.houndMobilities, i);
+            maxRow.sub(minRow).intoArray(batch.houndGaps, i);
+        }
+
+        FoxHoundBatchEvaluator.evaluateScalar(batch, bound, size);
+    }
+
+    private static VectorMask<Integer> onBoard(IntVector row, IntVector col, int dim) {
+        return row.compare(VectorOperators.GE, 0).and(row.compare(VectorOperators.LT, dim))
+            .and(col.compare(VectorOperators.GE, 0)).and(col.compare(VectorOperators.LT, dim));
+    }
+
+    private static VectorMask<Integer> isHound(FoxHoundBatch batch, int i, IntVector key,
+            int dim, int hounds) {
+        VectorMask<Integer> taken = SPECIES.maskAll(false);
+        for (int h = 0; h < hounds; h++) {
+            IntVector houndKey = IntVector.fromArray(SPECIES, batch.houndRows[h], i).mul(dim)
+                .add(IntVector.fromArray(SPECIES, batch.houndCols[h], i));
+            taken = taken.or(key.eq(houndKey));
+        }
+        return taken;
+    }
+}